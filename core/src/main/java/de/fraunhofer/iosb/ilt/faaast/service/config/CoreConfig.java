@@ -34,6 +34,7 @@ public class CoreConfig {
 
     private long assetConnectionRetryInterval;
     private int requestHandlerThreadPoolSize;
+    private boolean useVirtualThreads;
     private ModelValidatorConfig validationOnLoad;
     private ModelValidatorConfig validationOnCreate;
     private ModelValidatorConfig validationOnUpdate;
@@ -118,6 +119,16 @@ public class CoreConfig {
     }
 
 
+    public boolean getUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+
     public List<String> getAasRegistries() {
         return aasRegistries;
     }
@@ -142,6 +153,7 @@ public class CoreConfig {
     public int hashCode() {
         return Objects.hash(assetConnectionRetryInterval,
                 requestHandlerThreadPoolSize,
+                useVirtualThreads,
                 validationOnLoad,
                 validationOnCreate,
                 validationOnUpdate,
@@ -164,6 +176,7 @@ public class CoreConfig {
         final CoreConfig other = (CoreConfig) obj;
         return Objects.equals(this.assetConnectionRetryInterval, other.assetConnectionRetryInterval)
                 && Objects.equals(this.requestHandlerThreadPoolSize, other.requestHandlerThreadPoolSize)
+                && Objects.equals(this.useVirtualThreads, other.useVirtualThreads)
                 && Objects.equals(this.validationOnLoad, other.validationOnLoad)
                 && Objects.equals(this.validationOnCreate, other.validationOnCreate)
                 && Objects.equals(this.validationOnUpdate, other.validationOnUpdate)
@@ -179,6 +192,12 @@ public class CoreConfig {
         }
 
 
+        public Builder useVirtualThreads(boolean value) {
+            getBuildingInstance().setUseVirtualThreads(value);
+            return getSelf();
+        }
+
+
         public Builder assetConnectionRetryInterval(long value) {
             getBuildingInstance().setAssetConnectionRetryInterval(value);
             return getSelf();
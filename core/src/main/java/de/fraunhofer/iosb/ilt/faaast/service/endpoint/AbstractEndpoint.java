@@ -29,6 +29,7 @@ import java.util.Objects;
  */
 public abstract class AbstractEndpoint<T extends EndpointConfig> implements Endpoint<T> {
 
+    protected CoreConfig coreConfig;
     protected T config;
     protected ServiceContext serviceContext;
 
@@ -47,6 +48,7 @@ public abstract class AbstractEndpoint<T extends EndpointConfig> implements Endp
     public void init(CoreConfig coreConfig, T config, ServiceContext serviceContext) {
         Ensure.requireNonNull(config, "config must be non-null");
         Ensure.requireNonNull(serviceContext, "serviceContext must be non-null");
+        this.coreConfig = coreConfig;
         this.config = config;
         this.serviceContext = serviceContext;
     }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.util;
+
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.Page;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.PagingInfo;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.PagingMetadata;
+import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+
+/**
+ * Helper class for keyset-based paging. Instead of the number of elements to skip, cursors contain the key of the first
+ * element of the next page so that resuming does not require to iterate over all previous elements and concurrent
+ * modifications do not shift the following pages.
+ *
+ * <p>Cursors consist of one or more parts separated by {@code :}. Only the last part may contain the separator itself.
+ * Cursors should be treated as opaque by clients.
+ */
+public class PagingHelper {
+
+    private static final String SEPARATOR = ":";
+    private static final String MSG_INVALID_CURSOR = "invalid cursor (cursor: %s)";
+
+    private PagingHelper() {}
+
+
+    /**
+     * Creates a cursor from the given parts.
+     *
+     * @param parts the parts of the cursor
+     * @return the cursor
+     */
+    public static String writeCursor(Object... parts) {
+        Ensure.requireNonNull(parts, "parts must be non-null");
+        List<String> result = new ArrayList<>();
+        for (Object part: parts) {
+            result.add(Objects.toString(part, ""));
+        }
+        return String.join(SEPARATOR, result);
+    }
+
+
+    /**
+     * Reads the parts of a cursor.
+     *
+     * @param cursor the cursor
+     * @param parts the expected number of parts
+     * @return the parts of the cursor
+     * @throws IllegalArgumentException if cursor is null or does not contain the expected number of parts
+     */
+    public static List<String> readCursor(String cursor, int parts) {
+        if (Objects.isNull(cursor)) {
+            throw new IllegalArgumentException(String.format(MSG_INVALID_CURSOR, cursor));
+        }
+        List<String> result = List.of(cursor.split(SEPARATOR, parts));
+        if (result.size() != parts) {
+            throw new IllegalArgumentException(String.format(MSG_INVALID_CURSOR, cursor));
+        }
+        return result;
+    }
+
+
+    /**
+     * Reads a cursor consisting of a single numeric part.
+     *
+     * @param cursor the cursor
+     * @return the numeric value of the cursor
+     * @throws IllegalArgumentException if cursor is not a valid numeric value
+     */
+    public static long readNumericCursor(String cursor) {
+        try {
+            return Long.parseLong(readCursor(cursor, 1).get(0));
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(MSG_INVALID_CURSOR, cursor), e);
+        }
+    }
+
+
+    /**
+     * Creates a page from a list using keyset-based paging. The cursor consists of the position and the key of the first
+     * element of the next page. When resuming, the position is used if the element at that position still has the same
+     * key, otherwise the position of the key is searched. Keys are therefore expected to be unique within the list,
+     * elements without key are paged by position only.
+     *
+     * @param <T> type of the elements
+     * @param elements the elements to page, must not be modified
+     * @param keyExtractor function to extract the key of an element, may return null
+     * @param paging the paging information
+     * @return the page
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public static <T> Page<T> preparePagedResult(List<T> elements, Function<T, String> keyExtractor, PagingInfo paging) {
+        Ensure.requireNonNull(elements, "elements must be non-null");
+        Ensure.requireNonNull(keyExtractor, "keyExtractor must be non-null");
+        Ensure.requireNonNull(paging, "paging must be non-null");
+        int start = Objects.nonNull(paging.getCursor())
+                ? findStart(elements, keyExtractor, paging.getCursor())
+                : 0;
+        int end = paging.hasLimit()
+                ? (int) Math.min(elements.size(), start + paging.getLimit())
+                : elements.size();
+        return Page.<T> builder()
+                .result(new ArrayList<>(elements.subList(start, end)))
+                .metadata(PagingMetadata.builder()
+                        .cursor(end < elements.size()
+                                ? writeCursor(end, keyExtractor.apply(elements.get(end)))
+                                : null)
+                        .build())
+                .build();
+    }
+
+
+    private static <T> int findStart(List<T> elements, Function<T, String> keyExtractor, String cursor) {
+        List<String> parts = readCursor(cursor, 2);
+        int position;
+        try {
+            position = Integer.parseInt(parts.get(0));
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(MSG_INVALID_CURSOR, cursor), e);
+        }
+        if (position < 0) {
+            throw new IllegalArgumentException(String.format(MSG_INVALID_CURSOR, cursor));
+        }
+        String key = parts.get(1);
+        if (position < elements.size() && Objects.equals(Objects.toString(keyExtractor.apply(elements.get(position)), ""), key)) {
+            return position;
+        }
+        if (!key.isEmpty()) {
+            for (int i = 0; i < elements.size(); i++) {
+                if (Objects.equals(keyExtractor.apply(elements.get(i)), key)) {
+                    return i;
+                }
+            }
+        }
+        return Math.min(position, elements.size());
+    }
+}
@@ -26,18 +26,15 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.exception.TypeInstantiationEx
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ValidationException;
 import de.fraunhofer.iosb.ilt.faaast.service.request.handler.AbstractRequestHandler;
 import de.fraunhofer.iosb.ilt.faaast.service.request.handler.RequestExecutionContext;
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ScanResult;
+import de.fraunhofer.iosb.ilt.faaast.service.util.ClassIndexHelper;
+import de.fraunhofer.iosb.ilt.faaast.service.util.ExecutorHelper;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.lang3.reflect.ConstructorUtils;
 import org.eclipse.digitaltwin.aas4j.v3.model.MessageTypeEnum;
 import org.slf4j.Logger;
@@ -59,42 +56,41 @@ public class RequestHandlerManager {
 
 
     private void init(CoreConfig config) {
-        // TODO implement build-time scan to improve performance (see https://github.com/classgraph/classgraph/wiki/Build-Time-Scanning)
         final Class<?>[] constructorArgTypes = AbstractRequestHandler.class.getDeclaredConstructors()[0].getParameterTypes();
-        try (ScanResult scanResult = new ClassGraph()
-                .enableAllInfo()
-                .acceptPackages(getClass().getPackageName())
-                .scan()) {
-            handlers = scanResult.getSubclasses(AbstractRequestHandler.class).loadClasses().stream()
-                    .filter(x -> !Modifier.isAbstract(x.getModifiers()))
-                    .map(x -> (Class<? extends AbstractRequestHandler>) x)
-                    .collect(Collectors.toMap(
-                            x -> (Class<? extends Request>) TypeToken.of(x).resolveType(AbstractRequestHandler.class.getTypeParameters()[0]).getRawType(),
-                            x -> {
-                                try {
-                                    return ConstructorUtils.invokeConstructor(x);
-                                }
-                                catch (NoSuchMethodException | SecurityException e) {
-                                    LOGGER.warn("request handler implementation could not be loaded, "
-                                            + "reason: missing constructor (implementation class: {}, required constructor signature: {})",
-                                            x.getName(),
-                                            constructorArgTypes,
-                                            e);
-                                }
-                                catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                                    LOGGER.warn("request handler implementation could not be loaded, "
-                                            + "reason: calling constructor failed (implementation class: {})",
-                                            x.getName(),
-                                            e);
-                                }
-                                return null;
-                            }));
-        }
-        requestHandlerExecutorService = Executors.newFixedThreadPool(
+        handlers = ClassIndexHelper.getSubclasses(AbstractRequestHandler.class, getClass().getPackageName()).stream()
+                .collect(Collectors.toMap(
+                        x -> (Class<? extends Request>) TypeToken.of(x).resolveType(AbstractRequestHandler.class.getTypeParameters()[0]).getRawType(),
+                        x -> {
+                            try {
+                                return ConstructorUtils.invokeConstructor(x);
+                            }
+                            catch (NoSuchMethodException | SecurityException e) {
+                                LOGGER.warn("request handler implementation could not be loaded, "
+                                        + "reason: missing constructor (implementation class: {}, required constructor signature: {})",
+                                        x.getName(),
+                                        constructorArgTypes,
+                                        e);
+                            }
+                            catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                                LOGGER.warn("request handler implementation could not be loaded, "
+                                        + "reason: calling constructor failed (implementation class: {})",
+                                        x.getName(),
+                                        e);
+                            }
+                            return null;
+                        }));
+        handlers.keySet().forEach(x -> {
+            try {
+                ResponseHelper.getFactoryForRequest((Class) x);
+            }
+            catch (TypeInstantiationException e) {
+                LOGGER.warn("response type for request could not be resolved (request type: {})", x.getName(), e);
+            }
+        });
+        requestHandlerExecutorService = ExecutorHelper.newExecutor(
+                config.getUseVirtualThreads(),
                 config.getRequestHandlerThreadPoolSize(),
-                new BasicThreadFactory.Builder()
-                        .namingPattern("RequestHandler" + "-%d")
-                        .build());
+                "RequestHandler" + "-%d");
     }
 
 
@@ -158,19 +154,14 @@ public class RequestHandlerManager {
 
 
     private static <I extends Request<O>, O extends Response> O createResponse(I request, StatusCode statusCode, MessageTypeEnum messageType, String message) {
-        try {
-            O response = (O) ConstructorUtils.invokeConstructor(TypeToken.of(request.getClass()).resolveType(Request.class.getTypeParameters()[0]).getRawType());
-            response.setStatusCode(statusCode);
-            response.getResult().setMessages(List.of(
-                    new Message.Builder()
-                            .text(message)
-                            .messageType(messageType)
-                            .build()));
-            return response;
-        }
-        catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException ex) {
-            throw new TypeInstantiationException("executing request failed and failure could not be properly handled", ex);
-        }
+        O response = ResponseHelper.newResponse(request);
+        response.setStatusCode(statusCode);
+        response.getResult().setMessages(List.of(
+                new Message.Builder()
+                        .text(message)
+                        .messageType(messageType)
+                        .build()));
+        return response;
     }
 
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.request;
+
+import com.google.common.reflect.TypeToken;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.Request;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.Response;
+import de.fraunhofer.iosb.ilt.faaast.service.model.exception.TypeInstantiationException;
+import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+
+/**
+ * Helper for creating empty response objects. Resolving the response type of a request and looking up its constructor
+ * is done only once per type, the results are cached as factories.
+ */
+public class ResponseHelper {
+
+    private static final Map<Class<?>, Supplier<? extends Response>> FACTORIES_BY_REQUEST_TYPE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Supplier<? extends Response>> FACTORIES_BY_RESPONSE_TYPE = new ConcurrentHashMap<>();
+
+    private ResponseHelper() {}
+
+
+    /**
+     * Gets a factory creating new empty responses for a given request type.
+     *
+     * @param <O> the response type
+     * @param requestType the request type
+     * @return a factory creating new empty responses for the request type
+     * @throws IllegalArgumentException if requestType is null
+     * @throws TypeInstantiationException if the response type does not provide a public parameterless constructor
+     */
+    public static <O extends Response> Supplier<O> getFactoryForRequest(Class<? extends Request<O>> requestType) {
+        Ensure.requireNonNull(requestType, "requestType must be non-null");
+        return (Supplier<O>) FACTORIES_BY_REQUEST_TYPE.computeIfAbsent(
+                requestType,
+                x -> getFactory(TypeToken.of(x).resolveType(Request.class.getTypeParameters()[0]).getRawType().asSubclass(Response.class)));
+    }
+
+
+    /**
+     * Gets a factory creating new empty responses of a given type.
+     *
+     * @param <O> the response type
+     * @param responseType the response type
+     * @return a factory creating new empty responses of the given type
+     * @throws IllegalArgumentException if responseType is null
+     * @throws TypeInstantiationException if the response type does not provide a public parameterless constructor
+     */
+    public static <O extends Response> Supplier<O> getFactory(Class<O> responseType) {
+        Ensure.requireNonNull(responseType, "responseType must be non-null");
+        return (Supplier<O>) FACTORIES_BY_RESPONSE_TYPE.computeIfAbsent(responseType, x -> createFactory(responseType));
+    }
+
+
+    /**
+     * Creates a new empty response for a given request.
+     *
+     * @param <O> the response type
+     * @param request the request
+     * @return a new empty response
+     * @throws IllegalArgumentException if request is null
+     * @throws TypeInstantiationException if the response could not be instantiated
+     */
+    public static <O extends Response> O newResponse(Request<O> request) {
+        Ensure.requireNonNull(request, "request must be non-null");
+        return (O) getFactoryForRequest((Class) request.getClass()).get();
+    }
+
+
+    private static <O extends Response> Supplier<O> createFactory(Class<O> responseType) {
+        Constructor<O> constructor;
+        try {
+            constructor = responseType.getConstructor();
+        }
+        catch (NoSuchMethodException | SecurityException e) {
+            throw new TypeInstantiationException(String.format("response type does not provide a public parameterless constructor (type: %s)", responseType.getName()), e);
+        }
+        return () -> {
+            try {
+                return constructor.newInstance();
+            }
+            catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                throw new TypeInstantiationException(String.format("instantiating response failed (type: %s)", responseType.getName()), e);
+            }
+        };
+    }
+}
@@ -35,11 +35,11 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.value.DataElementValue;
 import de.fraunhofer.iosb.ilt.faaast.service.model.value.ElementValue;
 import de.fraunhofer.iosb.ilt.faaast.service.model.value.mapper.ElementValueMapper;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.Persistence;
+import de.fraunhofer.iosb.ilt.faaast.service.request.ResponseHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.DeepCopyHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.FaaastConstants;
 import de.fraunhofer.iosb.ilt.faaast.service.util.LambdaExceptionHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceHelper;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -47,8 +47,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import org.apache.commons.lang3.reflect.ConstructorUtils;
 import org.eclipse.digitaltwin.aas4j.v3.dataformat.core.DeserializationException;
 import org.eclipse.digitaltwin.aas4j.v3.dataformat.core.util.AasUtils;
 import org.eclipse.digitaltwin.aas4j.v3.dataformat.json.JsonDeserializer;
@@ -67,20 +67,24 @@ import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElementCollection;
  */
 public abstract class AbstractRequestHandler<I extends Request<O>, O extends Response> {
 
+    private final Supplier<O> responseFactory;
+
+    protected AbstractRequestHandler() {
+        this.responseFactory = ResponseHelper.getFactory((Class<O>) TypeToken.of(getClass())
+                .resolveType(AbstractRequestHandler.class.getTypeParameters()[1])
+                .getRawType());
+    }
+
+
     /**
      * Creates a empty response object.
      *
      * @return new empty response object
-     * @throws NoSuchMethodException if response type does not implement a parameterless constructor
-     * @throws InstantiationException if response type is abstract
-     * @throws InvocationTargetException if parameterless constructor of response type throws an exception
-     * @throws IllegalAccessException if parameterless constructor of response type is inaccessible
+     * @throws de.fraunhofer.iosb.ilt.faaast.service.model.exception.TypeInstantiationException if the response could
+     *             not be instantiated
      */
-    public O newResponse() throws NoSuchMethodException, InstantiationException, InvocationTargetException, IllegalAccessException {
-        return (O) ConstructorUtils.invokeConstructor(
-                TypeToken.of(getClass())
-                        .resolveType(AbstractRequestHandler.class.getTypeParameters()[1])
-                        .getRawType());
+    public O newResponse() {
+        return responseFactory.get();
     }
 
 
@@ -29,13 +29,14 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.error.ErrorE
 import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.error.ErrorLevel;
 import de.fraunhofer.iosb.ilt.faaast.service.request.handler.RequestExecutionContext;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ElementValueHelper;
+import de.fraunhofer.iosb.ilt.faaast.service.util.ExecutorHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceBuilder;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -104,7 +105,8 @@ public class InvokeOperationSyncRequestHandler extends AbstractInvokeOperationRe
             }
         }
         AssetOperationProvider assetOperationProvider = context.getAssetConnectionManager().getOperationProvider(reference);
-        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ExecutorService executor = ExecutorHelper.getSharedExecutor(
+                Objects.nonNull(context.getCoreConfig()) && context.getCoreConfig().getUseVirtualThreads());
         Future<OperationVariable[]> future = executor.submit(new Callable<OperationVariable[]>() {
             @Override
             public OperationVariable[] call() throws Exception {
@@ -140,9 +142,6 @@ public class InvokeOperationSyncRequestHandler extends AbstractInvokeOperationRe
                     .build();
             Thread.currentThread().interrupt();
         }
-        finally {
-            executor.shutdown();
-        }
         if (!request.isInternal()) {
             try {
                 publishSafe(OperationFinishEventMessage.builder()
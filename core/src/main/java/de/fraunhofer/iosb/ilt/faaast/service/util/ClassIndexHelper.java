@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.util;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Helper to find all concrete subclasses of a given type using an index generated at build time. The index consists of
+ * one file per base type located at {@code META-INF/faaast/class-index/[fully qualified name of base type]} containing
+ * the fully qualified names of all concrete subclasses, one per line. If no index is present, e.g. when running from an
+ * IDE without executing the full Maven build, the classpath is scanned at runtime instead. If an index is present, it
+ * is trusted and no scan is performed. As the index only covers the modules it has been generated for, subclasses
+ * provided by jars without an index, e.g. extensions not built with the index generation, are not found. Setting the
+ * system property {@link #SCAN_UNINDEXED_PROPERTY} to {@code true} additionally scans all classpath elements without an
+ * index and merges the results with the index.
+ *
+ * <p>The index is generated by calling {@link #main(String[])} during the {@code process-classes} phase of the build.
+ */
+public class ClassIndexHelper {
+
+    public static final String INDEX_DIRECTORY = "META-INF/faaast/class-index/";
+    public static final String SCAN_UNINDEXED_PROPERTY = "faaast.classIndex.scanUnindexed";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassIndexHelper.class);
+
+    private ClassIndexHelper() {}
+
+
+    /**
+     * Finds all concrete subclasses of a given type within a given package. If a build-time index is present, only the
+     * index is used unless scanning classpath elements without an index is enabled via
+     * {@link #SCAN_UNINDEXED_PROPERTY}.
+     *
+     * @param <T> the base type
+     * @param type the base type
+     * @param packageName the package to scan
+     * @return all concrete subclasses of the given type
+     * @throws IllegalArgumentException if type is null
+     * @throws IllegalStateException if reading the index fails or a class listed in the index cannot be loaded
+     */
+    public static <T> List<Class<? extends T>> getSubclasses(Class<T> type, String packageName) {
+        Ensure.requireNonNull(type, "type must be non-null");
+        return getSubclasses(type, packageName, type.getClassLoader(), false, Boolean.getBoolean(SCAN_UNINDEXED_PROPERTY));
+    }
+
+
+    /**
+     * Finds all concrete subclasses of a given type using the given class loader.
+     *
+     * @param <T> the base type
+     * @param type the base type
+     * @param packageName the package to scan
+     * @param classLoader the class loader to read the index from and to load the classes with
+     * @param scanClassLoader if true, only the classpath of the given class loader is scanned, otherwise the default
+     *            class loaders are scanned
+     * @param scanUnindexed if true, classpath elements without an index are scanned even if an index is present
+     * @return all concrete subclasses of the given type
+     */
+    static <T> List<Class<? extends T>> getSubclasses(Class<T> type, String packageName, ClassLoader classLoader, boolean scanClassLoader, boolean scanUnindexed) {
+        Set<Path> indexedClasspathElements = new HashSet<>();
+        Set<String> classNames = readIndex(type, classLoader, indexedClasspathElements);
+        ClassLoader scannedClassLoader = scanClassLoader ? classLoader : null;
+        if (classNames.isEmpty()) {
+            LOGGER.debug("no class index found for type {}, scanning package {} instead", type.getName(), packageName);
+            classNames = scan(type, packageName, scannedClassLoader, Set.of());
+        }
+        else if (scanUnindexed) {
+            Set<String> additionalClassNames = scan(type, packageName, scannedClassLoader, indexedClasspathElements);
+            additionalClassNames.removeAll(classNames);
+            if (!additionalClassNames.isEmpty()) {
+                LOGGER.debug("found classes of type {} not contained in class index: {}", type.getName(), additionalClassNames);
+                classNames.addAll(additionalClassNames);
+            }
+        }
+        List<Class<? extends T>> result = new ArrayList<>();
+        for (String className: classNames) {
+            try {
+                result.add(Class.forName(className, false, classLoader).asSubclass(type));
+            }
+            catch (ClassNotFoundException | ClassCastException e) {
+                throw new IllegalStateException(String.format("loading class from class index failed (type: %s, class: %s)", type.getName(), className), e);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Generates the class index for a compiled module.
+     *
+     * @param args the output directory of the compiled classes followed by the fully qualified names of all base types
+     *            to index
+     * @throws IOException if writing the index fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("usage: ClassIndexHelper <classes directory> <base type>...");
+        }
+        Path classesDirectory = Paths.get(args[0]);
+        Path indexDirectory = classesDirectory.resolve(INDEX_DIRECTORY);
+        Files.createDirectories(indexDirectory);
+        try (ScanResult scanResult = new ClassGraph()
+                .enableClassInfo()
+                .overrideClasspath(classesDirectory.toString())
+                .scan()) {
+            for (int i = 1; i < args.length; i++) {
+                List<String> classNames = getConcreteSubclassNames(scanResult, args[i]);
+                Files.write(indexDirectory.resolve(args[i]), classNames, StandardCharsets.UTF_8);
+                LOGGER.info("generated class index for type {} ({} classes)", args[i], classNames.size());
+            }
+        }
+    }
+
+
+    /**
+     * Reads the class index for a given type.
+     *
+     * @param type the base type
+     * @param classLoader the class loader to read the index from
+     * @param indexedClasspathElements set to add the classpath elements, i.e. directories or jar files, containing an
+     *            index to
+     * @return the names of all classes contained in the index
+     */
+    static Set<String> readIndex(Class<?> type, ClassLoader classLoader, Set<Path> indexedClasspathElements) {
+        Set<String> result = new LinkedHashSet<>();
+        String resourceName = INDEX_DIRECTORY + type.getName();
+        try {
+            for (URL url: Collections.list(classLoader.getResources(resourceName))) {
+                try (InputStream input = url.openStream();
+                        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                    reader.lines()
+                            .map(String::trim)
+                            .filter(x -> !x.isEmpty())
+                            .forEach(result::add);
+                }
+                Path classpathElement = getClasspathElement(url, resourceName);
+                if (Objects.nonNull(classpathElement)) {
+                    indexedClasspathElements.add(classpathElement);
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new IllegalStateException(String.format("reading class index failed (type: %s)", type.getName()), e);
+        }
+        return result;
+    }
+
+
+    /**
+     * Gets the classpath element, i.e. the directory or jar file, containing a resource.
+     *
+     * @param url the URL of the resource
+     * @param resourceName the name of the resource
+     * @return the classpath element or null if it cannot be determined
+     */
+    private static Path getClasspathElement(URL url, String resourceName) {
+        try {
+            if ("jar".equals(url.getProtocol())) {
+                return normalize(Paths.get(((JarURLConnection) url.openConnection()).getJarFileURL().toURI()));
+            }
+            if ("file".equals(url.getProtocol())) {
+                Path result = Paths.get(url.toURI());
+                for (int i = 0; i < Paths.get(resourceName).getNameCount() && Objects.nonNull(result); i++) {
+                    result = result.getParent();
+                }
+                return normalize(result);
+            }
+        }
+        catch (IOException | URISyntaxException | RuntimeException e) {
+            LOGGER.trace("unable to determine classpath element of class index (url: {})", url, e);
+        }
+        return null;
+    }
+
+
+    private static Path normalize(Path path) {
+        return Objects.nonNull(path)
+                ? path.toAbsolutePath().normalize()
+                : null;
+    }
+
+
+    private static Set<String> scan(Class<?> type, String packageName, ClassLoader classLoader, Set<Path> excludedClasspathElements) {
+        ClassGraph classGraph = new ClassGraph()
+                .enableClassInfo()
+                .acceptPackages(packageName)
+                .filterClasspathElements(x -> !isExcluded(x, excludedClasspathElements));
+        if (Objects.nonNull(classLoader)) {
+            classGraph = classGraph.overrideClassLoaders(classLoader);
+        }
+        try (ScanResult scanResult = classGraph.scan()) {
+            return new LinkedHashSet<>(getConcreteSubclassNames(scanResult, type.getName()));
+        }
+    }
+
+
+    private static boolean isExcluded(String classpathElement, Set<Path> excludedClasspathElements) {
+        if (excludedClasspathElements.isEmpty()) {
+            return false;
+        }
+        try {
+            return excludedClasspathElements.contains(normalize(Paths.get(classpathElement)));
+        }
+        catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+
+    private static List<String> getConcreteSubclassNames(ScanResult scanResult, String typeName) {
+        return scanResult.getSubclasses(typeName)
+                .filter(x -> !x.isAbstract() && !x.isInterface())
+                .getNames()
+                .stream()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
@@ -14,14 +14,22 @@
  */
 package de.fraunhofer.iosb.ilt.faaast.service.util;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import org.eclipse.digitaltwin.aas4j.v3.dataformat.core.DeserializationException;
-import org.eclipse.digitaltwin.aas4j.v3.dataformat.core.SerializationException;
-import org.eclipse.digitaltwin.aas4j.v3.dataformat.json.JsonDeserializer;
-import org.eclipse.digitaltwin.aas4j.v3.dataformat.json.JsonSerializer;
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
 import org.eclipse.digitaltwin.aas4j.v3.model.OperationVariable;
 import org.eclipse.digitaltwin.aas4j.v3.model.Referable;
@@ -35,9 +43,30 @@ import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultOperationVariable;
  * <li>{@link org.eclipse.digitaltwin.aas4j.v3.model.Referable}
  * <li>{@link org.eclipse.digitaltwin.aas4j.v3.model.Environment}
  * </ul>
+ *
+ * <p>Copies are created field by field using reflection, i.e. without serializing to an intermediate format. For each
+ * class, the parameterless constructor and the fields to copy are determined once and cached. Immutable values like
+ * strings, numbers and enums are shared between original and copy, collections and arrays are copied element-wise.
+ * This works for the default implementations of the AAS model as well as custom implementations following the same
+ * pattern, i.e. providing a parameterless constructor.
  */
 public class DeepCopyHelper {
 
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+            String.class,
+            Boolean.class,
+            Character.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            BigInteger.class,
+            BigDecimal.class,
+            Class.class);
+    private static final Map<Class<?>, TypeInfo> TYPE_INFOS = new ConcurrentHashMap<>();
+
     private DeepCopyHelper() {}
 
 
@@ -50,9 +79,9 @@ public class DeepCopyHelper {
      */
     public static Environment deepCopy(Environment env) {
         try {
-            return new JsonDeserializer().read(new JsonSerializer().write(env), Environment.class);
+            return copy(env);
         }
-        catch (SerializationException | DeserializationException e) {
+        catch (ReflectiveOperationException | RuntimeException e) {
             throw new IllegalArgumentException("deep copy of AAS environment failed", e);
         }
     }
@@ -94,10 +123,10 @@ public class DeepCopyHelper {
                     String.format("type mismatch - can not create deep copy of instance of type %s with target type %s", referable.getClass(), outputClass));
         }
         try {
-            return (T) new JsonDeserializer().read(new JsonSerializer().write(referable), outputClass);
+            return (T) copy(referable);
         }
-        catch (SerializationException | DeserializationException e) {
-            throw new RuntimeException("deep copy of AAS environment failed", e);
+        catch (ReflectiveOperationException e) {
+            throw new RuntimeException("deep copy of AAS element failed", e);
         }
     }
 
@@ -140,4 +169,96 @@ public class DeepCopyHelper {
                 .build())
                 .collect(Collectors.toList());
     }
+
+
+    private static <T> T copy(T obj) throws ReflectiveOperationException {
+        if (Objects.isNull(obj)) {
+            return null;
+        }
+        Class<?> type = obj.getClass();
+        if (IMMUTABLE_TYPES.contains(type) || type.isEnum() || Enum.class.isAssignableFrom(type)) {
+            return obj;
+        }
+        if (type.isArray()) {
+            return (T) copyArray(obj);
+        }
+        if (List.class.isAssignableFrom(type)) {
+            return (T) copyCollection((Collection<?>) obj, new ArrayList<>(((Collection<?>) obj).size()));
+        }
+        if (Set.class.isAssignableFrom(type)) {
+            return (T) copyCollection((Collection<?>) obj, new LinkedHashSet<>());
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return (T) copyCollection((Collection<?>) obj, new ArrayList<>(((Collection<?>) obj).size()));
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            Map<Object, Object> result = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry: ((Map<?, ?>) obj).entrySet()) {
+                result.put(copy(entry.getKey()), copy(entry.getValue()));
+            }
+            return (T) result;
+        }
+        TypeInfo typeInfo = TYPE_INFOS.computeIfAbsent(type, DeepCopyHelper::analyze);
+        T result = (T) typeInfo.constructor.newInstance();
+        for (Field field: typeInfo.fields) {
+            field.set(result, copy(field.get(obj)));
+        }
+        return result;
+    }
+
+
+    private static Object copyArray(Object array) throws ReflectiveOperationException {
+        Class<?> componentType = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        if (componentType.isPrimitive()) {
+            Object result = Array.newInstance(componentType, length);
+            System.arraycopy(array, 0, result, 0, length);
+            return result;
+        }
+        Object[] result = (Object[]) Array.newInstance(componentType, length);
+        for (int i = 0; i < length; i++) {
+            result[i] = copy(((Object[]) array)[i]);
+        }
+        return result;
+    }
+
+
+    private static <C extends Collection<Object>> C copyCollection(Collection<?> original, C result) throws ReflectiveOperationException {
+        for (Object element: original) {
+            result.add(copy(element));
+        }
+        return result;
+    }
+
+
+    private static TypeInfo analyze(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; Objects.nonNull(current) && !Object.class.equals(current); current = current.getSuperclass()) {
+                for (Field field: current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return new TypeInfo(constructor, fields);
+        }
+        catch (NoSuchMethodException | RuntimeException e) {
+            throw new IllegalArgumentException(String.format("unable to create deep copy of type %s - type must provide a parameterless constructor", type), e);
+        }
+    }
+
+    private static class TypeInfo {
+
+        private final Constructor<?> constructor;
+        private final List<Field> fields;
+
+        private TypeInfo(Constructor<?> constructor, List<Field> fields) {
+            this.constructor = constructor;
+            this.fields = fields;
+        }
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Helper for creating executors that either use platform threads or, if supported by the JVM (Java 21+), virtual
+ * threads. As the service is compiled for Java 17, virtual threads are accessed via reflection. Support for virtual
+ * threads is resolved only once and missing support is only reported once.
+ */
+public class ExecutorHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorHelper.class);
+    private static final AtomicBoolean VIRTUAL_THREADS_UNAVAILABLE_REPORTED = new AtomicBoolean(false);
+
+    private ExecutorHelper() {}
+
+
+    /**
+     * Checks if the current JVM supports virtual threads.
+     *
+     * @return true if virtual threads are supported, otherwise false
+     */
+    public static boolean isVirtualThreadSupported() {
+        return Objects.nonNull(VirtualThreadSupport.FACTORY);
+    }
+
+
+    /**
+     * Creates a new executor that executes each task on its own virtual thread. If virtual threads are not supported
+     * by the JVM or creating the executor fails, null is returned so that callers can fall back to platform threads.
+     * In that case, a warning is logged the first time only.
+     *
+     * @return the new executor or null if virtual threads are not available
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        return newVirtualThreadExecutor(VirtualThreadSupport.FACTORY);
+    }
+
+
+    /**
+     * Creates a new executor. If virtual threads are requested and supported, each task is executed on its own virtual
+     * thread, otherwise a fixed pool of platform threads is used. If virtual threads are requested but not available,
+     * a warning is logged.
+     *
+     * @param useVirtualThreads whether to use virtual threads
+     * @param threadPoolSize number of platform threads to use if virtual threads are not used
+     * @param namingPattern naming pattern for platform threads, e.g. {@code MyThread-%d}
+     * @return the new executor
+     */
+    public static ExecutorService newExecutor(boolean useVirtualThreads, int threadPoolSize, String namingPattern) {
+        return newExecutor(useVirtualThreads, threadPoolSize, namingPattern, VirtualThreadSupport.FACTORY);
+    }
+
+
+    /**
+     * Returns an executor shared by all callers. If virtual threads are requested and supported, each task is executed
+     * on its own virtual thread, otherwise a cached pool of daemon platform threads is used. Use this instead of
+     * creating a new executor for short-lived work that is submitted frequently. The returned executor must not be
+     * shut down by callers.
+     *
+     * @param useVirtualThreads whether to use virtual threads
+     * @return the shared executor
+     */
+    public static ExecutorService getSharedExecutor(boolean useVirtualThreads) {
+        if (useVirtualThreads && Objects.nonNull(SharedVirtualThreadExecutor.INSTANCE)) {
+            return SharedVirtualThreadExecutor.INSTANCE;
+        }
+        return SharedPlatformThreadExecutor.INSTANCE;
+    }
+
+
+    static ExecutorService newExecutor(boolean useVirtualThreads, int threadPoolSize, String namingPattern, Method virtualThreadExecutorFactory) {
+        if (useVirtualThreads) {
+            ExecutorService result = newVirtualThreadExecutor(virtualThreadExecutorFactory);
+            if (Objects.nonNull(result)) {
+                return result;
+            }
+        }
+        return Executors.newFixedThreadPool(
+                threadPoolSize,
+                new BasicThreadFactory.Builder()
+                        .namingPattern(namingPattern)
+                        .build());
+    }
+
+
+    static ExecutorService newVirtualThreadExecutor(Method virtualThreadExecutorFactory) {
+        if (Objects.isNull(virtualThreadExecutorFactory)) {
+            if (VIRTUAL_THREADS_UNAVAILABLE_REPORTED.compareAndSet(false, true)) {
+                LOGGER.warn("virtual threads are not supported by this JVM (requires Java 21+), using platform threads instead");
+            }
+            return null;
+        }
+        try {
+            return (ExecutorService) virtualThreadExecutorFactory.invoke(null);
+        }
+        catch (IllegalAccessException | InvocationTargetException | ClassCastException e) {
+            if (VIRTUAL_THREADS_UNAVAILABLE_REPORTED.compareAndSet(false, true)) {
+                LOGGER.warn("creating virtual thread executor failed, using platform threads instead", e);
+            }
+            return null;
+        }
+    }
+
+
+    private static Method findNewVirtualThreadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        }
+        catch (NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lazily resolves support for virtual threads on first use.
+     */
+    private static class VirtualThreadSupport {
+
+        private static final Method FACTORY = findNewVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Lazily creates the shared virtual thread executor on first use. Holds null if virtual threads are not available.
+     */
+    private static class SharedVirtualThreadExecutor {
+
+        private static final ExecutorService INSTANCE = newVirtualThreadExecutor();
+    }
+
+    /**
+     * Lazily creates the shared platform thread executor on first use.
+     */
+    private static class SharedPlatformThreadExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(
+                new BasicThreadFactory.Builder()
+                        .namingPattern("SharedExecutor-%d")
+                        .daemon(true)
+                        .build());
+    }
+}
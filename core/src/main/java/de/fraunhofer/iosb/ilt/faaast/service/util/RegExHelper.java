@@ -116,10 +116,24 @@ public class RegExHelper {
      * @return group names and their corresponding value
      */
     public static Map<String, String> getGroupValues(String pattern, String input) {
+        return getGroupValues(Pattern.compile(pattern), input);
+    }
+
+
+    /**
+     * Finds a named groups (in the form of {@literal '(?<[group name]>)')} in the precompiled pattern and extracts the
+     * corresponding values from the input. If pattern does not contain named groups or input does not match pattern and
+     * empty list is return.
+     *
+     * @param pattern the pattern to evaluate
+     * @param input the value to evaludate the pattern against
+     * @return group names and their corresponding value
+     */
+    public static Map<String, String> getGroupValues(Pattern pattern, String input) {
         Map<String, String> result = new HashMap<>();
-        Matcher matcher = Pattern.compile(pattern).matcher(input);
+        Matcher matcher = pattern.matcher(input);
         if (matcher.matches()) {
-            getNamedGroupCandidates(pattern).forEach(group -> {
+            getNamedGroupCandidates(pattern.pattern()).forEach(group -> {
                 try {
                     result.put(group, matcher.group(group));
                 }
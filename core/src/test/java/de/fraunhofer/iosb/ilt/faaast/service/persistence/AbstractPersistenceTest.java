@@ -26,6 +26,7 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.Level;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.OutputModifier;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.QueryModifier;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.operation.OperationHandle;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.Page;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.PagingInfo;
 import de.fraunhofer.iosb.ilt.faaast.service.model.asset.GlobalAssetIdentification;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.PersistenceException;
@@ -42,6 +43,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -63,7 +65,10 @@ import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultAssetAdministrationShe
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultConceptDescription;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultKey;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultOperationResult;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultProperty;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultReference;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodelElementCollection;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -365,6 +370,104 @@ public abstract class AbstractPersistenceTest<T extends Persistence<C>, C extend
     }
 
 
+    @Test
+    public void getSubmodelsPaged() throws PersistenceException {
+        List<Submodel> expected = environment.getSubmodels();
+        ExtendHelper.withoutBlobValue(expected);
+        List<Submodel> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Submodel> page = persistence.getAllSubmodels(QueryModifier.DEFAULT, PagingInfo.of(cursor, 1));
+            actual.addAll(page.getContent());
+            cursor = page.getMetadata().getCursor();
+        } while (Objects.nonNull(cursor));
+        Assert.assertEquals(expected, actual);
+    }
+
+
+    @Test
+    public void getSubmodelElementsPaged() throws ResourceNotFoundException, PersistenceException {
+        Submodel submodel = environment.getSubmodels().get(0);
+        SubmodelElementIdentifier parent = SubmodelElementIdentifier.builder()
+                .submodelId(submodel.getId())
+                .build();
+        List<SubmodelElement> expected = persistence.findSubmodelElements(
+                SubmodelElementSearchCriteria.builder()
+                        .parent(parent)
+                        .build(),
+                QueryModifier.DEFAULT,
+                PagingInfo.ALL)
+                .getContent();
+        List<SubmodelElement> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<SubmodelElement> page = persistence.findSubmodelElements(
+                    SubmodelElementSearchCriteria.builder()
+                            .parent(parent)
+                            .build(),
+                    QueryModifier.DEFAULT,
+                    PagingInfo.of(cursor, 2));
+            actual.addAll(page.getContent());
+            cursor = page.getMetadata().getCursor();
+        } while (Objects.nonNull(cursor));
+        Assert.assertEquals(expected, actual);
+    }
+
+
+    @Test
+    public void getAllSubmodelElementsPaged() throws ResourceNotFoundException, PersistenceException {
+        List<SubmodelElement> expected = persistence.findSubmodelElements(
+                SubmodelElementSearchCriteria.NONE,
+                QueryModifier.DEFAULT,
+                PagingInfo.ALL)
+                .getContent();
+        Assert.assertFalse(expected.isEmpty());
+        List<SubmodelElement> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<SubmodelElement> page = persistence.findSubmodelElements(
+                    SubmodelElementSearchCriteria.NONE,
+                    QueryModifier.DEFAULT,
+                    PagingInfo.of(cursor, 3));
+            actual.addAll(page.getContent());
+            cursor = page.getMetadata().getCursor();
+        } while (Objects.nonNull(cursor));
+        Assert.assertEquals(expected, actual);
+    }
+
+
+    @Test
+    public void getAllSubmodelElementsDeeplyNested() throws ResourceNotFoundException, PersistenceException {
+        int depth = 40;
+        Reference semanticId = ReferenceBuilder.global("http://example.org/deeply-nested");
+        SubmodelElement element = new DefaultProperty.Builder()
+                .idShort("leaf")
+                .semanticId(semanticId)
+                .value("0")
+                .build();
+        for (int i = 0; i < depth; i++) {
+            element = new DefaultSubmodelElementCollection.Builder()
+                    .idShort("level" + i)
+                    .value(element)
+                    .build();
+        }
+        persistence.save(new DefaultSubmodel.Builder()
+                .id("http://example.org/submodels/deeply-nested")
+                .idShort("DeeplyNested")
+                .submodelElements(element)
+                .build());
+        List<SubmodelElement> actual = persistence.findSubmodelElements(
+                SubmodelElementSearchCriteria.builder()
+                        .semanticId(semanticId)
+                        .build(),
+                QueryModifier.DEFAULT,
+                PagingInfo.ALL)
+                .getContent();
+        Assert.assertEquals(1, actual.size());
+        Assert.assertEquals("leaf", actual.get(0).getIdShort());
+    }
+
+
     @Test
     public void getSubmodelsWithIdShort() throws PersistenceException {
         String submodelIdShort = "TestSubmodel";
@@ -451,6 +554,38 @@ public abstract class AbstractPersistenceTest<T extends Persistence<C>, C extend
     }
 
 
+    @Test
+    public void getSubmodelElementsWithsemanticIdOfDifferentKeyType() throws ResourceNotFoundException, PersistenceException {
+        String submodelId = "http://acplt.org/Submodels/Assets/TestAsset/Identification";
+        Reference semanticId = new DefaultReference.Builder()
+                .type(ReferenceTypes.EXTERNAL_REFERENCE)
+                .keys(new DefaultKey.Builder()
+                        .type(KeyTypes.CONCEPT_DESCRIPTION)
+                        .value("0173-1#02-AAO677#002")
+                        .build())
+                .build();
+        List<SubmodelElement> actual = persistence.findSubmodelElements(
+                SubmodelElementSearchCriteria.builder()
+                        .parent(SubmodelElementIdentifier.builder()
+                                .submodelId(submodelId)
+                                .build())
+                        .semanticId(semanticId)
+                        .build(),
+                QueryModifier.DEFAULT,
+                PagingInfo.ALL)
+                .getContent();
+        Assert.assertTrue(actual.isEmpty());
+        actual = persistence.findSubmodelElements(
+                SubmodelElementSearchCriteria.builder()
+                        .semanticId(semanticId)
+                        .build(),
+                QueryModifier.DEFAULT,
+                PagingInfo.ALL)
+                .getContent();
+        Assert.assertTrue(actual.isEmpty());
+    }
+
+
     @Test
     public void getSubmodelElementsFromSubmodelElementCollection() throws ResourceNotFoundException, PersistenceException, ResourceNotAContainerElementException {
         String submodelId = "https://acplt.org/Test_Submodel_Mandatory";
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.util;
+
+import de.fraunhofer.iosb.ilt.faaast.service.request.handler.AbstractRequestHandler;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class ClassIndexHelperTest {
+
+    private static final String INDEX_CONTENT = IndexedImpl.class.getName() + System.lineSeparator();
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void testIndexMatchesScan() throws Exception {
+        Class<?> type = AbstractRequestHandler.class;
+        Set<String> actual = ClassIndexHelper.readIndex(type, type.getClassLoader(), new HashSet<>());
+        Assert.assertFalse("class index not found - has the class index been generated during build?", actual.isEmpty());
+        Path classesDirectory = Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (ScanResult scanResult = new ClassGraph()
+                .enableClassInfo()
+                .overrideClasspath(classesDirectory.toString())
+                .scan()) {
+            Set<String> expected = scanResult.getSubclasses(type.getName())
+                    .filter(x -> !x.isAbstract() && !x.isInterface())
+                    .getNames()
+                    .stream()
+                    .collect(Collectors.toSet());
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+
+    @Test
+    public void testIndexIsTrusted() throws Exception {
+        File indexDirectory = tempDir.newFolder();
+        writeIndex(indexDirectory.toPath());
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {
+                indexDirectory.toURI().toURL(),
+                getClass().getProtectionDomain().getCodeSource().getLocation()
+        }, getClass().getClassLoader())) {
+            List<Class<? extends Base>> actual = ClassIndexHelper.getSubclasses(Base.class, getClass().getPackageName(), classLoader, true, false);
+            Assert.assertEquals(List.of(IndexedImpl.class), actual);
+        }
+    }
+
+
+    @Test
+    public void testClassesOutsideIndexAreMergedIfEnabled() throws Exception {
+        File indexDirectory = tempDir.newFolder();
+        writeIndex(indexDirectory.toPath());
+        // the test classes are not indexed and therefore must be scanned
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {
+                indexDirectory.toURI().toURL(),
+                getClass().getProtectionDomain().getCodeSource().getLocation()
+        }, getClass().getClassLoader())) {
+            List<Class<? extends Base>> actual = ClassIndexHelper.getSubclasses(Base.class, getClass().getPackageName(), classLoader, true, true);
+            Assert.assertEquals(Set.of(IndexedImpl.class, NotIndexedImpl.class), new HashSet<>(actual));
+            Assert.assertEquals(2, actual.size());
+        }
+    }
+
+
+    @Test
+    public void testScanWithoutIndex() throws Exception {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {
+                getClass().getProtectionDomain().getCodeSource().getLocation()
+        }, getClass().getClassLoader())) {
+            List<Class<? extends Base>> actual = ClassIndexHelper.getSubclasses(Base.class, getClass().getPackageName(), classLoader, true, false);
+            Assert.assertEquals(Set.of(IndexedImpl.class, NotIndexedImpl.class), new HashSet<>(actual));
+        }
+    }
+
+
+    @Test
+    public void testIndexedClasspathElementIsNotScanned() throws Exception {
+        File classesDirectory = tempDir.newFolder();
+        writeIndex(classesDirectory.toPath());
+        copyClassFile(Base.class, classesDirectory.toPath());
+        copyClassFile(NotIndexedImpl.class, classesDirectory.toPath());
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {
+                classesDirectory.toURI().toURL()
+        }, getClass().getClassLoader())) {
+            List<Class<? extends Base>> actual = ClassIndexHelper.getSubclasses(Base.class, getClass().getPackageName(), classLoader, true, true);
+            Assert.assertEquals(List.of(IndexedImpl.class), actual);
+        }
+    }
+
+
+    @Test
+    public void testReadIndexFromDirectory() throws Exception {
+        File indexDirectory = tempDir.newFolder();
+        writeIndex(indexDirectory.toPath());
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {
+                indexDirectory.toURI().toURL()
+        }, null)) {
+            Set<Path> indexedClasspathElements = new HashSet<>();
+            Set<String> actual = ClassIndexHelper.readIndex(Base.class, classLoader, indexedClasspathElements);
+            Assert.assertEquals(Set.of(IndexedImpl.class.getName()), actual);
+            Assert.assertEquals(Set.of(indexDirectory.toPath().toAbsolutePath().normalize()), indexedClasspathElements);
+        }
+    }
+
+
+    @Test
+    public void testReadIndexFromJar() throws Exception {
+        File jar = tempDir.newFile("index.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            out.putNextEntry(new JarEntry(ClassIndexHelper.INDEX_DIRECTORY + Base.class.getName()));
+            out.write(INDEX_CONTENT.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {
+                jar.toURI().toURL()
+        }, null)) {
+            Set<Path> indexedClasspathElements = new HashSet<>();
+            Set<String> actual = ClassIndexHelper.readIndex(Base.class, classLoader, indexedClasspathElements);
+            Assert.assertEquals(Set.of(IndexedImpl.class.getName()), actual);
+            Assert.assertEquals(Set.of(jar.toPath().toAbsolutePath().normalize()), indexedClasspathElements);
+        }
+    }
+
+
+    private static void writeIndex(Path classpathElement) throws IOException {
+        Path index = classpathElement.resolve(ClassIndexHelper.INDEX_DIRECTORY + Base.class.getName());
+        Files.createDirectories(index.getParent());
+        try (OutputStream out = Files.newOutputStream(index)) {
+            out.write(INDEX_CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void copyClassFile(Class<?> type, Path classesDirectory) throws IOException {
+        String resourceName = type.getName().replace('.', '/') + ".class";
+        Path target = classesDirectory.resolve(resourceName);
+        Files.createDirectories(target.getParent());
+        try (InputStream in = type.getClassLoader().getResourceAsStream(resourceName)) {
+            Files.copy(in, target);
+        }
+    }
+
+    public abstract static class Base {}
+
+    public static class IndexedImpl extends Base {}
+
+    public static class NotIndexedImpl extends Base {}
+}
@@ -16,11 +16,15 @@ package de.fraunhofer.iosb.ilt.faaast.service.util;
 
 import de.fraunhofer.iosb.ilt.faaast.service.model.AASFull;
 import java.util.List;
+import org.eclipse.digitaltwin.aas4j.v3.model.Blob;
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
 import org.eclipse.digitaltwin.aas4j.v3.model.Property;
 import org.eclipse.digitaltwin.aas4j.v3.model.Range;
 import org.eclipse.digitaltwin.aas4j.v3.model.Referable;
+import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
 import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElement;
+import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElementCollection;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultBlob;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultProperty;
 import org.junit.Assert;
 import org.junit.Test;
@@ -124,4 +128,37 @@ public class DeepCopyHelperTest {
         Assert.assertEquals(expected, actual);
     }
 
+
+    @Test
+    public void testDeepCopyIsIndependentOfOriginal() {
+        Environment original = AASFull.createEnvironment();
+        Environment copy = DeepCopyHelper.deepCopy(original);
+        Assert.assertNotSame(original.getSubmodels().get(0), copy.getSubmodels().get(0));
+        for (Submodel submodel: copy.getSubmodels()) {
+            submodel.getSubmodelElements().stream()
+                    .filter(SubmodelElementCollection.class::isInstance)
+                    .forEach(x -> ((SubmodelElementCollection) x).getValue().clear());
+            submodel.getSubmodelElements().clear();
+            submodel.setIdShort("modified");
+        }
+        Assert.assertEquals(AASFull.createEnvironment(), original);
+    }
+
+
+    @Test
+    public void testDeepCopyBlobValue() {
+        Blob expected = new DefaultBlob.Builder()
+                .idShort("blob1")
+                .contentType("application/octet-stream")
+                .value(new byte[] {
+                        1,
+                        2,
+                        3
+                })
+                .build();
+        Blob actual = DeepCopyHelper.deepCopy(expected);
+        Assert.assertEquals(expected, actual);
+        Assert.assertNotSame(expected.getValue(), actual.getValue());
+    }
+
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class ExecutorHelperTest {
+
+    private static final String NAMING_PATTERN = "ExecutorHelperTest-%d";
+    private static final long TIMEOUT = 5;
+
+    @Test
+    public void testFallbackToPlatformThreadsWhenVirtualThreadsNotSupported() throws Exception {
+        Assert.assertNull(ExecutorHelper.newVirtualThreadExecutor(null));
+        assertUsesPlatformThreads(ExecutorHelper.newExecutor(true, 1, NAMING_PATTERN, null));
+    }
+
+
+    @Test
+    public void testFallbackToPlatformThreadsWhenCreatingVirtualThreadExecutorFails() throws Exception {
+        Method failingFactory = ExecutorHelperTest.class.getDeclaredMethod("failingFactory");
+        Assert.assertNull(ExecutorHelper.newVirtualThreadExecutor(failingFactory));
+        assertUsesPlatformThreads(ExecutorHelper.newExecutor(true, 1, NAMING_PATTERN, failingFactory));
+    }
+
+
+    @Test
+    public void testFallbackToPlatformThreadsWhenFactoryReturnsWrongType() throws Exception {
+        Method wrongTypeFactory = ExecutorHelperTest.class.getDeclaredMethod("wrongTypeFactory");
+        Assert.assertNull(ExecutorHelper.newVirtualThreadExecutor(wrongTypeFactory));
+        assertUsesPlatformThreads(ExecutorHelper.newExecutor(true, 1, NAMING_PATTERN, wrongTypeFactory));
+    }
+
+
+    @Test
+    public void testPlatformThreadsWhenVirtualThreadsNotRequested() throws Exception {
+        assertUsesPlatformThreads(ExecutorHelper.newExecutor(false, 1, NAMING_PATTERN));
+    }
+
+
+    @Test
+    public void testVirtualThreadsIfSupported() throws Exception {
+        ExecutorService executor = ExecutorHelper.newVirtualThreadExecutor();
+        Assert.assertEquals(ExecutorHelper.isVirtualThreadSupported(), executor != null);
+        if (executor == null) {
+            return;
+        }
+        try {
+            // virtual threads are unnamed by default
+            Assert.assertEquals("", executor.submit(() -> Thread.currentThread().getName()).get(TIMEOUT, TimeUnit.SECONDS));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void testSharedExecutorIsReused() throws Exception {
+        ExecutorService executor = ExecutorHelper.getSharedExecutor(false);
+        Assert.assertSame(executor, ExecutorHelper.getSharedExecutor(false));
+        Assert.assertTrue(executor.submit(() -> Thread.currentThread().isDaemon()).get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertSame(ExecutorHelper.getSharedExecutor(true), ExecutorHelper.getSharedExecutor(true));
+        Assert.assertEquals(
+                ExecutorHelper.isVirtualThreadSupported(),
+                ExecutorHelper.getSharedExecutor(true) != executor);
+    }
+
+
+    private static void assertUsesPlatformThreads(ExecutorService executor) throws InterruptedException, ExecutionException, TimeoutException {
+        try {
+            Assert.assertEquals(
+                    String.format(NAMING_PATTERN, 1),
+                    executor.submit(() -> Thread.currentThread().getName()).get(TIMEOUT, TimeUnit.SECONDS));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    static ExecutorService failingFactory() {
+        throw new UnsupportedOperationException("virtual threads not available");
+    }
+
+
+    static String wrongTypeFactory() {
+        return "not an executor";
+    }
+}
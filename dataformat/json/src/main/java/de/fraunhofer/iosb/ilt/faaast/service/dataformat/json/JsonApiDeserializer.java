@@ -16,6 +16,7 @@ package de.fraunhofer.iosb.ilt.faaast.service.dataformat.json;
 
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.DeserializationConfig;
@@ -91,6 +92,10 @@ import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReflectionHelper;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
@@ -138,6 +143,27 @@ public class JsonApiDeserializer implements ApiDeserializer {
     }
 
 
+    /**
+     * Deserializes an object from the given parser. This allows deserializing from other sources than JSON text, e.g.
+     * from a {@link com.fasterxml.jackson.databind.util.TokenBuffer}.
+     *
+     * @param <T> the type of the result
+     * @param parser the parser to read from
+     * @param type the type of the result
+     * @return the deserialized object
+     * @throws DeserializationException if deserialization fails
+     */
+    public <T> T read(JsonParser parser, Class<T> type) throws DeserializationException {
+        Ensure.requireNonNull(parser, "parser must be non-null");
+        try {
+            return wrapper.getMapper().readValue(parser, type);
+        }
+        catch (IOException e) {
+            throw new DeserializationException(ERROR_MSG_DESERIALIZATION_FAILED, e);
+        }
+    }
+
+
     @Override
     public <T> List<T> readList(String json, JavaType type) throws DeserializationException {
         if (Objects.isNull(json)) {
@@ -156,6 +182,63 @@ public class JsonApiDeserializer implements ApiDeserializer {
     }
 
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>In contrast to the default implementation, the input is parsed incrementally without reading it into a string
+     * first.
+     */
+    @Override
+    public <T> T read(InputStream src, Charset charset, Class<T> type) throws DeserializationException {
+        return read(src, charset, wrapper.getMapper().getTypeFactory().constructType(type));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>In contrast to the default implementation, the input is parsed incrementally without reading it into a string
+     * first.
+     */
+    @Override
+    public <T> T read(InputStream src, Charset charset, JavaType type) throws DeserializationException {
+        Ensure.requireNonNull(src, "src must be non-null");
+        try {
+            if (Objects.isNull(charset) || StandardCharsets.UTF_8.equals(charset)) {
+                return wrapper.getMapper().readValue(src, type);
+            }
+            return wrapper.getMapper().readValue(new InputStreamReader(src, charset), type);
+        }
+        catch (IOException e) {
+            throw new DeserializationException(ERROR_MSG_DESERIALIZATION_FAILED, e);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>In contrast to the default implementation, the input is parsed incrementally without reading it into a string
+     * first.
+     */
+    @Override
+    public <T> List<T> readList(InputStream src, Charset charset, Class<T> type) throws DeserializationException {
+        return readList(src, charset, wrapper.getMapper().getTypeFactory().constructType(type));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>In contrast to the default implementation, the input is parsed incrementally without reading it into a string
+     * first.
+     */
+    @Override
+    public <T> List<T> readList(InputStream src, Charset charset, JavaType type) throws DeserializationException {
+        return read(src, charset, wrapper.getMapper().getTypeFactory().constructCollectionType(List.class, type));
+    }
+
+
     /**
      * {@inheritDoc}
      *
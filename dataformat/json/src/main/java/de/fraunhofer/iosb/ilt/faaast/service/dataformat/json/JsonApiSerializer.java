@@ -14,10 +14,12 @@
  */
 package de.fraunhofer.iosb.ilt.faaast.service.dataformat.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.ApiSerializer;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.SerializationException;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.mixins.AbstractRequestWithModifierMixin;
@@ -46,8 +48,16 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.value.ReferenceElementValue;
 import de.fraunhofer.iosb.ilt.faaast.service.util.CollectionHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReflectionHelper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.digitaltwin.aas4j.v3.model.Message;
 import org.eclipse.digitaltwin.aas4j.v3.model.Result;
 
@@ -61,9 +71,11 @@ public class JsonApiSerializer implements ApiSerializer {
     private final ValueOnlyJsonSerializer valueOnlySerializer;
     private final MetadataJsonSerializer metadataJsonSerializer;
     private final SerializerWrapper wrapper;
+    private final Map<OutputModifier, ObjectWriter> writers;
 
     public JsonApiSerializer() {
         this.wrapper = new SerializerWrapper(this::modifyMapper);
+        this.writers = new ConcurrentHashMap<>();
         this.pathSerializer = new PathJsonSerializer();
         this.valueOnlySerializer = new ValueOnlyJsonSerializer();
         this.metadataJsonSerializer = new MetadataJsonSerializer();
@@ -110,36 +122,97 @@ public class JsonApiSerializer implements ApiSerializer {
     }
 
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If charset is UTF-8, the serialization is written directly to the stream without creating an intermediate
+     * string. In contrast to the default implementation, the stream is not closed.
+     */
+    @Override
+    public void write(OutputStream out, Charset charset, Object obj, OutputModifier modifier) throws IOException, SerializationException, UnsupportedModifierException {
+        Ensure.requireNonNull(out, "out must be non-null");
+        Ensure.requireNonNull(modifier, "modifier must be non-null");
+        if (!StandardCharsets.UTF_8.equals(charset)) {
+            Writer writer = new OutputStreamWriter(out, charset);
+            writer.write(write(obj, modifier));
+            writer.flush();
+            return;
+        }
+        switch (modifier.getContent()) {
+            case VALUE:
+                valueOnlySerializer.write(out, obj, modifier.getLevel(), modifier.getExtent());
+                break;
+            case PATH:
+                pathSerializer.write(out, null, obj, modifier.getLevel());
+                break;
+            case METADATA:
+                metadataJsonSerializer.write(out, obj);
+                break;
+            case NORMAL:
+            default: {
+                if (obj != null && ElementValue.class.isAssignableFrom(obj.getClass())) {
+                    valueOnlySerializer.write(out, obj, modifier.getLevel(), modifier.getExtent());
+                    return;
+                }
+                try {
+                    getNormalWriter(obj, modifier)
+                            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                            .writeValue(out, obj);
+                }
+                catch (JsonProcessingException e) {
+                    throw new SerializationException("serialization failed", e);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Serializes an object using the given generator. This allows serializing to other targets than JSON text, e.g. to
+     * a {@link com.fasterxml.jackson.databind.util.TokenBuffer}.
+     *
+     * @param generator the generator to write to
+     * @param obj the object to serialize
+     * @throws SerializationException if serialization fails
+     */
+    public void write(JsonGenerator generator, Object obj) throws SerializationException {
+        Ensure.requireNonNull(generator, "generator must be non-null");
+        try {
+            wrapper.getMapper().writer().writeValue(generator, obj);
+        }
+        catch (IOException e) {
+            throw new SerializationException("serialization failed", e);
+        }
+    }
+
+
     private String serializeNormal(Object obj, OutputModifier modifier) throws SerializationException, UnsupportedModifierException {
         if (obj != null && ElementValue.class.isAssignableFrom(obj.getClass())) {
             return valueOnlySerializer.write(obj, modifier.getLevel(), modifier.getExtent());
         }
         try {
-            JsonMapper mapper = wrapper.getMapper();
-            if (Objects.nonNull(obj)) {
-                if (List.class.isAssignableFrom(obj.getClass()) && !((List) obj).isEmpty()) {
-                    ObjectWriter objectWriter = mapper
-                            .writerFor(mapper.getTypeFactory()
-                                    .constructCollectionType(List.class, ((List<Object>) obj).get(0).getClass()))
-                            .withAttribute(ModifierAwareSerializer.LEVEL, modifier);
-                    return objectWriter.writeValueAsString(obj);
-                }
-                if (Page.class.isAssignableFrom(obj.getClass())) {
-                    Class<?> contentType = CollectionHelper.findMostSpecificCommonType(((Page) obj).getContent());
-                    ObjectWriter objectWriter = mapper
-                            .writerFor(mapper.getTypeFactory()
-                                    .constructParametricType(Page.class, contentType))
-                            .withAttribute(ModifierAwareSerializer.LEVEL, modifier);
-                    return objectWriter.writeValueAsString(obj);
-                }
-            }
-            return mapper.writer()
-                    .withAttribute(ModifierAwareSerializer.LEVEL, modifier)
-                    .writeValueAsString(obj);
+            return getNormalWriter(obj, modifier).writeValueAsString(obj);
         }
         catch (JsonProcessingException e) {
             throw new SerializationException("serialization failed", e);
         }
     }
 
+
+    private ObjectWriter getNormalWriter(Object obj, OutputModifier modifier) {
+        ObjectWriter writer = writers.computeIfAbsent(modifier, x -> wrapper.getMapper().writer()
+                .withAttribute(ModifierAwareSerializer.LEVEL, x));
+        if (Objects.nonNull(obj)) {
+            TypeFactory typeFactory = wrapper.getMapper().getTypeFactory();
+            if (List.class.isAssignableFrom(obj.getClass()) && !((List) obj).isEmpty()) {
+                return writer.forType(typeFactory.constructCollectionType(List.class, ((List<Object>) obj).get(0).getClass()));
+            }
+            if (Page.class.isAssignableFrom(obj.getClass())) {
+                Class<?> contentType = CollectionHelper.findMostSpecificCommonType(((Page) obj).getContent());
+                return writer.forType(typeFactory.constructParametricType(Page.class, contentType));
+            }
+        }
+        return writer;
+    }
+
 }
@@ -42,6 +42,7 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.value.ReferenceElementValue;
 import de.fraunhofer.iosb.ilt.faaast.service.model.value.SubmodelElementCollectionValue;
 import de.fraunhofer.iosb.ilt.faaast.service.model.value.TypedValue;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReflectionHelper;
+import java.util.List;
 
 
 /**
@@ -101,6 +102,28 @@ public class JsonEventDeserializer {
     }
 
 
+    /**
+     * Read a list of event messages from string, e.g. a batch of events sent as JSON array.
+     *
+     * @param <T> type of event messages
+     * @param json the JSON to parse
+     * @param type type of event messages to deserialize to
+     * @return the parsed event messages
+     * @throws DeserializationException if deserialization fails
+     */
+    public <T extends EventMessage> List<T> readList(String json, Class<T> type) throws DeserializationException {
+        try {
+            return wrapper.getMapper().readValue(json, wrapper.getMapper().getTypeFactory().constructCollectionType(List.class, type));
+        }
+        catch (JsonProcessingException e) {
+            throw new DeserializationException(
+                    String.format("Deserializing event messages failed (reason: %s)",
+                            e.getMessage()),
+                    e);
+        }
+    }
+
+
     /**
      * Read an event message from string.
      *
@@ -14,10 +14,12 @@
  */
 package de.fraunhofer.iosb.ilt.faaast.service.dataformat.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.SerializationException;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.mixins.ImportResultMixin;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.mixins.MessageMixin;
@@ -40,6 +42,8 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.Page;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.PagingMetadata;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.response.proprietary.ImportResult;
 import de.fraunhofer.iosb.ilt.faaast.service.util.CollectionHelper;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Objects;
 import org.eclipse.digitaltwin.aas4j.v3.model.AnnotatedRelationshipElement;
@@ -64,9 +68,11 @@ import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElementList;
 public class MetadataJsonSerializer {
 
     private final SerializerWrapper wrapper;
+    private final ObjectWriter writer;
 
     public MetadataJsonSerializer() {
         this.wrapper = new SerializerWrapper(this::modifyMapper);
+        this.writer = wrapper.getMapper().writer();
     }
 
 
@@ -107,28 +113,46 @@ public class MetadataJsonSerializer {
      */
     public String write(Object obj) throws SerializationException {
         try {
-            JsonMapper mapper = wrapper.getMapper();
-            if (Objects.nonNull(obj)) {
-                if (List.class.isAssignableFrom(obj.getClass()) && !((List) obj).isEmpty()) {
-                    ObjectWriter objectWriter = mapper
-                            .writerFor(mapper.getTypeFactory()
-                                    .constructCollectionType(List.class, ((List<Object>) obj).get(0).getClass()));
-                    return objectWriter.writeValueAsString(obj);
-                }
-                if (Page.class.isAssignableFrom(obj.getClass())) {
-                    Class<?> contentType = CollectionHelper.findMostSpecificCommonType(((Page) obj).getContent());
-                    ObjectWriter objectWriter = mapper
-                            .writerFor(mapper.getTypeFactory()
-                                    .constructParametricType(Page.class, contentType));
-                    return objectWriter.writeValueAsString(obj);
-                }
-            }
-            return mapper.writer()
-                    .writeValueAsString(obj);
+            return getWriter(obj).writeValueAsString(obj);
+        }
+        catch (JsonProcessingException e) {
+            throw new SerializationException("serialization failed", e);
+        }
+    }
+
+
+    /**
+     * Converts obj to JSON and writes it directly to a stream. The stream is not closed.
+     *
+     * @param out the stream to write to
+     * @param obj the object to serialize
+     * @throws IOException if writing to the stream fails
+     * @throws SerializationException if serialization fails
+     */
+    public void write(OutputStream out, Object obj) throws IOException, SerializationException {
+        try {
+            getWriter(obj)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValue(out, obj);
         }
         catch (JsonProcessingException e) {
             throw new SerializationException("serialization failed", e);
         }
     }
 
+
+    private ObjectWriter getWriter(Object obj) {
+        TypeFactory typeFactory = wrapper.getMapper().getTypeFactory();
+        if (Objects.nonNull(obj)) {
+            if (List.class.isAssignableFrom(obj.getClass()) && !((List) obj).isEmpty()) {
+                return writer.forType(typeFactory.constructCollectionType(List.class, ((List<Object>) obj).get(0).getClass()));
+            }
+            if (Page.class.isAssignableFrom(obj.getClass())) {
+                Class<?> contentType = CollectionHelper.findMostSpecificCommonType(((Page) obj).getContent());
+                return writer.forType(typeFactory.constructParametricType(Page.class, contentType));
+            }
+        }
+        return writer;
+    }
+
 }
@@ -21,6 +21,8 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.IdShortPath;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.Level;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.Page;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.UnsupportedModifierException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -69,17 +71,36 @@ public class PathJsonSerializer {
      * @throws UnsupportedModifierException if the modifier is not supported for this element
      */
     public String write(IdShortPath parent, Object obj, Level level) throws SerializationException, UnsupportedModifierException {
+        return ResultSerializerHolder.INSTANCE.write(toIdShortPaths(parent, obj, level));
+    }
+
+
+    /**
+     * Serializes a given object with given level directly to a stream. The stream is not closed.
+     *
+     * @param out the stream to write to
+     * @param parent the path to the parent element
+     * @param obj object to serialize
+     * @param level level of serialization
+     * @throws IOException if writing to the stream fails
+     * @throws SerializationException if serialization fails
+     * @throws UnsupportedModifierException if the modifier is not supported for this element
+     */
+    public void write(OutputStream out, IdShortPath parent, Object obj, Level level) throws IOException, SerializationException, UnsupportedModifierException {
+        ResultSerializerHolder.INSTANCE.write(out, toIdShortPaths(parent, obj, level));
+    }
+
+
+    private Object toIdShortPaths(IdShortPath parent, Object obj, Level level) {
         if (Objects.nonNull(obj) && Page.class.isAssignableFrom(obj.getClass())) {
             Page page = (Page) obj;
-            return new JsonApiSerializer().write(Page.of(
+            return Page.of(
                     page.getContent().stream()
                             .map(x -> findIdShortPaths(parent, x, level))
                             .toList(),
-                    page.getMetadata()));
-        }
-        else {
-            return new JsonApiSerializer().write(findIdShortPaths(parent, obj, level));
+                    page.getMetadata());
         }
+        return findIdShortPaths(parent, obj, level);
     }
 
 
@@ -102,4 +123,12 @@ public class PathJsonSerializer {
         return mapper;
     }
 
+    /**
+     * Holds the serializer used for the resulting idShort paths. The instance is created lazily on first use as
+     * {@link JsonApiSerializer} itself creates instances of this class.
+     */
+    private static class ResultSerializerHolder {
+
+        private static final JsonApiSerializer INSTANCE = new JsonApiSerializer();
+    }
 }
@@ -14,10 +14,12 @@
  */
 package de.fraunhofer.iosb.ilt.faaast.service.dataformat.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
@@ -79,8 +81,12 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.value.TypedValue;
 import de.fraunhofer.iosb.ilt.faaast.service.model.value.primitive.AbstractDateTimeValue;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ElementValueHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReflectionHelper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import org.eclipse.digitaltwin.aas4j.v3.model.Key;
@@ -98,6 +104,7 @@ import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElement;
 public class ValueOnlyJsonSerializer {
 
     private final SerializerWrapper wrapper;
+    private final Map<Level, Map<Extent, ObjectWriter>> writers;
 
     private static boolean isJreType(Class<?> type) {
         if (type.getClassLoader() == null || type.getClassLoader().getParent() == null) {
@@ -110,6 +117,14 @@ public class ValueOnlyJsonSerializer {
 
     public ValueOnlyJsonSerializer() {
         this.wrapper = new SerializerWrapper(x -> modifyMapper(x));
+        this.writers = new EnumMap<>(Level.class);
+        for (Level level: Level.values()) {
+            Map<Extent, ObjectWriter> writersForLevel = new EnumMap<>(Extent.class);
+            for (Extent extent: Extent.values()) {
+                writersForLevel.put(extent, createWriter(level, extent));
+            }
+            writers.put(level, writersForLevel);
+        }
     }
 
 
@@ -174,16 +189,31 @@ public class ValueOnlyJsonSerializer {
      * @throws UnsupportedContentModifierException if obj does not support valueOnly serialization
      */
     public String write(Object obj, Level level, Extent extend) throws SerializationException, UnsupportedContentModifierException {
-        if (Objects.nonNull(obj) &&
-                !ElementValueHelper.isValueOnlySupported(obj) &&
-                !isExplicitelyAcceptedType(obj.getClass())) {
-            throw new UnsupportedContentModifierException(Content.VALUE, obj.getClass());
+        try {
+            return getWriter(obj, level, extend).writeValueAsString(obj);
         }
+        catch (JsonProcessingException e) {
+            throw new SerializationException("serialization failed", e);
+        }
+    }
+
+
+    /**
+     * Serializes a given object directly to a stream using provided level and extent. The stream is not closed.
+     *
+     * @param out the stream to write to
+     * @param obj the object to serialize
+     * @param level the level to use for serialization
+     * @param extend the extent to use for serialization
+     * @throws IOException if writing to the stream fails
+     * @throws SerializationException if serialization fails
+     * @throws UnsupportedContentModifierException if obj does not support valueOnly serialization
+     */
+    public void write(OutputStream out, Object obj, Level level, Extent extend) throws IOException, SerializationException, UnsupportedContentModifierException {
         try {
-            return wrapper.getMapper().writer()
-                    .withAttribute(ModifierAwareSerializer.LEVEL, level)
-                    .withAttribute(ModifierAwareSerializer.EXTEND, extend)
-                    .writeValueAsString(obj);
+            getWriter(obj, level, extend)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValue(out, obj);
         }
         catch (JsonProcessingException e) {
             throw new SerializationException("serialization failed", e);
@@ -191,6 +221,26 @@ public class ValueOnlyJsonSerializer {
     }
 
 
+    private ObjectWriter getWriter(Object obj, Level level, Extent extend) throws UnsupportedContentModifierException {
+        if (Objects.nonNull(obj) &&
+                !ElementValueHelper.isValueOnlySupported(obj) &&
+                !isExplicitelyAcceptedType(obj.getClass())) {
+            throw new UnsupportedContentModifierException(Content.VALUE, obj.getClass());
+        }
+        if (Objects.isNull(level) || Objects.isNull(extend)) {
+            return createWriter(level, extend);
+        }
+        return writers.get(level).get(extend);
+    }
+
+
+    private ObjectWriter createWriter(Level level, Extent extend) {
+        return wrapper.getMapper().writer()
+                .withAttribute(ModifierAwareSerializer.LEVEL, level)
+                .withAttribute(ModifierAwareSerializer.EXTEND, extend);
+    }
+
+
     private static boolean isExplicitelyAcceptedType(Class<?> type) {
         return Key.class.equals(type)
                 || OperationVariable.class.equals(type)
@@ -18,11 +18,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import com.fasterxml.jackson.databind.DatabindContext;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.jsontype.impl.TypeIdResolverBase;
-import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.EventMessage;
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ScanResult;
-import java.util.List;
-import java.util.Objects;
+import de.fraunhofer.iosb.ilt.faaast.service.util.EventMessageHelper;
 
 
 /**
@@ -78,24 +74,10 @@ public class EventMessageIdResolver extends TypeIdResolverBase {
         String classname = appendSuffix(id);
         return context.constructSpecializedType(
                 superType,
-                getEventMessagesTypes().stream()
-                        .filter(x -> Objects.equals(classname, x.getSimpleName()))
-                        .findFirst()
+                EventMessageHelper.getEventMessageType(classname)
                         .orElseThrow(() -> new IllegalArgumentException(String.format(
                                 "Unable to resolve id '%s' - not a valid event message type",
                                 classname))));
     }
 
-
-    private List<Class<EventMessage>> getEventMessagesTypes() {
-        try (ScanResult scanResult = new ClassGraph()
-                .acceptPackages(EventMessage.class.getPackageName())
-                .enableClassInfo().scan()) {
-            return scanResult
-                    .getSubclasses(EventMessage.class)
-                    .filter(x -> !x.isAbstract())
-                    .loadClasses(EventMessage.class);
-        }
-    }
-
 }
@@ -20,13 +20,16 @@ import static org.mockito.Mockito.when;
 
 import de.fraunhofer.iosb.ilt.faaast.service.ServiceContext;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.DeserializationException;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.SerializationException;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiDeserializer;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiSerializer;
 import de.fraunhofer.iosb.ilt.faaast.service.model.IdShortPath;
 import de.fraunhofer.iosb.ilt.faaast.service.model.SubmodelElementIdentifier;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.Page;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.request.submodel.InvokeOperationRequest;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.request.submodel.InvokeOperationSyncRequest;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.response.submodel.GetSubmodelElementByPathResponse;
+import de.fraunhofer.iosb.ilt.faaast.service.model.exception.UnsupportedModifierException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ValueMappingException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.value.Datatype;
 import de.fraunhofer.iosb.ilt.faaast.service.model.value.ElementValue;
@@ -38,9 +41,11 @@ import de.fraunhofer.iosb.ilt.faaast.service.serialization.json.util.ValueHelper
 import de.fraunhofer.iosb.ilt.faaast.service.typing.TypeExtractor;
 import de.fraunhofer.iosb.ilt.faaast.service.typing.TypeInfo;
 import de.fraunhofer.iosb.ilt.faaast.service.util.LambdaExceptionHelper;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -140,6 +145,19 @@ public class JsonDeserializerTest {
     }
 
 
+    @Test
+    public void testReadFromStream() throws DeserializationException, SerializationException, UnsupportedModifierException {
+        String json = new JsonApiSerializer().write(ValueOnlyExamples.PROPERTY_STRING);
+        SubmodelElement expected = deserializer.read(json, SubmodelElement.class);
+        Assert.assertEquals(expected, deserializer.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, SubmodelElement.class));
+        Assert.assertEquals(expected, deserializer.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_16)), StandardCharsets.UTF_16, SubmodelElement.class));
+        String jsonList = new JsonApiSerializer().write(List.of(ValueOnlyExamples.PROPERTY_STRING, ValueOnlyExamples.PROPERTY_INT));
+        Assert.assertEquals(
+                deserializer.readList(jsonList, SubmodelElement.class),
+                deserializer.readList(new ByteArrayInputStream(jsonList.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, SubmodelElement.class));
+    }
+
+
     @Test
     public void testRange() throws DeserializationException, FileNotFoundException, IOException, ValueMappingException {
         assertValue(ValueOnlyExamples.RANGE_DOUBLE, ValueOnlyExamples.RANGE_DOUBLE_FILE);
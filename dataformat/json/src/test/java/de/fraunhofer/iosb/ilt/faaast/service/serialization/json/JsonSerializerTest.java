@@ -24,6 +24,7 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.Page;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.PagingMetadata;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.UnsupportedModifierException;
 import de.fraunhofer.iosb.ilt.faaast.service.serialization.json.fixture.ValueOnlyExamples;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -142,6 +143,20 @@ public class JsonSerializerTest {
     }
 
 
+    @Test
+    public void testStreamingSerialization() throws Exception {
+        for (Content content: List.of(Content.NORMAL, Content.METADATA, Content.PATH)) {
+            OutputModifier modifier = new OutputModifier.Builder()
+                    .content(content)
+                    .build();
+            String expected = serializer.write(AASFull.SUBMODEL_3, modifier);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            serializer.write(out, AASFull.SUBMODEL_3, modifier);
+            Assert.assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+
     private void assertAdminShellIoSerialization(Referable referable) throws Exception {
         String expected = new org.eclipse.digitaltwin.aas4j.v3.dataformat.json.JsonSerializer().write(referable);
         String actual = serializer.write(referable, new OutputModifier.Builder().build());
@@ -14,9 +14,8 @@
  */
 package de.fraunhofer.iosb.ilt.faaast.service.endpoint.http;
 
+import de.fraunhofer.iosb.ilt.faaast.service.util.ClassIndexHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ScanResult;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Objects;
@@ -28,7 +27,8 @@ import org.slf4j.LoggerFactory;
 
 
 /**
- * Base class for mapping managers finding implementation classes via reflection.
+ * Base class for mapping managers finding implementation classes via the class index generated at build time, see
+ * {@link ClassIndexHelper}.
  *
  * @param <T> type of mapping class to search for
  */
@@ -50,38 +50,29 @@ public abstract class AbstractMappingManager<T> {
 
 
     private void init() {
-        try (ScanResult scanResult = new ClassGraph()
-                .enableAllInfo()
-                .acceptPackages(getClass().getPackageName())
-                .scan()) {
-            mappers = scanResult
-                    .getSubclasses(mapperType.getName())
-                    .filter(x -> !x.isAbstract() && !x.isInterface())
-                    .loadClasses(mapperType)
-                    .stream()
-                    .map(x -> {
-                        try {
-                            return ConstructorUtils.invokeConstructor(x, constructorArgs);
-                        }
-                        catch (NoSuchMethodException | SecurityException e) {
-                            LOGGER.warn("mapper implementation could not be loaded, "
-                                    + "reason: missing constructor (implementation class: {}, required constructor signature: {})",
-                                    x.getName(),
-                                    Stream.of(constructorArgs).map(a -> a.getClass().getName()).collect(Collectors.joining(",")),
-                                    e);
-                        }
-                        catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                            LOGGER.warn("mapper implementation could not be loaded, "
-                                    + "reason: calling constructor failed (implementation class: {}, constructor arguments: {})",
-                                    x.getName(),
-                                    Stream.of(constructorArgs).map(a -> a.getClass().getName()).collect(Collectors.joining(",")),
-                                    e);
-                        }
-                        LOGGER.debug("unable to instantiate class {}", x.getName());
-                        return null;
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-        }
+        mappers = ClassIndexHelper.getSubclasses(mapperType, getClass().getPackageName()).stream()
+                .<T> map(x -> {
+                    try {
+                        return ConstructorUtils.invokeConstructor(x, constructorArgs);
+                    }
+                    catch (NoSuchMethodException | SecurityException e) {
+                        LOGGER.warn("mapper implementation could not be loaded, "
+                                + "reason: missing constructor (implementation class: {}, required constructor signature: {})",
+                                x.getName(),
+                                Stream.of(constructorArgs).map(a -> a.getClass().getName()).collect(Collectors.joining(",")),
+                                e);
+                    }
+                    catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                        LOGGER.warn("mapper implementation could not be loaded, "
+                                + "reason: calling constructor failed (implementation class: {}, constructor arguments: {})",
+                                x.getName(),
+                                Stream.of(constructorArgs).map(a -> a.getClass().getName()).collect(Collectors.joining(",")),
+                                e);
+                    }
+                    LOGGER.debug("unable to instantiate class {}", x.getName());
+                    return null;
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 }
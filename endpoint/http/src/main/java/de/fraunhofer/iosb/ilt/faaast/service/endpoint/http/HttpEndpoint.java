@@ -25,6 +25,7 @@ import de.fraunhofer.iosb.ilt.faaast.service.exception.EndpointException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.Interface;
 import de.fraunhofer.iosb.ilt.faaast.service.model.Version;
 import de.fraunhofer.iosb.ilt.faaast.service.util.EncodingHelper;
+import de.fraunhofer.iosb.ilt.faaast.service.util.ExecutorHelper;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
@@ -39,11 +40,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import org.eclipse.digitaltwin.aas4j.v3.model.SecurityTypeEnum;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultEndpoint;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultProtocolInformation;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSecurityAttributeObject;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.SecureRequestCustomizer;
@@ -51,7 +57,10 @@ import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.CrossOriginHandler;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.util.BlockingArrayQueue;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -92,10 +101,17 @@ public class HttpEndpoint extends AbstractEndpoint<HttpEndpointConfig> {
         if (server != null && server.isStarted()) {
             return;
         }
-        server = new Server();
+        server = new Server(buildThreadPool());
         configureHttpServer();
         CrossOriginHandler crossOriginHandler = buildCorsHandler();
-        server.setHandler(crossOriginHandler);
+        if (config.isCompressionEnabled()) {
+            GzipHandler gzipHandler = buildGzipHandler();
+            server.setHandler(gzipHandler);
+            gzipHandler.setHandler(crossOriginHandler);
+        }
+        else {
+            server.setHandler(crossOriginHandler);
+        }
 
         context = new ServletContextHandler();
         context.setContextPath("/");
@@ -113,6 +129,25 @@ public class HttpEndpoint extends AbstractEndpoint<HttpEndpointConfig> {
     }
 
 
+    private QueuedThreadPool buildThreadPool() {
+        // a bounded queue rejects jobs once full instead of letting latency grow without limit under overload
+        QueuedThreadPool result = new QueuedThreadPool(
+                config.getThreadPoolMaxThreads(),
+                config.getThreadPoolMinThreads(),
+                config.getThreadPoolQueueSize() > 0
+                        ? new BlockingArrayQueue<>(config.getThreadPoolQueueSize())
+                        : null);
+        if (Objects.nonNull(coreConfig) && coreConfig.getUseVirtualThreads()) {
+            // blocking request handling, e.g. waiting for asset connections, is executed on virtual threads
+            Executor virtualThreadExecutor = ExecutorHelper.newVirtualThreadExecutor();
+            if (Objects.nonNull(virtualThreadExecutor)) {
+                result.setVirtualThreadsExecutor(virtualThreadExecutor);
+            }
+        }
+        return result;
+    }
+
+
     private void configureHttpServer() throws EndpointException {
         HttpConfiguration httpConfig = new HttpConfiguration();
         httpConfig.setSendServerVersion(false);
@@ -124,10 +159,17 @@ public class HttpEndpoint extends AbstractEndpoint<HttpEndpointConfig> {
         httpConfig.addCustomizer(secureRequestCustomizer);
         ServerConnector serverConnector;
         if (config.isSslEnabled()) {
-            serverConnector = buildSSLServerConnector(httpConnectionFactory);
+            serverConnector = buildSSLServerConnector(httpConfig, httpConnectionFactory);
+        }
+        else if (config.isHttp2Enabled()) {
+            // cleartext HTTP/2 (h2c) via upgrade or prior knowledge
+            serverConnector = new ServerConnector(server, config.getAcceptors(), config.getSelectors(), httpConnectionFactory,
+                    new HTTP2CServerConnectionFactory(httpConfig));
         }
         else {
-            serverConnector = new ServerConnector(server, httpConnectionFactory);
+            serverConnector = new ServerConnector(server, config.getAcceptors(), config.getSelectors(), httpConnectionFactory);
+        }
+        if (!config.isSslEnabled()) {
             LOGGER.warn("Using HTTP endpoint with disabled SSL. Not safe for production - use for development only");
         }
         serverConnector.setPort(config.getPort());
@@ -147,6 +189,13 @@ public class HttpEndpoint extends AbstractEndpoint<HttpEndpointConfig> {
     }
 
 
+    private GzipHandler buildGzipHandler() {
+        GzipHandler result = new GzipHandler();
+        result.setMinGzipSize(config.getCompressionMinSize());
+        return result;
+    }
+
+
     private KeyStore generateSelfSignedCertificate() throws EndpointException {
         try {
             LOGGER.debug("Generating self-signed certificate for HTTP endpoint...");
@@ -164,7 +213,7 @@ public class HttpEndpoint extends AbstractEndpoint<HttpEndpointConfig> {
     }
 
 
-    private ServerConnector buildSSLServerConnector(HttpConnectionFactory httpConnectionFactory) throws EndpointException {
+    private ServerConnector buildSSLServerConnector(HttpConfiguration httpConfig, HttpConnectionFactory httpConnectionFactory) throws EndpointException {
         SslContextFactory.Server sslContextFactory = new SslContextFactory.Server();
         if (Objects.isNull(config.getCertificate())
                 || Objects.isNull(config.getCertificate().getKeyStorePath())
@@ -186,8 +235,17 @@ public class HttpEndpoint extends AbstractEndpoint<HttpEndpointConfig> {
                 throw new EndpointException("Error loading certificate for HTTP endpoint", e);
             }
         }
+        if (config.isHttp2Enabled()) {
+            // HTTP/2 is negotiated via ALPN, clients not supporting it fall back to HTTP/1.1
+            sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+            ALPNServerConnectionFactory alpnConnectionFactory = new ALPNServerConnectionFactory();
+            alpnConnectionFactory.setDefaultProtocol(httpConnectionFactory.getProtocol());
+            SslConnectionFactory sslConnectionFactory = new SslConnectionFactory(sslContextFactory, alpnConnectionFactory.getProtocol());
+            return new ServerConnector(server, config.getAcceptors(), config.getSelectors(), sslConnectionFactory, alpnConnectionFactory,
+                    new HTTP2ServerConnectionFactory(httpConfig), httpConnectionFactory);
+        }
         SslConnectionFactory sslConnectionFactory = new SslConnectionFactory(sslContextFactory, httpConnectionFactory.getProtocol());
-        return new ServerConnector(server, sslConnectionFactory, httpConnectionFactory);
+        return new ServerConnector(server, config.getAcceptors(), config.getSelectors(), sslConnectionFactory, httpConnectionFactory);
     }
 
 
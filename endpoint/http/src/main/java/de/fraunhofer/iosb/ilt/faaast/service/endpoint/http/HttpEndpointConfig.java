@@ -24,6 +24,9 @@ import java.util.Objects;
  */
 public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
 
+    public static final int DEFAULT_ACCEPTORS = -1;
+    public static final boolean DEFAULT_COMPRESSION_ENABLED = false;
+    public static final int DEFAULT_COMPRESSION_MIN_SIZE = 1024;
     public static final boolean DEFAULT_CORS_ENABLED = false;
     public static final boolean DEFAULT_CORS_ALLOW_CREDENTIALS = false;
     public static final String DEFAULT_CORS_ALLOWED_HEADERS = "*";
@@ -32,16 +35,25 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
     public static final String DEFAULT_CORS_EXPOSED_HEADERS = "";
     public static final long DEFAULT_CORS_MAX_AGE = 3600;
     public static final String DEFAULT_HOSTNAME = null;
+    public static final boolean DEFAULT_HTTP2_ENABLED = false;
     public static final boolean DEFAULT_INCLUDE_ERROR_DETAILS = false;
+    public static final long DEFAULT_MAX_REQUEST_BODY_SIZE = -1;
     public static final int DEFAULT_PORT = 443;
+    public static final int DEFAULT_SELECTORS = -1;
     public static final boolean DEFAULT_SNI_ENABLED = true;
     public static final boolean DEFAULT_SSL_ENABLED = true;
+    public static final int DEFAULT_THREAD_POOL_MAX_THREADS = 200;
+    public static final int DEFAULT_THREAD_POOL_MIN_THREADS = 8;
+    public static final int DEFAULT_THREAD_POOL_QUEUE_SIZE = -1;
 
     public static Builder builder() {
         return new Builder();
     }
 
+    private int acceptors;
     private CertificateConfig certificate;
+    private boolean compressionEnabled;
+    private int compressionMinSize;
     private boolean corsEnabled;
     private boolean corsAllowCredentials;
     private String corsAllowedHeaders;
@@ -50,14 +62,23 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
     private String corsExposedHeaders;
     private long corsMaxAge;
     private String hostname;
+    private boolean http2Enabled;
     private boolean includeErrorDetails;
+    private long maxRequestBodySize;
     private int port;
+    private int selectors;
     private boolean sniEnabled;
     private boolean sslEnabled;
+    private int threadPoolMaxThreads;
+    private int threadPoolMinThreads;
+    private int threadPoolQueueSize;
 
     public HttpEndpointConfig() {
+        acceptors = DEFAULT_ACCEPTORS;
         certificate = CertificateConfig.builder()
                 .build();
+        compressionEnabled = DEFAULT_COMPRESSION_ENABLED;
+        compressionMinSize = DEFAULT_COMPRESSION_MIN_SIZE;
         corsEnabled = DEFAULT_CORS_ENABLED;
         corsAllowCredentials = DEFAULT_CORS_ALLOW_CREDENTIALS;
         corsAllowedHeaders = DEFAULT_CORS_ALLOWED_HEADERS;
@@ -66,10 +87,26 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
         corsExposedHeaders = DEFAULT_CORS_EXPOSED_HEADERS;
         corsMaxAge = DEFAULT_CORS_MAX_AGE;
         hostname = DEFAULT_HOSTNAME;
+        http2Enabled = DEFAULT_HTTP2_ENABLED;
         includeErrorDetails = DEFAULT_INCLUDE_ERROR_DETAILS;
+        maxRequestBodySize = DEFAULT_MAX_REQUEST_BODY_SIZE;
         port = DEFAULT_PORT;
+        selectors = DEFAULT_SELECTORS;
         sniEnabled = DEFAULT_SNI_ENABLED;
         sslEnabled = DEFAULT_SSL_ENABLED;
+        threadPoolMaxThreads = DEFAULT_THREAD_POOL_MAX_THREADS;
+        threadPoolMinThreads = DEFAULT_THREAD_POOL_MIN_THREADS;
+        threadPoolQueueSize = DEFAULT_THREAD_POOL_QUEUE_SIZE;
+    }
+
+
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+
+    public void setAcceptors(int acceptors) {
+        this.acceptors = acceptors;
     }
 
 
@@ -83,6 +120,26 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
     }
 
 
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+
+    public int getCompressionMinSize() {
+        return compressionMinSize;
+    }
+
+
+    public void setCompressionMinSize(int compressionMinSize) {
+        this.compressionMinSize = compressionMinSize;
+    }
+
+
     public boolean isCorsEnabled() {
         return corsEnabled;
     }
@@ -163,6 +220,16 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
     }
 
 
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+
     public boolean isIncludeErrorDetails() {
         return includeErrorDetails;
     }
@@ -173,6 +240,16 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
     }
 
 
+    public long getMaxRequestBodySize() {
+        return maxRequestBodySize;
+    }
+
+
+    public void setMaxRequestBodySize(long maxRequestBodySize) {
+        this.maxRequestBodySize = maxRequestBodySize;
+    }
+
+
     public int getPort() {
         return port;
     }
@@ -183,6 +260,16 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
     }
 
 
+    public int getSelectors() {
+        return selectors;
+    }
+
+
+    public void setSelectors(int selectors) {
+        this.selectors = selectors;
+    }
+
+
     public boolean isSniEnabled() {
         return sniEnabled;
     }
@@ -203,6 +290,36 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
     }
 
 
+    public int getThreadPoolMaxThreads() {
+        return threadPoolMaxThreads;
+    }
+
+
+    public void setThreadPoolMaxThreads(int threadPoolMaxThreads) {
+        this.threadPoolMaxThreads = threadPoolMaxThreads;
+    }
+
+
+    public int getThreadPoolMinThreads() {
+        return threadPoolMinThreads;
+    }
+
+
+    public void setThreadPoolMinThreads(int threadPoolMinThreads) {
+        this.threadPoolMinThreads = threadPoolMinThreads;
+    }
+
+
+    public int getThreadPoolQueueSize() {
+        return threadPoolQueueSize;
+    }
+
+
+    public void setThreadPoolQueueSize(int threadPoolQueueSize) {
+        this.threadPoolQueueSize = threadPoolQueueSize;
+    }
+
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -213,7 +330,10 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
         }
         HttpEndpointConfig that = (HttpEndpointConfig) o;
         return super.equals(o)
+                && Objects.equals(acceptors, that.acceptors)
                 && Objects.equals(certificate, that.certificate)
+                && Objects.equals(compressionEnabled, that.compressionEnabled)
+                && Objects.equals(compressionMinSize, that.compressionMinSize)
                 && Objects.equals(corsEnabled, that.corsEnabled)
                 && Objects.equals(corsAllowCredentials, that.corsAllowCredentials)
                 && Objects.equals(corsAllowedHeaders, that.corsAllowedHeaders)
@@ -222,10 +342,16 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
                 && Objects.equals(corsExposedHeaders, that.corsExposedHeaders)
                 && Objects.equals(corsMaxAge, that.corsMaxAge)
                 && Objects.equals(hostname, that.hostname)
+                && Objects.equals(http2Enabled, that.http2Enabled)
                 && Objects.equals(includeErrorDetails, that.includeErrorDetails)
+                && Objects.equals(maxRequestBodySize, that.maxRequestBodySize)
                 && Objects.equals(port, that.port)
+                && Objects.equals(selectors, that.selectors)
                 && Objects.equals(sniEnabled, that.sniEnabled)
                 && Objects.equals(sslEnabled, that.sslEnabled)
+                && Objects.equals(threadPoolMaxThreads, that.threadPoolMaxThreads)
+                && Objects.equals(threadPoolMinThreads, that.threadPoolMinThreads)
+                && Objects.equals(threadPoolQueueSize, that.threadPoolQueueSize)
                 && Objects.equals(profiles, that.profiles);
     }
 
@@ -234,7 +360,10 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
     public int hashCode() {
         return Objects.hash(
                 super.hashCode(),
+                acceptors,
                 certificate,
+                compressionEnabled,
+                compressionMinSize,
                 corsEnabled,
                 corsAllowCredentials,
                 corsAllowedHeaders,
@@ -243,21 +372,51 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
                 corsExposedHeaders,
                 corsMaxAge,
                 hostname,
+                http2Enabled,
                 includeErrorDetails,
+                maxRequestBodySize,
                 port,
+                selectors,
                 sniEnabled,
                 sslEnabled,
+                threadPoolMaxThreads,
+                threadPoolMinThreads,
+                threadPoolQueueSize,
                 profiles);
     }
 
     private abstract static class AbstractBuilder<T extends HttpEndpointConfig, B extends AbstractBuilder<T, B>> extends EndpointConfig.AbstractBuilder<HttpEndpoint, T, B> {
 
+        public B acceptors(int value) {
+            getBuildingInstance().setAcceptors(value);
+            return getSelf();
+        }
+
+
         public B certificate(CertificateConfig value) {
             getBuildingInstance().setCertificate(value);
             return getSelf();
         }
 
 
+        public B compression() {
+            getBuildingInstance().setCompressionEnabled(true);
+            return getSelf();
+        }
+
+
+        public B compression(boolean value) {
+            getBuildingInstance().setCompressionEnabled(value);
+            return getSelf();
+        }
+
+
+        public B compressionMinSize(int value) {
+            getBuildingInstance().setCompressionMinSize(value);
+            return getSelf();
+        }
+
+
         public B cors() {
             getBuildingInstance().setCorsEnabled(true);
             return getSelf();
@@ -318,6 +477,18 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
         }
 
 
+        public B http2() {
+            getBuildingInstance().setHttp2Enabled(true);
+            return getSelf();
+        }
+
+
+        public B http2(boolean value) {
+            getBuildingInstance().setHttp2Enabled(value);
+            return getSelf();
+        }
+
+
         public B includeErrorDetails() {
             getBuildingInstance().setIncludeErrorDetails(true);
             return getSelf();
@@ -330,12 +501,24 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
         }
 
 
+        public B maxRequestBodySize(long value) {
+            getBuildingInstance().setMaxRequestBodySize(value);
+            return getSelf();
+        }
+
+
         public B port(int value) {
             getBuildingInstance().setPort(value);
             return getSelf();
         }
 
 
+        public B selectors(int value) {
+            getBuildingInstance().setSelectors(value);
+            return getSelf();
+        }
+
+
         public B sni() {
             getBuildingInstance().setSniEnabled(true);
             return getSelf();
@@ -358,6 +541,24 @@ public class HttpEndpointConfig extends EndpointConfig<HttpEndpoint> {
             getBuildingInstance().setSslEnabled(value);
             return getSelf();
         }
+
+
+        public B threadPoolMaxThreads(int value) {
+            getBuildingInstance().setThreadPoolMaxThreads(value);
+            return getSelf();
+        }
+
+
+        public B threadPoolMinThreads(int value) {
+            getBuildingInstance().setThreadPoolMinThreads(value);
+            return getSelf();
+        }
+
+
+        public B threadPoolQueueSize(int value) {
+            getBuildingInstance().setThreadPoolQueueSize(value);
+            return getSelf();
+        }
     }
 
     public static class Builder extends AbstractBuilder<HttpEndpointConfig, Builder> {
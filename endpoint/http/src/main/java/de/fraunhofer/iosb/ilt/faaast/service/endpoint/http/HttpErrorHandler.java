@@ -15,6 +15,7 @@
 package de.fraunhofer.iosb.ilt.faaast.service.endpoint.http;
 
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.exception.MethodNotAllowedException;
+import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.exception.PayloadTooLargeException;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.serialization.HttpJsonApiSerializer;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.util.HttpHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.Message;
@@ -56,6 +57,7 @@ public class HttpErrorHandler extends ErrorHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpErrorHandler.class);
     private static final Map<Class<?>, StatusCode> exceptionToStatusCode = Map.of(
             MethodNotAllowedException.class, StatusCode.CLIENT_METHOD_NOT_ALLOWED,
+            PayloadTooLargeException.class, StatusCode.CLIENT_PAYLOAD_TOO_LARGE,
             InvalidRequestException.class, StatusCode.CLIENT_ERROR_BAD_REQUEST,
             ResourceNotFoundException.class, StatusCode.CLIENT_ERROR_RESOURCE_NOT_FOUND);
     private final HttpEndpointConfig config;
@@ -129,7 +131,7 @@ public class HttpErrorHandler extends ErrorHandler {
         }
         response.setStatus(HttpHelper.toHttpStatusCode(statusCode));
         try {
-            sendJson(response, new HttpJsonApiSerializer().write(result), callback);
+            sendJson(response, HttpJsonApiSerializer.getInstance().write(result), callback);
         }
         catch (Exception e) {
             sendJson(response, getFallbackResponseJson(), callback);
@@ -16,12 +16,15 @@ package de.fraunhofer.iosb.ilt.faaast.service.endpoint.http;
 
 import de.fraunhofer.iosb.ilt.faaast.service.ServiceContext;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.exception.MethodNotAllowedException;
+import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.exception.PayloadTooLargeException;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.model.HttpMethod;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.model.HttpRequest;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.request.RequestMappingManager;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.response.ResponseMappingManager;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.serialization.HttpJsonApiSerializer;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.util.HttpHelper;
+import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.util.SizeLimitedInputStream;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.OutputModifier;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.InvalidRequestException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ResourceNotFoundException;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
@@ -61,7 +64,7 @@ public class RequestHandlerServlet extends HttpServlet {
         this.serviceContext = serviceContext;
         this.requestMappingManager = new RequestMappingManager(serviceContext);
         this.responseMappingManager = new ResponseMappingManager(serviceContext);
-        this.serializer = new HttpJsonApiSerializer();
+        this.serializer = HttpJsonApiSerializer.getInstance();
     }
 
 
@@ -85,10 +88,15 @@ public class RequestHandlerServlet extends HttpServlet {
                     String.format("Unknown method '%s'", request.getMethod()),
                     e));
         }
+        long maxSize = config.getMaxRequestBodySize();
+        if (maxSize >= 0 && request.getContentLengthLong() > maxSize) {
+            doThrow(new PayloadTooLargeException(maxSize));
+        }
+        SizeLimitedInputStream body = new SizeLimitedInputStream(request.getInputStream(), maxSize);
         HttpRequest httpRequest = HttpRequest.builder()
                 .path(url.replaceAll("/$", ""))
                 .query(request.getQueryString())
-                .body(request.getInputStream().readAllBytes())
+                .bodyStream(body)
                 .method(method)
                 .charset(request.getCharacterEncoding())
                 .headers(Collections.list(request.getHeaderNames()).stream()
@@ -97,9 +105,15 @@ public class RequestHandlerServlet extends HttpServlet {
                                 request::getHeader)))
                 .build();
         try {
-            executeAndSend(response, requestMappingManager.map(httpRequest));
+            de.fraunhofer.iosb.ilt.faaast.service.model.api.Request<? extends Response> apiRequest = requestMappingManager.map(httpRequest);
+            // deserializers may stop reading before the end of the body, so make sure the limit is enforced on the remainder too
+            body.drain();
+            executeAndSend(response, apiRequest);
         }
         catch (Exception e) {
+            if (body.isLimitExceeded()) {
+                doThrow(new PayloadTooLargeException(maxSize));
+            }
             doThrow(e);
         }
 
@@ -133,7 +147,7 @@ public class RequestHandlerServlet extends HttpServlet {
             responseMappingManager.map(apiRequest, apiResponse, response);
         }
         else {
-            HttpHelper.sendJson(response, apiResponse.getStatusCode(), serializer.write(apiResponse.getResult()));
+            HttpHelper.sendJson(response, apiResponse.getStatusCode(), serializer, apiResponse.getResult(), OutputModifier.DEFAULT);
         }
     }
 
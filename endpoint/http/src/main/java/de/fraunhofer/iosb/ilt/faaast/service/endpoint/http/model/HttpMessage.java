@@ -14,11 +14,16 @@
  */
 package de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.model;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import org.eclipse.digitaltwin.aas4j.v3.model.builder.ExtendableBuilder;
 
 
@@ -28,6 +33,7 @@ import org.eclipse.digitaltwin.aas4j.v3.model.builder.ExtendableBuilder;
 public abstract class HttpMessage {
 
     protected byte[] body;
+    protected InputStream bodyStream;
     protected Charset charset;
     protected Map<String, String> headers;
 
@@ -37,13 +43,48 @@ public abstract class HttpMessage {
     }
 
 
+    /**
+     * Returns the body as byte array. If the body has been provided as stream, the stream is read completely and the
+     * result is cached.
+     *
+     * @return the body as byte array
+     * @throws UncheckedIOException if reading the body stream fails
+     */
     public byte[] getBody() {
+        if (Objects.isNull(body) && Objects.nonNull(bodyStream)) {
+            try (InputStream stream = bodyStream) {
+                body = stream.readAllBytes();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException("reading HTTP body failed", e);
+            }
+            finally {
+                bodyStream = null;
+            }
+        }
         return body;
     }
 
 
+    /**
+     * Returns the body as stream. This allows parsing the body without creating an intermediate string or byte array.
+     * If the body has been provided as stream, that stream is returned as-is and can therefore only be consumed once.
+     *
+     * @return the body as stream
+     */
+    public InputStream getBodyAsStream() {
+        if (Objects.nonNull(body)) {
+            return new ByteArrayInputStream(body);
+        }
+        if (Objects.nonNull(bodyStream)) {
+            return bodyStream;
+        }
+        return new ByteArrayInputStream(new byte[0]);
+    }
+
+
     public String getBodyAsString() {
-        return new String(body, charset);
+        return new String(getBody(), charset);
     }
 
 
@@ -54,7 +95,7 @@ public abstract class HttpMessage {
      * @return the body as string using given charset
      */
     public String getBodyAsString(Charset charset) {
-        return new String(body, charset);
+        return new String(getBody(), charset);
     }
 
 
@@ -78,6 +119,22 @@ public abstract class HttpMessage {
     }
 
 
+    /**
+     * Sets the body to a stream that is consumed lazily, i.e. when the body is accessed for the first time.
+     *
+     * @param bodyStream the body stream to set
+     */
+    public void setBodyStream(InputStream bodyStream) {
+        this.body = null;
+        this.bodyStream = bodyStream;
+    }
+
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+
     public void setCharset(Charset charset) {
         this.charset = charset;
     }
@@ -132,6 +189,12 @@ public abstract class HttpMessage {
         }
 
 
+        public B bodyStream(InputStream value) {
+            getBuildingInstance().setBodyStream(value);
+            return getSelf();
+        }
+
+
         public B header(String key, String value) {
             getBuildingInstance().getHeaders().put(key, value);
             return getSelf();
@@ -20,20 +20,59 @@ import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.exception.MethodNotAl
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.model.HttpMethod;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.model.HttpRequest;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.request.mapper.AbstractRequestMapper;
+import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.util.HttpConstants;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.Request;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.InvalidRequestException;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 
 /**
  * Finds matching request mapper for given HTTP request.
+ *
+ * <p>To avoid evaluating the URL pattern of every mapper for each request, mappers are indexed once by the literal
+ * first path segment of the URLs they match (see {@link AbstractRequestMapper#getFirstPathSegments()}). Only the
+ * mappers registered for the first path segment of a request, plus those whose first path segment is not known, are
+ * evaluated. Within these candidates, the HTTP method is checked before the (precompiled) URL pattern.
  */
 public class RequestMappingManager extends AbstractMappingManager<AbstractRequestMapper> {
 
+    private Map<String, List<AbstractRequestMapper>> mappersByFirstPathSegment;
+    private List<AbstractRequestMapper> mappersWithoutFirstPathSegment;
+
     public RequestMappingManager(ServiceContext serviceContext) {
         super(AbstractRequestMapper.class, serviceContext);
+        initIndex();
+    }
+
+
+    private void initIndex() {
+        mappersByFirstPathSegment = new HashMap<>();
+        mappersWithoutFirstPathSegment = new ArrayList<>();
+        for (AbstractRequestMapper mapper: mappers) {
+            Set<String> firstPathSegments = mapper.getFirstPathSegments();
+            if (firstPathSegments.isEmpty()) {
+                mappersWithoutFirstPathSegment.add(mapper);
+            }
+            firstPathSegments.forEach(x -> mappersByFirstPathSegment.computeIfAbsent(x, k -> new ArrayList<>()).add(mapper));
+        }
+        mappersByFirstPathSegment.values().forEach(x -> x.addAll(mappersWithoutFirstPathSegment));
+    }
+
+
+    private List<AbstractRequestMapper> getCandidates(String url) {
+        int index = url.indexOf(HttpConstants.PATH_SEPERATOR);
+        String firstPathSegment = index < 0
+                ? url
+                : url.substring(0, index);
+        return mappersByFirstPathSegment.getOrDefault(firstPathSegment, mappersWithoutFirstPathSegment);
     }
 
 
@@ -44,11 +83,14 @@ public class RequestMappingManager extends AbstractMappingManager<AbstractReques
      * @return a set of supported methods for the url
      */
     public Set<HttpMethod> getSupportedMethods(String url) {
-        return mappers.stream()
-                .filter(request -> request.matchesUrl(url))
-                .map(x -> x.getMethod())
-                .distinct()
-                .collect(Collectors.toSet());
+        Ensure.requireNonNull(url, "url must be non-null");
+        Set<HttpMethod> result = EnumSet.noneOf(HttpMethod.class);
+        for (AbstractRequestMapper mapper: getCandidates(url)) {
+            if (!result.contains(mapper.getMethod()) && mapper.matchesUrl(url)) {
+                result.add(mapper.getMethod());
+            }
+        }
+        return result;
     }
 
 
@@ -63,25 +105,29 @@ public class RequestMappingManager extends AbstractMappingManager<AbstractReques
      */
     public AbstractRequestMapper findRequestMapper(HttpRequest httpRequest) throws InvalidRequestException {
         Ensure.requireNonNull(httpRequest, "httpRequest must be non-null");
-        Set<AbstractRequestMapper> mappersByUrl = mappers.stream()
-                .filter(request -> request.matchesUrl(httpRequest))
+        List<AbstractRequestMapper> candidates = getCandidates(httpRequest.getPath());
+        AbstractRequestMapper result = null;
+        for (AbstractRequestMapper mapper: candidates) {
+            if (mapper.getMethod() == httpRequest.getMethod() && mapper.matchesUrl(httpRequest)) {
+                if (Objects.nonNull(result)) {
+                    throw new IllegalStateException(String.format(
+                            "found multiple request mapper matching HTTP method and URL (HTTP method: %s, url: %s)",
+                            httpRequest.getMethod(),
+                            httpRequest.getPath()));
+                }
+                result = mapper;
+            }
+        }
+        if (Objects.nonNull(result)) {
+            return result;
+        }
+        Set<AbstractRequestMapper> mappersByUrl = candidates.stream()
+                .filter(x -> x.matchesUrl(httpRequest))
                 .collect(Collectors.toSet());
         if (mappersByUrl.isEmpty()) {
             throw new InvalidRequestException(String.format("no matching request mapper found for URL '%s'", httpRequest.getPath()));
         }
-        Set<AbstractRequestMapper> mappersByUrlAndMethod = mappersByUrl.stream()
-                .filter(x -> x.getMethod() == httpRequest.getMethod())
-                .collect(Collectors.toSet());
-        if (mappersByUrlAndMethod.isEmpty()) {
-            throw new MethodNotAllowedException(httpRequest, mappersByUrl);
-        }
-        if (mappersByUrlAndMethod.size() > 1) {
-            throw new IllegalStateException(String.format(
-                    "found multiple request mapper matching HTTP method and URL (HTTP method: %s, url: %s)",
-                    httpRequest.getMethod(),
-                    httpRequest.getPath()));
-        }
-        return mappersByUrlAndMethod.iterator().next();
+        throw new MethodNotAllowedException(httpRequest, mappersByUrl);
     }
 
 
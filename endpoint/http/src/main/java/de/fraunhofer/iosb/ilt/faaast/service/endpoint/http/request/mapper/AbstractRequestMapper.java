@@ -30,16 +30,18 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.exception.InvalidRequestExcep
 import de.fraunhofer.iosb.ilt.faaast.service.util.EncodingHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
 import de.fraunhofer.iosb.ilt.faaast.service.util.RegExHelper;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.fileupload.MultipartStream;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 
 
 /**
@@ -48,6 +50,7 @@ import org.apache.commons.fileupload.MultipartStream;
 public abstract class AbstractRequestMapper {
 
     private static final String MSG_ERROR_PARSING_BODY = "error parsing body";
+    private static final int MULTIPART_SPOOL_THRESHOLD = 1024 * 1024;
     protected static final String BOUNDARY = "boundary";
     protected static final Pattern PATTERN_NAME = Pattern.compile("name=\"([^\"]+)\"");
     protected static final Pattern PATTERN_CONTENT_TYPE = Pattern.compile(HttpConstants.HEADER_CONTENT_TYPE + ": ([^\n^\r]+)");
@@ -56,6 +59,7 @@ public abstract class AbstractRequestMapper {
     protected final HttpJsonApiDeserializer deserializer;
     protected final HttpMethod method;
     protected String urlPattern;
+    protected Pattern compiledUrlPattern;
 
     protected AbstractRequestMapper(ServiceContext serviceContext, HttpMethod method, String urlPattern) {
         Ensure.requireNonNull(serviceContext, "serviceContext must be non-null");
@@ -64,7 +68,7 @@ public abstract class AbstractRequestMapper {
         this.serviceContext = serviceContext;
         this.method = method;
         this.urlPattern = urlPattern;
-        this.deserializer = new HttpJsonApiDeserializer();
+        this.deserializer = HttpJsonApiDeserializer.getInstance();
         init();
     }
 
@@ -83,6 +87,65 @@ public abstract class AbstractRequestMapper {
 
     private void init() {
         urlPattern = RegExHelper.ensureLineMatch(urlPattern);
+        compiledUrlPattern = Pattern.compile(urlPattern);
+    }
+
+
+    /**
+     * Extracts the first path segment from a URL pattern if it is a literal, i.e. does not contain any regex
+     * constructs.
+     *
+     * @param urlPattern the URL pattern
+     * @return the literal first path segment or null if the first path segment of the URL pattern is not a literal
+     */
+    protected static String getLiteralFirstPathSegment(String urlPattern) {
+        if (hasTopLevelAlternative(urlPattern)) {
+            return null;
+        }
+        String pattern = urlPattern.startsWith("^")
+                ? urlPattern.substring(1)
+                : urlPattern;
+        int end = 0;
+        while (end < pattern.length() && isLiteralPathCharacter(pattern.charAt(end))) {
+            end++;
+        }
+        if (pattern.startsWith(HttpConstants.PATH_SEPERATOR, end) || (end == pattern.length() - 1 && pattern.charAt(end) == '$')) {
+            return pattern.substring(0, end);
+        }
+        return null;
+    }
+
+
+    private static boolean isLiteralPathCharacter(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_';
+    }
+
+
+    private static boolean hasTopLevelAlternative(String pattern) {
+        int depth = 0;
+        boolean inCharacterClass = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            }
+            else if (inCharacterClass) {
+                inCharacterClass = c != ']';
+            }
+            else if (c == '[') {
+                inCharacterClass = true;
+            }
+            else if (c == '(') {
+                depth++;
+            }
+            else if (c == ')') {
+                depth--;
+            }
+            else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
 
@@ -91,6 +154,21 @@ public abstract class AbstractRequestMapper {
     }
 
 
+    /**
+     * Gets the literal first path segments of all URLs this mapper may match. This is used to pre-select candidate
+     * mappers for an HTTP request without evaluating the URL pattern of each mapper. An empty set means that the first
+     * path segment is not known, e.g. because it is variable, and therefore this mapper must be considered for any URL.
+     *
+     * @return the literal first path segments or an empty set if unknown
+     */
+    public Set<String> getFirstPathSegments() {
+        String result = getLiteralFirstPathSegment(urlPattern);
+        return Objects.nonNull(result)
+                ? Set.of(result)
+                : Set.of();
+    }
+
+
     /**
      * Decides if a given HTTP request matches this concrete protocol-agnostic request.
      *
@@ -100,7 +178,7 @@ public abstract class AbstractRequestMapper {
      */
     public boolean matchesUrl(HttpRequest httpRequest) {
         Ensure.requireNonNull(httpRequest, "httpRequest must be non-null");
-        return httpRequest.getPath().matches(urlPattern);
+        return compiledUrlPattern.matcher(httpRequest.getPath()).matches();
     }
 
 
@@ -129,9 +207,8 @@ public abstract class AbstractRequestMapper {
      */
     public Request parse(HttpRequest httpRequest) throws InvalidRequestException {
         Ensure.requireNonNull(httpRequest, "httpRequest must be non-null");
-        Matcher matcher = Pattern.compile(urlPattern).matcher(httpRequest.getPath());
-        if (matcher.matches()) {
-            return doParse(httpRequest, RegExHelper.getGroupValues(urlPattern, httpRequest.getPath()));
+        if (compiledUrlPattern.matcher(httpRequest.getPath()).matches()) {
+            return doParse(httpRequest, RegExHelper.getGroupValues(compiledUrlPattern, httpRequest.getPath()));
         }
         throw new IllegalStateException(String.format("request was matched but no suitable parser found (HTTP method: %s, URL pattern: %s", method, urlPattern));
     }
@@ -162,7 +239,7 @@ public abstract class AbstractRequestMapper {
     protected <T> T parseBody(HttpRequest httpRequest, Class<T> type) throws InvalidRequestException {
         Ensure.requireNonNull(httpRequest, "httpRequest must be non-null");
         try {
-            return deserializer.read(httpRequest.getBodyAsString(), type);
+            return deserializer.read(httpRequest.getBodyAsStream(), httpRequest.getCharset(), type);
         }
         catch (DeserializationException e) {
             throw new InvalidRequestException(MSG_ERROR_PARSING_BODY, e);
@@ -184,22 +261,21 @@ public abstract class AbstractRequestMapper {
         Map<String, TypedInMemoryFile> map = new HashMap<>();
         try {
             MultipartStream multipartStream = new MultipartStream(
-                    new ByteArrayInputStream(httpRequest.getBody()),
+                    httpRequest.getBodyAsStream(),
                     contentType.parameters().get(BOUNDARY).get(0).getBytes(), 4096, null);
             boolean nextPart = multipartStream.skipPreamble();
             while (nextPart) {
-                ByteArrayOutputStream output = new ByteArrayOutputStream();
                 String multipartHeaders = multipartStream.readHeaders();
-                multipartStream.readBodyData(output);
+                byte[] content = readPart(multipartStream);
                 if (Objects.equals(headerMatcher(PATTERN_NAME, multipartHeaders), "fileName")) {
                     map.put("fileName", new TypedInMemoryFile.Builder()
-                            .content(output.toByteArray())
+                            .content(content)
                             .contentType(MediaType.PLAIN_TEXT_UTF_8.toString())
                             .build());
                 }
                 else {
                     map.put("file", new TypedInMemoryFile.Builder()
-                            .content(output.toByteArray())
+                            .content(content)
                             .contentType(headerMatcher(PATTERN_CONTENT_TYPE, multipartHeaders))
                             .build());
                 }
@@ -213,6 +289,37 @@ public abstract class AbstractRequestMapper {
     }
 
 
+    /**
+     * Reads the data of the current part of a multipart stream. Parts larger than {@link #MULTIPART_SPOOL_THRESHOLD}
+     * are buffered in a temporary file instead of growing an in-memory buffer while reading.
+     *
+     * @param multipartStream the multipart stream
+     * @return the data of the current part
+     * @throws IOException if reading fails
+     */
+    private static byte[] readPart(MultipartStream multipartStream) throws IOException {
+        DeferredFileOutputStream output = DeferredFileOutputStream.builder()
+                .setThreshold(MULTIPART_SPOOL_THRESHOLD)
+                .setPrefix("faaast-multipart-")
+                .setSuffix(".tmp")
+                .get();
+        try {
+            try (output) {
+                multipartStream.readBodyData(output);
+            }
+            return output.isInMemory()
+                    ? output.getData()
+                    : Files.readAllBytes(output.getPath());
+        }
+        finally {
+            Path file = output.getPath();
+            if (Objects.nonNull(file)) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+
     /**
      * Reads and decodes a base64Url-encoded query parameter.
      *
@@ -258,7 +365,7 @@ public abstract class AbstractRequestMapper {
     protected <T> List<T> parseBodyAsList(HttpRequest httpRequest, Class<T> type) throws InvalidRequestException {
         Ensure.requireNonNull(httpRequest, "httpRequest must be non-null");
         try {
-            return deserializer.readList(httpRequest.getBodyAsString(), type);
+            return deserializer.readList(httpRequest.getBodyAsStream(), httpRequest.getCharset(), type);
         }
         catch (DeserializationException e) {
             throw new InvalidRequestException(MSG_ERROR_PARSING_BODY, e);
@@ -27,8 +27,11 @@ import de.fraunhofer.iosb.ilt.faaast.service.util.RegExHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.StringHelper;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
@@ -46,7 +49,11 @@ public abstract class AbstractSubmodelInterfaceRequestMapper<T extends AbstractS
     protected static final String SUBMODEL_ID = RegExHelper.uniqueGroupName();
     protected static final String AAS_PATH_PATTERN = String.format("shells/%s/", pathElement(AAS_ID));
     protected static final String SUBMODEL_PATH_PATTERN = String.format("submodels/%s", pathElement(SUBMODEL_ID));
+    private static final Pattern AAS_PATH_REGEX = Pattern.compile(AAS_PATH_PATTERN);
+    private static final Pattern SUBMODEL_PATH_REGEX = Pattern.compile(SUBMODEL_PATH_PATTERN);
+    private static final Pattern HAS_AAS_PATH_REGEX = Pattern.compile(String.format("^%s.*", AAS_PATH_PATTERN));
     protected String contextualizedUrlPattern;
+    protected Pattern compiledContextualizedUrlPattern;
 
     /**
      * urlPattern must not contain initial part of URL identifying the submodel.
@@ -62,6 +69,7 @@ public abstract class AbstractSubmodelInterfaceRequestMapper<T extends AbstractS
         this.contextualizedUrlPattern = ensureUrlPatternAllowsContentModifier(
                 RegExHelper.ensureLineMatch(addAasPath(addSubmodelPath(urlPattern))),
                 excludedContentModifiers);
+        this.compiledContextualizedUrlPattern = Pattern.compile(contextualizedUrlPattern);
     }
 
 
@@ -76,7 +84,7 @@ public abstract class AbstractSubmodelInterfaceRequestMapper<T extends AbstractS
 
 
     private static String removeSubmodelPath(String url) {
-        String result = url.replaceFirst(SUBMODEL_PATH_PATTERN, "");
+        String result = SUBMODEL_PATH_REGEX.matcher(url).replaceFirst("");
         if (result.endsWith("/")) {
             return result.substring(0, result.length() - 1);
         }
@@ -90,18 +98,30 @@ public abstract class AbstractSubmodelInterfaceRequestMapper<T extends AbstractS
 
 
     private static String removeAasPath(String url) {
-        return url.replaceFirst(AAS_PATH_PATTERN, "");
+        return AAS_PATH_REGEX.matcher(url).replaceFirst("");
     }
 
 
     private static boolean hasAasPath(String url) {
-        return url.matches(String.format("^%s.*", AAS_PATH_PATTERN));
+        return HAS_AAS_PATH_REGEX.matcher(url).matches();
     }
 
 
     @Override
     public boolean matchesUrl(HttpRequest httpRequest) {
-        return super.matchesUrl(httpRequest) || httpRequest.getPath().matches(contextualizedUrlPattern);
+        return super.matchesUrl(httpRequest) || compiledContextualizedUrlPattern.matcher(httpRequest.getPath()).matches();
+    }
+
+
+    @Override
+    public Set<String> getFirstPathSegments() {
+        Set<String> result = super.getFirstPathSegments();
+        String contextualizedFirstPathSegment = getLiteralFirstPathSegment(contextualizedUrlPattern);
+        if (result.isEmpty() || Objects.isNull(contextualizedFirstPathSegment)) {
+            return Set.of();
+        }
+        return Stream.concat(result.stream(), Stream.of(contextualizedFirstPathSegment))
+                .collect(Collectors.toSet());
     }
 
 
@@ -117,10 +137,10 @@ public abstract class AbstractSubmodelInterfaceRequestMapper<T extends AbstractS
     public AbstractSubmodelInterfaceRequest parse(HttpRequest httpRequest) throws InvalidRequestException {
         Ensure.requireNonNull(httpRequest, "httpRequest must be non-null");
         boolean withAasContext = hasAasPath(httpRequest.getPath());
-        String pattern = withAasContext
-                ? contextualizedUrlPattern
-                : urlPattern;
-        Matcher matcher = Pattern.compile(pattern).matcher(httpRequest.getPath());
+        Pattern pattern = withAasContext
+                ? compiledContextualizedUrlPattern
+                : compiledUrlPattern;
+        Matcher matcher = pattern.matcher(httpRequest.getPath());
         if (matcher.matches()) {
             Map<String, String> urlParameters = RegExHelper.getGroupValues(pattern, httpRequest.getPath());
             httpRequest.setPath(hasAasPath(httpRequest.getPath())
@@ -53,11 +53,11 @@ public abstract class AbstractPostResponseWithLocationHeaderMapper<T extends Abs
         httpResponse.addHeader("Location", computeLocationHeader(apiRequest, apiResponse));
         HttpHelper.sendJson(httpResponse,
                 apiResponse.getStatusCode(),
-                new HttpJsonApiSerializer().write(
-                        apiResponse.getPayload(),
-                        AbstractRequestWithModifier.class.isAssignableFrom(apiRequest.getClass())
-                                ? ((AbstractRequestWithModifier) apiRequest).getOutputModifier()
-                                : OutputModifier.DEFAULT));
+                HttpJsonApiSerializer.getInstance(),
+                apiResponse.getPayload(),
+                AbstractRequestWithModifier.class.isAssignableFrom(apiRequest.getClass())
+                        ? ((AbstractRequestWithModifier) apiRequest).getOutputModifier()
+                        : OutputModifier.DEFAULT);
 
     }
 }
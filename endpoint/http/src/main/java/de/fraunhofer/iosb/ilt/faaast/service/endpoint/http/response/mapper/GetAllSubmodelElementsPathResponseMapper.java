@@ -17,6 +17,7 @@ package de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.response.mapper;
 import de.fraunhofer.iosb.ilt.faaast.service.ServiceContext;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.serialization.HttpJsonApiSerializer;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.util.HttpHelper;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.OutputModifier;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.Page;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.request.submodel.GetAllSubmodelElementsPathRequest;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.response.submodel.GetAllSubmodelElementsPathResponse;
@@ -40,6 +41,8 @@ public class GetAllSubmodelElementsPathResponseMapper extends AbstractResponseMa
                 apiResponse.getPayload().getMetadata());
         HttpHelper.sendJson(httpResponse,
                 apiResponse.getStatusCode(),
-                new HttpJsonApiSerializer().write(result));
+                HttpJsonApiSerializer.getInstance(),
+                result,
+                OutputModifier.DEFAULT);
     }
 }
@@ -18,6 +18,7 @@ import de.fraunhofer.iosb.ilt.faaast.service.ServiceContext;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.serialization.HttpJsonApiSerializer;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.util.HttpHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.StatusCode;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.OutputModifier;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.request.submodel.GetOperationAsyncStatusRequest;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.response.submodel.GetOperationAsyncStatusResponse;
 import de.fraunhofer.iosb.ilt.faaast.service.util.EncodingHelper;
@@ -43,7 +44,9 @@ public class GetOperationAsyncStatusResponseMapper extends AbstractResponseMappe
                 HttpHelper.sendJson(
                         httpResponse,
                         StatusCode.SUCCESS,
-                        new HttpJsonApiSerializer().write(apiResponse.getPayload()));
+                        HttpJsonApiSerializer.getInstance(),
+                        apiResponse.getPayload(),
+                        OutputModifier.DEFAULT);
                 break;
             }
             case COMPLETED:
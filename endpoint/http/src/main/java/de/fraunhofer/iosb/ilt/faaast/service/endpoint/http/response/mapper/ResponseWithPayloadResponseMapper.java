@@ -41,11 +41,11 @@ public class ResponseWithPayloadResponseMapper<T extends AbstractResponseWithPay
     public void map(U apiRequest, T apiResponse, HttpServletResponse httpResponse) throws Exception {
         HttpHelper.sendJson(httpResponse,
                 apiResponse.getStatusCode(),
-                new HttpJsonApiSerializer().write(
-                        apiResponse.getPayload(),
-                        AbstractRequestWithModifier.class.isAssignableFrom(apiRequest.getClass())
-                                ? ((AbstractRequestWithModifier) apiRequest).getOutputModifier()
-                                : OutputModifier.DEFAULT));
+                HttpJsonApiSerializer.getInstance(),
+                apiResponse.getPayload(),
+                AbstractRequestWithModifier.class.isAssignableFrom(apiRequest.getClass())
+                        ? ((AbstractRequestWithModifier) apiRequest).getOutputModifier()
+                        : OutputModifier.DEFAULT);
 
     }
 }
@@ -23,6 +23,19 @@ import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiDeserializer
  */
 public class HttpJsonApiDeserializer extends JsonApiDeserializer {
 
+    private static final HttpJsonApiDeserializer INSTANCE = new HttpJsonApiDeserializer();
+
+    /**
+     * Gets the shared instance used by all request mappers of the HTTP endpoint. The deserializer is thread-safe as long
+     * as its configuration is not modified, e.g. via {@link #useImplementation(Class, Class)}.
+     *
+     * @return the shared instance
+     */
+    public static HttpJsonApiDeserializer getInstance() {
+        return INSTANCE;
+    }
+
+
     @Override
     protected void modifyMapper(JsonMapper mapper) {
         super.modifyMapper(mapper);
@@ -27,6 +27,19 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.ServiceDescription;
  */
 public class HttpJsonApiSerializer extends JsonApiSerializer {
 
+    private static final HttpJsonApiSerializer INSTANCE = new HttpJsonApiSerializer();
+
+    /**
+     * Gets the shared instance used by the HTTP endpoint. The serializer is thread-safe, therefore re-using a single
+     * instance avoids creating a new mapper with cold serializer caches for each response.
+     *
+     * @return the shared instance
+     */
+    public static HttpJsonApiSerializer getInstance() {
+        return INSTANCE;
+    }
+
+
     @Override
     protected void modifyMapper(JsonMapper mapper) {
         super.modifyMapper(mapper);
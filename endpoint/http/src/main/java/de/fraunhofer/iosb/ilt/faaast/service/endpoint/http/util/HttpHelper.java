@@ -15,10 +15,12 @@
 package de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.util;
 
 import com.google.common.net.MediaType;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.ApiSerializer;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.SerializationException;
 import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.serialization.HttpJsonApiSerializer;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.Message;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.StatusCode;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.OutputModifier;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.InvalidRequestException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.UnsupportedModifierException;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
@@ -83,6 +85,8 @@ public class HttpHelper {
                 return HttpStatus.METHOD_NOT_ALLOWED_405;
             case CLIENT_RESOURCE_CONFLICT:
                 return HttpStatus.CONFLICT_409;
+            case CLIENT_PAYLOAD_TOO_LARGE:
+                return HttpStatus.PAYLOAD_TOO_LARGE_413;
             case SERVER_INTERNAL_ERROR:
                 return HttpStatus.INTERNAL_SERVER_ERROR_500;
             case SERVER_NOT_IMPLEMENTED:
@@ -157,7 +161,7 @@ public class HttpHelper {
      */
     public static void send(HttpServletResponse response, StatusCode statusCode, Result result) throws UnsupportedModifierException {
         try {
-            sendJson(response, statusCode, new HttpJsonApiSerializer().write(result));
+            sendJson(response, statusCode, HttpJsonApiSerializer.getInstance(), result, OutputModifier.DEFAULT);
         }
         catch (SerializationException e) {
             throw new RuntimeException("error serializing response", e);
@@ -165,6 +169,48 @@ public class HttpHelper {
     }
 
 
+    /**
+     * Sends a HTTP response with given statusCode and JSON payload. The payload is serialized directly to the output
+     * stream of the response without creating an intermediate string. If serialization fails before the response has
+     * been committed, the buffered content is discarded so that an error response can be sent instead.
+     *
+     * @param response HTTP response object
+     * @param statusCode statusCode to send
+     * @param serializer the serializer to use
+     * @param payload the payload to serialize
+     * @param modifier the output modifier to use for serialization
+     * @throws SerializationException if serialization fails
+     * @throws UnsupportedModifierException when modifier used for serialization is not supported
+     * @throws IllegalArgumentException if response is null
+     * @throws IllegalArgumentException if statusCode is null
+     * @throws IllegalArgumentException if serializer is null
+     */
+    public static void sendJson(HttpServletResponse response, StatusCode statusCode, ApiSerializer serializer, Object payload, OutputModifier modifier)
+            throws SerializationException, UnsupportedModifierException {
+        Ensure.requireNonNull(response, "response must be non-null");
+        Ensure.requireNonNull(statusCode, "statusCode must be non-null");
+        Ensure.requireNonNull(serializer, "serializer must be non-null");
+        response.setStatus(toHttpStatusCode(statusCode));
+        if (statusCode == StatusCode.SUCCESS_NO_CONTENT) {
+            return;
+        }
+        setContentType(response, MediaType.JSON_UTF_8);
+        try {
+            serializer.write(response.getOutputStream(), StandardCharsets.UTF_8, payload, modifier);
+            response.getOutputStream().flush();
+        }
+        catch (SerializationException | UnsupportedModifierException e) {
+            if (!response.isCommitted()) {
+                response.resetBuffer();
+            }
+            throw e;
+        }
+        catch (IOException e) {
+            sendException(response, e);
+        }
+    }
+
+
     /**
      * Sends a HTTP response with given statusCode and JSON payload.
      *
@@ -217,15 +263,7 @@ public class HttpHelper {
         }
         if (statusCode != StatusCode.SUCCESS_NO_CONTENT) {
             if (contentType != null) {
-                response.setContentType(contentType.toString());
-                try {
-                    if (contentType.charset().isPresent()) {
-                        response.setCharacterEncoding(contentType.charset().get().toString());
-                    }
-                }
-                catch (IllegalStateException | IllegalCharsetNameException | UnsupportedCharsetException e) {
-                    LOGGER.warn("could not determine charset for contentType '{}'", contentType, e);
-                }
+                setContentType(response, contentType);
             }
             if (content != null) {
                 try {
@@ -241,6 +279,19 @@ public class HttpHelper {
     }
 
 
+    private static void setContentType(HttpServletResponse response, MediaType contentType) {
+        response.setContentType(contentType.toString());
+        try {
+            if (contentType.charset().isPresent()) {
+                response.setCharacterEncoding(contentType.charset().get().toString());
+            }
+        }
+        catch (IllegalStateException | IllegalCharsetNameException | UnsupportedCharsetException e) {
+            LOGGER.warn("could not determine charset for contentType '{}'", contentType, e);
+        }
+    }
+
+
     /**
      * Sends a HTTP response with given statusCode, payload and contentType.
      *
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+
+/**
+ * Input stream that fails as soon as more than a given number of bytes has been read from the underlying stream. This
+ * allows enforcing a maximum body size while the body is consumed directly by a deserializer.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private static final int DRAIN_BUFFER_SIZE = 8192;
+    private final long maxSize;
+    private long count;
+    private boolean limitExceeded;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param in the underlying stream
+     * @param maxSize the maximum number of bytes that can be read, a negative value means unlimited
+     */
+    public SizeLimitedInputStream(InputStream in, long maxSize) {
+        super(in);
+        this.maxSize = maxSize;
+    }
+
+
+    /**
+     * Checks whether the limit has been exceeded while reading from this stream.
+     *
+     * @return true if the limit has been exceeded, otherwise false
+     */
+    public boolean isLimitExceeded() {
+        return limitExceeded;
+    }
+
+
+    /**
+     * Reads the remainder of the stream to make sure it does not exceed the limit. Does nothing if the stream is
+     * unlimited.
+     *
+     * @throws IOException if reading fails or the limit is exceeded
+     */
+    public void drain() throws IOException {
+        if (maxSize < 0) {
+            return;
+        }
+        byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+        while (read(buffer, 0, buffer.length) >= 0) {
+            // discard
+        }
+    }
+
+
+    @Override
+    public int read() throws IOException {
+        ensureLimitNotExceeded();
+        int result = super.read();
+        if (result >= 0) {
+            count(1);
+        }
+        return result;
+    }
+
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureLimitNotExceeded();
+        int result = super.read(b, off, len);
+        if (result > 0) {
+            count(result);
+        }
+        return result;
+    }
+
+
+    @Override
+    public long skip(long n) throws IOException {
+        ensureLimitNotExceeded();
+        long result = super.skip(n);
+        if (result > 0) {
+            count(result);
+        }
+        return result;
+    }
+
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // not supported as resetting would break counting
+    }
+
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+
+    private void count(long bytes) throws IOException {
+        count += bytes;
+        if (maxSize >= 0 && count > maxSize) {
+            limitExceeded = true;
+            throw new IOException(String.format("stream exceeds maximum allowed size (max. size: %d bytes)", maxSize));
+        }
+    }
+
+
+    private void ensureLimitNotExceeded() throws IOException {
+        if (limitExceeded) {
+            throw new IOException(String.format("stream exceeds maximum allowed size (max. size: %d bytes)", maxSize));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.endpoint.http;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import de.fraunhofer.iosb.ilt.faaast.service.Service;
+import de.fraunhofer.iosb.ilt.faaast.service.config.CoreConfig;
+import de.fraunhofer.iosb.ilt.faaast.service.endpoint.http.serialization.HttpJsonApiSerializer;
+import de.fraunhofer.iosb.ilt.faaast.service.filestorage.FileStorage;
+import de.fraunhofer.iosb.ilt.faaast.service.messagebus.MessageBus;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.StatusCode;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.response.aasrepository.PostAssetAdministrationShellResponse;
+import de.fraunhofer.iosb.ilt.faaast.service.model.serialization.DataFormat;
+import de.fraunhofer.iosb.ilt.faaast.service.persistence.Persistence;
+import de.fraunhofer.iosb.ilt.faaast.service.util.PortHelper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShell;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultAssetAdministrationShell;
+import org.eclipse.jetty.client.ContentResponse;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.InputStreamRequestContent;
+import org.eclipse.jetty.client.Request;
+import org.eclipse.jetty.client.StringRequestContent;
+import org.eclipse.jetty.client.transport.HttpClientTransportDynamic;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpScheme;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.io.ClientConnector;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+
+public class HttpEndpointMaxRequestBodySizeTest {
+
+    private static final String HOST = "localhost";
+    private static final String PATH = "/api/v3.0/shells";
+    private static final String CONTENT_TYPE = DataFormat.JSON.getContentType().toString();
+    private static final AssetAdministrationShell AAS = new DefaultAssetAdministrationShell.Builder()
+            .id("http://example.org/aas")
+            .idShort("aas")
+            .build();
+    private static String payload;
+    private static int port;
+    private static HttpClient client;
+    private static HttpEndpoint endpoint;
+    private static Service service;
+
+    @BeforeClass
+    public static void init() throws Exception {
+        payload = new HttpJsonApiSerializer().write(AAS);
+        port = PortHelper.findFreePort();
+        endpoint = new HttpEndpoint();
+        service = spy(new Service(
+                CoreConfig.DEFAULT,
+                mock(Persistence.class),
+                mock(FileStorage.class),
+                mock(MessageBus.class),
+                List.of(endpoint),
+                List.of()));
+        endpoint.init(
+                CoreConfig.DEFAULT,
+                HttpEndpointConfig.builder()
+                        .port(port)
+                        .ssl(false)
+                        .maxRequestBodySize(payload.getBytes(StandardCharsets.UTF_8).length)
+                        .build(),
+                service);
+        service.start();
+        client = new HttpClient(new HttpClientTransportDynamic(new ClientConnector()));
+        client.start();
+    }
+
+
+    @AfterClass
+    public static void cleanUp() throws Exception {
+        client.stop();
+        endpoint.stop();
+    }
+
+
+    @Before
+    public void setUp() throws Exception {
+        Mockito.reset(service);
+        doReturn(PostAssetAdministrationShellResponse.builder()
+                .statusCode(StatusCode.SUCCESS_CREATED)
+                .payload(AAS)
+                .build())
+                .when(service).execute(any(), any());
+    }
+
+
+    @Test
+    public void testBodyAtLimit() throws Exception {
+        ContentResponse response = post(new StringRequestContent(CONTENT_TYPE, payload));
+        Assert.assertEquals(HttpStatus.CREATED_201, response.getStatus());
+        verify(service, times(1)).execute(any(), any());
+    }
+
+
+    @Test
+    public void testBodyAtLimitChunked() throws Exception {
+        ContentResponse response = post(chunked(payload));
+        Assert.assertEquals(HttpStatus.CREATED_201, response.getStatus());
+        verify(service, times(1)).execute(any(), any());
+    }
+
+
+    @Test
+    public void testBodyAboveLimitWithContentLength() throws Exception {
+        ContentResponse response = post(new StringRequestContent(CONTENT_TYPE, payload + " "));
+        Assert.assertEquals(HttpStatus.PAYLOAD_TOO_LARGE_413, response.getStatus());
+        verify(service, never()).execute(any(), any());
+    }
+
+
+    @Test
+    public void testBodyAboveLimitChunked() throws Exception {
+        ContentResponse response = post(chunked(payload + " "));
+        Assert.assertEquals(HttpStatus.PAYLOAD_TOO_LARGE_413, response.getStatus());
+        verify(service, never()).execute(any(), any());
+    }
+
+
+    private static Request.Content chunked(String body) {
+        // content of unknown length is sent using chunked transfer encoding
+        return new InputStreamRequestContent(CONTENT_TYPE, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+
+    private static ContentResponse post(Request.Content content) throws Exception {
+        return client.newRequest(HOST, port)
+                .scheme(HttpScheme.HTTP.toString())
+                .method(HttpMethod.POST)
+                .path(PATH)
+                .body(content)
+                .send();
+    }
+}
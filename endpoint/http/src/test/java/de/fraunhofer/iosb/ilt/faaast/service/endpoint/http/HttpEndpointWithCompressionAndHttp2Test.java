@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.endpoint.http;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import de.fraunhofer.iosb.ilt.faaast.service.Service;
+import de.fraunhofer.iosb.ilt.faaast.service.config.CoreConfig;
+import de.fraunhofer.iosb.ilt.faaast.service.filestorage.FileStorage;
+import de.fraunhofer.iosb.ilt.faaast.service.messagebus.MessageBus;
+import de.fraunhofer.iosb.ilt.faaast.service.model.AASFull;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.StatusCode;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.Page;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.response.aasrepository.GetAllAssetAdministrationShellsResponse;
+import de.fraunhofer.iosb.ilt.faaast.service.persistence.Persistence;
+import de.fraunhofer.iosb.ilt.faaast.service.util.PortHelper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShell;
+import org.eclipse.jetty.client.ContentResponse;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpScheme;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.transport.HttpClientTransportOverHTTP2;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+
+public class HttpEndpointWithCompressionAndHttp2Test extends AbstractHttpEndpointTest {
+
+    @BeforeClass
+    public static void init() throws Exception {
+        port = PortHelper.findFreePort();
+        persistence = mock(Persistence.class);
+        fileStorage = mock(FileStorage.class);
+
+        startServer();
+        startClient();
+    }
+
+
+    private static void startServer() throws Exception {
+        scheme = HttpScheme.HTTP.toString();
+        endpoint = new HttpEndpoint();
+        service = spy(new Service(CoreConfig.DEFAULT, persistence, fileStorage, mock(MessageBus.class), List.of(endpoint), List.of()));
+        endpoint.init(
+                CoreConfig.DEFAULT,
+                HttpEndpointConfig.builder()
+                        .port(port)
+                        .cors(true)
+                        .ssl(false)
+                        .compression(true)
+                        .compressionMinSize(0)
+                        .http2(true)
+                        .build(),
+                service);
+        service.start();
+    }
+
+
+    private static void startClient() throws Exception {
+        // HTTP/2 with prior knowledge (h2c)
+        client = new HttpClient(new HttpClientTransportOverHTTP2(new HTTP2Client()));
+        // do not decode responses transparently so that compression can be verified
+        client.getContentDecoderFactories().clear();
+        client.start();
+    }
+
+
+    @Test
+    public void testHttp2() throws Exception {
+        when(service.execute(any(), any())).thenReturn(GetAllAssetAdministrationShellsResponse.builder()
+                .statusCode(StatusCode.SUCCESS)
+                .payload(Page.of(AASFull.AAS_1))
+                .build());
+        ContentResponse response = execute(HttpMethod.GET, "/shells");
+        Assert.assertEquals(HttpStatus.OK_200, response.getStatus());
+        Assert.assertEquals(HttpVersion.HTTP_2, response.getVersion());
+    }
+
+
+    @Test
+    public void testCompression() throws Exception {
+        Page<AssetAdministrationShell> expected = Page.of(AASFull.AAS_1);
+        when(service.execute(any(), any())).thenReturn(GetAllAssetAdministrationShellsResponse.builder()
+                .statusCode(StatusCode.SUCCESS)
+                .payload(expected)
+                .build());
+        ContentResponse response = execute(
+                HttpMethod.GET,
+                "/shells",
+                null,
+                null,
+                null,
+                null,
+                Map.of(HttpHeader.ACCEPT_ENCODING.asString(), "gzip"));
+        Assert.assertEquals(HttpStatus.OK_200, response.getStatus());
+        Assert.assertEquals("gzip", response.getHeaders().get(HttpHeader.CONTENT_ENCODING));
+        String body;
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContent()))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Page<AssetAdministrationShell> actual = deserializer.read(body, new TypeReference<Page<AssetAdministrationShell>>() {});
+        Assert.assertEquals(expected, actual);
+    }
+
+
+    @Test
+    public void testNoCompressionWithoutAcceptEncoding() throws Exception {
+        when(service.execute(any(), any())).thenReturn(GetAllAssetAdministrationShellsResponse.builder()
+                .statusCode(StatusCode.SUCCESS)
+                .payload(Page.of(AASFull.AAS_1))
+                .build());
+        ContentResponse response = execute(HttpMethod.GET, "/shells");
+        Assert.assertEquals(HttpStatus.OK_200, response.getStatus());
+        Assert.assertFalse(response.getHeaders().contains(HttpHeader.CONTENT_ENCODING));
+    }
+
+}
@@ -101,10 +101,12 @@ import de.fraunhofer.iosb.ilt.faaast.service.typing.TypeExtractor;
 import de.fraunhofer.iosb.ilt.faaast.service.util.DeepCopyHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.EncodingHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceHelper;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 import javax.xml.datatype.DatatypeFactory;
 import org.apache.hc.client5.http.entity.mime.MultipartEntityBuilder;
@@ -1052,6 +1054,32 @@ public class RequestMappingManagerTest {
     }
 
 
+    @Test
+    public void testPutFileByPathWithLargeStreamedPart() throws InvalidRequestException, IOException {
+        byte[] content = new byte[3 * 1024 * 1024];
+        new Random().nextBytes(content);
+        byte[] multipart = generateMultipartBodyRandomFile(content, "test.pdf", ContentType.APPLICATION_PDF);
+        String contentType = "multipart/form-data; boundary=boundary";
+        Request expected = PutFileByPathRequest.builder()
+                .submodelId(SUBMODEL.getId())
+                .path(ReferenceHelper.toPath(SUBMODEL_ELEMENT_REF))
+                .content(new TypedInMemoryFile.Builder()
+                        .path("test.pdf")
+                        .content(content)
+                        .contentType(ContentType.APPLICATION_PDF.getMimeType())
+                        .build())
+                .build();
+        Request actual = mappingManager.map(HttpRequest.builder()
+                .method(HttpMethod.PUT)
+                .path("submodels/" + EncodingHelper.base64UrlEncode(SUBMODEL.getId()) + "/submodel-elements/"
+                        + ReferenceHelper.toPath(SUBMODEL_ELEMENT_REF) + "/attachment")
+                .header(HttpConstants.HEADER_CONTENT_TYPE, contentType)
+                .bodyStream(new ByteArrayInputStream(multipart))
+                .build());
+        Assert.assertEquals(expected, actual);
+    }
+
+
     @Test
     public void testPutSubmodel() throws SerializationException, InvalidRequestException, MethodNotAllowedException {
         Request expected = PutSubmodelRequest.builder()
@@ -1208,4 +1236,28 @@ public class RequestMappingManagerTest {
                 .build());
         Assert.assertEquals(expected, actual);
     }
+
+
+    @Test
+    public void testGetSupportedMethods() {
+        Assert.assertEquals(Set.of(HttpMethod.GET, HttpMethod.POST), mappingManager.getSupportedMethods("shells"));
+        Assert.assertTrue(mappingManager.getSupportedMethods(String.format("shells/%s/submodels/%s",
+                EncodingHelper.base64UrlEncode(AAS.getId()),
+                EncodingHelper.base64UrlEncode(SUBMODEL.getId())))
+                .containsAll(Set.of(HttpMethod.GET, HttpMethod.PUT, HttpMethod.PATCH)));
+        Assert.assertEquals(Set.of(), mappingManager.getSupportedMethods("unknown/path"));
+    }
+
+
+    @Test
+    public void testMethodNotAllowed() {
+        Assert.assertThrows(MethodNotAllowedException.class, () -> mappingManager.map(HttpRequest.builder()
+                .method(HttpMethod.PATCH)
+                .path("shells")
+                .build()));
+        Assert.assertThrows(InvalidRequestException.class, () -> mappingManager.map(HttpRequest.builder()
+                .method(HttpMethod.GET)
+                .path("unknown/path")
+                .build()));
+    }
 }
@@ -32,12 +32,10 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.SubscriptionInfo;
 import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ElementCreateEventMessage;
 import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ElementUpdateEventMessage;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import de.fraunhofer.iosb.ilt.faaast.service.util.EventMessageHelper;
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.builder.CloudEventBuilder;
 import io.cloudevents.jackson.JsonFormat;
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ScanResult;
-import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.OffsetDateTime;
@@ -188,10 +186,10 @@ public class MessageBusCloudevents implements MessageBus<MessageBusCloudeventsCo
     public SubscriptionId subscribe(SubscriptionInfo subscriptionInfo) {
         Ensure.requireNonNull(subscriptionInfo, "subscriptionInfo must be non-null");
         subscriptionInfo.getSubscribedEvents()
-                .forEach(x -> determineEvents((Class<? extends EventMessage>) x).stream()
+                .forEach(x -> EventMessageHelper.getConcreteTypes(x).stream()
                         .forEach(e -> client.subscribe(config.getTopicPrefix() + e.getSimpleName(), (t, message) -> {
                             EventMessage event = deserializer.read(message.toString(), e);
-                            if (subscriptionInfo.getFilter().test(event.getElement())) {
+                            if (subscriptionInfo.matches(event.getElement())) {
                                 subscriptionInfo.getHandler().accept(event);
                             }
                         })));
@@ -202,30 +200,12 @@ public class MessageBusCloudevents implements MessageBus<MessageBusCloudeventsCo
     }
 
 
-    private List<Class<EventMessage>> determineEvents(Class<? extends EventMessage> messageType) {
-        try (ScanResult scanResult = new ClassGraph().acceptPackages("de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event")
-                .enableClassInfo().scan()) {
-            if (Modifier.isAbstract(messageType.getModifiers())) {
-                return scanResult
-                        .getSubclasses(messageType.getName())
-                        .filter(x -> !x.isAbstract())
-                        .loadClasses(EventMessage.class);
-            }
-            else {
-                List<Class<EventMessage>> list = new ArrayList<>();
-                list.add((Class<EventMessage>) messageType);
-                return list;
-            }
-        }
-    }
-
-
     @Override
     public void unsubscribe(SubscriptionId id) {
         SubscriptionInfo info = subscriptions.get(id);
         Ensure.requireNonNull(info.getSubscribedEvents(), "subscriptionInfo must be non-null");
         subscriptions.get(id).getSubscribedEvents().stream().forEach(a -> //find all events for given abstract or event
-        determineEvents((Class<? extends EventMessage>) a).stream().forEach(e -> //unsubscribe from all events
+        EventMessageHelper.getConcreteTypes(a).stream().forEach(e -> //unsubscribe from all events
         client.unsubscribe(config.getTopicPrefix() + e.getSimpleName())));
         subscriptions.remove(id);
     }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.messagebus.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+
+/**
+ * Single-threaded executor with a bounded number of pending tasks. Submitting a task blocks while the lane is full
+ * unless it is submitted by a thread of the message bus itself, e.g. by a subscriber publishing from within its
+ * handler. Blocking such a thread could deadlock as the lane itself may be waiting for that thread to free space in the
+ * queue of a subscriber. Instead, such tasks may use an additional overflow capacity of the same size. If that is
+ * exhausted as well, the task is rejected so that the number of pending tasks is always bounded.
+ */
+class DispatchLane {
+
+    private static final ThreadLocal<Boolean> BUS_THREAD = ThreadLocal.withInitial(() -> false);
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Semaphore overflowPermits;
+
+    DispatchLane(int index, int capacity) {
+        this.permits = new Semaphore(Math.max(1, capacity));
+        this.overflowPermits = new Semaphore(Math.max(1, capacity));
+        this.executor = Executors.newSingleThreadExecutor(
+                new BasicThreadFactory.Builder()
+                        .namingPattern("MessageBusInternal-dispatch-" + index + "-%d")
+                        .daemon(true)
+                        .build());
+    }
+
+
+    /**
+     * Runs a task marking the current thread as a thread of the message bus while the task is running.
+     *
+     * @param task the task
+     */
+    static void runAsBusThread(Runnable task) {
+        boolean previous = BUS_THREAD.get();
+        BUS_THREAD.set(true);
+        try {
+            task.run();
+        }
+        finally {
+            BUS_THREAD.set(previous);
+        }
+    }
+
+
+    /**
+     * Submits a task, blocking while the maximum number of pending tasks is reached. Threads of the message bus never
+     * block but use the overflow capacity instead.
+     *
+     * @param task the task
+     * @return true if the task has been accepted, false if it has been submitted by a thread of the message bus and
+     *         the overflow capacity is exhausted as well
+     * @throws InterruptedException if interrupted while waiting
+     * @throws RejectedExecutionException if the lane has been shut down
+     */
+    boolean submit(Runnable task) throws InterruptedException {
+        Semaphore acquired;
+        if (!BUS_THREAD.get()) {
+            permits.acquire();
+            acquired = permits;
+        }
+        else if (permits.tryAcquire()) {
+            acquired = permits;
+        }
+        else if (overflowPermits.tryAcquire()) {
+            acquired = overflowPermits;
+        }
+        else {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    runAsBusThread(task);
+                }
+                finally {
+                    acquired.release();
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            acquired.release();
+            throw e;
+        }
+        return true;
+    }
+
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+
+    void shutdownNow() {
+        executor.shutdownNow();
+    }
+}
@@ -22,14 +22,19 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.EventMessage;
 import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.SubscriptionId;
 import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.SubscriptionInfo;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,22 +42,43 @@ import org.slf4j.LoggerFactory;
 /**
  * MessageBusInternal: Implements the internal MessageBus interface subscribe/unsubscribe and publishes/dispatches
  * EventMessages to subscribers.
+ *
+ * <p>Messages are partitioned by the element they refer to and dispatched by one single-threaded lane per partition,
+ * i.e. all messages concerning the same element are processed in publishing order. Each lane as well as each
+ * subscriber has its own bounded queue. Subscriber queues are drained sequentially by a shared pool of worker threads
+ * so that a slow subscriber does not delay other subscribers. When the queue of a subscriber is full, the configured
+ * {@link OverflowPolicy} is applied. When the queue of a lane is full, publishing blocks unless the message is
+ * published from a thread of the message bus, e.g. by a subscriber from within its handler, in which case a bounded
+ * overflow capacity is used and the message is discarded if that is exhausted as well. Messages published while the
+ * message bus is not running are kept until it is started, limited to the total capacity of all lanes. Matching
+ * subscribers are
+ * looked up using a {@link SubscriptionRouter} indexed by message type and element. Optionally, bursts of value
+ * changes are merged by a {@link ValueChangeConflator} before dispatching.
  */
 public class MessageBusInternal implements MessageBus<MessageBusInternalConfig> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageBusInternal.class);
-    private final BlockingQueue<EventMessage> messageQueue;
+    private static final long SHUTDOWN_TIMEOUT_IN_MS = 2000;
 
     private final AtomicBoolean running;
-    private final Map<SubscriptionId, SubscriptionInfo> subscriptions;
-    private final ExecutorService executor;
+    private final Map<SubscriptionId, Subscriber> subscribers;
+    private final SubscriptionRouter router;
+    private final Deque<PublishedMessage> pendingMessages;
+    private final Object lifecycleLock;
+    private final MessageBusInternalMetrics metrics;
+    private volatile List<DispatchLane> lanes;
+    private volatile ValueChangeConflator conflator;
+    private ExecutorService workers;
     private MessageBusInternalConfig config;
 
     public MessageBusInternal() {
         running = new AtomicBoolean(false);
-        subscriptions = new ConcurrentHashMap<>();
-        messageQueue = new LinkedBlockingDeque<>();
-        executor = Executors.newSingleThreadExecutor();
+        subscribers = new ConcurrentHashMap<>();
+        router = new SubscriptionRouter();
+        pendingMessages = new ArrayDeque<>();
+        lifecycleLock = new Object();
+        metrics = new MessageBusInternalMetrics();
+        config = new MessageBusInternalConfig();
     }
 
 
@@ -64,57 +90,189 @@ public class MessageBusInternal implements MessageBus<MessageBusInternalConfig>
 
     @Override
     public void init(CoreConfig coreConfig, MessageBusInternalConfig config, ServiceContext serviceContext) {
-        this.config = config;
+        this.config = Objects.nonNull(config) ? config : new MessageBusInternalConfig();
         running.set(false);
     }
 
 
+    /**
+     * Gets the runtime metrics of this message bus, e.g. queue depth, number of dropped messages and dispatch latency.
+     *
+     * @return the metrics
+     */
+    public MessageBusInternalMetrics getMetrics() {
+        return metrics;
+    }
+
+
     @Override
     public void publish(EventMessage message) throws MessageBusException {
-        if (message != null) {
-            try {
-                messageQueue.put(message);
+        if (message == null) {
+            return;
+        }
+        PublishedMessage publishedMessage = new PublishedMessage(message);
+        metrics.published();
+        List<DispatchLane> currentLanes = lanes;
+        if (Objects.isNull(currentLanes)) {
+            synchronized (lifecycleLock) {
+                currentLanes = lanes;
+                if (Objects.isNull(currentLanes)) {
+                    // not started yet, messages are dispatched on start
+                    addPending(publishedMessage);
+                    return;
+                }
             }
-            catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new MessageBusException("adding message to queue failed", e);
+        }
+        ValueChangeConflator currentConflator = conflator;
+        List<PublishedMessage> messages = Objects.nonNull(currentConflator)
+                ? currentConflator.offer(publishedMessage)
+                : List.of(publishedMessage);
+        try {
+            for (PublishedMessage current: messages) {
+                submit(currentLanes, current);
             }
         }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessageBusException("adding message to queue failed", e);
+        }
+        catch (RejectedExecutionException e) {
+            throw new MessageBusException("adding message to queue failed as message bus has been stopped", e);
+        }
     }
 
 
-    private void run() {
-        running.set(true);
+    /**
+     * Keeps a message published while the message bus is not running. If the maximum number of pending messages is
+     * reached, the oldest pending message is discarded when using {@link OverflowPolicy#DROP_OLDEST}, otherwise the new
+     * message is discarded as there is no dispatching that could free space.
+     *
+     * @param message the message
+     */
+    private void addPending(PublishedMessage message) {
+        long capacity = (long) Math.max(1, config.getDispatchQueueCapacity()) * Math.max(1, config.getDispatchThreads());
+        if (pendingMessages.size() >= capacity) {
+            LOGGER.debug("discarding message as maximum number of messages published while message bus is not running is reached (message type: {})",
+                    message.getMessage().getClass().getSimpleName());
+            metrics.dropped();
+            if (config.getOverflowPolicy() != OverflowPolicy.DROP_OLDEST) {
+                return;
+            }
+            pendingMessages.pollFirst();
+            metrics.dequeued(1);
+        }
+        pendingMessages.addLast(message);
+        metrics.queued(1);
+    }
+
+
+    private void submit(List<DispatchLane> currentLanes, PublishedMessage message) throws InterruptedException {
+        int partition = Objects.isNull(message.getElementKey())
+                ? 0
+                : Math.floorMod(message.getElementKey().hashCode(), currentLanes.size());
+        metrics.queued(1);
         try {
-            while (running.get()) {
-                EventMessage message = messageQueue.take();
-                Class<? extends EventMessage> messageType = message.getClass();
-                for (SubscriptionInfo subscription: subscriptions.values()) {
-                    if (subscription.getSubscribedEvents().stream().anyMatch(x -> x.isAssignableFrom(messageType))
-                            && subscription.getFilter().test(message.getElement())) {
-                        subscription.getHandler().accept(message);
-                    }
-                }
+            if (!currentLanes.get(partition).submit(() -> dispatch(message))) {
+                LOGGER.debug("discarding message published by message bus thread as dispatch queue is full (message type: {})",
+                        message.getMessage().getClass().getSimpleName());
+                metrics.dequeued(1);
+                metrics.dropped();
             }
         }
-        catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        catch (InterruptedException | RejectedExecutionException e) {
+            metrics.dequeued(1);
+            throw e;
+        }
+    }
+
+
+    private void dispatch(PublishedMessage message) {
+        metrics.dequeued(1);
+        for (Subscriber subscriber: router.route(message.getMessage())) {
+            if (!subscriber.matches(message.getMessage())) {
+                continue;
+            }
+            try {
+                subscriber.enqueue(message.getMessage(), message.getElementKey(), message.getPublishedAt());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
         }
     }
 
 
     @Override
     public void start() {
-        executor.submit(this::run);
+        synchronized (lifecycleLock) {
+            if (running.getAndSet(true)) {
+                return;
+            }
+            workers = Executors.newFixedThreadPool(
+                    Math.max(1, config.getWorkerThreads()),
+                    new BasicThreadFactory.Builder()
+                            .namingPattern("MessageBusInternal-worker-%d")
+                            .daemon(true)
+                            .build());
+            // subscriptions made before start are bound to the new worker pool
+            subscribers.replaceAll((id, subscriber) -> newSubscriber(subscriber.getInfo()));
+            router.update(subscribers.values());
+            List<DispatchLane> newLanes = new ArrayList<>();
+            for (int i = 0; i < Math.max(1, config.getDispatchThreads()); i++) {
+                newLanes.add(new DispatchLane(i, config.getDispatchQueueCapacity()));
+            }
+            if (config.getConflationWindow() > 0) {
+                conflator = new ValueChangeConflator(config.getConflationWindow(), x -> submit(newLanes, x), metrics);
+            }
+            lanes = newLanes;
+            // pending messages have already been counted as queued
+            metrics.dequeued(pendingMessages.size());
+            try {
+                for (PublishedMessage message: pendingMessages) {
+                    submit(newLanes, message);
+                }
+            }
+            catch (InterruptedException e) {
+                LOGGER.warn("interrupted while dispatching messages published before start", e);
+                Thread.currentThread().interrupt();
+            }
+            pendingMessages.clear();
+        }
     }
 
 
     @Override
     public void stop() {
-        running.set(false);
-        executor.shutdown();
+        List<DispatchLane> currentLanes;
+        ExecutorService currentWorkers;
+        synchronized (lifecycleLock) {
+            if (!running.getAndSet(false)) {
+                return;
+            }
+            if (Objects.nonNull(conflator)) {
+                conflator.close();
+                conflator = null;
+            }
+            currentLanes = lanes;
+            currentWorkers = workers;
+            // messages published while stopped are dispatched on next start
+            lanes = null;
+        }
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_IN_MS;
         try {
-            executor.awaitTermination(2, TimeUnit.SECONDS);
+            for (DispatchLane lane: currentLanes) {
+                lane.shutdown();
+            }
+            for (DispatchLane lane: currentLanes) {
+                if (!lane.awaitTermination(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                    lane.shutdownNow();
+                }
+            }
+            currentWorkers.shutdown();
+            if (!currentWorkers.awaitTermination(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                currentWorkers.shutdownNow();
+            }
         }
         catch (InterruptedException e) {
             LOGGER.error("interrupted while waiting for shutdown.", e);
@@ -127,14 +285,34 @@ public class MessageBusInternal implements MessageBus<MessageBusInternalConfig>
     public SubscriptionId subscribe(SubscriptionInfo subscriptionInfo) {
         Ensure.requireNonNull(subscriptionInfo, "subscriptionInfo must be non-null");
         SubscriptionId subscriptionId = new SubscriptionId();
-        subscriptions.put(subscriptionId, subscriptionInfo);
+        synchronized (lifecycleLock) {
+            subscribers.put(subscriptionId, newSubscriber(subscriptionInfo));
+            router.update(subscribers.values());
+        }
         return subscriptionId;
     }
 
 
+    private Subscriber newSubscriber(SubscriptionInfo subscriptionInfo) {
+        return new Subscriber(
+                subscriptionInfo,
+                config.getSubscriberQueueCapacity(),
+                config.getOverflowPolicy(),
+                config.getBlockTimeout(),
+                Objects.nonNull(workers) ? workers : Runnable::run,
+                metrics);
+    }
+
+
     @Override
     public void unsubscribe(SubscriptionId id) {
-        subscriptions.remove(id);
+        Subscriber subscriber;
+        synchronized (lifecycleLock) {
+            subscriber = subscribers.remove(id);
+            router.update(subscribers.values());
+        }
+        if (Objects.nonNull(subscriber)) {
+            subscriber.close();
+        }
     }
-
 }
@@ -15,6 +15,7 @@
 package de.fraunhofer.iosb.ilt.faaast.service.messagebus.internal;
 
 import de.fraunhofer.iosb.ilt.faaast.service.messagebus.MessageBusConfig;
+import java.util.Objects;
 
 
 /**
@@ -22,6 +23,144 @@ import de.fraunhofer.iosb.ilt.faaast.service.messagebus.MessageBusConfig;
  */
 public class MessageBusInternalConfig extends MessageBusConfig<MessageBusInternal> {
 
+    public static final int DEFAULT_DISPATCH_THREADS = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_WORKER_THREADS = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_SUBSCRIBER_QUEUE_CAPACITY = 10000;
+    public static final int DEFAULT_DISPATCH_QUEUE_CAPACITY = 10000;
+    public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.BLOCK;
+    public static final long DEFAULT_CONFLATION_WINDOW = 0;
+    public static final long DEFAULT_BLOCK_TIMEOUT = 0;
+
+    private int dispatchThreads;
+    private int workerThreads;
+    private int subscriberQueueCapacity;
+    private int dispatchQueueCapacity;
+    private OverflowPolicy overflowPolicy;
+    private long conflationWindow;
+    private long blockTimeout;
+
+    public MessageBusInternalConfig() {
+        this.dispatchThreads = DEFAULT_DISPATCH_THREADS;
+        this.workerThreads = DEFAULT_WORKER_THREADS;
+        this.subscriberQueueCapacity = DEFAULT_SUBSCRIBER_QUEUE_CAPACITY;
+        this.dispatchQueueCapacity = DEFAULT_DISPATCH_QUEUE_CAPACITY;
+        this.overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+        this.conflationWindow = DEFAULT_CONFLATION_WINDOW;
+        this.blockTimeout = DEFAULT_BLOCK_TIMEOUT;
+    }
+
+
+    public int getDispatchThreads() {
+        return dispatchThreads;
+    }
+
+
+    public void setDispatchThreads(int dispatchThreads) {
+        this.dispatchThreads = dispatchThreads;
+    }
+
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+
+    public int getSubscriberQueueCapacity() {
+        return subscriberQueueCapacity;
+    }
+
+
+    public void setSubscriberQueueCapacity(int subscriberQueueCapacity) {
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+    }
+
+
+    public int getDispatchQueueCapacity() {
+        return dispatchQueueCapacity;
+    }
+
+
+    public void setDispatchQueueCapacity(int dispatchQueueCapacity) {
+        this.dispatchQueueCapacity = dispatchQueueCapacity;
+    }
+
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+
+    /**
+     * Gets the time window in ms in which consecutive value changes of the same element are merged into a single
+     * message. A value of 0 or less disables conflation.
+     *
+     * @return the conflation window in ms
+     */
+    public long getConflationWindow() {
+        return conflationWindow;
+    }
+
+
+    public void setConflationWindow(long conflationWindow) {
+        this.conflationWindow = conflationWindow;
+    }
+
+
+    /**
+     * Gets the maximum time in ms to wait for free space in the queue of a subscriber when using
+     * {@link OverflowPolicy#BLOCK} or {@link OverflowPolicy#COALESCE}. If the queue is still full afterwards, the new
+     * message is discarded. A value of 0 or less waits until space is available without discarding any message.
+     *
+     * @return the block timeout in ms
+     */
+    public long getBlockTimeout() {
+        return blockTimeout;
+    }
+
+
+    public void setBlockTimeout(long blockTimeout) {
+        this.blockTimeout = blockTimeout;
+    }
+
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dispatchThreads, workerThreads, subscriberQueueCapacity, dispatchQueueCapacity, overflowPolicy, conflationWindow, blockTimeout);
+    }
+
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final MessageBusInternalConfig other = (MessageBusInternalConfig) obj;
+        return Objects.equals(this.dispatchThreads, other.dispatchThreads)
+                && Objects.equals(this.workerThreads, other.workerThreads)
+                && Objects.equals(this.subscriberQueueCapacity, other.subscriberQueueCapacity)
+                && Objects.equals(this.dispatchQueueCapacity, other.dispatchQueueCapacity)
+                && Objects.equals(this.overflowPolicy, other.overflowPolicy)
+                && Objects.equals(this.conflationWindow, other.conflationWindow)
+                && Objects.equals(this.blockTimeout, other.blockTimeout);
+    }
+
+
     public static Builder builder() {
         return new Builder();
     }
@@ -29,6 +168,46 @@ public class MessageBusInternalConfig extends MessageBusConfig<MessageBusInterna
     private abstract static class AbstractBuilder<T extends MessageBusInternalConfig, B extends AbstractBuilder<T, B>>
             extends MessageBusConfig.AbstractBuilder<MessageBusInternal, T, B> {
 
+        public B dispatchThreads(int value) {
+            getBuildingInstance().setDispatchThreads(value);
+            return getSelf();
+        }
+
+
+        public B workerThreads(int value) {
+            getBuildingInstance().setWorkerThreads(value);
+            return getSelf();
+        }
+
+
+        public B subscriberQueueCapacity(int value) {
+            getBuildingInstance().setSubscriberQueueCapacity(value);
+            return getSelf();
+        }
+
+
+        public B dispatchQueueCapacity(int value) {
+            getBuildingInstance().setDispatchQueueCapacity(value);
+            return getSelf();
+        }
+
+
+        public B overflowPolicy(OverflowPolicy value) {
+            getBuildingInstance().setOverflowPolicy(value);
+            return getSelf();
+        }
+
+
+        public B conflationWindow(long value) {
+            getBuildingInstance().setConflationWindow(value);
+            return getSelf();
+        }
+
+
+        public B blockTimeout(long value) {
+            getBuildingInstance().setBlockTimeout(value);
+            return getSelf();
+        }
     }
 
     public static class Builder extends AbstractBuilder<MessageBusInternalConfig, Builder> {
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.messagebus.internal;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Runtime metrics of {@link MessageBusInternal}. All values are accumulated since the message bus has been created.
+ */
+public class MessageBusInternalMetrics {
+
+    private final LongAdder queueDepth = new LongAdder();
+    private final LongAdder publishedMessages = new LongAdder();
+    private final LongAdder deliveredMessages = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder coalescedMessages = new LongAdder();
+    private final LongAdder conflatedMessages = new LongAdder();
+    private final LongAdder totalDispatchLatency = new LongAdder();
+    private final LongAccumulator maxDispatchLatency = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Gets the number of messages currently waiting to be dispatched or delivered, summed up over all subscribers.
+     *
+     * @return the current queue depth
+     */
+    public long getQueueDepth() {
+        return queueDepth.sum();
+    }
+
+
+    public long getPublishedMessages() {
+        return publishedMessages.sum();
+    }
+
+
+    public long getDeliveredMessages() {
+        return deliveredMessages.sum();
+    }
+
+
+    /**
+     * Gets the number of messages discarded due to {@link OverflowPolicy#DROP_OLDEST} or
+     * {@link OverflowPolicy#DROP_NEWEST}.
+     *
+     * @return the number of dropped messages
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+
+    /**
+     * Gets the number of messages merged into already queued messages due to {@link OverflowPolicy#COALESCE}.
+     *
+     * @return the number of coalesced messages
+     */
+    public long getCoalescedMessages() {
+        return coalescedMessages.sum();
+    }
+
+
+    /**
+     * Gets the number of messages merged into other messages due to
+     * {@link MessageBusInternalConfig#getConflationWindow()}.
+     *
+     * @return the number of conflated messages
+     */
+    public long getConflatedMessages() {
+        return conflatedMessages.sum();
+    }
+
+
+    /**
+     * Gets the average time between publishing a message and handing it to a subscriber.
+     *
+     * @return the average dispatch latency
+     */
+    public Duration getAverageDispatchLatency() {
+        long delivered = deliveredMessages.sum();
+        return delivered == 0
+                ? Duration.ZERO
+                : Duration.ofNanos(totalDispatchLatency.sum() / delivered);
+    }
+
+
+    /**
+     * Gets the maximum time between publishing a message and handing it to a subscriber.
+     *
+     * @return the maximum dispatch latency
+     */
+    public Duration getMaxDispatchLatency() {
+        return Duration.ofNanos(maxDispatchLatency.get());
+    }
+
+
+    void queued(int count) {
+        queueDepth.add(count);
+    }
+
+
+    void dequeued(int count) {
+        queueDepth.add(-count);
+    }
+
+
+    void published() {
+        publishedMessages.increment();
+    }
+
+
+    void dropped() {
+        droppedMessages.increment();
+    }
+
+
+    void coalesced() {
+        coalescedMessages.increment();
+    }
+
+
+    void conflated() {
+        conflatedMessages.increment();
+    }
+
+
+    void delivered(long publishedAt) {
+        long latency = System.nanoTime() - publishedAt;
+        deliveredMessages.increment();
+        totalDispatchLatency.add(latency);
+        maxDispatchLatency.accumulate(latency);
+    }
+}
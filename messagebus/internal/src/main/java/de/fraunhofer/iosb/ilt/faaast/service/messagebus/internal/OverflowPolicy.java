@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.messagebus.internal;
+
+/**
+ * Defines how {@link MessageBusInternal} handles messages for a subscriber whose queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Blocks dispatching until the subscriber has processed enough messages to free space in its queue. By default,
+     * no message is lost. Only if a positive block timeout is configured and no space becomes available within that
+     * time, the new message is discarded.
+     */
+    BLOCK,
+    /**
+     * Discards the oldest queued message of the subscriber to make room for the new message.
+     */
+    DROP_OLDEST,
+    /**
+     * Discards the new message.
+     */
+    DROP_NEWEST,
+    /**
+     * Merges a {@link de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ValueChangeEventMessage}
+     * into the most recent queued message for the same element if that is a value change as well, keeping the old
+     * value of the queued and the new value of the new message. Coalescing is applied independent of the queue being
+     * full. Messages that cannot be coalesced block like {@link #BLOCK} when the queue is full.
+     */
+    COALESCE
+}
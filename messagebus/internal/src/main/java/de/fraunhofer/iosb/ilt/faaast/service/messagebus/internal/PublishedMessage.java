@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.messagebus.internal;
+
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.EventMessage;
+import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceHelper;
+import java.util.Objects;
+
+
+/**
+ * A message published on {@link MessageBusInternal} together with information required for dispatching.
+ */
+class PublishedMessage {
+
+    private final EventMessage message;
+    private final String elementKey;
+    private final long publishedAt;
+
+    PublishedMessage(EventMessage message) {
+        this(message,
+                Objects.nonNull(message.getElement())
+                        ? ReferenceHelper.toString(message.getElement(), false, false)
+                        : null,
+                System.nanoTime());
+    }
+
+
+    PublishedMessage(EventMessage message, String elementKey, long publishedAt) {
+        this.message = message;
+        this.elementKey = elementKey;
+        this.publishedAt = publishedAt;
+    }
+
+
+    EventMessage getMessage() {
+        return message;
+    }
+
+
+    /**
+     * Gets the string representation of the element the message refers to. Only the keys are included so that
+     * references to the same element are considered equal independent of their reference type.
+     *
+     * @return the string representation of the element or null if the message does not refer to an element
+     */
+    String getElementKey() {
+        return elementKey;
+    }
+
+
+    /**
+     * Gets the value of {@link System#nanoTime()} when the message has been published.
+     *
+     * @return the time the message has been published
+     */
+    long getPublishedAt() {
+        return publishedAt;
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.messagebus.internal;
+
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.EventMessage;
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.SubscriptionInfo;
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ValueChangeEventMessage;
+import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * A subscriber of {@link MessageBusInternal} with its own bounded queue. Messages are delivered using a shared
+ * executor where at most one delivery task per subscriber is active at any time, i.e. messages are delivered to each
+ * subscriber sequentially in the order they have been enqueued. A slow subscriber therefore only occupies a single
+ * worker thread and does not delay delivery to other subscribers as long as its queue is not full. What happens when
+ * the queue is full is defined by the {@link OverflowPolicy}. When blocking, waiting is unbounded unless a positive
+ * block timeout is configured, in which case the new message is discarded after the timeout so that a stalled
+ * subscriber cannot stall dispatching indefinitely.
+ */
+class Subscriber {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Subscriber.class);
+    private static final int BATCH_SIZE = 64;
+
+    private final SubscriptionInfo info;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutInNanos;
+    private final Executor executor;
+    private final MessageBusInternalMetrics metrics;
+    private final Deque<Entry> queue;
+    private final Map<String, Entry> lastEntryPerElement;
+    private final ReentrantLock lock;
+    private final Condition notFull;
+    private final AtomicBoolean scheduled;
+    private volatile boolean active;
+
+    Subscriber(SubscriptionInfo info, int capacity, OverflowPolicy overflowPolicy, long blockTimeout, Executor executor, MessageBusInternalMetrics metrics) {
+        Ensure.requireNonNull(info, "info must be non-null");
+        Ensure.requireNonNull(executor, "executor must be non-null");
+        Ensure.requireNonNull(metrics, "metrics must be non-null");
+        this.info = info;
+        this.capacity = Math.max(1, capacity);
+        this.overflowPolicy = Objects.nonNull(overflowPolicy) ? overflowPolicy : OverflowPolicy.BLOCK;
+        this.blockTimeoutInNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, blockTimeout));
+        this.executor = executor;
+        this.metrics = metrics;
+        this.queue = new ArrayDeque<>();
+        this.lastEntryPerElement = new HashMap<>();
+        this.lock = new ReentrantLock();
+        this.notFull = lock.newCondition();
+        this.scheduled = new AtomicBoolean(false);
+        this.active = true;
+    }
+
+
+    SubscriptionInfo getInfo() {
+        return info;
+    }
+
+
+    /**
+     * Checks if a message matches the element and filter of this subscriber. Subscribed events are not checked as this
+     * is done by {@link SubscriptionRouter}.
+     *
+     * @param message the message
+     * @return true if the message should be delivered to this subscriber, otherwise false
+     */
+    boolean matches(EventMessage message) {
+        return info.matches(message.getElement());
+    }
+
+
+    /**
+     * Adds a message to the queue of this subscriber applying the overflow policy if the queue is full. If the policy
+     * blocks and a block timeout is set, the message is discarded if no space becomes available within the timeout.
+     *
+     * @param message the message
+     * @param elementKey string representation of the element the message refers to, may be null
+     * @param publishedAt value of {@link System#nanoTime()} when the message has been published
+     * @throws InterruptedException if interrupted while waiting for free space in the queue
+     */
+    void enqueue(EventMessage message, String elementKey, long publishedAt) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            if (!active) {
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.COALESCE && coalesce(message, elementKey)) {
+                metrics.coalesced();
+                return;
+            }
+            long remaining = blockTimeoutInNanos;
+            while (queue.size() >= capacity) {
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    metrics.dropped();
+                    return;
+                }
+                if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                    remove(queue.pollFirst());
+                    metrics.dropped();
+                }
+                else if (blockTimeoutInNanos <= 0) {
+                    notFull.await();
+                    if (!active) {
+                        return;
+                    }
+                }
+                else {
+                    if (remaining <= 0) {
+                        LOGGER.debug("discarding message as queue of subscriber is still full after block timeout (message type: {})",
+                                message.getClass().getSimpleName());
+                        metrics.dropped();
+                        return;
+                    }
+                    remaining = notFull.awaitNanos(remaining);
+                    if (!active) {
+                        return;
+                    }
+                }
+            }
+            Entry entry = new Entry(message, elementKey, publishedAt);
+            queue.addLast(entry);
+            metrics.queued(1);
+            if (overflowPolicy == OverflowPolicy.COALESCE && Objects.nonNull(elementKey)) {
+                lastEntryPerElement.put(elementKey, entry);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        schedule();
+    }
+
+
+    /**
+     * Stops delivery to this subscriber and discards all queued messages.
+     */
+    void close() {
+        lock.lock();
+        try {
+            active = false;
+            metrics.dequeued(queue.size());
+            queue.clear();
+            lastEntryPerElement.clear();
+            notFull.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+
+    private boolean coalesce(EventMessage message, String elementKey) {
+        if (Objects.isNull(elementKey) || !ValueChangeEventMessage.class.isInstance(message)) {
+            return false;
+        }
+        // only merge with the most recent message for the element to preserve per-element ordering
+        Entry last = lastEntryPerElement.get(elementKey);
+        if (Objects.isNull(last) || !ValueChangeEventMessage.class.isInstance(last.message)) {
+            return false;
+        }
+        last.message = ValueChangeEventMessage.builder()
+                .element(message.getElement())
+                .oldValue(((ValueChangeEventMessage) last.message).getOldValue())
+                .newValue(((ValueChangeEventMessage) message).getNewValue())
+                .build();
+        return true;
+    }
+
+
+    private void remove(Entry entry) {
+        if (Objects.isNull(entry)) {
+            return;
+        }
+        metrics.dequeued(1);
+        if (Objects.nonNull(entry.elementKey)) {
+            lastEntryPerElement.remove(entry.elementKey, entry);
+        }
+    }
+
+
+    private Entry poll() {
+        lock.lock();
+        try {
+            Entry result = queue.pollFirst();
+            if (Objects.nonNull(result)) {
+                remove(result);
+                notFull.signal();
+            }
+            return result;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+
+    private boolean isEmpty() {
+        lock.lock();
+        try {
+            return queue.isEmpty();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+
+    private void schedule() {
+        if (active && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            }
+            catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+    }
+
+
+    private void drain() {
+        DispatchLane.runAsBusThread(this::drainBatch);
+    }
+
+
+    private void drainBatch() {
+        try {
+            for (int i = 0; i < BATCH_SIZE && active; i++) {
+                Entry entry = poll();
+                if (entry == null) {
+                    break;
+                }
+                deliver(entry);
+            }
+        }
+        finally {
+            scheduled.set(false);
+            // re-schedule instead of looping to give other subscribers a chance to run
+            if (!isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+
+    private void deliver(Entry entry) {
+        metrics.delivered(entry.publishedAt);
+        try {
+            info.getHandler().accept(entry.message);
+        }
+        catch (Exception e) {
+            LOGGER.warn("error delivering message to subscriber (message type: {})", entry.message.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static class Entry {
+
+        private final String elementKey;
+        private final long publishedAt;
+        private EventMessage message;
+
+        private Entry(EventMessage message, String elementKey, long publishedAt) {
+            this.message = message;
+            this.elementKey = elementKey;
+            this.publishedAt = publishedAt;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.messagebus.internal;
+
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.EventMessage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.digitaltwin.aas4j.v3.model.Key;
+import org.eclipse.digitaltwin.aas4j.v3.model.Reference;
+
+
+/**
+ * Routing table to find the subscribers potentially interested in a message without checking every subscription.
+ *
+ * <p>Routes are keyed by the concrete message class, i.e. subscriptions to super types such as
+ * {@link de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ChangeEventMessage} are expanded to all
+ * concrete message types. As the set of concrete message types is not known in advance, the route for a type is
+ * created when a message of that type is routed for the first time and re-created for all known types whenever the
+ * subscriptions change. Within a route, subscribers limited to an element are indexed in a trie by the key values of
+ * the element, so that only subscribers for the element of the message or one of its parents are returned.
+ *
+ * <p>The routing table is immutable and replaced on every change of the subscriptions so that routing does not
+ * require any locking.
+ */
+class SubscriptionRouter {
+
+    private volatile State state;
+
+    SubscriptionRouter() {
+        this.state = new State(List.of());
+    }
+
+
+    /**
+     * Replaces all subscribers and re-creates the routes for all message types routed so far.
+     *
+     * @param subscribers the subscribers
+     */
+    synchronized void update(Collection<Subscriber> subscribers) {
+        State newState = new State(new ArrayList<>(subscribers));
+        state.routes.keySet().forEach(newState::getRoute);
+        state = newState;
+    }
+
+
+    /**
+     * Finds the subscribers whose subscribed events and element match a message. The filter of the subscribers is not
+     * checked.
+     *
+     * @param message the message
+     * @return the matching subscribers
+     */
+    List<Subscriber> route(EventMessage message) {
+        return state.getRoute(message.getClass()).find(message.getElement());
+    }
+
+    private static class State {
+
+        private final List<Subscriber> subscribers;
+        private final Map<Class<?>, Route> routes;
+
+        private State(List<Subscriber> subscribers) {
+            this.subscribers = subscribers;
+            this.routes = new ConcurrentHashMap<>();
+        }
+
+
+        private Route getRoute(Class<?> messageType) {
+            return routes.computeIfAbsent(messageType, this::createRoute);
+        }
+
+
+        private Route createRoute(Class<?> messageType) {
+            Route result = new Route();
+            subscribers.stream()
+                    .filter(x -> Objects.nonNull(x.getInfo().getSubscribedEvents()))
+                    .filter(x -> x.getInfo().getSubscribedEvents().stream().anyMatch(type -> type.isAssignableFrom(messageType)))
+                    .forEach(result::add);
+            return result;
+        }
+    }
+
+    private static class Route {
+
+        private final List<Subscriber> unrestricted = new ArrayList<>();
+        private final Node root = new Node();
+
+        private void add(Subscriber subscriber) {
+            Reference element = subscriber.getInfo().getElement();
+            if (Objects.isNull(element) || Objects.isNull(element.getKeys()) || element.getKeys().isEmpty()) {
+                unrestricted.add(subscriber);
+                return;
+            }
+            Node node = root;
+            for (Key key: element.getKeys()) {
+                node = node.children.computeIfAbsent(key.getValue(), x -> new Node());
+            }
+            node.subscribers.add(subscriber);
+        }
+
+
+        private List<Subscriber> find(Reference element) {
+            if (root.children.isEmpty() || Objects.isNull(element) || Objects.isNull(element.getKeys())) {
+                return unrestricted;
+            }
+            List<Subscriber> result = new ArrayList<>(unrestricted);
+            Node node = root;
+            for (Key key: element.getKeys()) {
+                node = node.children.get(key.getValue());
+                if (Objects.isNull(node)) {
+                    break;
+                }
+                result.addAll(node.subscribers);
+            }
+            return result;
+        }
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+    }
+}
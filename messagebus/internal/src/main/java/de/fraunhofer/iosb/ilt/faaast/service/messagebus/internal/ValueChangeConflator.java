@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.messagebus.internal;
+
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ValueChangeEventMessage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Merges bursts of {@link ValueChangeEventMessage} for the same element. The first value change for an element opens
+ * a time window; all value changes for that element within the window are merged into a single message carrying the
+ * old value of the first and the new value of the latest change, which is forwarded when the window closes. Any other
+ * message for an element with an open window closes the window immediately so that the order of messages per
+ * element is preserved.
+ */
+class ValueChangeConflator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValueChangeConflator.class);
+
+    private final long window;
+    private final Sink sink;
+    private final MessageBusInternalMetrics metrics;
+    private final Map<String, PublishedMessage> pending;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Consumer of messages leaving the conflator.
+     */
+    @FunctionalInterface
+    interface Sink {
+
+        /**
+         * Forwards a message.
+         *
+         * @param message the message
+         * @throws InterruptedException if interrupted while forwarding
+         */
+        void accept(PublishedMessage message) throws InterruptedException;
+    }
+
+    ValueChangeConflator(long window, Sink sink, MessageBusInternalMetrics metrics) {
+        this.window = window;
+        this.sink = sink;
+        this.metrics = metrics;
+        this.pending = new HashMap<>();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                1,
+                new BasicThreadFactory.Builder()
+                        .namingPattern("MessageBusInternal-conflation-%d")
+                        .daemon(true)
+                        .build());
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+    }
+
+
+    /**
+     * Offers a message to the conflator.
+     *
+     * @param message the message
+     * @return the messages that should be forwarded immediately in the given order; empty if the message has been
+     *         retained
+     */
+    synchronized List<PublishedMessage> offer(PublishedMessage message) {
+        String key = message.getElementKey();
+        if (Objects.isNull(key)) {
+            return List.of(message);
+        }
+        PublishedMessage current = pending.get(key);
+        if (!ValueChangeEventMessage.class.isInstance(message.getMessage())) {
+            if (Objects.isNull(current)) {
+                return List.of(message);
+            }
+            pending.remove(key);
+            return List.of(current, message);
+        }
+        if (Objects.isNull(current)) {
+            pending.put(key, message);
+            try {
+                scheduler.schedule(() -> flush(key, message), window, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException e) {
+                pending.remove(key);
+                return List.of(message);
+            }
+            return List.of();
+        }
+        pending.put(key, merge(current, message));
+        metrics.conflated();
+        return List.of();
+    }
+
+
+    /**
+     * Forwards all retained messages and stops the conflator.
+     */
+    synchronized void close() {
+        scheduler.shutdownNow();
+        List<PublishedMessage> messages = new ArrayList<>(pending.values());
+        pending.clear();
+        for (PublishedMessage message: messages) {
+            forward(message);
+        }
+    }
+
+
+    private synchronized void flush(String key, PublishedMessage first) {
+        PublishedMessage current = pending.get(key);
+        // window might have been closed already and a new one opened in the meantime
+        if (Objects.isNull(current) || current.getPublishedAt() != first.getPublishedAt()) {
+            return;
+        }
+        pending.remove(key);
+        // forward while holding the lock to guarantee order with messages passing through offer(...)
+        forward(current);
+    }
+
+
+    private void forward(PublishedMessage message) {
+        try {
+            sink.accept(message);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (RuntimeException e) {
+            LOGGER.warn("forwarding conflated message failed", e);
+        }
+    }
+
+
+    private static PublishedMessage merge(PublishedMessage first, PublishedMessage latest) {
+        ValueChangeEventMessage firstMessage = (ValueChangeEventMessage) first.getMessage();
+        ValueChangeEventMessage latestMessage = (ValueChangeEventMessage) latest.getMessage();
+        return new PublishedMessage(
+                ValueChangeEventMessage.builder()
+                        .element(latestMessage.getElement())
+                        .oldValue(firstMessage.getOldValue())
+                        .newValue(latestMessage.getNewValue())
+                        .build(),
+                first.getElementKey(),
+                first.getPublishedAt());
+    }
+}
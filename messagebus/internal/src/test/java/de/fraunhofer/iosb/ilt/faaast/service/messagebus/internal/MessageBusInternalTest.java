@@ -23,13 +23,19 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.error.ErrorE
 import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.error.ErrorLevel;
 import de.fraunhofer.iosb.ilt.faaast.service.model.value.PropertyValue;
 import de.fraunhofer.iosb.ilt.faaast.service.model.value.primitive.IntValue;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.eclipse.digitaltwin.aas4j.v3.model.KeyTypes;
 import org.eclipse.digitaltwin.aas4j.v3.model.Reference;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultKey;
@@ -189,4 +195,376 @@ public class MessageBusInternalTest {
         Assert.assertFalse(condition.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
         messageBus.stop();
     }
+
+
+    @Test
+    public void testOrderPerElementPreserved() throws InterruptedException, MessageBusException {
+        MessageBusInternal messageBus = new MessageBusInternal();
+        messageBus.init(null, MessageBusInternalConfig.builder()
+                .dispatchThreads(4)
+                .workerThreads(4)
+                .build(), null);
+        messageBus.start();
+        int count = 1000;
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch condition = new CountDownLatch(count);
+        messageBus.subscribe(SubscriptionInfo.create(
+                ValueChangeEventMessage.class,
+                x -> {
+                    received.add((Integer) ((PropertyValue) ((ValueChangeEventMessage) x).getNewValue()).getValue().getValue());
+                    condition.countDown();
+                }));
+        for (int i = 0; i < count; i++) {
+            messageBus.publish(ValueChangeEventMessage.builder()
+                    .element(property1Reference)
+                    .newValue(new PropertyValue(new IntValue(i)))
+                    .build());
+        }
+        Assert.assertTrue(condition.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(IntStream.range(0, count).boxed().collect(Collectors.toList()), received);
+        messageBus.stop();
+    }
+
+
+    @Test
+    public void testSlowSubscriberDoesNotBlockOthers() throws InterruptedException, MessageBusException {
+        MessageBusInternal messageBus = new MessageBusInternal();
+        messageBus.init(null, MessageBusInternalConfig.builder()
+                .workerThreads(2)
+                .build(), null);
+        messageBus.start();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch condition = new CountDownLatch(1);
+        messageBus.subscribe(SubscriptionInfo.create(
+                ErrorEventMessage.class,
+                x -> {
+                    try {
+                        blocked.await();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        messageBus.subscribe(SubscriptionInfo.create(
+                ErrorEventMessage.class,
+                x -> condition.countDown()));
+        messageBus.publish(errorMessage);
+        Assert.assertTrue(condition.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        blocked.countDown();
+        messageBus.stop();
+    }
+
+
+    @Test
+    public void testPublishFromHandlerWithFullLaneDoesNotDeadlock() throws InterruptedException, MessageBusException {
+        MessageBusInternal messageBus = new MessageBusInternal();
+        messageBus.init(null, MessageBusInternalConfig.builder()
+                .dispatchThreads(1)
+                .dispatchQueueCapacity(1)
+                .workerThreads(1)
+                .subscriberQueueCapacity(1)
+                .overflowPolicy(OverflowPolicy.BLOCK)
+                .build(), null);
+        messageBus.start();
+        int republished = 10;
+        AtomicBoolean first = new AtomicBoolean(true);
+        messageBus.subscribe(SubscriptionInfo.create(
+                ErrorEventMessage.class,
+                x -> {
+                    if (first.getAndSet(false)) {
+                        for (int i = 0; i < republished; i++) {
+                            try {
+                                messageBus.publish(errorMessage);
+                            }
+                            catch (MessageBusException e) {
+                                Assert.fail();
+                            }
+                        }
+                    }
+                }));
+        messageBus.publish(errorMessage);
+        awaitMetric(() -> messageBus.getMetrics().getDeliveredMessages() + messageBus.getMetrics().getDroppedMessages(), republished + 1);
+        // while the handler is running, at most one message each can be queued in the lane, its overflow and the
+        // subscriber queue, all others are discarded
+        Assert.assertTrue(messageBus.getMetrics().getDroppedMessages() >= republished - 3);
+        Assert.assertEquals(0, messageBus.getMetrics().getQueueDepth());
+        messageBus.stop();
+    }
+
+
+    @Test
+    public void testMessagesPublishedBeforeStartAreBounded() throws InterruptedException, MessageBusException {
+        MessageBusInternal messageBus = new MessageBusInternal();
+        messageBus.init(null, MessageBusInternalConfig.builder()
+                .dispatchThreads(1)
+                .dispatchQueueCapacity(2)
+                .build(), null);
+        List<EventMessage> received = Collections.synchronizedList(new ArrayList<>());
+        messageBus.subscribe(SubscriptionInfo.create(
+                ErrorEventMessage.class,
+                received::add));
+        for (int i = 0; i < 5; i++) {
+            messageBus.publish(errorMessage);
+        }
+        Assert.assertEquals(3, messageBus.getMetrics().getDroppedMessages());
+        Assert.assertEquals(2, messageBus.getMetrics().getQueueDepth());
+        messageBus.start();
+        awaitMetric(() -> messageBus.getMetrics().getDeliveredMessages(), 2);
+        Assert.assertEquals(2, received.size());
+        messageBus.stop();
+    }
+
+
+    @Test
+    public void testBlockedSubscriberPublishingFromHandlerDoesNotStallLane() throws InterruptedException, MessageBusException {
+        MessageBusInternal messageBus = new MessageBusInternal();
+        messageBus.init(null, MessageBusInternalConfig.builder()
+                .dispatchThreads(1)
+                .workerThreads(2)
+                .subscriberQueueCapacity(1)
+                .overflowPolicy(OverflowPolicy.BLOCK)
+                .blockTimeout(100)
+                .build(), null);
+        messageBus.start();
+        int republished = 3;
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch condition = new CountDownLatch(republished + 1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        messageBus.subscribe(SubscriptionInfo.create(
+                ErrorEventMessage.class,
+                x -> {
+                    if (!first.getAndSet(false)) {
+                        return;
+                    }
+                    try {
+                        // the first message fills the queue, all following ones find it full
+                        for (int i = 0; i < republished; i++) {
+                            messageBus.publish(errorMessage);
+                        }
+                        blocked.await();
+                    }
+                    catch (MessageBusException e) {
+                        Assert.fail();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        messageBus.subscribe(SubscriptionInfo.create(
+                ErrorEventMessage.class,
+                x -> condition.countDown()));
+        messageBus.publish(errorMessage);
+        Assert.assertTrue(condition.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        awaitMetric(() -> messageBus.getMetrics().getDroppedMessages(), republished - 1);
+        blocked.countDown();
+        messageBus.stop();
+    }
+
+
+    @Test
+    public void testBlockWithoutTimeoutDoesNotDrop() throws InterruptedException, MessageBusException {
+        MessageBusInternal messageBus = new MessageBusInternal();
+        messageBus.init(null, MessageBusInternalConfig.builder()
+                .dispatchThreads(1)
+                .subscriberQueueCapacity(1)
+                .overflowPolicy(OverflowPolicy.BLOCK)
+                .build(), null);
+        messageBus.start();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        messageBus.subscribe(SubscriptionInfo.create(
+                ErrorEventMessage.class,
+                x -> {
+                    entered.countDown();
+                    try {
+                        blocked.await();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        messageBus.publish(errorMessage);
+        Assert.assertTrue(entered.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 3; i++) {
+            messageBus.publish(errorMessage);
+        }
+        // stall the subscriber longer than any reasonable timeout
+        Thread.sleep(DEFAULT_TIMEOUT + 200);
+        Assert.assertEquals(0, messageBus.getMetrics().getDroppedMessages());
+        blocked.countDown();
+        awaitMetric(() -> messageBus.getMetrics().getDeliveredMessages(), 4);
+        Assert.assertEquals(0, messageBus.getMetrics().getDroppedMessages());
+        messageBus.stop();
+    }
+
+
+    @Test
+    public void testDropNewest() throws InterruptedException, MessageBusException {
+        MessageBusInternal messageBus = new MessageBusInternal();
+        messageBus.init(null, MessageBusInternalConfig.builder()
+                .subscriberQueueCapacity(2)
+                .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+                .build(), null);
+        messageBus.start();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<EventMessage> received = Collections.synchronizedList(new ArrayList<>());
+        messageBus.subscribe(SubscriptionInfo.create(
+                ErrorEventMessage.class,
+                x -> {
+                    received.add(x);
+                    entered.countDown();
+                    try {
+                        blocked.await();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        messageBus.publish(errorMessage);
+        Assert.assertTrue(entered.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 4; i++) {
+            messageBus.publish(errorMessage);
+        }
+        awaitMetric(() -> messageBus.getMetrics().getDroppedMessages(), 2);
+        Assert.assertEquals(2, messageBus.getMetrics().getQueueDepth());
+        blocked.countDown();
+        awaitMetric(() -> messageBus.getMetrics().getDeliveredMessages(), 3);
+        Assert.assertEquals(3, received.size());
+        Assert.assertEquals(0, messageBus.getMetrics().getQueueDepth());
+        messageBus.stop();
+    }
+
+
+    @Test
+    public void testCoalesceValueChanges() throws InterruptedException, MessageBusException {
+        MessageBusInternal messageBus = new MessageBusInternal();
+        messageBus.init(null, MessageBusInternalConfig.builder()
+                .overflowPolicy(OverflowPolicy.COALESCE)
+                .build(), null);
+        messageBus.start();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch condition = new CountDownLatch(2);
+        List<ValueChangeEventMessage> received = Collections.synchronizedList(new ArrayList<>());
+        messageBus.subscribe(SubscriptionInfo.create(
+                ValueChangeEventMessage.class,
+                x -> {
+                    received.add((ValueChangeEventMessage) x);
+                    entered.countDown();
+                    try {
+                        blocked.await();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    condition.countDown();
+                }));
+        messageBus.publish(valueChange(0, 1));
+        Assert.assertTrue(entered.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        messageBus.publish(valueChange(1, 2));
+        messageBus.publish(valueChange(2, 3));
+        messageBus.publish(valueChange(3, 4));
+        awaitMetric(() -> messageBus.getMetrics().getCoalescedMessages(), 2);
+        blocked.countDown();
+        Assert.assertTrue(condition.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(List.of(valueChange(0, 1), valueChange(1, 4)), received);
+        messageBus.stop();
+    }
+
+
+    private static ValueChangeEventMessage valueChange(int oldValue, int newValue) {
+        return ValueChangeEventMessage.builder()
+                .element(property1Reference)
+                .oldValue(new PropertyValue(new IntValue(oldValue)))
+                .newValue(new PropertyValue(new IntValue(newValue)))
+                .build();
+    }
+
+
+    private static void awaitMetric(LongSupplier metric, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + DEFAULT_TIMEOUT;
+        while (metric.getAsLong() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(expected, metric.getAsLong());
+    }
+
+
+    @Test
+    public void testElementSubscription() throws InterruptedException, MessageBusException {
+        MessageBusInternal messageBus = new MessageBusInternal();
+        messageBus.start();
+        Reference submodelReference = new DefaultReference.Builder()
+                .keys(new DefaultKey.Builder()
+                        .type(KeyTypes.SUBMODEL)
+                        .value("submodel1")
+                        .build())
+                .build();
+        Reference propertyReference = new DefaultReference.Builder()
+                .keys(submodelReference.getKeys().get(0))
+                .keys(new DefaultKey.Builder()
+                        .type(KeyTypes.PROPERTY)
+                        .value("property1")
+                        .build())
+                .build();
+        SubscriptionInfo parentSubscription = SubscriptionInfo.create(ErrorEventMessage.class, x -> {});
+        parentSubscription.setElement(submodelReference);
+        List<EventMessage> parentResponses = Collections.synchronizedList(new ArrayList<>());
+        List<EventMessage> exactResponses = Collections.synchronizedList(new ArrayList<>());
+        List<EventMessage> otherResponses = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch condition = new CountDownLatch(2);
+        parentSubscription.setHandler(x -> {
+            parentResponses.add(x);
+            condition.countDown();
+        });
+        messageBus.subscribe(parentSubscription);
+        messageBus.subscribe(SubscriptionInfo.create(
+                ErrorEventMessage.class,
+                x -> {
+                    exactResponses.add(x);
+                    condition.countDown();
+                },
+                propertyReference));
+        messageBus.subscribe(SubscriptionInfo.create(
+                ErrorEventMessage.class,
+                otherResponses::add,
+                property1Reference));
+        ErrorEventMessage message = ErrorEventMessage.builder()
+                .element(propertyReference)
+                .level(ErrorLevel.ERROR)
+                .build();
+        messageBus.publish(message);
+        Assert.assertTrue(condition.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(List.of(message), parentResponses);
+        Assert.assertEquals(List.of(message), exactResponses);
+        Assert.assertTrue(otherResponses.isEmpty());
+        messageBus.stop();
+    }
+
+
+    @Test
+    public void testConflation() throws InterruptedException, MessageBusException {
+        MessageBusInternal messageBus = new MessageBusInternal();
+        messageBus.init(null, MessageBusInternalConfig.builder()
+                .conflationWindow(200)
+                .build(), null);
+        messageBus.start();
+        CountDownLatch condition = new CountDownLatch(2);
+        List<EventMessage> received = Collections.synchronizedList(new ArrayList<>());
+        messageBus.subscribe(SubscriptionInfo.create(
+                EventMessage.class,
+                x -> {
+                    received.add(x);
+                    condition.countDown();
+                }));
+        messageBus.publish(valueChange(0, 1));
+        messageBus.publish(valueChange(1, 2));
+        messageBus.publish(valueChange(2, 3));
+        messageBus.publish(errorMessage);
+        Assert.assertTrue(condition.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(List.of(valueChange(0, 3), errorMessage), received);
+        Assert.assertEquals(2, messageBus.getMetrics().getConflatedMessages());
+        messageBus.stop();
+    }
 }
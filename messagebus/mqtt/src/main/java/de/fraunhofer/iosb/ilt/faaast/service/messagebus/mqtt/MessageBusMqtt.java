@@ -16,6 +16,7 @@ package de.fraunhofer.iosb.ilt.faaast.service.messagebus.mqtt;
 
 import de.fraunhofer.iosb.ilt.faaast.service.ServiceContext;
 import de.fraunhofer.iosb.ilt.faaast.service.config.CoreConfig;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.DeserializationException;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonEventDeserializer;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonEventSerializer;
 import de.fraunhofer.iosb.ilt.faaast.service.exception.ConfigurationInitializationException;
@@ -24,15 +25,17 @@ import de.fraunhofer.iosb.ilt.faaast.service.messagebus.MessageBus;
 import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.EventMessage;
 import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.SubscriptionId;
 import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.SubscriptionInfo;
+import de.fraunhofer.iosb.ilt.faaast.service.util.EncodingHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ScanResult;
+import de.fraunhofer.iosb.ilt.faaast.service.util.EventMessageHelper;
+import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceHelper;
 import java.io.IOException;
-import java.lang.reflect.Modifier;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.eclipse.digitaltwin.aas4j.v3.model.Reference;
 
 
 /**
@@ -41,6 +44,9 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class MessageBusMqtt implements MessageBus<MessageBusMqttConfig> {
 
+    private static final String TOPIC_LEVEL_SEPARATOR = "/";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+    private static final String SHARED_SUBSCRIPTION_PREFIX = "$share/";
     private final Map<SubscriptionId, SubscriptionInfo> subscriptions;
     private final JsonEventSerializer serializer;
     private final JsonEventDeserializer deserializer;
@@ -74,8 +80,7 @@ public class MessageBusMqtt implements MessageBus<MessageBusMqttConfig> {
     @Override
     public void publish(EventMessage message) throws MessageBusException {
         try {
-            Class<? extends EventMessage> messageType = message.getClass();
-            client.publish(config.getTopicPrefix() + messageType.getSimpleName(), serializer.write(message));
+            client.publish(getTopic(message), serializer.write(message));
         }
         catch (Exception e) {
             throw new MessageBusException("Error publishing event via MQTT message bus", e);
@@ -110,11 +115,12 @@ public class MessageBusMqtt implements MessageBus<MessageBusMqttConfig> {
     public SubscriptionId subscribe(SubscriptionInfo subscriptionInfo) {
         Ensure.requireNonNull(subscriptionInfo, "subscriptionInfo must be non-null");
         subscriptionInfo.getSubscribedEvents()
-                .forEach(x -> determineEvents((Class<? extends EventMessage>) x).stream()
-                        .forEach(e -> client.subscribe(config.getTopicPrefix() + e.getSimpleName(), (t, message) -> {
-                            EventMessage event = deserializer.read(message.toString(), e);
-                            if (subscriptionInfo.getFilter().test(event.getElement())) {
-                                subscriptionInfo.getHandler().accept(event);
+                .forEach(x -> EventMessageHelper.getConcreteTypes(x).stream()
+                        .forEach(e -> client.subscribe(getTopicFilter(e, subscriptionInfo), (t, message) -> {
+                            for (EventMessage event: read(message.toString(), e)) {
+                                if (subscriptionInfo.matches(event.getElement())) {
+                                    subscriptionInfo.getHandler().accept(event);
+                                }
                             }
                         })));
 
@@ -124,21 +130,12 @@ public class MessageBusMqtt implements MessageBus<MessageBusMqttConfig> {
     }
 
 
-    private List<Class<EventMessage>> determineEvents(Class<? extends EventMessage> messageType) {
-        try (ScanResult scanResult = new ClassGraph().acceptPackages("de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event")
-                .enableClassInfo().scan()) {
-            if (Modifier.isAbstract(messageType.getModifiers())) {
-                return scanResult
-                        .getSubclasses(messageType.getName())
-                        .filter(x -> !x.isAbstract())
-                        .loadClasses(EventMessage.class);
-            }
-            else {
-                List<Class<EventMessage>> list = new ArrayList<>();
-                list.add((Class<EventMessage>) messageType);
-                return list;
-            }
+    private List<? extends EventMessage> read(String payload, Class<? extends EventMessage> type) throws DeserializationException {
+        // batched messages are sent as JSON array
+        if (payload.stripLeading().startsWith("[")) {
+            return deserializer.readList(payload, type);
         }
+        return List.of(deserializer.read(payload, type));
     }
 
 
@@ -147,8 +144,56 @@ public class MessageBusMqtt implements MessageBus<MessageBusMqttConfig> {
         SubscriptionInfo info = subscriptions.get(id);
         Ensure.requireNonNull(info.getSubscribedEvents(), "subscriptionInfo must be non-null");
         subscriptions.get(id).getSubscribedEvents().stream().forEach(a -> //find all events for given abstract or event
-        determineEvents((Class<? extends EventMessage>) a).stream().forEach(e -> //unsubscribe from all events
-        client.unsubscribe(config.getTopicPrefix() + e.getSimpleName())));
+        EventMessageHelper.getConcreteTypes(a).stream().forEach(e -> //unsubscribe from all events
+        client.unsubscribe(getTopicFilter(e, info))));
         subscriptions.remove(id);
     }
+
+
+    /**
+     * Gets the topic a message is published on, i.e. {@code [topicPrefix][className]} optionally followed by one topic
+     * level per key of the element reference if {@link MessageBusMqttConfig#getIncludeElementInTopic()} is enabled.
+     *
+     * @param message the message
+     * @return the topic
+     */
+    private String getTopic(EventMessage message) {
+        String result = config.getTopicPrefix() + message.getClass().getSimpleName();
+        if (config.getIncludeElementInTopic() && !ReferenceHelper.isNullOrEmpty(message.getElement())) {
+            result += TOPIC_LEVEL_SEPARATOR + getTopicLevels(message.getElement());
+        }
+        return result;
+    }
+
+
+    /**
+     * Gets the topic filter to subscribe to for a given message type. If the element is included in the topic, the
+     * element filter of the subscription is mapped to a multi-level wildcard so that the broker only forwards messages
+     * about the element itself or any of its children.
+     *
+     * @param messageType the message type
+     * @param subscriptionInfo the subscription
+     * @return the topic filter
+     */
+    private String getTopicFilter(Class<? extends EventMessage> messageType, SubscriptionInfo subscriptionInfo) {
+        String result = config.getTopicPrefix() + messageType.getSimpleName();
+        if (config.getIncludeElementInTopic()) {
+            if (!ReferenceHelper.isNullOrEmpty(subscriptionInfo.getElement())) {
+                result += TOPIC_LEVEL_SEPARATOR + getTopicLevels(subscriptionInfo.getElement());
+            }
+            result += TOPIC_LEVEL_SEPARATOR + MULTI_LEVEL_WILDCARD;
+        }
+        if (Objects.nonNull(config.getSharedSubscriptionGroup()) && !config.getSharedSubscriptionGroup().isBlank()) {
+            result = SHARED_SUBSCRIPTION_PREFIX + config.getSharedSubscriptionGroup() + TOPIC_LEVEL_SEPARATOR + result;
+        }
+        return result;
+    }
+
+
+    private static String getTopicLevels(Reference reference) {
+        // key values may contain characters reserved by MQTT (e.g. '/', '+', '#') and are therefore encoded
+        return reference.getKeys().stream()
+                .map(x -> EncodingHelper.base64UrlEncode(x.getValue()))
+                .collect(Collectors.joining(TOPIC_LEVEL_SEPARATOR));
+    }
 }
@@ -39,6 +39,10 @@ public class MessageBusMqttConfig extends MessageBusConfig<MessageBusMqtt> {
     private static final boolean DEFAULT_USE_INTERNAL_SERVER = true;
     private static final boolean DEFAULT_USE_WEBSOCKETS = false;
     private static final int DEFAULT_WEBSOCKET_PORT = 9001;
+    private static final int DEFAULT_MAX_INFLIGHT = 100;
+    private static final int DEFAULT_OUTBOUND_QUEUE_CAPACITY = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    private static final boolean DEFAULT_INCLUDE_ELEMENT_IN_TOPIC = false;
 
     private String clientId;
     private CertificateConfig clientCertificate;
@@ -54,6 +58,11 @@ public class MessageBusMqttConfig extends MessageBusConfig<MessageBusMqtt> {
     private String username;
     private Map<String, String> users;
     private int websocketPort;
+    private int maxInflight;
+    private int outboundQueueCapacity;
+    private int batchSize;
+    private boolean includeElementInTopic;
+    private String sharedSubscriptionGroup;
 
     public MessageBusMqttConfig() {
         this.useInternalServer = DEFAULT_USE_INTERNAL_SERVER;
@@ -74,6 +83,10 @@ public class MessageBusMqttConfig extends MessageBusConfig<MessageBusMqtt> {
         this.useWebsocket = DEFAULT_USE_WEBSOCKETS;
         this.clientId = DEFAULT_CLIENT_ID;
         this.topicPrefix = DEFAULT_TOPIC_PREFIX;
+        this.maxInflight = DEFAULT_MAX_INFLIGHT;
+        this.outboundQueueCapacity = DEFAULT_OUTBOUND_QUEUE_CAPACITY;
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.includeElementInTopic = DEFAULT_INCLUDE_ELEMENT_IN_TOPIC;
     }
 
 
@@ -167,6 +180,56 @@ public class MessageBusMqttConfig extends MessageBusConfig<MessageBusMqtt> {
     }
 
 
+    public int getMaxInflight() {
+        return maxInflight;
+    }
+
+
+    public void setMaxInflight(int maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
+
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+
+    public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+
+    public boolean getIncludeElementInTopic() {
+        return includeElementInTopic;
+    }
+
+
+    public void setIncludeElementInTopic(boolean includeElementInTopic) {
+        this.includeElementInTopic = includeElementInTopic;
+    }
+
+
+    public String getSharedSubscriptionGroup() {
+        return sharedSubscriptionGroup;
+    }
+
+
+    public void setSharedSubscriptionGroup(String sharedSubscriptionGroup) {
+        this.sharedSubscriptionGroup = sharedSubscriptionGroup;
+    }
+
+
     public boolean getUseInternalServer() {
         return useInternalServer;
     }
@@ -239,7 +302,12 @@ public class MessageBusMqttConfig extends MessageBusConfig<MessageBusMqtt> {
                 && Objects.equals(password, other.password)
                 && Objects.equals(useWebsocket, other.useWebsocket)
                 && Objects.equals(clientId, other.clientId)
-                && Objects.equals(topicPrefix, other.topicPrefix);
+                && Objects.equals(topicPrefix, other.topicPrefix)
+                && Objects.equals(maxInflight, other.maxInflight)
+                && Objects.equals(outboundQueueCapacity, other.outboundQueueCapacity)
+                && Objects.equals(batchSize, other.batchSize)
+                && Objects.equals(includeElementInTopic, other.includeElementInTopic)
+                && Objects.equals(sharedSubscriptionGroup, other.sharedSubscriptionGroup);
 
     }
 
@@ -259,7 +327,12 @@ public class MessageBusMqttConfig extends MessageBusConfig<MessageBusMqtt> {
                 password,
                 useWebsocket,
                 clientId,
-                topicPrefix);
+                topicPrefix,
+                maxInflight,
+                outboundQueueCapacity,
+                batchSize,
+                includeElementInTopic,
+                sharedSubscriptionGroup);
     }
 
 
@@ -299,6 +372,11 @@ public class MessageBusMqttConfig extends MessageBusConfig<MessageBusMqtt> {
             getBuildingInstance().setUsers(base.getUsers());
             getBuildingInstance().setClientId(base.getClientId());
             getBuildingInstance().setTopicPrefix(base.getTopicPrefix());
+            getBuildingInstance().setMaxInflight(base.getMaxInflight());
+            getBuildingInstance().setOutboundQueueCapacity(base.getOutboundQueueCapacity());
+            getBuildingInstance().setBatchSize(base.getBatchSize());
+            getBuildingInstance().setIncludeElementInTopic(base.getIncludeElementInTopic());
+            getBuildingInstance().setSharedSubscriptionGroup(base.getSharedSubscriptionGroup());
             return getSelf();
         }
 
@@ -392,5 +470,35 @@ public class MessageBusMqttConfig extends MessageBusConfig<MessageBusMqtt> {
             return getSelf();
         }
 
+
+        public B maxInflight(int value) {
+            getBuildingInstance().setMaxInflight(value);
+            return getSelf();
+        }
+
+
+        public B outboundQueueCapacity(int value) {
+            getBuildingInstance().setOutboundQueueCapacity(value);
+            return getSelf();
+        }
+
+
+        public B batchSize(int value) {
+            getBuildingInstance().setBatchSize(value);
+            return getSelf();
+        }
+
+
+        public B includeElementInTopic(boolean value) {
+            getBuildingInstance().setIncludeElementInTopic(value);
+            return getSelf();
+        }
+
+
+        public B sharedSubscriptionGroup(String value) {
+            getBuildingInstance().setSharedSubscriptionGroup(value);
+            return getSelf();
+        }
+
     }
 }
@@ -21,19 +21,34 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
+import org.eclipse.paho.client.mqttv3.DisconnectedBufferOptions;
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
 import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
 import org.eclipse.paho.client.mqttv3.IMqttMessageListener;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
 import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
-import org.eclipse.paho.client.mqttv3.MqttClient;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.eclipse.paho.client.mqttv3.MqttTopic;
 import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +56,13 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Wrapper for Eclipse Paho MQTT client.
+ *
+ * <p>Publishing is asynchronous, i.e. {@link #publish(String, String)} only adds the message to a bounded outbound
+ * queue which is processed by a dedicated sender thread. The sender limits the number of unacknowledged messages to
+ * {@link MessageBusMqttConfig#getMaxInflight()} and, if {@link MessageBusMqttConfig#getBatchSize()} is greater than 1,
+ * packs multiple queued messages for the same topic into a single MQTT message containing a JSON array. A message
+ * counts as in flight until its delivery token completes or fails, including while it waits in the disconnected buffer
+ * of the client during connection loss.
  */
 public class PahoClient {
 
@@ -48,12 +70,22 @@ public class PahoClient {
     private static final String PROTOCOL_PREFIX_SSL = "ssl://";
     private static final String PROTOCOL_PREFIX_WEBSOCKET_SSL = "wss://";
     private static final String PROTOCOL_PREFIX_WEBSOCKET = "ws://";
+    private static final String SHARED_SUBSCRIPTION_PREFIX = "$share/";
+    private static final long POLL_INTERVAL_IN_MS = 100;
+    private static final long SHUTDOWN_TIMEOUT_IN_MS = 2000;
     private static final Logger logger = LoggerFactory.getLogger(PahoClient.class);
     private final MessageBusMqttConfig config;
-    private MqttClient mqttClient;
+    private final BlockingQueue<OutboundMessage> outbound;
+    private final Map<String, List<IMqttMessageListener>> sharedSubscriptions;
+    private MqttAsyncClient mqttClient;
+    private Semaphore inflight;
+    private Thread sender;
+    private volatile boolean running;
 
     public PahoClient(MessageBusMqttConfig config) {
         this.config = config;
+        this.outbound = new LinkedBlockingQueue<>(Math.max(1, config.getOutboundQueueCapacity()));
+        this.sharedSubscriptions = new ConcurrentHashMap<>();
     }
 
 
@@ -102,14 +134,24 @@ public class PahoClient {
         }
         options.setAutomaticReconnect(true);
         options.setCleanSession(false);
+        options.setMaxInflight(Math.max(1, config.getMaxInflight()));
         try {
-            mqttClient = new MqttClient(
+            mqttClient = new MqttAsyncClient(
                     endpoint,
                     config.getClientId(),
                     new MemoryPersistence());
+            // keep publishing while the connection is temporarily lost; messages are never silently dropped from the
+            // buffer so that every publish reliably reports success or failure
+            DisconnectedBufferOptions bufferOptions = new DisconnectedBufferOptions();
+            bufferOptions.setBufferEnabled(true);
+            bufferOptions.setBufferSize(Math.max(1, Math.max(config.getOutboundQueueCapacity(), config.getMaxInflight())));
+            bufferOptions.setDeleteOldestMessages(false);
+            bufferOptions.setPersistBuffer(false);
+            mqttClient.setBufferOpts(bufferOptions);
             mqttClient.setCallback(new MqttCallbackExtended() {
                 @Override
                 public void connectionLost(Throwable throwable) {
+                    // messages in flight keep their permit until they are re-sent and acknowledged after reconnect
                     logger.warn("MQTT message bus connection lost");
                 }
 
@@ -121,9 +163,15 @@ public class PahoClient {
 
 
                 @Override
-                public void messageArrived(String string, MqttMessage mm) throws Exception {
-                    // intentionally left empty
-
+                public void messageArrived(String topic, MqttMessage message) throws Exception {
+                    // Paho does not match messages of shared subscriptions to their listeners
+                    for (Map.Entry<String, List<IMqttMessageListener>> subscription: sharedSubscriptions.entrySet()) {
+                        if (MqttTopic.isMatched(stripSharedSubscriptionPrefix(subscription.getKey()), topic)) {
+                            for (IMqttMessageListener listener: subscription.getValue()) {
+                                listener.messageArrived(topic, message);
+                            }
+                        }
+                    }
                 }
 
 
@@ -135,12 +183,17 @@ public class PahoClient {
 
             });
             logger.trace("connecting to MQTT broker: {}", endpoint);
-            mqttClient.connect(options);
+            mqttClient.connect(options).waitForCompletion();
             logger.debug("connected to MQTT broker: {}", endpoint);
         }
         catch (MqttException e) {
             throw new MessageBusException("Failed to connect to MQTT server", e);
         }
+        inflight = new Semaphore(Math.max(1, config.getMaxInflight()));
+        running = true;
+        sender = new Thread(this::send, "MessageBusMqtt-sender");
+        sender.setDaemon(true);
+        sender.start();
     }
 
 
@@ -151,10 +204,23 @@ public class PahoClient {
         if (mqttClient == null) {
             return;
         }
+        running = false;
+        if (Objects.nonNull(sender)) {
+            try {
+                // give the sender the chance to publish remaining messages
+                sender.join(SHUTDOWN_TIMEOUT_IN_MS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sender.interrupt();
+            sender = null;
+        }
+        outbound.clear();
         try {
             if (mqttClient.isConnected()) {
                 logger.trace("disconnecting from MQTT broker...");
-                mqttClient.disconnect();
+                mqttClient.disconnect().waitForCompletion(SHUTDOWN_TIMEOUT_IN_MS);
                 logger.info("disconnected from MQTT broker");
             }
             logger.trace("closing paho-client");
@@ -188,37 +254,107 @@ public class PahoClient {
 
 
     /**
-     * Publishes the message.
+     * Publishes the message asynchronously. This method does not block but fails if the outbound queue is full.
      *
      * @param topic the topic to publish on
      * @param content the message to publish
-     * @throws de.fraunhofer.iosb.ilt.faaast.service.exception.MessageBusException if publishing the message fails
+     * @throws de.fraunhofer.iosb.ilt.faaast.service.exception.MessageBusException if the outbound queue is full
      */
     public void publish(String topic, String content) throws MessageBusException {
-        if (!mqttClient.isConnected()) {
-            logger.debug("received data but MQTT connection is closed, trying to connect...");
-            start();
+        if (!outbound.offer(new OutboundMessage(topic, content))) {
+            throw new MessageBusException(String.format(
+                    "publishing message on MQTT message bus failed - outbound queue is full (capacity: %d)",
+                    config.getOutboundQueueCapacity()));
         }
-        MqttMessage msg = new MqttMessage(content.getBytes());
+    }
+
+
+    private void send() {
+        int batchSize = Math.max(1, config.getBatchSize());
+        List<OutboundMessage> batch = new ArrayList<>(batchSize);
         try {
-            mqttClient.publish(topic, msg);
-            logger.info("message published - topic: {}, data: {}", topic, content);
+            while (running || !outbound.isEmpty()) {
+                OutboundMessage first = outbound.poll(POLL_INTERVAL_IN_MS, TimeUnit.MILLISECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+                batch.add(first);
+                if (batchSize > 1) {
+                    outbound.drainTo(batch, batchSize - 1);
+                }
+                for (OutboundMessage message: pack(batch)) {
+                    send(message);
+                }
+                batch.clear();
+            }
         }
-        catch (MqttException e) {
-            throw new MessageBusException("publishing message on MQTT message bus failed", e);
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    private static List<OutboundMessage> pack(List<OutboundMessage> batch) {
+        if (batch.size() == 1) {
+            return batch;
+        }
+        Map<String, List<String>> contentsPerTopic = new LinkedHashMap<>();
+        batch.forEach(x -> contentsPerTopic.computeIfAbsent(x.topic, k -> new ArrayList<>()).add(x.content));
+        return contentsPerTopic.entrySet().stream()
+                .map(x -> new OutboundMessage(
+                        x.getKey(),
+                        x.getValue().size() == 1
+                                ? x.getValue().get(0)
+                                : x.getValue().stream().collect(Collectors.joining(",", "[", "]"))))
+                .collect(Collectors.toList());
+    }
+
+
+    private void send(OutboundMessage message) throws InterruptedException {
+        // messages published while disconnected are buffered by the client and sent on reconnect, so they need a permit
+        // as well; each permit is released exactly once when the delivery token of its message completes or fails
+        inflight.acquire();
+        try {
+            mqttClient.publish(message.topic, new MqttMessage(message.content.getBytes()), null, new IMqttActionListener() {
+                @Override
+                public void onSuccess(IMqttToken token) {
+                    inflight.release();
+                    logger.trace("message published - topic: {}", message.topic);
+                }
+
+
+                @Override
+                public void onFailure(IMqttToken token, Throwable exception) {
+                    inflight.release();
+                    logger.warn("publishing message on MQTT message bus failed (topic: {})", message.topic, exception);
+                }
+            });
+        }
+        catch (MqttException | RuntimeException e) {
+            inflight.release();
+            logger.warn("publishing message on MQTT message bus failed (topic: {})", message.topic, e);
         }
     }
 
 
     /**
-     * Subscribe to a mqtt topic.
+     * Subscribe to a mqtt topic. Shared subscriptions, i.e. topic filters of the form
+     * {@code $share/[group]/[filter]}, are supported as well. Listeners of shared subscriptions are tracked per full
+     * subscription including the group, so subscribing to the same filter in different groups or multiple times does
+     * not replace existing listeners.
      *
      * @param topic the topic to subscribe to
      * @param listener the callback listener
      */
     public void subscribe(String topic, IMqttMessageListener listener) {
         try {
-            mqttClient.subscribe(topic, listener);
+            if (topic.startsWith(SHARED_SUBSCRIPTION_PREFIX)) {
+                sharedSubscriptions.computeIfAbsent(topic, x -> new CopyOnWriteArrayList<>()).add(listener);
+                mqttClient.subscribe(topic, 1).waitForCompletion();
+            }
+            else {
+                mqttClient.subscribe(topic, 1, listener).waitForCompletion();
+            }
         }
         catch (MqttException e) {
             logger.error(e.getMessage());
@@ -232,13 +368,35 @@ public class PahoClient {
      * @param topic the topic to unsubscribe from
      */
     public void unsubscribe(String topic) {
+        if (topic.startsWith(SHARED_SUBSCRIPTION_PREFIX)) {
+            sharedSubscriptions.remove(topic);
+        }
         if (mqttClient != null && mqttClient.isConnected()) {
             try {
-                mqttClient.unsubscribe(topic);
+                mqttClient.unsubscribe(topic).waitForCompletion();
             }
             catch (MqttException e) {
                 logger.error(e.getMessage());
             }
         }
     }
+
+
+    private static String stripSharedSubscriptionPrefix(String topic) {
+        int index = topic.indexOf('/', SHARED_SUBSCRIPTION_PREFIX.length());
+        return index < 0
+                ? topic
+                : topic.substring(index + 1);
+    }
+
+    private static class OutboundMessage {
+
+        private final String topic;
+        private final String content;
+
+        private OutboundMessage(String topic, String content) {
+            this.topic = topic;
+            this.content = content;
+        }
+    }
 }
@@ -273,6 +273,104 @@ public abstract class AbstractMessageBusMqttTest<T> {
     }
 
 
+    @Test
+    public void testBatchedPublishing() throws Exception {
+        MessageBusMqttConfig config = MessageBusMqttConfig.builder()
+                .from(configureAnonymousSuccess())
+                .batchSize(10)
+                .build();
+        List<EventMessage> messages = Collections.nCopies(20, VALUE_CHANGE_MESSAGE);
+        assertMessages(config, ValueChangeEventMessage.class, messages, messages);
+    }
+
+
+    @Test
+    public void testPublishingFailsWhenOutboundQueueIsFull() throws Exception {
+        MessageBusMqttConfig config = MessageBusMqttConfig.builder()
+                .from(configureAnonymousSuccess())
+                .outboundQueueCapacity(5)
+                .build();
+        // client is not started, i.e. the sender does not consume any messages
+        PahoClient client = new PahoClient(config);
+        long start = System.nanoTime();
+        for (int i = 0; i < config.getOutboundQueueCapacity(); i++) {
+            client.publish("test", "message-" + i);
+        }
+        MessageBusException exception = Assert.assertThrows(MessageBusException.class, () -> client.publish("test", "overflow"));
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < DEFAULT_TIMEOUT);
+        Assert.assertEquals(
+                "publishing message on MQTT message bus failed - outbound queue is full (capacity: 5)",
+                exception.getMessage());
+    }
+
+
+    @Test
+    public void testPublishingDoesNotBlockWhileDisconnected() throws Exception {
+        MessageBusMqttConfig config = MessageBusMqttConfig.builder()
+                .from(configureAnonymousSuccess())
+                .maxInflight(1)
+                .outboundQueueCapacity(5)
+                .batchSize(1)
+                .build();
+        MessageBusInfo messageBusInfo = startMessageBus(config);
+        PahoClient client = new PahoClient(MessageBusMqttConfig.builder()
+                .from(config)
+                .clientId("disconnected-publisher")
+                .build());
+        client.start();
+        try {
+            stopMessageBus(messageBusInfo);
+            Thread.sleep(DEFAULT_TIMEOUT);
+            // without a broker messages pile up in the bounded disconnected buffer of the client, once it is full they are
+            // discarded - the sender must keep draining the outbound queue instead of waiting for permits that never return
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < config.getOutboundQueueCapacity(); i++) {
+                    client.publish("test", "message-" + round + "-" + i);
+                }
+                Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < DEFAULT_TIMEOUT);
+                Thread.sleep(DEFAULT_TIMEOUT / 2);
+            }
+        }
+        finally {
+            client.stop();
+        }
+    }
+
+
+    @Test
+    public void testElementInTopic() throws Exception {
+        MessageBusMqttConfig config = MessageBusMqttConfig.builder()
+                .from(configureAnonymousSuccess())
+                .includeElementInTopic(true)
+                .build();
+        ElementUpdateEventMessage otherElementMessage = ElementUpdateEventMessage.builder()
+                .element(OPERATION_REFERENCE)
+                .value(OPERATION)
+                .build();
+        MessageBusInfo messageBusInfo = startMessageBus(config);
+        try {
+            CountDownLatch condition = new CountDownLatch(1);
+            List<EventMessage> actual = Collections.synchronizedList(new ArrayList<>());
+            SubscriptionId subscription = messageBusInfo.messageBus.subscribe(SubscriptionInfo.create(
+                    ElementUpdateEventMessage.class,
+                    x -> {
+                        actual.add(x);
+                        condition.countDown();
+                    },
+                    PROPERTY_REFERENCE));
+            messageBusInfo.messageBus.publish(otherElementMessage);
+            messageBusInfo.messageBus.publish(ELEMENT_UPDATE_MESSAGE);
+            condition.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+            messageBusInfo.messageBus.unsubscribe(subscription);
+            Assert.assertEquals(List.of(ELEMENT_UPDATE_MESSAGE), actual);
+        }
+        finally {
+            stopMessageBus(messageBusInfo);
+        }
+    }
+
+
     @Test
     public void testAnonymousSuccess() throws Exception {
         assertConnectionWorks(configureAnonymousSuccess());
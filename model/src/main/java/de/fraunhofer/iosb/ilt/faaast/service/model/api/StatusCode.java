@@ -29,6 +29,7 @@ public enum StatusCode {
     CLIENT_ERROR_RESOURCE_NOT_FOUND(Type.ERROR),
     CLIENT_METHOD_NOT_ALLOWED(Type.ERROR),
     CLIENT_RESOURCE_CONFLICT(Type.ERROR),
+    CLIENT_PAYLOAD_TOO_LARGE(Type.ERROR),
     SERVER_INTERNAL_ERROR(Type.EXCEPTION),
     SERVER_NOT_IMPLEMENTED(Type.EXCEPTION),
     SERVER_ERROR_BAD_GATEWAY(Type.EXCEPTION);
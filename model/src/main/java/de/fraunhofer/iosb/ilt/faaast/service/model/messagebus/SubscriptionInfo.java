@@ -15,6 +15,7 @@
 package de.fraunhofer.iosb.ilt.faaast.service.model.messagebus;
 
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceHelper;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -36,6 +37,7 @@ public class SubscriptionInfo {
     private Set<Class<?>> subscribedEvents;
     private Consumer<EventMessage> handler;
     private Predicate<Reference> filter;
+    private Reference element;
 
     /**
      * Static method to create a Subscription Info.
@@ -84,6 +86,7 @@ public class SubscriptionInfo {
     public static <T extends EventMessage> SubscriptionInfo create(Class<T> eventMessageClass, Consumer<T> handler, Reference reference) {
         SubscriptionInfo subscriptionInfo = create(eventMessageClass, handler);
         subscriptionInfo.setFilter(x -> x.equals(reference));
+        subscriptionInfo.setElement(reference);
         return subscriptionInfo;
     }
 
@@ -169,6 +172,35 @@ public class SubscriptionInfo {
     }
 
 
+    public Reference getElement() {
+        return element;
+    }
+
+
+    /**
+     * Sets the element this subscription is limited to. If set, only messages referring to this element or any of its
+     * children are passed to the filter. In contrast to the filter, this allows message bus implementations to index
+     * subscriptions by element.
+     *
+     * @param element the element to limit the subscription to, or null to receive messages of all elements
+     */
+    public void setElement(Reference element) {
+        this.element = element;
+    }
+
+
+    /**
+     * Checks if a message referring to a given element matches the element and filter of this subscription.
+     *
+     * @param reference the element the message refers to
+     * @return true if the message matches, otherwise false
+     */
+    public boolean matches(Reference reference) {
+        return (Objects.isNull(element) || ReferenceHelper.startsWith(reference, element))
+                && filter.test(reference);
+    }
+
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -178,12 +210,15 @@ public class SubscriptionInfo {
             return false;
         }
         SubscriptionInfo that = (SubscriptionInfo) o;
-        return Objects.equals(subscribedEvents, that.subscribedEvents) && Objects.equals(handler, that.handler) && Objects.equals(filter, that.filter);
+        return Objects.equals(subscribedEvents, that.subscribedEvents)
+                && Objects.equals(handler, that.handler)
+                && Objects.equals(filter, that.filter)
+                && Objects.equals(element, that.element);
     }
 
 
     @Override
     public int hashCode() {
-        return Objects.hash(subscribedEvents, handler, filter);
+        return Objects.hash(subscribedEvents, handler, filter, element);
     }
 }
@@ -26,8 +26,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
+import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShell;
+import org.eclipse.digitaltwin.aas4j.v3.model.ConceptDescription;
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
 import org.eclipse.digitaltwin.aas4j.v3.model.HasSemantics;
+import org.eclipse.digitaltwin.aas4j.v3.model.Identifiable;
+import org.eclipse.digitaltwin.aas4j.v3.model.Key;
 import org.eclipse.digitaltwin.aas4j.v3.model.Referable;
 import org.eclipse.digitaltwin.aas4j.v3.model.Reference;
 import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
@@ -66,11 +70,10 @@ public class EnvironmentHelper {
         Ensure.require(!reference.getKeys().isEmpty(), "reference must contain at least one key");
         Ensure.requireNonNull(environment, "environment must be non-null");
         Ensure.requireNonNull(returnType, "type must be non-null");
-        Referable result = ReferenceCollector.collect(environment).entrySet().stream()
-                .filter(x -> ReferenceHelper.equals(reference, x.getKey()))
-                .map(Map.Entry::getValue)
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException(reference));
+        Referable result = navigate(reference, environment);
+        if (Objects.isNull(result)) {
+            throw new ResourceNotFoundException(reference);
+        }
         if (!returnType.isAssignableFrom(result.getClass())) {
             throw new IllegalArgumentException(String.format(
                     "unable to resolve reference as actual type does not match expected type (reference: %s, actual type: %s, expected type: %s)",
@@ -272,6 +275,101 @@ public class EnvironmentHelper {
     }
 
 
+    /**
+     * Navigates a reference key by key instead of collecting all referables in the environment. References that do not
+     * start with an AAS, a submodel or a concept description are resolved by scanning all referables.
+     *
+     * @param reference the reference to resolve
+     * @param environment the environment to resolve the reference in
+     * @return the resolved element or null if reference cannot be resolved
+     */
+    private static Referable navigate(Reference reference, Environment environment) {
+        List<Key> keys = reference.getKeys();
+        Key root = keys.get(0);
+        int index = 1;
+        Referable current;
+        if (ReferenceHelper.isKeyType(root, AssetAdministrationShell.class)) {
+            AssetAdministrationShell aas = findById(environment.getAssetAdministrationShells(), root.getValue());
+            if (Objects.isNull(aas) || keys.size() == 1) {
+                return aas;
+            }
+            Reference submodelRef = ReferenceHelper.fromKeys(keys.get(1));
+            if (Objects.isNull(aas.getSubmodels()) || aas.getSubmodels().stream().noneMatch(x -> ReferenceHelper.equals(x, submodelRef))) {
+                return null;
+            }
+            current = findById(environment.getSubmodels(), keys.get(1).getValue());
+            index = 2;
+        }
+        else if (ReferenceHelper.isKeyType(root, Submodel.class)) {
+            current = findById(environment.getSubmodels(), root.getValue());
+        }
+        else if (ReferenceHelper.isKeyType(root, ConceptDescription.class)) {
+            current = findById(environment.getConceptDescriptions(), root.getValue());
+        }
+        else {
+            return ReferenceCollector.collect(environment).entrySet().stream()
+                    .filter(x -> ReferenceHelper.equals(reference, x.getKey()))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElse(null);
+        }
+        for (int i = index; i < keys.size() && Objects.nonNull(current); i++) {
+            current = getChild(current, keys.get(i).getValue());
+        }
+        return current;
+    }
+
+
+    private static <T extends Identifiable> T findById(List<T> identifiables, String id) {
+        if (Objects.isNull(identifiables)) {
+            return null;
+        }
+        return identifiables.stream()
+                .filter(x -> Objects.equals(x.getId(), id))
+                .findFirst()
+                .orElse(null);
+    }
+
+
+    /**
+     * Gets a direct child of a container element, i.e. {@link Submodel}, {@link SubmodelElementCollection} or
+     * {@link SubmodelElementList}. Children of a {@link SubmodelElementList} are identified by their index, all other
+     * children by their idShort.
+     *
+     * @param parent the parent element
+     * @param key the idShort or index of the child
+     * @return the child or null if parent is not a container element or does not contain a matching child
+     */
+    private static SubmodelElement getChild(Referable parent, String key) {
+        if (SubmodelElementList.class.isAssignableFrom(parent.getClass())) {
+            List<SubmodelElement> elements = ((SubmodelElementList) parent).getValue();
+            try {
+                int index = Integer.parseInt(key);
+                return Objects.nonNull(elements) && index >= 0 && index < elements.size()
+                        ? elements.get(index)
+                        : null;
+            }
+            catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        List<SubmodelElement> elements = null;
+        if (Submodel.class.isAssignableFrom(parent.getClass())) {
+            elements = ((Submodel) parent).getSubmodelElements();
+        }
+        else if (SubmodelElementCollection.class.isAssignableFrom(parent.getClass())) {
+            elements = ((SubmodelElementCollection) parent).getValue();
+        }
+        if (Objects.isNull(elements)) {
+            return null;
+        }
+        return elements.stream()
+                .filter(x -> Objects.equals(x.getIdShort(), key))
+                .findFirst()
+                .orElse(null);
+    }
+
+
     private static <T, U extends Referable & HasSemantics> List<U> resolvePathRecursive(List<T> path, U element, BiFunction<T, U, Boolean> equalsTester) {
         List<T> remainingPath = path.size() > 1 ? path.subList(1, path.size()) : List.of();
         if (path.isEmpty() || !equalsTester.apply(path.get(0), element)) {
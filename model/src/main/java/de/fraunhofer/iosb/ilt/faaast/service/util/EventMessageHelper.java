@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.util;
+
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.EventMessage;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+
+/**
+ * Helper class for working with types of {@link EventMessage}. The available message types are determined by a single
+ * classpath scan on first use and cached afterwards.
+ */
+public class EventMessageHelper {
+
+    private static final Map<Class<?>, List<Class<EventMessage>>> CONCRETE_TYPES = new ConcurrentHashMap<>();
+
+    private EventMessageHelper() {}
+
+    /**
+     * Gets all non-abstract event message types.
+     *
+     * @return all non-abstract event message types
+     */
+    public static List<Class<EventMessage>> getEventMessageTypes() {
+        return Holder.TYPES;
+    }
+
+
+    /**
+     * Finds a non-abstract event message type by its simple class name.
+     *
+     * @param simpleName the simple class name
+     * @return the event message type if found, otherwise empty
+     */
+    public static Optional<Class<EventMessage>> getEventMessageType(String simpleName) {
+        return Optional.ofNullable(Holder.TYPES_BY_NAME.get(simpleName));
+    }
+
+
+    /**
+     * Resolves the concrete event message types that need to be considered when subscribing to a given type. For
+     * abstract types, these are all non-abstract sub-types, otherwise only the type itself.
+     *
+     * @param messageType the subscribed type
+     * @return the concrete event message types
+     */
+    public static List<Class<EventMessage>> getConcreteTypes(Class<?> messageType) {
+        Ensure.requireNonNull(messageType, "messageType must be non-null");
+        return CONCRETE_TYPES.computeIfAbsent(messageType, EventMessageHelper::determineConcreteTypes);
+    }
+
+
+    private static List<Class<EventMessage>> determineConcreteTypes(Class<?> messageType) {
+        if (!EventMessage.class.isAssignableFrom(messageType)) {
+            return List.of();
+        }
+        if (!Modifier.isAbstract(messageType.getModifiers())) {
+            return List.of((Class<EventMessage>) messageType);
+        }
+        return Holder.TYPES.stream()
+                .filter(messageType::isAssignableFrom)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Lazily initialized holder for the result of the classpath scan.
+     */
+    private static class Holder {
+
+        private static final List<Class<EventMessage>> TYPES = scan();
+        private static final Map<String, Class<EventMessage>> TYPES_BY_NAME = TYPES.stream()
+                .collect(Collectors.toMap(Class::getSimpleName, Function.identity(), (x, y) -> x));
+
+        private static List<Class<EventMessage>> scan() {
+            try (ScanResult scanResult = new ClassGraph()
+                    .acceptPackages(EventMessage.class.getPackageName())
+                    .enableClassInfo()
+                    .scan()) {
+                return List.copyOf(scanResult
+                        .getSubclasses(EventMessage.class)
+                        .filter(x -> !x.isAbstract())
+                        .loadClasses(EventMessage.class));
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Helper class to create shallow copies of objects, e.g. of AAS model elements. A shallow copy is a new instance of the
+ * same class where all fields reference the same values as the original. Lists are the only exception, they are copied
+ * into new lists containing the same elements, so that adding, removing or replacing elements of a list of the copy
+ * does not affect the original. This is useful to implement copy-on-write semantics, i.e. to replace single properties
+ * of an object without modifying the original instance.
+ *
+ * <p>Supported types must provide a parameterless constructor, which holds for all default implementations of the AAS
+ * model.
+ */
+public class ShallowCopyHelper {
+
+    private static final Map<Class<?>, TypeInfo> TYPE_INFOS = new ConcurrentHashMap<>();
+
+    private ShallowCopyHelper() {}
+
+
+    /**
+     * Creates a shallow copy of an object.
+     *
+     * @param <T> the type of the object
+     * @param obj the object to copy
+     * @return a shallow copy of the object or null if obj is null
+     * @throws IllegalArgumentException if the type of obj does not provide a parameterless constructor or copying fails
+     */
+    public static <T> T shallowCopy(T obj) {
+        if (Objects.isNull(obj)) {
+            return null;
+        }
+        TypeInfo typeInfo = TYPE_INFOS.computeIfAbsent(obj.getClass(), ShallowCopyHelper::analyze);
+        try {
+            T result = (T) typeInfo.constructor.newInstance();
+            for (Field field: typeInfo.fields) {
+                field.set(result, copyIfList(field, field.get(obj)));
+            }
+            return result;
+        }
+        catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(String.format("creating shallow copy failed (type: %s)", obj.getClass()), e);
+        }
+    }
+
+
+    private static Object copyIfList(Field field, Object value) {
+        if (value instanceof List && field.getType().isAssignableFrom(ArrayList.class)) {
+            return new ArrayList<>((List<?>) value);
+        }
+        return value;
+    }
+
+
+    private static TypeInfo analyze(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; Objects.nonNull(current) && !Object.class.equals(current); current = current.getSuperclass()) {
+                for (Field field: current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return new TypeInfo(constructor, fields);
+        }
+        catch (NoSuchMethodException | RuntimeException e) {
+            throw new IllegalArgumentException(String.format("unable to create shallow copy of type %s", type), e);
+        }
+    }
+
+    private static class TypeInfo {
+
+        private final Constructor<?> constructor;
+        private final List<Field> fields;
+
+        private TypeInfo(Constructor<?> constructor, List<Field> fields) {
+            this.constructor = constructor;
+            this.fields = fields;
+        }
+    }
+}
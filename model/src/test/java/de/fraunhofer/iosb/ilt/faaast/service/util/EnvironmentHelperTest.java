@@ -26,9 +26,12 @@ import org.eclipse.digitaltwin.aas4j.v3.model.Property;
 import org.eclipse.digitaltwin.aas4j.v3.model.Referable;
 import org.eclipse.digitaltwin.aas4j.v3.model.Reference;
 import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultAssetAdministrationShell;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultEnvironment;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultProperty;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodel;
 import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodelElementCollection;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodelElementList;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -139,6 +142,36 @@ public class EnvironmentHelperTest {
     }
 
 
+    @Test
+    public void resolveSubmodelElementInSubmodelElementList() throws ResourceNotFoundException {
+        Property expected = new DefaultProperty.Builder()
+                .value("bar")
+                .build();
+        Submodel submodel = new DefaultSubmodel.Builder()
+                .id("submodel")
+                .submodelElements(new DefaultSubmodelElementList.Builder()
+                        .idShort("list")
+                        .value(new DefaultProperty.Builder()
+                                .value("foo")
+                                .build())
+                        .value(expected)
+                        .build())
+                .build();
+        Environment environment = new DefaultEnvironment.Builder()
+                .assetAdministrationShells(new DefaultAssetAdministrationShell.Builder()
+                        .id("aas")
+                        .submodels(ReferenceBuilder.forSubmodel(submodel))
+                        .build())
+                .submodels(submodel)
+                .build();
+        Reference reference = ReferenceBuilder.forSubmodel(submodel.getId(), "list", "1");
+        Assert.assertSame(expected, EnvironmentHelper.resolve(reference, environment, Property.class));
+        Assert.assertSame(expected, EnvironmentHelper.resolve(ReferenceHelper.combine(ReferenceBuilder.forAas("aas"), reference), environment));
+        Assert.assertThrows(ResourceNotFoundException.class,
+                () -> EnvironmentHelper.resolve(ReferenceBuilder.forSubmodel(submodel.getId(), "list", "2"), environment));
+    }
+
+
     private void assertResolve(Referable expected, Environment environment) throws ResourceNotFoundException, AmbiguousElementException {
         Reference reference = EnvironmentHelper.asReference(expected, environment);
         Referable actual = EnvironmentHelper.resolve(reference, environment);
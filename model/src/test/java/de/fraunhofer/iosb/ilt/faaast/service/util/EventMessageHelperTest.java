@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.util;
+
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.EventMessage;
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ChangeEventMessage;
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ElementCreateEventMessage;
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ElementDeleteEventMessage;
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ElementUpdateEventMessage;
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.change.ValueChangeEventMessage;
+import de.fraunhofer.iosb.ilt.faaast.service.model.messagebus.event.error.ErrorEventMessage;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class EventMessageHelperTest {
+
+    @Test
+    public void testGetConcreteTypesOfAbstractType() {
+        Assert.assertEquals(
+                Set.of(ElementCreateEventMessage.class,
+                        ElementDeleteEventMessage.class,
+                        ElementUpdateEventMessage.class,
+                        ValueChangeEventMessage.class),
+                Set.copyOf(EventMessageHelper.getConcreteTypes(ChangeEventMessage.class)));
+    }
+
+
+    @Test
+    public void testGetConcreteTypesOfConcreteType() {
+        Assert.assertEquals(
+                List.of(ErrorEventMessage.class),
+                EventMessageHelper.getConcreteTypes(ErrorEventMessage.class));
+    }
+
+
+    @Test
+    public void testGetConcreteTypesIsCached() {
+        Assert.assertSame(
+                EventMessageHelper.getConcreteTypes(EventMessage.class),
+                EventMessageHelper.getConcreteTypes(EventMessage.class));
+    }
+
+
+    @Test
+    public void testGetEventMessageType() {
+        Assert.assertEquals(Optional.of(ValueChangeEventMessage.class), EventMessageHelper.getEventMessageType("ValueChangeEventMessage"));
+        Assert.assertEquals(Optional.empty(), EventMessageHelper.getEventMessageType("ChangeEventMessage"));
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.util;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShell;
+import org.eclipse.digitaltwin.aas4j.v3.model.AssetKind;
+import org.eclipse.digitaltwin.aas4j.v3.model.DataTypeDefXsd;
+import org.eclipse.digitaltwin.aas4j.v3.model.KeyTypes;
+import org.eclipse.digitaltwin.aas4j.v3.model.ModellingKind;
+import org.eclipse.digitaltwin.aas4j.v3.model.QualifierKind;
+import org.eclipse.digitaltwin.aas4j.v3.model.Reference;
+import org.eclipse.digitaltwin.aas4j.v3.model.ReferenceTypes;
+import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElementCollection;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultAdministrativeInformation;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultAssetAdministrationShell;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultAssetInformation;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultEmbeddedDataSpecification;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultExtension;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultKey;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultLangStringNameType;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultLangStringTextType;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultProperty;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultQualifier;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultReference;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodelElementCollection;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class ShallowCopyHelperTest {
+
+    private static final Reference SEMANTIC_ID = new DefaultReference.Builder()
+            .type(ReferenceTypes.EXTERNAL_REFERENCE)
+            .keys(new DefaultKey.Builder()
+                    .type(KeyTypes.GLOBAL_REFERENCE)
+                    .value("http://example.org/semanticId")
+                    .build())
+            .build();
+
+    private static final Reference SUPPLEMENTAL_SEMANTIC_ID = new DefaultReference.Builder()
+            .type(ReferenceTypes.EXTERNAL_REFERENCE)
+            .keys(new DefaultKey.Builder()
+                    .type(KeyTypes.GLOBAL_REFERENCE)
+                    .value("http://example.org/supplementalSemanticId")
+                    .build())
+            .build();
+
+    @Test
+    public void testNull() {
+        Assert.assertNull(ShallowCopyHelper.shallowCopy(null));
+    }
+
+
+    @Test
+    public void testSubmodel() throws Exception {
+        Submodel submodel = new DefaultSubmodel.Builder()
+                .id("http://example.org/submodel")
+                .idShort("submodel")
+                .category("category")
+                .description(new DefaultLangStringTextType.Builder()
+                        .language("en")
+                        .text("description")
+                        .build())
+                .displayName(new DefaultLangStringNameType.Builder()
+                        .language("en")
+                        .text("display name")
+                        .build())
+                .extensions(new DefaultExtension.Builder()
+                        .name("extension")
+                        .value("foo")
+                        .build())
+                .administration(new DefaultAdministrativeInformation.Builder()
+                        .version("1")
+                        .revision("0")
+                        .build())
+                .kind(ModellingKind.INSTANCE)
+                .semanticId(SEMANTIC_ID)
+                .supplementalSemanticIds(SUPPLEMENTAL_SEMANTIC_ID)
+                .qualifiers(new DefaultQualifier.Builder()
+                        .type("qualifier")
+                        .kind(QualifierKind.CONCEPT_QUALIFIER)
+                        .valueType(DataTypeDefXsd.STRING)
+                        .value("bar")
+                        .build())
+                .embeddedDataSpecifications(new DefaultEmbeddedDataSpecification.Builder()
+                        .dataSpecification(SEMANTIC_ID)
+                        .build())
+                .submodelElements(new DefaultProperty.Builder()
+                        .idShort("property1")
+                        .build())
+                .submodelElements(new DefaultProperty.Builder()
+                        .idShort("property2")
+                        .build())
+                .build();
+        assertShallowCopy(Submodel.class, submodel);
+    }
+
+
+    @Test
+    public void testSubmodelElementCollection() throws Exception {
+        SubmodelElementCollection collection = new DefaultSubmodelElementCollection.Builder()
+                .idShort("collection")
+                .category("category")
+                .description(new DefaultLangStringTextType.Builder()
+                        .language("en")
+                        .text("description")
+                        .build())
+                .displayName(new DefaultLangStringNameType.Builder()
+                        .language("en")
+                        .text("display name")
+                        .build())
+                .extensions(new DefaultExtension.Builder()
+                        .name("extension")
+                        .value("foo")
+                        .build())
+                .semanticId(SEMANTIC_ID)
+                .supplementalSemanticIds(SUPPLEMENTAL_SEMANTIC_ID)
+                .qualifiers(new DefaultQualifier.Builder()
+                        .type("qualifier")
+                        .valueType(DataTypeDefXsd.STRING)
+                        .build())
+                .embeddedDataSpecifications(new DefaultEmbeddedDataSpecification.Builder()
+                        .dataSpecification(SEMANTIC_ID)
+                        .build())
+                .value(new DefaultProperty.Builder()
+                        .idShort("property")
+                        .build())
+                .build();
+        assertShallowCopy(SubmodelElementCollection.class, collection);
+    }
+
+
+    @Test
+    public void testAssetAdministrationShell() throws Exception {
+        AssetAdministrationShell aas = new DefaultAssetAdministrationShell.Builder()
+                .id("http://example.org/aas")
+                .idShort("aas")
+                .category("category")
+                .description(new DefaultLangStringTextType.Builder()
+                        .language("en")
+                        .text("description")
+                        .build())
+                .displayName(new DefaultLangStringNameType.Builder()
+                        .language("en")
+                        .text("display name")
+                        .build())
+                .extensions(new DefaultExtension.Builder()
+                        .name("extension")
+                        .value("foo")
+                        .build())
+                .administration(new DefaultAdministrativeInformation.Builder()
+                        .version("1")
+                        .build())
+                .embeddedDataSpecifications(new DefaultEmbeddedDataSpecification.Builder()
+                        .dataSpecification(SEMANTIC_ID)
+                        .build())
+                .derivedFrom(SEMANTIC_ID)
+                .assetInformation(new DefaultAssetInformation.Builder()
+                        .assetKind(AssetKind.INSTANCE)
+                        .globalAssetId("http://example.org/asset")
+                        .build())
+                .submodels(SEMANTIC_ID)
+                .submodels(SUPPLEMENTAL_SEMANTIC_ID)
+                .build();
+        assertShallowCopy(AssetAdministrationShell.class, aas);
+    }
+
+
+    @Test
+    public void testModifyingListOfCopyDoesNotAffectOriginal() {
+        Submodel original = new DefaultSubmodel.Builder()
+                .id("http://example.org/submodel")
+                .submodelElements(new DefaultProperty.Builder()
+                        .idShort("property1")
+                        .build())
+                .build();
+        Submodel copy = ShallowCopyHelper.shallowCopy(original);
+        copy.getSubmodelElements().add(new DefaultProperty.Builder()
+                .idShort("property2")
+                .build());
+        copy.getSubmodelElements().remove(0);
+        Assert.assertEquals(1, original.getSubmodelElements().size());
+        Assert.assertEquals("property1", original.getSubmodelElements().get(0).getIdShort());
+        Assert.assertEquals(1, copy.getSubmodelElements().size());
+        Assert.assertEquals("property2", copy.getSubmodelElements().get(0).getIdShort());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTypeWithoutDefaultConstructor() {
+        ShallowCopyHelper.shallowCopy(Integer.valueOf(42));
+    }
+
+
+    /**
+     * Asserts that copy is a new instance equal to the original, that all properties except lists reference the same
+     * value and that lists are new instances containing the same elements. All properties of the original must be
+     * set to ensure that no property is missed.
+     */
+    private static <T> void assertShallowCopy(Class<T> type, T original) throws Exception {
+        T copy = ShallowCopyHelper.shallowCopy(original);
+        Assert.assertNotSame(original, copy);
+        Assert.assertEquals(original.getClass(), copy.getClass());
+        Assert.assertEquals(original, copy);
+        for (Method getter: type.getMethods()) {
+            if (!isGetter(getter)) {
+                continue;
+            }
+            Object expected = getter.invoke(original);
+            Object actual = getter.invoke(copy);
+            Assert.assertNotNull(String.format("property not set in test data: %s", getter.getName()), expected);
+            if (expected instanceof List) {
+                Assert.assertNotSame(String.format("list is aliased: %s", getter.getName()), expected, actual);
+                List<?> expectedList = (List<?>) expected;
+                List<?> actualList = (List<?>) actual;
+                Assert.assertFalse(String.format("list is empty in test data: %s", getter.getName()), expectedList.isEmpty());
+                Assert.assertEquals(expectedList.size(), actualList.size());
+                for (int i = 0; i < expectedList.size(); i++) {
+                    Assert.assertSame(expectedList.get(i), actualList.get(i));
+                }
+            }
+            else {
+                Assert.assertSame(String.format("property not copied: %s", getter.getName()), expected, actual);
+            }
+        }
+    }
+
+
+    private static boolean isGetter(Method method) {
+        return !Modifier.isStatic(method.getModifiers())
+                && method.getParameterCount() == 0
+                && (method.getName().startsWith("get") || method.getName().startsWith("is"))
+                && !method.getName().equals("getClass")
+                && !void.class.equals(method.getReturnType());
+    }
+}
@@ -0,0 +1,493 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.file;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Append-only journal of modifications to the model. Each {@link JournalRecord} is stored as a single line of JSON.
+ *
+ * <p>Records are written by a background thread that writes all pending records at once and then forces them to disk,
+ * i.e. concurrent modifications share a single fsync (group commit). The journal is split into segments named
+ * {@code <model file>.journal.<n>}. Rotating to a new segment allows to discard all older segments once their content
+ * is contained in a snapshot of the model file.
+ *
+ * <p>Writing a snapshot and deleting the segments contained in it cannot be done atomically. Therefore, before a snapshot
+ * replaces the model file, a checkpoint {@code <model file>.journal.checkpoint} is written that contains the digest of
+ * the snapshot and the number of the first segment not contained in it. On replay, segments before that number are
+ * skipped if the model file matches the digest, i.e. records already contained in the snapshot are never applied twice.
+ * If the model file does not match (e.g. because of a crash before the snapshot replaced the model file), all existing
+ * segments are replayed. Segment numbers are never reused.
+ */
+public class Journal implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Journal.class);
+    private static final String SEGMENT_INFIX = ".journal.";
+    private static final String CHECKPOINT_SUFFIX = ".journal.checkpoint";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final long POLL_TIMEOUT_MS = 100;
+    private final Path modelFile;
+    private final Path directory;
+    private final String segmentPrefix;
+    private final Path checkpointFile;
+    private final ObjectMapper mapper;
+    private final BlockingQueue<Entry> queue;
+    private volatile boolean running;
+    private volatile long segmentSize;
+    private Thread writer;
+    private FileChannel channel;
+    private long segment;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param modelFile the model file the journal belongs to
+     */
+    public Journal(Path modelFile) {
+        Ensure.requireNonNull(modelFile, "modelFile must be non-null");
+        this.modelFile = modelFile.toAbsolutePath();
+        this.directory = this.modelFile.getParent();
+        this.segmentPrefix = modelFile.getFileName().toString() + SEGMENT_INFIX;
+        this.checkpointFile = directory.resolve(modelFile.getFileName().toString() + CHECKPOINT_SUFFIX);
+        this.mapper = new ObjectMapper();
+        this.queue = new LinkedBlockingQueue<>();
+    }
+
+
+    /**
+     * Reads all records of all existing segments not contained in the model file in order. Reading a segment stops at
+     * the first incomplete record, e.g. caused by a crash while writing.
+     *
+     * @param consumer consumer for the records
+     * @throws IOException if reading fails
+     */
+    public void replay(Consumer<JournalRecord> consumer) throws IOException {
+        long firstSegment = getFirstSegmentNotInModelFile();
+        for (long current: getSegments()) {
+            if (current < firstSegment) {
+                LOGGER.debug("skipping journal segment {} as it is already contained in model file", getSegmentFile(current));
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(getSegmentFile(current), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        consumer.accept(mapper.readValue(line, JournalRecord.class));
+                    }
+                    catch (JsonProcessingException e) {
+                        LOGGER.warn("ignoring incomplete record in journal segment {}", getSegmentFile(current), e);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Gets the number of the segment following all existing segments and the segment referenced by the checkpoint.
+     * Starting with this segment guarantees that segment numbers are never reused.
+     *
+     * @return the number of the next segment
+     * @throws IOException if listing existing segments or reading the checkpoint fails
+     */
+    public long getNextSegment() throws IOException {
+        long result = 0;
+        for (long current: getSegments()) {
+            result = Math.max(result, current + 1);
+        }
+        Checkpoint checkpoint = readCheckpoint();
+        return Objects.nonNull(checkpoint)
+                ? Math.max(result, checkpoint.segment)
+                : result;
+    }
+
+
+    /**
+     * Records that the given snapshot contains all segments before the given one. Must be called before the snapshot
+     * replaces the model file.
+     *
+     * @param snapshot the snapshot file that will replace the model file
+     * @param segment the number of the first segment not contained in the snapshot
+     * @throws IOException if reading the snapshot or writing the checkpoint fails
+     */
+    public void checkpoint(Path snapshot, long segment) throws IOException {
+        Ensure.requireNonNull(snapshot, "snapshot must be non-null");
+        Path tempFile = checkpointFile.resolveSibling(checkpointFile.getFileName().toString() + TEMP_FILE_EXTENSION);
+        Files.writeString(tempFile, segment + " " + digest(snapshot), StandardCharsets.UTF_8);
+        force(tempFile);
+        replace(tempFile, checkpointFile);
+    }
+
+
+    /**
+     * Deletes all segments before the given one and starts writing to the given segment. The model file must contain all
+     * records of the deleted segments, i.e. a checkpoint for the given segment must have been written before.
+     *
+     * @param firstSegment the number of the segment to start with, typically {@link #getNextSegment()}
+     * @throws IOException if deleting existing segments or creating the new segment fails
+     */
+    public synchronized void start(long firstSegment) throws IOException {
+        if (running) {
+            return;
+        }
+        deleteSegmentsBefore(firstSegment);
+        segment = firstSegment;
+        openSegment();
+        running = true;
+        writer = new Thread(this::run, "file persistence journal writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+
+    /**
+     * Appends a record to the journal.
+     *
+     * @param record the record to append
+     * @return a future that completes when the record has been written and forced to disk
+     * @throws JsonProcessingException if serializing the record fails
+     */
+    public CompletableFuture<Void> append(JournalRecord record) throws JsonProcessingException {
+        Ensure.requireNonNull(record, "record must be non-null");
+        Entry entry = new Entry((mapper.writeValueAsString(record) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        enqueue(entry);
+        return entry.result;
+    }
+
+
+    /**
+     * Starts a new segment. All records appended before calling this method are written to the previous segment(s),
+     * all records appended afterwards to the new segment.
+     *
+     * @return a future that completes with the number of the new segment once it has been created
+     */
+    public CompletableFuture<Long> rotate() {
+        Entry entry = new Entry(null);
+        enqueue(entry);
+        return entry.result.thenApply(x -> entry.segment);
+    }
+
+
+    /**
+     * Deletes all segments with a number less than the given one.
+     *
+     * @param segment the number of the first segment to keep
+     * @throws IOException if deleting fails
+     */
+    public void deleteSegmentsBefore(long segment) throws IOException {
+        for (long current: getSegments()) {
+            if (current < segment) {
+                Files.deleteIfExists(getSegmentFile(current));
+            }
+        }
+    }
+
+
+    /**
+     * Gets the size of the current segment in bytes.
+     *
+     * @return the size of the current segment in bytes
+     */
+    public long getSegmentSize() {
+        return segmentSize;
+    }
+
+
+    /**
+     * Stops the writer after all pending records have been written.
+     */
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            current = writer;
+        }
+        try {
+            current.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeSegment();
+    }
+
+
+    private void enqueue(Entry entry) {
+        // checked under the same lock as in close() so that no entry is added after the writer has finished
+        synchronized (this) {
+            if (running) {
+                queue.add(entry);
+                return;
+            }
+        }
+        entry.result.completeExceptionally(new IllegalStateException("journal is not running"));
+    }
+
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                Entry first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                write(batch);
+                batch.clear();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            synchronized (this) {
+                running = false;
+            }
+            batch.addAll(queue);
+            queue.clear();
+            batch.forEach(x -> x.result.completeExceptionally(new IllegalStateException("journal writer has been stopped")));
+        }
+    }
+
+
+    private void write(List<Entry> batch) {
+        List<Entry> pending = new ArrayList<>();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (Entry entry: batch) {
+            if (entry.isRotation()) {
+                flush(buffer, pending);
+                try {
+                    closeSegment();
+                    segment++;
+                    openSegment();
+                    entry.segment = segment;
+                    entry.result.complete(null);
+                }
+                catch (IOException e) {
+                    entry.result.completeExceptionally(e);
+                }
+            }
+            else {
+                buffer.writeBytes(entry.data);
+                pending.add(entry);
+            }
+        }
+        flush(buffer, pending);
+    }
+
+
+    private void flush(ByteArrayOutputStream buffer, List<Entry> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            ByteBuffer data = ByteBuffer.wrap(buffer.toByteArray());
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(false);
+            segmentSize = channel.size();
+            pending.forEach(x -> x.result.complete(null));
+        }
+        catch (IOException e) {
+            LOGGER.error("writing to journal segment {} failed", getSegmentFile(segment), e);
+            pending.forEach(x -> x.result.completeExceptionally(e));
+        }
+        finally {
+            buffer.reset();
+            pending.clear();
+        }
+    }
+
+
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(getSegmentFile(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = channel.size();
+    }
+
+
+    private void closeSegment() {
+        if (Objects.isNull(channel)) {
+            return;
+        }
+        try {
+            channel.close();
+        }
+        catch (IOException e) {
+            LOGGER.warn("closing journal segment {} failed", getSegmentFile(segment), e);
+        }
+        channel = null;
+    }
+
+
+    private long getFirstSegmentNotInModelFile() throws IOException {
+        Checkpoint checkpoint = readCheckpoint();
+        if (Objects.isNull(checkpoint) || !Files.exists(modelFile)) {
+            return 0;
+        }
+        if (!Objects.equals(checkpoint.digest, digest(modelFile))) {
+            LOGGER.info("model file {} does not match journal checkpoint, replaying all journal segments", modelFile);
+            return 0;
+        }
+        return checkpoint.segment;
+    }
+
+
+    private Checkpoint readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return null;
+        }
+        String[] content = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim().split(" ");
+        if (content.length != 2 || !content[0].matches("\\d+")) {
+            LOGGER.warn("ignoring invalid journal checkpoint {}", checkpointFile);
+            return null;
+        }
+        return new Checkpoint(Long.parseLong(content[0]), content[1]);
+    }
+
+
+    private static String digest(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(String.format("digest algorithm %s not supported", DIGEST_ALGORITHM), e);
+        }
+    }
+
+
+    /**
+     * Forces the content of a file to disk.
+     *
+     * @param file the file
+     * @throws IOException if forcing fails
+     */
+    static void force(Path file) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            fileChannel.force(true);
+        }
+    }
+
+
+    /**
+     * Replaces a file by another one, atomically if supported by the file system.
+     *
+     * @param source the file to move
+     * @param target the file to replace
+     * @throws IOException if moving fails
+     */
+    static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+
+    private Path getSegmentFile(long segment) {
+        return directory.resolve(segmentPrefix + segment);
+    }
+
+
+    private List<Long> getSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(x -> x.getFileName().toString())
+                    .filter(x -> x.startsWith(segmentPrefix))
+                    .map(x -> x.substring(segmentPrefix.length()))
+                    .filter(x -> x.matches("\\d+"))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static class Checkpoint {
+
+        private final long segment;
+        private final String digest;
+
+        private Checkpoint(long segment, String digest) {
+            this.segment = segment;
+            this.digest = digest;
+        }
+    }
+
+    private static class Entry {
+
+        private final byte[] data;
+        private final CompletableFuture<Void> result;
+        private long segment;
+
+        private Entry(byte[] data) {
+            this.data = data;
+            this.result = new CompletableFuture<>();
+        }
+
+
+        private boolean isRotation() {
+            return Objects.isNull(data);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.file;
+
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.DeserializationException;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.SerializationException;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiDeserializer;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiSerializer;
+import de.fraunhofer.iosb.ilt.faaast.service.model.IdShortPath;
+import de.fraunhofer.iosb.ilt.faaast.service.model.SubmodelElementIdentifier;
+import de.fraunhofer.iosb.ilt.faaast.service.model.exception.UnsupportedModifierException;
+import java.util.Objects;
+
+
+/**
+ * A single entry of the {@link Journal} describing one modification of the model.
+ */
+public class JournalRecord {
+
+    private static final JsonApiSerializer SERIALIZER = new JsonApiSerializer();
+    private static final JsonApiDeserializer DESERIALIZER = new JsonApiDeserializer();
+
+    /**
+     * Type of modification.
+     */
+    public enum Type {
+        SAVE_ASSET_ADMINISTRATION_SHELL,
+        SAVE_SUBMODEL,
+        SAVE_CONCEPT_DESCRIPTION,
+        INSERT_SUBMODEL_ELEMENT,
+        UPDATE_SUBMODEL_ELEMENT,
+        DELETE_ASSET_ADMINISTRATION_SHELL,
+        DELETE_SUBMODEL,
+        DELETE_CONCEPT_DESCRIPTION,
+        DELETE_SUBMODEL_ELEMENT,
+        DELETE_ALL
+    }
+
+    private Type type;
+    private String id;
+    private String idShortPath;
+    private String payload;
+
+    public JournalRecord() {}
+
+
+    private JournalRecord(Type type, String id, String idShortPath, Object payload) throws SerializationException {
+        this.type = type;
+        this.id = id;
+        this.idShortPath = idShortPath;
+        try {
+            this.payload = Objects.nonNull(payload)
+                    ? SERIALIZER.write(payload)
+                    : null;
+        }
+        catch (UnsupportedModifierException e) {
+            throw new SerializationException("serializing journal record failed", e);
+        }
+    }
+
+
+    /**
+     * Creates a new record for a modification affecting an identifiable.
+     *
+     * @param type the type of modification
+     * @param id the id of the affected identifiable
+     * @param payload the new state of the identifiable, null for deletions
+     * @return the new record
+     * @throws SerializationException if serializing the payload fails
+     */
+    public static JournalRecord of(Type type, String id, Object payload) throws SerializationException {
+        return new JournalRecord(type, id, null, payload);
+    }
+
+
+    /**
+     * Creates a new record for a modification affecting a submodel element.
+     *
+     * @param type the type of modification
+     * @param identifier the identifier of the affected submodel element or its parent in case of insertion
+     * @param payload the new state of the submodel element, null for deletions
+     * @return the new record
+     * @throws SerializationException if serializing the payload fails
+     */
+    public static JournalRecord of(Type type, SubmodelElementIdentifier identifier, Object payload) throws SerializationException {
+        return new JournalRecord(type, identifier.getSubmodelId(), identifier.getIdShortPath().toString(), payload);
+    }
+
+
+    /**
+     * Gets the identifier of the affected submodel element.
+     *
+     * @return the identifier of the affected submodel element
+     */
+    public SubmodelElementIdentifier asSubmodelElementIdentifier() {
+        return SubmodelElementIdentifier.builder()
+                .submodelId(id)
+                .idShortPath(IdShortPath.parse(idShortPath))
+                .build();
+    }
+
+
+    /**
+     * Deserializes the payload.
+     *
+     * @param <T> the expected type
+     * @param type the expected type
+     * @return the deserialized payload
+     * @throws DeserializationException if deserialization fails
+     */
+    public <T> T getPayload(Class<T> type) throws DeserializationException {
+        return DESERIALIZER.read(payload, type);
+    }
+
+
+    public Type getType() {
+        return type;
+    }
+
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+
+    public String getId() {
+        return id;
+    }
+
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+
+    public String getIdShortPath() {
+        return idShortPath;
+    }
+
+
+    public void setIdShortPath(String idShortPath) {
+        this.idShortPath = idShortPath;
+    }
+
+
+    public String getPayload() {
+        return payload;
+    }
+
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
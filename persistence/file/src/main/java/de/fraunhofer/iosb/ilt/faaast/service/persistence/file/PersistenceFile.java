@@ -44,11 +44,22 @@ import de.fraunhofer.iosb.ilt.faaast.service.persistence.SubmodelElementSearchCr
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.SubmodelSearchCriteria;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.memory.PersistenceInMemory;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.memory.PersistenceInMemoryConfig;
+import de.fraunhofer.iosb.ilt.faaast.service.persistence.file.JournalRecord.Type;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShell;
 import org.eclipse.digitaltwin.aas4j.v3.model.ConceptDescription;
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
@@ -63,6 +74,13 @@ import org.slf4j.LoggerFactory;
 /**
  * Implementation of {@link de.fraunhofer.iosb.ilt.faaast.service.persistence.Persistence} for a file storage.
  *
+ * <p>How changes are written to the file system depends on {@link PersistenceFileConfig#getWriteMode()}. Using
+ * {@link WriteMode#SNAPSHOT}, the whole model file is rewritten after each change. Using {@link WriteMode#JOURNAL},
+ * each change is appended to a {@link Journal} that is periodically compacted into the model file. On startup, the
+ * journal is replayed on top of the model file. Using {@link WriteMode#DEBOUNCED}, changes are coalesced and the model
+ * file is rewritten by a background thread at most every {@link PersistenceFileConfig#getDebounceInterval()} ms or
+ * after {@link PersistenceFileConfig#getDebounceMaxChanges()} changes.
+ *
  * <p>Following types are not supported in the current version:
  * <ul>
  * <li>AASX packages
@@ -73,12 +91,23 @@ public class PersistenceFile implements Persistence<PersistenceFileConfig> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PersistenceFile.class);
     private static final String OPERATION_STATES_FILENAME = "operation-states.json";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final long JOURNAL_WRITE_TIMEOUT_MS = 60000;
     private final ObjectMapper mapper;
+    private final AtomicBoolean compacting;
+    private final AtomicBoolean flushScheduled;
+    private final AtomicLong pendingChanges;
+    private volatile Duration lastFlushDuration;
     private PersistenceFileConfig config;
     private PersistenceInMemory persistence;
     private File operationStatesFile;
+    private volatile Journal journal;
+    private ScheduledExecutorService backgroundExecutor;
 
     public PersistenceFile() {
+        compacting = new AtomicBoolean(false);
+        flushScheduled = new AtomicBoolean(false);
+        pendingChanges = new AtomicLong(0);
         mapper = new ObjectMapper();
         SimpleModule module = new SimpleModule();
         module.addKeySerializer(OperationHandle.class, new JsonSerializer<OperationHandle>() {
@@ -114,11 +143,19 @@ public class PersistenceFile implements Persistence<PersistenceFileConfig> {
                     .initialModel(aasEnvironment)
                     .build()
                     .newInstance(coreConfig, context);
-            saveEnvironment();
+            if (config.getWriteMode() == WriteMode.JOURNAL) {
+                initJournal();
+            }
+            else {
+                saveEnvironment();
+                if (config.getWriteMode() == WriteMode.DEBOUNCED) {
+                    backgroundExecutor = newBackgroundExecutor("file persistence snapshot writer");
+                }
+            }
             operationStatesFile = Path.of(config.getDataDir(), OPERATION_STATES_FILENAME).toFile();
             loadOperationStates();
         }
-        catch (ConfigurationException | DeserializationException e) {
+        catch (ConfigurationException | DeserializationException | IOException | PersistenceException e) {
             throw new ConfigurationInitializationException("initializing file persistence failed", e);
         }
     }
@@ -132,7 +169,45 @@ public class PersistenceFile implements Persistence<PersistenceFileConfig> {
 
     @Override
     public void stop() {
-        //intentionally left empty
+        if (Objects.isNull(backgroundExecutor)) {
+            return;
+        }
+        backgroundExecutor.shutdown();
+        try {
+            backgroundExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Objects.nonNull(journal)) {
+            compact();
+            journal.close();
+            journal = null;
+        }
+        else {
+            flush();
+        }
+    }
+
+
+    /**
+     * Gets the number of changes that have not yet been written to the model file when using
+     * {@link WriteMode#DEBOUNCED}.
+     *
+     * @return the number of pending changes
+     */
+    public long getPendingChanges() {
+        return pendingChanges.get();
+    }
+
+
+    /**
+     * Gets the duration of the last write of the model file.
+     *
+     * @return the duration of the last write of the model file or null if the model file has not been written yet
+     */
+    public Duration getLastFlushDuration() {
+        return lastFlushDuration;
     }
 
 
@@ -198,36 +273,56 @@ public class PersistenceFile implements Persistence<PersistenceFileConfig> {
 
     @Override
     public void save(AssetAdministrationShell assetAdministrationShell) {
-        persistence.save(assetAdministrationShell);
-        saveEnvironment();
+        CompletableFuture<Void> written;
+        synchronized (persistence) {
+            persistence.save(assetAdministrationShell);
+            written = onChange(() -> JournalRecord.of(Type.SAVE_ASSET_ADMINISTRATION_SHELL, assetAdministrationShell.getId(), assetAdministrationShell));
+        }
+        awaitWritten(written);
     }
 
 
     @Override
     public void save(ConceptDescription conceptDescription) {
-        persistence.save(conceptDescription);
-        saveEnvironment();
+        CompletableFuture<Void> written;
+        synchronized (persistence) {
+            persistence.save(conceptDescription);
+            written = onChange(() -> JournalRecord.of(Type.SAVE_CONCEPT_DESCRIPTION, conceptDescription.getId(), conceptDescription));
+        }
+        awaitWritten(written);
     }
 
 
     @Override
     public void save(Submodel submodel) {
-        persistence.save(submodel);
-        saveEnvironment();
+        CompletableFuture<Void> written;
+        synchronized (persistence) {
+            persistence.save(submodel);
+            written = onChange(() -> JournalRecord.of(Type.SAVE_SUBMODEL, submodel.getId(), submodel));
+        }
+        awaitWritten(written);
     }
 
 
     @Override
     public void insert(SubmodelElementIdentifier parentIdentifier, SubmodelElement submodelElement) throws ResourceNotFoundException, ResourceNotAContainerElementException {
-        persistence.insert(parentIdentifier, submodelElement);
-        saveEnvironment();
+        CompletableFuture<Void> written;
+        synchronized (persistence) {
+            persistence.insert(parentIdentifier, submodelElement);
+            written = onChange(() -> JournalRecord.of(Type.INSERT_SUBMODEL_ELEMENT, parentIdentifier, submodelElement));
+        }
+        awaitWritten(written);
     }
 
 
     @Override
     public void update(SubmodelElementIdentifier identifier, SubmodelElement submodelElement) throws ResourceNotFoundException {
-        persistence.update(identifier, submodelElement);
-        saveEnvironment();
+        CompletableFuture<Void> written;
+        synchronized (persistence) {
+            persistence.update(identifier, submodelElement);
+            written = onChange(() -> JournalRecord.of(Type.UPDATE_SUBMODEL_ELEMENT, identifier, submodelElement));
+        }
+        awaitWritten(written);
     }
 
 
@@ -240,44 +335,280 @@ public class PersistenceFile implements Persistence<PersistenceFileConfig> {
 
     @Override
     public void deleteAssetAdministrationShell(String id) throws ResourceNotFoundException {
-        persistence.deleteAssetAdministrationShell(id);
-        saveEnvironment();
+        CompletableFuture<Void> written;
+        synchronized (persistence) {
+            persistence.deleteAssetAdministrationShell(id);
+            written = onChange(() -> JournalRecord.of(Type.DELETE_ASSET_ADMINISTRATION_SHELL, id, null));
+        }
+        awaitWritten(written);
     }
 
 
     @Override
     public void deleteSubmodel(String id) throws ResourceNotFoundException {
-        persistence.deleteSubmodel(id);
-        saveEnvironment();
+        CompletableFuture<Void> written;
+        synchronized (persistence) {
+            persistence.deleteSubmodel(id);
+            written = onChange(() -> JournalRecord.of(Type.DELETE_SUBMODEL, id, null));
+        }
+        awaitWritten(written);
     }
 
 
     @Override
     public void deleteConceptDescription(String id) throws ResourceNotFoundException {
-        persistence.deleteConceptDescription(id);
-        saveEnvironment();
+        CompletableFuture<Void> written;
+        synchronized (persistence) {
+            persistence.deleteConceptDescription(id);
+            written = onChange(() -> JournalRecord.of(Type.DELETE_CONCEPT_DESCRIPTION, id, null));
+        }
+        awaitWritten(written);
     }
 
 
     @Override
     public void deleteSubmodelElement(SubmodelElementIdentifier identifier) throws ResourceNotFoundException {
-        persistence.deleteSubmodelElement(identifier);
-        saveEnvironment();
+        CompletableFuture<Void> written;
+        synchronized (persistence) {
+            persistence.deleteSubmodelElement(identifier);
+            written = onChange(() -> JournalRecord.of(Type.DELETE_SUBMODEL_ELEMENT, identifier, null));
+        }
+        awaitWritten(written);
     }
 
 
     @Override
     public void deleteAll() throws PersistenceException {
-        persistence.deleteAll();
-        saveEnvironment();
+        CompletableFuture<Void> written;
+        synchronized (persistence) {
+            persistence.deleteAll();
+            written = onChange(() -> JournalRecord.of(Type.DELETE_ALL, (String) null, null));
+        }
+        awaitWritten(written);
+    }
+
+
+    private void initJournal() throws IOException, PersistenceException {
+        journal = new Journal(config.getFilePath());
+        if (isModelFileLoaded()) {
+            journal.replay(this::replay);
+        }
+        long segment = journal.getNextSegment();
+        try {
+            writeEnvironment(persistence.getEnvironment(), segment);
+        }
+        catch (IOException | SerializationException e) {
+            // replayed changes only exist in memory and the journal, so the journal must not be discarded
+            throw new PersistenceException(String.format("writing snapshot to file %s failed", config.getFilePath()), e);
+        }
+        journal.start(segment);
+        backgroundExecutor = newBackgroundExecutor("file persistence journal compaction");
+        backgroundExecutor.scheduleWithFixedDelay(
+                this::compact,
+                config.getJournalCompactionInterval(),
+                config.getJournalCompactionInterval(),
+                TimeUnit.MILLISECONDS);
+    }
+
+
+    private static ScheduledExecutorService newBackgroundExecutor(String threadName) {
+        ScheduledThreadPoolExecutor result = new ScheduledThreadPoolExecutor(1, x -> {
+            Thread thread = new Thread(x, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // pending writes are handled explicitly on stop
+        result.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return result;
+    }
+
+
+    /**
+     * Checks if the model has been loaded from the model file of this persistence, i.e. if the journal belongs to the
+     * loaded model and must be replayed.
+     *
+     * @return true if the model has been loaded from the model file of this persistence, otherwise false
+     */
+    private boolean isModelFileLoaded() {
+        return Objects.isNull(config.getInitialModel())
+                && Objects.nonNull(config.getInitialModelFile())
+                && config.getInitialModelFile().toPath().toAbsolutePath().normalize().equals(config.getFilePath().toAbsolutePath().normalize());
+    }
+
+
+    private void replay(JournalRecord record) {
+        try {
+            switch (record.getType()) {
+                case SAVE_ASSET_ADMINISTRATION_SHELL:
+                    persistence.save(record.getPayload(AssetAdministrationShell.class));
+                    break;
+                case SAVE_SUBMODEL:
+                    persistence.save(record.getPayload(Submodel.class));
+                    break;
+                case SAVE_CONCEPT_DESCRIPTION:
+                    persistence.save(record.getPayload(ConceptDescription.class));
+                    break;
+                case INSERT_SUBMODEL_ELEMENT:
+                    persistence.insert(record.asSubmodelElementIdentifier(), record.getPayload(SubmodelElement.class));
+                    break;
+                case UPDATE_SUBMODEL_ELEMENT:
+                    persistence.update(record.asSubmodelElementIdentifier(), record.getPayload(SubmodelElement.class));
+                    break;
+                case DELETE_ASSET_ADMINISTRATION_SHELL:
+                    persistence.deleteAssetAdministrationShell(record.getId());
+                    break;
+                case DELETE_SUBMODEL:
+                    persistence.deleteSubmodel(record.getId());
+                    break;
+                case DELETE_CONCEPT_DESCRIPTION:
+                    persistence.deleteConceptDescription(record.getId());
+                    break;
+                case DELETE_SUBMODEL_ELEMENT:
+                    persistence.deleteSubmodelElement(record.asSubmodelElementIdentifier());
+                    break;
+                case DELETE_ALL:
+                    persistence.deleteAll();
+                    break;
+                default:
+                    LOGGER.warn("ignoring journal record of unsupported type {}", record.getType());
+            }
+        }
+        catch (Exception e) {
+            LOGGER.warn("replaying journal record failed (type: {}, id: {}, idShortPath: {})",
+                    record.getType(),
+                    record.getId(),
+                    record.getIdShortPath(),
+                    e);
+        }
+    }
+
+
+    /**
+     * Handles a modification of the model. Must be called while holding the lock on the in-memory persistence to
+     * guarantee that journal records are written in the same order as modifications are applied.
+     *
+     * @param record supplier for the journal record describing the modification
+     * @return a future that completes when the modification has been written
+     */
+    private CompletableFuture<Void> onChange(JournalRecordSupplier record) {
+        if (Objects.nonNull(journal)) {
+            try {
+                return journal.append(record.get());
+            }
+            catch (IOException | SerializationException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        if (Objects.isNull(backgroundExecutor) || !scheduleFlush()) {
+            saveEnvironment();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+
+    /**
+     * Schedules writing the model file.
+     *
+     * @return true if writing has been scheduled, false if the background executor has already been shut down
+     */
+    private boolean scheduleFlush() {
+        try {
+            if (pendingChanges.incrementAndGet() == config.getDebounceMaxChanges()) {
+                backgroundExecutor.execute(this::flush);
+            }
+            else if (flushScheduled.compareAndSet(false, true)) {
+                backgroundExecutor.schedule(this::flush, config.getDebounceInterval(), TimeUnit.MILLISECONDS);
+            }
+            return true;
+        }
+        catch (RejectedExecutionException e) {
+            flushScheduled.set(false);
+            pendingChanges.set(0);
+            return false;
+        }
+    }
+
+
+    /**
+     * Writes the current model to the model file if there are any pending changes.
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        Environment environment;
+        synchronized (persistence) {
+            if (pendingChanges.getAndSet(0) == 0) {
+                return;
+            }
+            environment = persistence.getEnvironment();
+        }
+        try {
+            writeEnvironment(environment);
+        }
+        catch (IOException | SerializationException e) {
+            LOGGER.error(String.format("Could not save environment to file %s", config.getFilePath()), e);
+        }
+    }
+
+
+    private void awaitWritten(CompletableFuture<Void> written) {
+        try {
+            written.get(JOURNAL_WRITE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            LOGGER.error(String.format("Could not write change to journal of file %s", config.getFilePath()), e.getCause());
+        }
+        catch (TimeoutException e) {
+            LOGGER.error(String.format("Writing change to journal of file %s timed out", config.getFilePath()), e);
+        }
+        Journal current = journal;
+        if (Objects.nonNull(current) && current.getSegmentSize() > config.getJournalCompactionThreshold()) {
+            try {
+                backgroundExecutor.execute(this::compact);
+            }
+            catch (RejectedExecutionException e) {
+                // persistence is being stopped, compaction is done as part of stopping
+            }
+        }
+    }
+
+
+    /**
+     * Writes the current model to the model file and discards all journal segments contained in it.
+     */
+    private void compact() {
+        Journal current = journal;
+        if (Objects.isNull(current) || current.getSegmentSize() == 0 || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Environment environment;
+            CompletableFuture<Long> rotated;
+            synchronized (persistence) {
+                environment = persistence.getEnvironment();
+                rotated = current.rotate();
+            }
+            long segment = rotated.get();
+            writeEnvironment(environment, segment);
+            current.deleteSegmentsBefore(segment);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException | IOException | SerializationException e) {
+            LOGGER.error(String.format("Compacting journal into file %s failed", config.getFilePath()), e);
+        }
+        finally {
+            compacting.set(false);
+        }
     }
 
 
     private void saveEnvironment() {
         try {
-            EnvironmentSerializationManager
-                    .serializerFor(config.getDataformat())
-                    .write(new File(String.valueOf(config.getFilePath())), persistence.getEnvironment());
+            writeEnvironment(persistence.getEnvironment());
         }
         catch (IOException | SerializationException e) {
             LOGGER.error(String.format("Could not save environment to file %s", config.getFilePath()), e);
@@ -285,6 +616,39 @@ public class PersistenceFile implements Persistence<PersistenceFileConfig> {
     }
 
 
+    private void writeEnvironment(Environment environment) throws IOException, SerializationException {
+        writeEnvironment(environment, null);
+    }
+
+
+    /**
+     * Writes an environment to the model file. The environment is written to a temporary file first that is then
+     * moved to the model file to never leave a partially written model file.
+     *
+     * @param environment the environment to write
+     * @param journalSegment the number of the first journal segment not contained in the environment or null if no
+     *            journal is used. If non-null, the snapshot is forced to disk and a journal checkpoint is written before
+     *            it replaces the model file.
+     * @throws IOException if writing fails
+     * @throws SerializationException if serialization fails
+     */
+    private void writeEnvironment(Environment environment, Long journalSegment) throws IOException, SerializationException {
+        long start = System.nanoTime();
+        Path file = config.getFilePath();
+        Path tempFile = file.resolveSibling(file.getFileName().toString() + TEMP_FILE_EXTENSION);
+        EnvironmentSerializationManager
+                .serializerFor(config.getDataformat())
+                .write(tempFile.toFile(), environment);
+        if (Objects.nonNull(journalSegment)) {
+            Journal.force(tempFile);
+            journal.checkpoint(tempFile, journalSegment);
+        }
+        Journal.replace(tempFile, file);
+        lastFlushDuration = Duration.ofNanos(System.nanoTime() - start);
+        LOGGER.debug("model written to file {} (duration: {} ms)", file, lastFlushDuration.toMillis());
+    }
+
+
     private void saveOperationStates() {
         try {
             mapper.writeValue(operationStatesFile, persistence.getOperationStates());
@@ -309,4 +673,9 @@ public class PersistenceFile implements Persistence<PersistenceFileConfig> {
         }
     }
 
+    @FunctionalInterface
+    private interface JournalRecordSupplier {
+
+        JournalRecord get() throws IOException, SerializationException;
+    }
 }
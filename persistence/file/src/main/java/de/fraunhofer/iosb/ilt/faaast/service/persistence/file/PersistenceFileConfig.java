@@ -40,6 +40,11 @@ public class PersistenceFileConfig extends PersistenceConfig<PersistenceFile> {
     public static final DataFormat DEFAULT_DATAFORMAT = DataFormat.JSON;
     public static final String DEFAULT_FILENAME_PREFIX = "model_persistence";
     public static final String DEFAULT_FILENAME = DEFAULT_FILENAME_PREFIX + "." + DEFAULT_DATAFORMAT.toString().toLowerCase();
+    public static final WriteMode DEFAULT_WRITE_MODE = WriteMode.SNAPSHOT;
+    public static final long DEFAULT_JOURNAL_COMPACTION_INTERVAL = 60000;
+    public static final long DEFAULT_JOURNAL_COMPACTION_THRESHOLD = 64L * 1024 * 1024;
+    public static final long DEFAULT_DEBOUNCE_INTERVAL = 1000;
+    public static final long DEFAULT_DEBOUNCE_MAX_CHANGES = 1000;
 
     private String dataDir;
 
@@ -49,8 +54,23 @@ public class PersistenceFileConfig extends PersistenceConfig<PersistenceFile> {
 
     private DataFormat dataformat;
 
+    private WriteMode writeMode;
+
+    private long journalCompactionInterval;
+
+    private long journalCompactionThreshold;
+
+    private long debounceInterval;
+
+    private long debounceMaxChanges;
+
     public PersistenceFileConfig() {
         keepInitial = DEFAULT_KEEP_INITIAL;
+        writeMode = DEFAULT_WRITE_MODE;
+        journalCompactionInterval = DEFAULT_JOURNAL_COMPACTION_INTERVAL;
+        journalCompactionThreshold = DEFAULT_JOURNAL_COMPACTION_THRESHOLD;
+        debounceInterval = DEFAULT_DEBOUNCE_INTERVAL;
+        debounceMaxChanges = DEFAULT_DEBOUNCE_MAX_CHANGES;
     }
 
 
@@ -87,6 +107,9 @@ public class PersistenceFileConfig extends PersistenceConfig<PersistenceFile> {
         if (Objects.isNull(dataDir)) {
             dataDir = DEFAULT_BASE_PATH;
         }
+        if (Objects.isNull(writeMode)) {
+            writeMode = DEFAULT_WRITE_MODE;
+        }
         try {
             Paths.get(dataDir).toRealPath();
         }
@@ -141,6 +164,79 @@ public class PersistenceFileConfig extends PersistenceConfig<PersistenceFile> {
     }
 
 
+    public WriteMode getWriteMode() {
+        return writeMode;
+    }
+
+
+    public void setWriteMode(WriteMode writeMode) {
+        this.writeMode = writeMode;
+    }
+
+
+    /**
+     * Gets the interval in ms in which the journal is compacted into the model file when using
+     * {@link WriteMode#JOURNAL}.
+     *
+     * @return the compaction interval in ms
+     */
+    public long getJournalCompactionInterval() {
+        return journalCompactionInterval;
+    }
+
+
+    public void setJournalCompactionInterval(long journalCompactionInterval) {
+        this.journalCompactionInterval = journalCompactionInterval;
+    }
+
+
+    /**
+     * Gets the size in bytes of the journal that triggers compaction independent of the compaction interval when
+     * using {@link WriteMode#JOURNAL}.
+     *
+     * @return the compaction threshold in bytes
+     */
+    public long getJournalCompactionThreshold() {
+        return journalCompactionThreshold;
+    }
+
+
+    public void setJournalCompactionThreshold(long journalCompactionThreshold) {
+        this.journalCompactionThreshold = journalCompactionThreshold;
+    }
+
+
+    /**
+     * Gets the maximum time in ms a change may remain unwritten when using {@link WriteMode#DEBOUNCED}.
+     *
+     * @return the debounce interval in ms
+     */
+    public long getDebounceInterval() {
+        return debounceInterval;
+    }
+
+
+    public void setDebounceInterval(long debounceInterval) {
+        this.debounceInterval = debounceInterval;
+    }
+
+
+    /**
+     * Gets the number of pending changes that triggers writing the model file independent of the debounce interval
+     * when using {@link WriteMode#DEBOUNCED}.
+     *
+     * @return the maximum number of pending changes
+     */
+    public long getDebounceMaxChanges() {
+        return debounceMaxChanges;
+    }
+
+
+    public void setDebounceMaxChanges(long debounceMaxChanges) {
+        this.debounceMaxChanges = debounceMaxChanges;
+    }
+
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -156,13 +252,26 @@ public class PersistenceFileConfig extends PersistenceConfig<PersistenceFile> {
 
         return Objects.equals(this.dataDir, other.dataDir)
                 && Objects.equals(this.keepInitial, other.keepInitial)
-                && Objects.equals(this.dataformat, other.dataformat);
+                && Objects.equals(this.dataformat, other.dataformat)
+                && Objects.equals(this.writeMode, other.writeMode)
+                && Objects.equals(this.journalCompactionInterval, other.journalCompactionInterval)
+                && Objects.equals(this.journalCompactionThreshold, other.journalCompactionThreshold)
+                && Objects.equals(this.debounceInterval, other.debounceInterval)
+                && Objects.equals(this.debounceMaxChanges, other.debounceMaxChanges);
     }
 
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), this.dataDir, this.keepInitial, this.dataformat);
+        return Objects.hash(super.hashCode(),
+                this.dataDir,
+                this.keepInitial,
+                this.dataformat,
+                this.writeMode,
+                this.journalCompactionInterval,
+                this.journalCompactionThreshold,
+                this.debounceInterval,
+                this.debounceMaxChanges);
     }
 
 
@@ -190,6 +299,36 @@ public class PersistenceFileConfig extends PersistenceConfig<PersistenceFile> {
             return getSelf();
         }
 
+
+        public B writeMode(WriteMode value) {
+            getBuildingInstance().setWriteMode(value);
+            return getSelf();
+        }
+
+
+        public B journalCompactionInterval(long value) {
+            getBuildingInstance().setJournalCompactionInterval(value);
+            return getSelf();
+        }
+
+
+        public B journalCompactionThreshold(long value) {
+            getBuildingInstance().setJournalCompactionThreshold(value);
+            return getSelf();
+        }
+
+
+        public B debounceInterval(long value) {
+            getBuildingInstance().setDebounceInterval(value);
+            return getSelf();
+        }
+
+
+        public B debounceMaxChanges(long value) {
+            getBuildingInstance().setDebounceMaxChanges(value);
+            return getSelf();
+        }
+
     }
 
     public static class Builder extends AbstractBuilder<PersistenceFileConfig, Builder> {
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.file;
+
+/**
+ * Defines how changes to the model are written to the file system by {@link PersistenceFile}.
+ */
+public enum WriteMode {
+    /**
+     * Rewrites the whole model file after each change.
+     */
+    SNAPSHOT,
+    /**
+     * Appends each change to a journal and periodically compacts the journal into the model file. Write cost is
+     * proportional to the size of the change instead of the size of the model.
+     */
+    JOURNAL,
+    /**
+     * Coalesces changes and rewrites the whole model file in the background at most every
+     * {@link PersistenceFileConfig#getDebounceInterval()} ms or after
+     * {@link PersistenceFileConfig#getDebounceMaxChanges()} changes. Changes not yet written are lost in case of a
+     * crash.
+     */
+    DEBOUNCED
+}
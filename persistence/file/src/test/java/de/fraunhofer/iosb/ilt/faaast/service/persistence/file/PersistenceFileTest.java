@@ -20,7 +20,10 @@ import de.fraunhofer.iosb.ilt.faaast.service.config.CoreConfig;
 import de.fraunhofer.iosb.ilt.faaast.service.exception.ConfigurationException;
 import de.fraunhofer.iosb.ilt.faaast.service.exception.ConfigurationInitializationException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.AASFull;
+import de.fraunhofer.iosb.ilt.faaast.service.model.IdShortPath;
+import de.fraunhofer.iosb.ilt.faaast.service.model.SubmodelElementIdentifier;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.QueryModifier;
+import de.fraunhofer.iosb.ilt.faaast.service.model.exception.PersistenceException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ResourceNotFoundException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.serialization.DataFormat;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.AbstractPersistenceTest;
@@ -32,8 +35,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.bouncycastle.util.Objects;
+import org.eclipse.digitaltwin.aas4j.v3.model.DataTypeDefXsd;
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
+import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElementList;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultProperty;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -159,6 +170,142 @@ public class PersistenceFileTest extends AbstractPersistenceTest<PersistenceFile
     }
 
 
+    @Test
+    public void testJournalReplay() throws ResourceNotFoundException, ConfigurationException, AssetConnectionException, IOException {
+        PersistenceFileConfig config = PersistenceFileConfig.builder()
+                .initialModelFile(modelFileJson)
+                .keepInitial(false)
+                .writeMode(WriteMode.JOURNAL)
+                .journalCompactionInterval(Long.MAX_VALUE)
+                .journalCompactionThreshold(Long.MAX_VALUE)
+                .build();
+        PersistenceFile persistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        String aasId = model.getAssetAdministrationShells().get(0).getId();
+        Submodel submodel = model.getSubmodels().get(0);
+        submodel.setIdShort("updated");
+        persistence.deleteAssetAdministrationShell(aasId);
+        persistence.save(submodel);
+        Assert.assertTrue(Files.list(modelFileJson.getParentFile().toPath())
+                .anyMatch(x -> x.getFileName().toString().startsWith(modelFileJson.getName() + ".journal.")));
+        // simulate a crash by restoring the files as they were before stopping, i.e. before compaction
+        Path crashState = Files.createTempDirectory(tempDir, "crash");
+        copyModelFiles(modelFileJson.getParentFile().toPath(), crashState);
+        persistence.stop();
+        copyModelFiles(crashState, modelFileJson.getParentFile().toPath());
+        PersistenceFile newPersistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        Assert.assertThrows(ResourceNotFoundException.class, () -> newPersistence.getAssetAdministrationShell(aasId, QueryModifier.DEFAULT));
+        Assert.assertEquals(submodel, newPersistence.getSubmodel(submodel.getId(), QueryModifier.DEFAULT));
+        newPersistence.stop();
+    }
+
+
+    @Test
+    public void testJournalRestart() throws ResourceNotFoundException, ConfigurationException, AssetConnectionException {
+        PersistenceFileConfig config = PersistenceFileConfig.builder()
+                .initialModelFile(modelFileJson)
+                .keepInitial(false)
+                .writeMode(WriteMode.JOURNAL)
+                .build();
+        PersistenceFile persistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        String aasId = model.getAssetAdministrationShells().get(0).getId();
+        Submodel submodel = model.getSubmodels().get(0);
+        submodel.setIdShort("updated");
+        persistence.deleteAssetAdministrationShell(aasId);
+        persistence.save(submodel);
+        persistence.stop();
+        PersistenceFile newPersistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        Assert.assertThrows(ResourceNotFoundException.class, () -> newPersistence.getAssetAdministrationShell(aasId, QueryModifier.DEFAULT));
+        Assert.assertEquals(submodel, newPersistence.getSubmodel(submodel.getId(), QueryModifier.DEFAULT));
+        newPersistence.stop();
+    }
+
+
+    @Test
+    public void testJournalCrashAfterCompaction() throws Exception {
+        PersistenceFileConfig config = PersistenceFileConfig.builder()
+                .initialModelFile(modelFileJson)
+                .keepInitial(false)
+                .writeMode(WriteMode.JOURNAL)
+                .journalCompactionInterval(Long.MAX_VALUE)
+                .journalCompactionThreshold(Long.MAX_VALUE)
+                .build();
+        PersistenceFile persistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        SubmodelElementIdentifier listIdentifier = SubmodelElementIdentifier.builder()
+                .submodelId(AASFull.SUBMODEL_4.getId())
+                .idShortPath(IdShortPath.parse("ExampleSubmodelElementListUnordered"))
+                .build();
+        int expectedSize = getListSize(persistence, listIdentifier) + 1;
+        // inserting into a list is not idempotent, i.e. replaying it twice would add the element twice
+        persistence.insert(listIdentifier, new DefaultProperty.Builder()
+                .valueType(DataTypeDefXsd.STRING)
+                .value("new")
+                .build());
+        // simulate a crash after the snapshot has been written but before the compacted segments have been deleted
+        Path crashState = Files.createTempDirectory(tempDir, "crash");
+        copyModelFiles(modelFileJson.getParentFile().toPath(), crashState);
+        persistence.stop();
+        copyJournalSegments(crashState, modelFileJson.getParentFile().toPath());
+        PersistenceFile newPersistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        Assert.assertEquals(expectedSize, getListSize(newPersistence, listIdentifier));
+        newPersistence.stop();
+        PersistenceFile restartedPersistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        Assert.assertEquals(expectedSize, getListSize(restartedPersistence, listIdentifier));
+        restartedPersistence.stop();
+    }
+
+
+    @Test
+    public void testJournalKeptIfSnapshotOnStartupFails() throws Exception {
+        PersistenceFileConfig config = PersistenceFileConfig.builder()
+                .initialModelFile(modelFileJson)
+                .keepInitial(false)
+                .writeMode(WriteMode.JOURNAL)
+                .journalCompactionInterval(Long.MAX_VALUE)
+                .journalCompactionThreshold(Long.MAX_VALUE)
+                .build();
+        PersistenceFile persistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        String aasId = model.getAssetAdministrationShells().get(0).getId();
+        persistence.deleteAssetAdministrationShell(aasId);
+        Path crashState = Files.createTempDirectory(tempDir, "crash");
+        copyModelFiles(modelFileJson.getParentFile().toPath(), crashState);
+        persistence.stop();
+        copyModelFiles(crashState, modelFileJson.getParentFile().toPath());
+        // a directory in place of the temporary snapshot file makes writing the snapshot fail
+        Path blockedTempFile = Path.of(modelFileJson.getPath() + ".tmp");
+        Files.createDirectory(blockedTempFile);
+        ConfigurationInitializationException exception = Assert.assertThrows(
+                ConfigurationInitializationException.class,
+                () -> config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT));
+        Assert.assertTrue(exception.getCause() instanceof PersistenceException);
+        Assert.assertFalse(listJournalSegments(modelFileJson.getParentFile().toPath()).isEmpty());
+        Files.delete(blockedTempFile);
+        PersistenceFile newPersistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        Assert.assertThrows(ResourceNotFoundException.class, () -> newPersistence.getAssetAdministrationShell(aasId, QueryModifier.DEFAULT));
+        newPersistence.stop();
+    }
+
+
+    @Test
+    public void testDebouncedWrite() throws ResourceNotFoundException, ConfigurationException, AssetConnectionException {
+        PersistenceFileConfig config = PersistenceFileConfig.builder()
+                .initialModelFile(modelFileJson)
+                .keepInitial(false)
+                .writeMode(WriteMode.DEBOUNCED)
+                .debounceInterval(60000)
+                .build();
+        PersistenceFile persistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        String aasId = model.getAssetAdministrationShells().get(0).getId();
+        persistence.deleteAssetAdministrationShell(aasId);
+        Assert.assertEquals(1, persistence.getPendingChanges());
+        persistence.stop();
+        Assert.assertEquals(0, persistence.getPendingChanges());
+        Assert.assertNotNull(persistence.getLastFlushDuration());
+        PersistenceFile newPersistence = config.newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        Assert.assertThrows(ResourceNotFoundException.class, () -> newPersistence.getAssetAdministrationShell(aasId, QueryModifier.DEFAULT));
+        newPersistence.stop();
+    }
+
+
     @Test
     public void testLoadXml() throws ConfigurationException, AssetConnectionException {
         PersistenceFileConfig.builder()
@@ -199,4 +346,38 @@ public class PersistenceFileTest extends AbstractPersistenceTest<PersistenceFile
                 .forEach(File::delete);
     }
 
+
+    private static int getListSize(PersistenceFile persistence, SubmodelElementIdentifier identifier) throws ResourceNotFoundException {
+        return ((SubmodelElementList) persistence.getSubmodelElement(identifier, QueryModifier.DEFAULT)).getValue().size();
+    }
+
+
+    private List<Path> listJournalSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(x -> x.getFileName().toString().matches(Pattern.quote(modelFileJson.getName() + ".journal.") + "\\d+"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+
+    private void copyJournalSegments(Path source, Path target) throws IOException {
+        for (Path file: listJournalSegments(source)) {
+            Files.copy(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+
+    private void copyModelFiles(Path source, Path target) throws IOException {
+        try (Stream<Path> files = Files.list(target)) {
+            for (Path file: files.filter(x -> x.getFileName().toString().startsWith(modelFileJson.getName())).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file: files.filter(x -> x.getFileName().toString().startsWith(modelFileJson.getName())).collect(Collectors.toList())) {
+                Files.copy(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.memory;
+
+import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.eclipse.digitaltwin.aas4j.v3.model.Identifiable;
+
+
+/**
+ * Thread-safe store for identifiables that supports lookup by id in O(1) and iteration in insertion order. Each element
+ * is assigned a sequence number when it is first added, replacing an element keeps its position.
+ *
+ * <p>Lookup and removal match ids exactly. Adding an element replaces an existing element whose id only differs in case,
+ * i.e. ids are compared case-insensitively when saving.
+ *
+ * <p>Reading is lock-free and never blocks writers. Iteration is weakly consistent, i.e. it reflects the state at some
+ * point during the iteration and never throws {@link java.util.ConcurrentModificationException}. Elements must be treated
+ * as immutable snapshots once added, i.e. modifications must be done by replacing an element with a modified copy.
+ *
+ * @param <T> type of the identifiables
+ */
+public class IdentifiableStore<T extends Identifiable> {
+
+    private final Map<String, Long> sequenceByNormalizedId;
+    private final ConcurrentNavigableMap<Long, T> elementsBySequence;
+    private final AtomicLong nextSequence;
+
+    public IdentifiableStore() {
+        sequenceByNormalizedId = new ConcurrentHashMap<>();
+        elementsBySequence = new ConcurrentSkipListMap<>();
+        nextSequence = new AtomicLong();
+    }
+
+
+    /**
+     * Gets an element by id.
+     *
+     * @param id the id
+     * @return the element or null if there is no element with given id
+     */
+    public T get(String id) {
+        if (Objects.isNull(id)) {
+            return null;
+        }
+        Long sequence = sequenceByNormalizedId.get(normalize(id));
+        if (Objects.isNull(sequence)) {
+            return null;
+        }
+        T result = elementsBySequence.get(sequence);
+        return Objects.nonNull(result) && Objects.equals(result.getId(), id)
+                ? result
+                : null;
+    }
+
+
+    /**
+     * Adds an element or replaces an existing element with the same id ignoring case.
+     *
+     * @param element the element to add
+     * @return the replaced element or null if there was no element with the same id ignoring case
+     * @throws IllegalArgumentException if element or its id is null
+     */
+    public synchronized T put(T element) {
+        Ensure.requireNonNull(element, "element must be non-null");
+        Ensure.requireNonNull(element.getId(), "id must be non-null");
+        return elementsBySequence.put(
+                sequenceByNormalizedId.computeIfAbsent(normalize(element.getId()), x -> nextSequence.getAndIncrement()),
+                element);
+    }
+
+
+    /**
+     * Adds an element if there is no element with the same id ignoring case yet.
+     *
+     * @param element the element to add
+     * @return true if the element has been added, otherwise false
+     */
+    public synchronized boolean putIfAbsent(T element) {
+        if (Objects.isNull(element) || Objects.isNull(element.getId()) || sequenceByNormalizedId.containsKey(normalize(element.getId()))) {
+            return false;
+        }
+        put(element);
+        return true;
+    }
+
+
+    /**
+     * Removes an element by id.
+     *
+     * @param id the id
+     * @return the removed element or null if there was no element with given id
+     */
+    public synchronized T remove(String id) {
+        if (Objects.isNull(id)) {
+            return null;
+        }
+        String normalizedId = normalize(id);
+        Long sequence = sequenceByNormalizedId.get(normalizedId);
+        if (Objects.isNull(sequence) || !Objects.equals(elementsBySequence.get(sequence).getId(), id)) {
+            return null;
+        }
+        sequenceByNormalizedId.remove(normalizedId);
+        return elementsBySequence.remove(sequence);
+    }
+
+
+    /**
+     * Gets all elements in insertion order.
+     *
+     * @return all elements
+     */
+    public Collection<T> values() {
+        return elementsBySequence.values();
+    }
+
+
+    /**
+     * Gets all elements with a sequence number greater than or equal to the given one in insertion order together with
+     * their sequence number. This allows to resume iterating from a given element in O(log n).
+     *
+     * @param fromSequence the sequence number to start from (inclusive)
+     * @return the elements with their sequence number
+     */
+    public Stream<Map.Entry<Long, T>> entries(long fromSequence) {
+        return elementsBySequence.tailMap(fromSequence, true).entrySet().stream();
+    }
+
+
+    /**
+     * Removes all elements.
+     */
+    public synchronized void clear() {
+        sequenceByNormalizedId.clear();
+        elementsBySequence.clear();
+    }
+
+
+    private static String normalize(String id) {
+        return id.toLowerCase(Locale.ROOT);
+    }
+}
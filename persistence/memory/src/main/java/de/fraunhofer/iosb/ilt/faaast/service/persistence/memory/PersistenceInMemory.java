@@ -19,6 +19,7 @@ import de.fraunhofer.iosb.ilt.faaast.service.config.CoreConfig;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.DeserializationException;
 import de.fraunhofer.iosb.ilt.faaast.service.exception.ConfigurationInitializationException;
 import de.fraunhofer.iosb.ilt.faaast.service.exception.InvalidConfigurationException;
+import de.fraunhofer.iosb.ilt.faaast.service.model.IdShortPath;
 import de.fraunhofer.iosb.ilt.faaast.service.model.SubmodelElementIdentifier;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.QueryModifier;
 import de.fraunhofer.iosb.ilt.faaast.service.model.api.operation.OperationHandle;
@@ -31,30 +32,34 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.asset.SpecificAssetIdentifica
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.PersistenceException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ResourceNotAContainerElementException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ResourceNotFoundException;
-import de.fraunhofer.iosb.ilt.faaast.service.model.visitor.AssetAdministrationShellElementWalker;
-import de.fraunhofer.iosb.ilt.faaast.service.model.visitor.DefaultAssetAdministrationShellElementVisitor;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.AssetAdministrationShellSearchCriteria;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.ConceptDescriptionSearchCriteria;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.Persistence;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.SubmodelElementSearchCriteria;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.SubmodelSearchCriteria;
+import de.fraunhofer.iosb.ilt.faaast.service.persistence.util.PagingHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.util.QueryModifierHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.CollectionHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.DeepCopyHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ElementValueHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
-import de.fraunhofer.iosb.ilt.faaast.service.util.EnvironmentHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceBuilder;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceHelper;
+import de.fraunhofer.iosb.ilt.faaast.service.util.ShallowCopyHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.StringHelper;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShell;
@@ -62,6 +67,7 @@ import org.eclipse.digitaltwin.aas4j.v3.model.ConceptDescription;
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
 import org.eclipse.digitaltwin.aas4j.v3.model.HasSemantics;
 import org.eclipse.digitaltwin.aas4j.v3.model.Identifiable;
+import org.eclipse.digitaltwin.aas4j.v3.model.KeyTypes;
 import org.eclipse.digitaltwin.aas4j.v3.model.OperationResult;
 import org.eclipse.digitaltwin.aas4j.v3.model.Referable;
 import org.eclipse.digitaltwin.aas4j.v3.model.Reference;
@@ -77,6 +83,12 @@ import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSpecificAssetId;
 /**
  * Implementation of {@link de.fraunhofer.iosb.ilt.faaast.service.persistence.Persistence} for in memory storage.
  *
+ * <p>The stored model is handled using copy-on-write semantics, i.e. stored elements are never modified in place.
+ * Instead, modifications replace the affected identifiable by a new version where only the elements along the path to
+ * the modified element are copied while all other elements are shared with the previous version. Therefore, reading
+ * does not require any locking and always sees a consistent state of each identifiable. As the AAS model classes are
+ * mutable and callers may modify returned objects, results are still returned as deep copies.
+ *
  * <p>Following types are not supported in the current version:
  * <ul>
  * <li>AASX packages
@@ -91,17 +103,37 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
     private static final String MSG_CRITERIA_NOT_NULL = "criteria must be non-null";
     private static final String MSG_PAGING_NOT_NULL = "paging must be non-null";
 
-    private Environment environment;
+    private final IdentifiableStore<AssetAdministrationShell> assetAdministrationShells;
+    private final IdentifiableStore<Submodel> submodels;
+    private final IdentifiableStore<ConceptDescription> conceptDescriptions;
+    private final Map<String, Set<String>> submodelReferences;
     private PersistenceInMemoryConfig config;
     private Map<OperationHandle, OperationResult> operationStates;
+    private final SubmodelElementIndex index;
 
     public PersistenceInMemory() {
         operationStates = new ConcurrentHashMap<>();
+        assetAdministrationShells = new IdentifiableStore<>();
+        submodels = new IdentifiableStore<>();
+        conceptDescriptions = new IdentifiableStore<>();
+        submodelReferences = new HashMap<>();
+        index = new SubmodelElementIndex(submodels::get);
     }
 
 
+    /**
+     * Gets the current content of the persistence as environment. The returned environment is a view created from the
+     * id-based indexes of the persistence, i.e. adding or removing elements to/from its lists does not affect the
+     * persistence. The contained elements must not be modified.
+     *
+     * @return the current content of the persistence as environment
+     */
     public Environment getEnvironment() {
-        return environment;
+        return new DefaultEnvironment.Builder()
+                .assetAdministrationShells(new ArrayList<>(assetAdministrationShells.values()))
+                .submodels(new ArrayList<>(submodels.values()))
+                .conceptDescriptions(new ArrayList<>(conceptDescriptions.values()))
+                .build();
     }
 
 
@@ -128,73 +160,66 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
 
 
     @Override
-    public void deleteAssetAdministrationShell(String id) throws ResourceNotFoundException {
+    public synchronized void deleteAssetAdministrationShell(String id) throws ResourceNotFoundException {
         Ensure.requireNonNull(id, MSG_ID_NOT_NULL);
-        if (!environment.getAssetAdministrationShells().removeIf(x -> Objects.equals(x.getId(), id))) {
+        AssetAdministrationShell aas = assetAdministrationShells.remove(id);
+        if (Objects.isNull(aas)) {
             throw new ResourceNotFoundException(String.format(MSG_RESOURCE_NOT_FOUND_BY_ID, id));
         }
+        removeSubmodelReferences(aas);
     }
 
 
     @Override
-    public void deleteConceptDescription(String id) throws ResourceNotFoundException {
+    public synchronized void deleteConceptDescription(String id) throws ResourceNotFoundException {
         Ensure.requireNonNull(id, MSG_ID_NOT_NULL);
-        if (!environment.getConceptDescriptions().removeIf(x -> Objects.equals(x.getId(), id))) {
+        if (Objects.isNull(conceptDescriptions.remove(id))) {
             throw new ResourceNotFoundException(String.format(MSG_RESOURCE_NOT_FOUND_BY_ID, id));
         }
     }
 
 
     @Override
-    public void deleteSubmodel(String id) throws ResourceNotFoundException {
+    public synchronized void deleteSubmodel(String id) throws ResourceNotFoundException {
         Ensure.requireNonNull(id, MSG_ID_NOT_NULL);
-        if (!environment.getSubmodels().removeIf(x -> Objects.equals(x.getId(), id))) {
+        if (Objects.isNull(submodels.remove(id))) {
             throw new ResourceNotFoundException(String.format(MSG_RESOURCE_NOT_FOUND_BY_ID, id));
         }
+        index.invalidate(id);
         // TODO check if submodelRef inside AAS should really be deleted or this has to be done manually
         Reference submodelRef = ReferenceBuilder.forSubmodel(id);
-        environment.getAssetAdministrationShells().forEach(x -> x.getSubmodels().remove(submodelRef));
+        Set<String> referencingAasIds = submodelReferences.remove(id);
+        if (Objects.isNull(referencingAasIds)) {
+            return;
+        }
+        for (String aasId: referencingAasIds) {
+            AssetAdministrationShell aas = assetAdministrationShells.get(aasId);
+            if (Objects.nonNull(aas) && aas.getSubmodels().contains(submodelRef)) {
+                AssetAdministrationShell newAas = ShallowCopyHelper.shallowCopy(aas);
+                newAas.setSubmodels(new ArrayList<>(aas.getSubmodels()));
+                newAas.getSubmodels().remove(submodelRef);
+                assetAdministrationShells.put(newAas);
+            }
+        }
     }
 
 
     @Override
-    public void deleteSubmodelElement(SubmodelElementIdentifier identifier) throws ResourceNotFoundException {
+    public synchronized void deleteSubmodelElement(SubmodelElementIdentifier identifier) throws ResourceNotFoundException {
         Ensure.requireNonNull(identifier, "path must be non-null");
-        final Reference reference = identifier.toReference();
-        final SubmodelElement element = EnvironmentHelper.resolve(reference, environment, SubmodelElement.class);
-        Referable parent = EnvironmentHelper.resolve(ReferenceHelper.getParent(reference), environment);
+        final SubmodelElement element = index.resolve(identifier, SubmodelElement.class);
         final AtomicBoolean deleted = new AtomicBoolean(false);
-        AssetAdministrationShellElementWalker.builder()
-                .visitor(new DefaultAssetAdministrationShellElementVisitor() {
-                    @Override
-                    public void visit(SubmodelElementCollection submodelElementCollection) {
-                        deleted.compareAndSet(false, submodelElementCollection.getValue().remove(element));
-                    }
-
-
-                    @Override
-                    public void visit(SubmodelElementList submodelElementList) {
-                        deleted.compareAndSet(false, submodelElementList.getValue().remove(element));
-                    }
-
-
-                    @Override
-                    public void visit(Submodel submodel) {
-                        deleted.compareAndSet(false, submodel.getSubmodelElements().remove(element));
-                    }
-                })
-                .build()
-                .walk(parent);
+        modifyChildren(getParentIdentifier(identifier), children -> deleted.set(removeByIdentity(children, element)));
         if (!deleted.get()) {
-            throw new ResourceNotFoundException(reference);
+            throw new ResourceNotFoundException(identifier.toReference());
         }
     }
 
 
     @Override
-    public void deleteAll() throws PersistenceException {
+    public synchronized void deleteAll() throws PersistenceException {
         operationStates.clear();
-        environment = new DefaultEnvironment();
+        clearModel();
     }
 
 
@@ -204,14 +229,14 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
         Ensure.requireNonNull(modifier, MSG_MODIFIER_NOT_NULL);
         Ensure.requireNonNull(paging, MSG_PAGING_NOT_NULL);
 
-        Stream<AssetAdministrationShell> result = environment.getAssetAdministrationShells().stream();
+        Predicate<AssetAdministrationShell> filter = x -> true;
         if (criteria.isIdShortSet()) {
-            result = filterByIdShort(result, criteria.getIdShort());
+            filter = filter.and(hasIdShort(criteria.getIdShort()));
         }
         if (criteria.isAssetIdsSet()) {
-            result = filterByAssetIds(result, criteria.getAssetIds());
+            filter = filter.and(hasAssetIds(criteria.getAssetIds()));
         }
-        return preparePagedResult(result, modifier, paging);
+        return preparePagedResult(assetAdministrationShells, filter, modifier, paging);
     }
 
 
@@ -220,17 +245,17 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
         Ensure.requireNonNull(criteria, MSG_CRITERIA_NOT_NULL);
         Ensure.requireNonNull(modifier, MSG_MODIFIER_NOT_NULL);
         Ensure.requireNonNull(paging, MSG_PAGING_NOT_NULL);
-        Stream<ConceptDescription> result = environment.getConceptDescriptions().stream();
+        Predicate<ConceptDescription> filter = x -> true;
         if (criteria.isIdShortSet()) {
-            result = filterByIdShort(result, criteria.getIdShort());
+            filter = filter.and(hasIdShort(criteria.getIdShort()));
         }
         if (criteria.isIsCaseOfSet()) {
-            result = filterByIsCaseOf(result, criteria.getIsCaseOf());
+            filter = filter.and(isCaseOf(criteria.getIsCaseOf()));
         }
         if (criteria.isDataSpecificationSet()) {
-            result = filterByDataSpecification(result, criteria.getDataSpecification());
+            filter = filter.and(hasDataSpecification(criteria.getDataSpecification()));
         }
-        return preparePagedResult(result, modifier, paging);
+        return preparePagedResult(conceptDescriptions, filter, modifier, paging);
     }
 
 
@@ -239,38 +264,27 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
         Ensure.requireNonNull(criteria, MSG_CRITERIA_NOT_NULL);
         Ensure.requireNonNull(modifier, MSG_MODIFIER_NOT_NULL);
         Ensure.requireNonNull(paging, MSG_PAGING_NOT_NULL);
-        final Collection<SubmodelElement> elements = new ArrayList<>();
-        if (criteria.isParentSet()) {
-            Referable parent = EnvironmentHelper.resolve(criteria.getParent().toReference(), environment);
-            if (Submodel.class.isAssignableFrom(parent.getClass())) {
-                elements.addAll(((Submodel) parent).getSubmodelElements());
-            }
-            else if (SubmodelElementCollection.class.isAssignableFrom(parent.getClass())) {
-                elements.addAll(((SubmodelElementCollection) parent).getValue());
-            }
-            else if (SubmodelElementList.class.isAssignableFrom(parent.getClass())) {
-                elements.addAll(((SubmodelElementList) parent).getValue());
-            }
-        }
-        else {
-            AssetAdministrationShellElementWalker.builder()
-                    .visitor(new DefaultAssetAdministrationShellElementVisitor() {
-                        @Override
-                        public void visit(SubmodelElement submodelElement) {
-                            elements.add(submodelElement);
-                        }
-                    })
-                    .build()
-                    .walk(environment);
-        }
-        Stream<SubmodelElement> result = elements.stream();
+        Predicate<SubmodelElement> filter = x -> true;
         if (criteria.isSemanticIdSet()) {
-            result = filterBySemanticId(result, criteria.getSemanticId());
+            filter = filter.and(hasSemanticId(criteria.getSemanticId()));
         }
         if (criteria.getValueOnly()) {
-            result = filterByHasValueOnlySerialization(result);
+            filter = filter.and(ElementValueHelper::isValueOnlySupported);
+        }
+        Page<SubmodelElement> result;
+        if (criteria.isParentSet()) {
+            result = PagingHelper.preparePagedResult(
+                    getChildren(index.resolve(criteria.getParent(), Referable.class)).stream()
+                            .filter(filter)
+                            .collect(Collectors.toList()),
+                    SubmodelElement::getIdShort,
+                    paging);
+        }
+        else {
+            result = preparePagedResultForAllSubmodelElements(filter, paging);
         }
-        return preparePagedResult(result, modifier, paging);
+        result.setContent(prepareResult(result.getContent(), modifier));
+        return result;
     }
 
 
@@ -279,22 +293,21 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
         Ensure.requireNonNull(criteria, MSG_CRITERIA_NOT_NULL);
         Ensure.requireNonNull(modifier, MSG_MODIFIER_NOT_NULL);
         Ensure.requireNonNull(paging, MSG_PAGING_NOT_NULL);
-        Stream<Submodel> result = environment.getSubmodels().stream();
+        Predicate<Submodel> filter = x -> true;
         if (criteria.isIdShortSet()) {
-            result = filterByIdShort(result, criteria.getIdShort());
+            filter = filter.and(hasIdShort(criteria.getIdShort()));
         }
         if (criteria.isSemanticIdSet()) {
-            result = filterBySemanticId(result, criteria.getSemanticId());
+            filter = filter.and(hasSemanticId(criteria.getSemanticId()));
         }
-        return preparePagedResult(result, modifier, paging);
+        return preparePagedResult(submodels, filter, modifier, paging);
     }
 
 
     @Override
     public AssetAdministrationShell getAssetAdministrationShell(String id, QueryModifier modifier) throws ResourceNotFoundException {
         return prepareResult(
-                filterById(environment.getAssetAdministrationShells().stream(), id)
-                        .findFirst()
+                Optional.ofNullable(assetAdministrationShells.get(id))
                         .orElseThrow(() -> new ResourceNotFoundException(String.format(MSG_RESOURCE_NOT_FOUND_BY_ID, id))),
                 modifier);
     }
@@ -303,8 +316,7 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
     @Override
     public ConceptDescription getConceptDescription(String id, QueryModifier modifier) throws ResourceNotFoundException {
         return prepareResult(
-                filterById(environment.getConceptDescriptions().stream(), id)
-                        .findFirst()
+                Optional.ofNullable(conceptDescriptions.get(id))
                         .orElseThrow(() -> new ResourceNotFoundException(String.format(MSG_RESOURCE_NOT_FOUND_BY_ID, id))),
                 modifier);
     }
@@ -322,8 +334,7 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
     @Override
     public Submodel getSubmodel(String id, QueryModifier modifier) throws ResourceNotFoundException {
         return prepareResult(
-                filterById(environment.getSubmodels().stream(), id)
-                        .findFirst()
+                Optional.ofNullable(submodels.get(id))
                         .orElseThrow(() -> new ResourceNotFoundException(String.format(MSG_RESOURCE_NOT_FOUND_BY_ID, id))),
                 modifier);
     }
@@ -331,27 +342,42 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
 
     @Override
     public SubmodelElement getSubmodelElement(SubmodelElementIdentifier identifier, QueryModifier modifier) throws ResourceNotFoundException {
+        Ensure.requireNonNull(identifier, "identifier must be non-null");
         return prepareResult(
-                EnvironmentHelper.resolve(identifier.toReference(), environment, SubmodelElement.class),
+                index.resolve(identifier, SubmodelElement.class),
                 modifier);
     }
 
 
     @Override
     public Page<Reference> getSubmodelRefs(String aasId, PagingInfo paging) throws ResourceNotFoundException {
-        return preparePagedResult(
-                getAssetAdministrationShell(aasId, QueryModifier.MINIMAL).getSubmodels().stream(),
+        AssetAdministrationShell aas = Optional.ofNullable(assetAdministrationShells.get(aasId))
+                .orElseThrow(() -> new ResourceNotFoundException(String.format(MSG_RESOURCE_NOT_FOUND_BY_ID, aasId)));
+        Page<Reference> result = PagingHelper.preparePagedResult(
+                Optional.ofNullable(aas.getSubmodels()).orElse(List.of()),
+                ReferenceHelper::toString,
                 paging);
+        result.setContent(result.getContent().stream()
+                .map(ReferenceHelper::clone)
+                .collect(Collectors.toList()));
+        return result;
     }
 
 
     @Override
-    public void init(CoreConfig coreConfig, PersistenceInMemoryConfig config, ServiceContext context) throws ConfigurationInitializationException {
+    public synchronized void init(CoreConfig coreConfig, PersistenceInMemoryConfig config, ServiceContext context) throws ConfigurationInitializationException {
         Ensure.requireNonNull(config, "config must be non-null");
         Ensure.requireNonNull(context, "context must be non-null");
         this.config = config;
         try {
-            this.environment = config.loadInitialModel();
+            Environment environment = config.loadInitialModel();
+            clearModel();
+            if (Objects.nonNull(environment)) {
+                environment.getAssetAdministrationShells().forEach(assetAdministrationShells::putIfAbsent);
+                environment.getSubmodels().forEach(submodels::putIfAbsent);
+                environment.getConceptDescriptions().forEach(conceptDescriptions::putIfAbsent);
+                assetAdministrationShells.values().forEach(this::addSubmodelReferences);
+            }
         }
         catch (InvalidConfigurationException | DeserializationException e) {
             throw new ConfigurationInitializationException("error initializing in-memory persistence", e);
@@ -366,34 +392,17 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
 
 
     @Override
-    public void insert(SubmodelElementIdentifier parentIdentifier, SubmodelElement submodelElement) throws ResourceNotFoundException, ResourceNotAContainerElementException {
+    public synchronized void insert(SubmodelElementIdentifier parentIdentifier, SubmodelElement submodelElement)
+            throws ResourceNotFoundException, ResourceNotAContainerElementException {
         Ensure.requireNonNull(parentIdentifier, "parent must be non-null");
         Ensure.requireNonNull(submodelElement, "submodelElement must be non-null");
-        Referable parent = EnvironmentHelper.resolve(parentIdentifier.toReference(), environment);
-
-        Collection<SubmodelElement> container;
-        boolean acceptEmptyIdShort = false;
-        if (Submodel.class.isAssignableFrom(parent.getClass())) {
-            container = ((Submodel) parent).getSubmodelElements();
-        }
-        else if (SubmodelElementCollection.class.isAssignableFrom(parent.getClass())) {
-            container = ((SubmodelElementCollection) parent).getValue();
-        }
-        else if (SubmodelElementList.class.isAssignableFrom(parent.getClass())) {
-            container = ((SubmodelElementList) parent).getValue();
-            acceptEmptyIdShort = true;
-        }
-        else {
-            throw new IllegalArgumentException(String.format("illegal type for identifiable: %s. Must be one of: %s, %s, %s",
-                    parent.getClass(),
-                    Submodel.class,
-                    SubmodelElementCollection.class,
-                    SubmodelElementList.class));
-        }
+        Referable parent = index.resolve(parentIdentifier, Referable.class);
+        ensureContainerElement(parent);
+        boolean acceptEmptyIdShort = SubmodelElementList.class.isAssignableFrom(parent.getClass());
         if (!acceptEmptyIdShort && StringHelper.isBlank(submodelElement.getIdShort())) {
             throw new IllegalArgumentException("idShort most be non-empty");
         }
-        CollectionHelper.put(container,
+        modifyChildren(parentIdentifier, container -> CollectionHelper.put(container,
                 container.stream()
                         .filter(StringHelper.isBlank(submodelElement.getIdShort())
                                 ? x -> false
@@ -401,101 +410,218 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
                                         && x.getIdShort().equalsIgnoreCase(submodelElement.getIdShort()))
                         .findFirst()
                         .orElse(null),
-                submodelElement);
+                submodelElement));
     }
 
 
     @Override
-    public void update(SubmodelElementIdentifier identifier, SubmodelElement submodelElement) throws ResourceNotFoundException {
+    public synchronized void update(SubmodelElementIdentifier identifier, SubmodelElement submodelElement) throws ResourceNotFoundException {
         Ensure.requireNonNull(identifier, "identifier must be non-null");
         Ensure.requireNonNull(submodelElement, "submodelElement must be non-null");
-        SubmodelElement oldElement = getSubmodelElement(identifier, QueryModifier.DEFAULT);
-        Referable parent = EnvironmentHelper.resolve(ReferenceHelper.getParent(identifier.toReference()), environment);
+        SubmodelElement oldElement = index.resolve(identifier, SubmodelElement.class);
+        modifyChildren(getParentIdentifier(identifier), container -> {
+            int position = indexOfIdentity(container, oldElement);
+            if (position >= 0) {
+                container.set(position, submodelElement);
+            }
+            else {
+                container.add(submodelElement);
+            }
+        });
+    }
 
-        if (SubmodelElementList.class.isAssignableFrom(parent.getClass())) {
-            int index = Integer.parseInt(identifier.getIdShortPath().getElements().get(identifier.getIdShortPath().getElements().size() - 1).substring(1, 2));
-            ((SubmodelElementList) parent).getValue().set(index, submodelElement);
-            return;
+
+    @Override
+    public synchronized void save(AssetAdministrationShell assetAdministrationShell) {
+        Ensure.requireNonNull(assetAdministrationShell, "assetAdministrationShell must be non-null");
+        AssetAdministrationShell oldAas = assetAdministrationShells.put(assetAdministrationShell);
+        if (Objects.nonNull(oldAas)) {
+            removeSubmodelReferences(oldAas);
         }
+        addSubmodelReferences(assetAdministrationShell);
+    }
+
+
+    @Override
+    public synchronized void save(ConceptDescription conceptDescription) {
+        Ensure.requireNonNull(conceptDescription, "conceptDescription must be non-null");
+        conceptDescriptions.put(conceptDescription);
+    }
+
 
-        Collection<SubmodelElement> container;
-        if (Submodel.class.isAssignableFrom(parent.getClass())) {
-            container = ((Submodel) parent).getSubmodelElements();
+    @Override
+    public synchronized void save(Submodel submodel) {
+        Ensure.requireNonNull(submodel, "submodel must be non-null");
+        Submodel oldSubmodel = submodels.put(submodel);
+        if (Objects.nonNull(oldSubmodel)) {
+            index.invalidate(oldSubmodel.getId());
         }
-        else if (SubmodelElementCollection.class.isAssignableFrom(parent.getClass())) {
-            container = ((SubmodelElementCollection) parent).getValue();
+        index.invalidate(submodel.getId());
+    }
+
+
+    @Override
+    public void save(OperationHandle handle, OperationResult result) {
+        operationStates.put(handle, result);
+    }
+
+
+    private void clearModel() {
+        assetAdministrationShells.clear();
+        submodels.clear();
+        conceptDescriptions.clear();
+        submodelReferences.clear();
+        index.clear();
+    }
+
+
+    private void addSubmodelReferences(AssetAdministrationShell aas) {
+        if (Objects.isNull(aas.getSubmodels())) {
+            return;
         }
-        else {
+        aas.getSubmodels().stream()
+                .filter(x -> !ReferenceHelper.isNullOrEmpty(x))
+                .map(x -> ReferenceHelper.findFirstKeyType(x, KeyTypes.SUBMODEL))
+                .filter(Objects::nonNull)
+                .forEach(x -> submodelReferences.computeIfAbsent(x, y -> new HashSet<>()).add(aas.getId()));
+    }
+
+
+    private void removeSubmodelReferences(AssetAdministrationShell aas) {
+        if (Objects.isNull(aas.getSubmodels())) {
+            return;
+        }
+        aas.getSubmodels().stream()
+                .filter(x -> !ReferenceHelper.isNullOrEmpty(x))
+                .map(x -> ReferenceHelper.findFirstKeyType(x, KeyTypes.SUBMODEL))
+                .filter(Objects::nonNull)
+                .forEach(x -> submodelReferences.computeIfPresent(x, (k, v) -> v.remove(aas.getId()) && v.isEmpty() ? null : v));
+    }
+
+
+    /**
+     * Modifies the children of a container element using copy-on-write. The container element and all its ancestors
+     * up to the submodel are replaced by shallow copies, all other elements are shared with the previous version of
+     * the submodel.
+     *
+     * @param containerIdentifier the identifier of the container element
+     * @param modification the modification to apply to a copy of the list of children
+     * @throws ResourceNotFoundException if the container element does not exist
+     * @throws IllegalArgumentException if the identified element is not a container element
+     */
+    private void modifyChildren(SubmodelElementIdentifier containerIdentifier, Consumer<List<SubmodelElement>> modification) throws ResourceNotFoundException {
+        List<Referable> path = index.resolvePath(containerIdentifier);
+        Referable oldElement = path.get(path.size() - 1);
+        ensureContainerElement(oldElement);
+        List<SubmodelElement> children = new ArrayList<>(getChildren(oldElement));
+        modification.accept(children);
+        Referable newElement = ShallowCopyHelper.shallowCopy(oldElement);
+        setChildren(newElement, children);
+        for (int i = path.size() - 2; i >= 0; i--) {
+            Referable oldParent = path.get(i);
+            Referable newParent = ShallowCopyHelper.shallowCopy(oldParent);
+            List<SubmodelElement> siblings = new ArrayList<>(getChildren(oldParent));
+            siblings.set(indexOfIdentity(siblings, oldElement), (SubmodelElement) newElement);
+            setChildren(newParent, siblings);
+            oldElement = oldParent;
+            newElement = newParent;
+        }
+        Submodel newSubmodel = (Submodel) newElement;
+        submodels.put(newSubmodel);
+        index.update(newSubmodel, containerIdentifier.getIdShortPath());
+    }
+
+
+    private static void ensureContainerElement(Referable element) {
+        if (!Submodel.class.isAssignableFrom(element.getClass())
+                && !SubmodelElementCollection.class.isAssignableFrom(element.getClass())
+                && !SubmodelElementList.class.isAssignableFrom(element.getClass())) {
             throw new IllegalArgumentException(String.format("illegal type for identifiable: %s. Must be one of: %s, %s, %s",
-                    parent.getClass(),
+                    element.getClass(),
                     Submodel.class,
                     SubmodelElementCollection.class,
                     SubmodelElementList.class));
         }
-        CollectionHelper.put(container,
-                container.stream()
-                        .filter(x -> Objects.equals(x, oldElement))
-                        .findFirst()
-                        .orElse(null),
-                submodelElement);
     }
 
 
-    @Override
-    public void save(AssetAdministrationShell assetAdministrationShell) {
-        saveOrUpdateById(environment.getAssetAdministrationShells(), assetAdministrationShell);
+    private static List<SubmodelElement> getChildren(Referable element) {
+        List<SubmodelElement> result = null;
+        if (Submodel.class.isAssignableFrom(element.getClass())) {
+            result = ((Submodel) element).getSubmodelElements();
+        }
+        else if (SubmodelElementCollection.class.isAssignableFrom(element.getClass())) {
+            result = ((SubmodelElementCollection) element).getValue();
+        }
+        else if (SubmodelElementList.class.isAssignableFrom(element.getClass())) {
+            result = ((SubmodelElementList) element).getValue();
+        }
+        return Objects.nonNull(result) ? result : List.of();
     }
 
 
-    @Override
-    public void save(ConceptDescription conceptDescription) {
-        saveOrUpdateById(environment.getConceptDescriptions(), conceptDescription);
+    private static void setChildren(Referable element, List<SubmodelElement> children) {
+        if (Submodel.class.isAssignableFrom(element.getClass())) {
+            ((Submodel) element).setSubmodelElements(children);
+        }
+        else if (SubmodelElementCollection.class.isAssignableFrom(element.getClass())) {
+            ((SubmodelElementCollection) element).setValue(children);
+        }
+        else if (SubmodelElementList.class.isAssignableFrom(element.getClass())) {
+            ((SubmodelElementList) element).setValue(children);
+        }
     }
 
 
-    @Override
-    public void save(Submodel submodel) {
-        saveOrUpdateById(environment.getSubmodels(), submodel);
+    private static int indexOfIdentity(List<SubmodelElement> list, Referable element) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == element) {
+                return i;
+            }
+        }
+        return -1;
     }
 
 
-    @Override
-    public void save(OperationHandle handle, OperationResult result) {
-        operationStates.put(handle, result);
+    private static boolean removeByIdentity(List<SubmodelElement> list, Referable element) {
+        int position = indexOfIdentity(list, element);
+        if (position < 0) {
+            return false;
+        }
+        list.remove(position);
+        return true;
     }
 
 
-    private static <T> Stream<T> filterByHasValueOnlySerialization(Stream<T> stream) {
-        return stream.filter(ElementValueHelper::isValueOnlySupported);
+    private static SubmodelElementIdentifier getParentIdentifier(SubmodelElementIdentifier identifier) {
+        return SubmodelElementIdentifier.builder()
+                .submodelId(identifier.getSubmodelId())
+                .idShortPath(identifier.getIdShortPath().getParent())
+                .build();
     }
 
 
-    private static <T extends HasSemantics> Stream<T> filterBySemanticId(Stream<T> stream, Reference semanticId) {
+    private static <T extends HasSemantics> Predicate<T> hasSemanticId(Reference semanticId) {
         if (Objects.isNull(semanticId)) {
-            return stream;
+            return x -> true;
         }
-        return stream.filter(x -> ReferenceHelper.equals(x.getSemanticId(), semanticId)
+        return x -> ReferenceHelper.equals(x.getSemanticId(), semanticId)
                 || Optional.ofNullable(x.getSupplementalSemanticIds())
                         .orElse(List.of()).stream()
-                        .anyMatch(y -> ReferenceHelper.equals(y, semanticId)));
-    }
-
-
-    private static <T extends Referable> Stream<T> filterByIdShort(Stream<T> stream, String idShort) {
-        return stream.filter(x -> Objects.equals(x.getIdShort(), idShort));
+                        .anyMatch(y -> ReferenceHelper.equals(y, semanticId));
     }
 
 
-    private static <T extends Identifiable> Stream<T> filterById(Stream<T> stream, String id) {
-        return stream.filter(x -> Objects.equals(x.getId(), id));
+    private static <T extends Referable> Predicate<T> hasIdShort(String idShort) {
+        return x -> Objects.equals(x.getIdShort(), idShort);
     }
 
 
-    private static Stream<AssetAdministrationShell> filterByAssetIds(Stream<AssetAdministrationShell> stream, List<AssetIdentification> assetIds) {
+    private static Predicate<AssetAdministrationShell> hasAssetIds(List<AssetIdentification> assetIds) {
+        Predicate<AssetAdministrationShell> result = x -> true;
         if (Objects.isNull(assetIds)) {
-            return stream;
+            return result;
         }
-        Stream<AssetAdministrationShell> result = stream;
         List<String> globalAssetIdentificators = assetIds.stream()
                 .filter(x -> GlobalAssetIdentification.class.isAssignableFrom(x.getClass()))
                 .map(GlobalAssetIdentification.class::cast)
@@ -510,30 +636,30 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
                 .collect(Collectors.toList());
 
         if (!globalAssetIdentificators.isEmpty()) {
-            result = result.filter(x -> globalAssetIdentificators.contains(x.getAssetInformation().getGlobalAssetId()));
+            result = result.and(x -> globalAssetIdentificators.contains(x.getAssetInformation().getGlobalAssetId()));
         }
         if (!specificAssetIdentificators.isEmpty()) {
-            result = result.filter(x -> specificAssetIdentificators.stream().anyMatch(y -> x.getAssetInformation().getSpecificAssetIds().contains(y)));
+            result = result.and(x -> specificAssetIdentificators.stream().anyMatch(y -> x.getAssetInformation().getSpecificAssetIds().contains(y)));
         }
         return result;
     }
 
 
-    private static Stream<ConceptDescription> filterByIsCaseOf(Stream<ConceptDescription> stream, Reference isCaseOf) {
+    private static Predicate<ConceptDescription> isCaseOf(Reference isCaseOf) {
         if (Objects.isNull(isCaseOf)) {
-            return stream;
+            return x -> true;
         }
-        return stream.filter(x -> x.getIsCaseOf().stream().anyMatch(y -> ReferenceHelper.equals(y, isCaseOf)));
+        return x -> x.getIsCaseOf().stream().anyMatch(y -> ReferenceHelper.equals(y, isCaseOf));
     }
 
 
-    private static Stream<ConceptDescription> filterByDataSpecification(Stream<ConceptDescription> stream, Reference dataSpecification) {
+    private static Predicate<ConceptDescription> hasDataSpecification(Reference dataSpecification) {
         if (Objects.isNull(dataSpecification)) {
-            return stream;
+            return x -> true;
         }
-        return stream.filter(x -> Objects.nonNull(x.getEmbeddedDataSpecifications())
+        return x -> Objects.nonNull(x.getEmbeddedDataSpecifications())
                 && x.getEmbeddedDataSpecifications().stream()
-                        .anyMatch(y -> ReferenceHelper.equals(y.getDataSpecification(), dataSpecification)));
+                        .anyMatch(y -> ReferenceHelper.equals(y.getDataSpecification(), dataSpecification));
     }
 
 
@@ -544,72 +670,107 @@ public class PersistenceInMemory implements Persistence<PersistenceInMemoryConfi
     }
 
 
-    private static long readCursor(String cursor) {
-        return Long.parseLong(cursor);
-    }
-
-
-    private static String writeCursor(long index) {
-        return Long.toString(index);
-    }
-
-
-    private static String nextCursor(PagingInfo paging, int resultCount) {
-        return nextCursor(paging, paging.hasLimit() && resultCount > paging.getLimit());
+    private static <T extends Referable> List<T> prepareResult(List<T> result, QueryModifier modifier) {
+        return QueryModifierHelper.applyQueryModifier(
+                result.stream()
+                        .map(DeepCopyHelper::deepCopy)
+                        .collect(Collectors.toList()),
+                modifier);
     }
 
 
-    private static String nextCursor(PagingInfo paging, boolean hasMoreData) {
-        if (!hasMoreData) {
-            return null;
-        }
-        if (!paging.hasLimit()) {
-            throw new IllegalStateException("unable to generate next cursor for paging - there should not be more data available if previous request did not have a limit set");
+    /**
+     * Creates a page of identifiables using keyset-based paging. The cursor contains the sequence number of the first
+     * element of the next page within the store so that resuming does not depend on the number of previous elements and
+     * is not affected by concurrent modifications.
+     *
+     * @param <T> type of the identifiables
+     * @param store the store containing the identifiables
+     * @param filter the filter to apply
+     * @param modifier the query modifier to apply
+     * @param paging the paging information
+     * @return the page
+     */
+    private static <T extends Identifiable> Page<T> preparePagedResult(IdentifiableStore<T> store, Predicate<T> filter, QueryModifier modifier, PagingInfo paging) {
+        long fromSequence = Objects.nonNull(paging.getCursor())
+                ? PagingHelper.readNumericCursor(paging.getCursor())
+                : 0;
+        Stream<Map.Entry<Long, T>> stream = store.entries(fromSequence).filter(x -> filter.test(x.getValue()));
+        if (paging.hasLimit()) {
+            stream = stream.limit(paging.getLimit() + 1);
         }
-        if (Objects.isNull(paging.getCursor())) {
-            return writeCursor(paging.getLimit());
+        List<Map.Entry<Long, T>> temp = stream.collect(Collectors.toList());
+        String nextCursor = null;
+        if (paging.hasLimit() && temp.size() > paging.getLimit()) {
+            nextCursor = PagingHelper.writeCursor(temp.get((int) paging.getLimit()).getKey());
+            temp = temp.subList(0, (int) paging.getLimit());
         }
-        return writeCursor(readCursor(paging.getCursor()) + paging.getLimit());
+        return Page.<T> builder()
+                .result(prepareResult(
+                        temp.stream()
+                                .map(Map.Entry::getValue)
+                                .collect(Collectors.toList()),
+                        modifier))
+                .metadata(PagingMetadata.builder()
+                        .cursor(nextCursor)
+                        .build())
+                .build();
     }
 
 
-    private static <T> Page<T> preparePagedResult(Stream<T> input, PagingInfo paging) {
-        Stream<T> result = input;
+    /**
+     * Creates a page of submodel elements across all submodels using keyset-based paging. Submodels are iterated in
+     * insertion order, the elements of each submodel are ordered by their idShort path. The cursor contains the sequence
+     * number of the submodel and the idShort path of the first element of the next page, i.e. resuming seeks to that
+     * path within a single submodel and is neither affected by elements being added or removed before the cursor nor by
+     * elements with a different position but the same path.
+     *
+     * @param filter the filter to apply
+     * @param paging the paging information
+     * @return the page
+     */
+    private Page<SubmodelElement> preparePagedResultForAllSubmodelElements(Predicate<SubmodelElement> filter, PagingInfo paging) {
+        long fromSequence = 0;
+        String fromPath = null;
         if (Objects.nonNull(paging.getCursor())) {
-            result = result.skip(readCursor(paging.getCursor()));
-        }
-        if (paging.hasLimit()) {
-            result = result.limit(paging.getLimit() + 1);
+            List<String> cursor = PagingHelper.readCursor(paging.getCursor(), 2);
+            try {
+                fromSequence = Long.parseLong(cursor.get(0));
+            }
+            catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("invalid cursor (cursor: %s)", paging.getCursor()), e);
+            }
+            fromPath = cursor.get(1);
+        }
+        long limit = paging.hasLimit() ? paging.getLimit() : Long.MAX_VALUE;
+        List<SubmodelElement> result = new ArrayList<>();
+        String nextCursor = null;
+        Iterator<Map.Entry<Long, Submodel>> iterator = submodels.entries(fromSequence).iterator();
+        while (iterator.hasNext() && Objects.isNull(nextCursor)) {
+            Map.Entry<Long, Submodel> entry = iterator.next();
+            IdShortPath seekPath = entry.getKey() == fromSequence && Objects.nonNull(fromPath)
+                    ? IdShortPath.parse(fromPath)
+                    : IdShortPath.EMPTY;
+            Iterator<Map.Entry<String, SubmodelElement>> elements = index.iterate(entry.getValue().getId(), seekPath);
+            while (elements.hasNext()) {
+                Map.Entry<String, SubmodelElement> element = elements.next();
+                if (!filter.test(element.getValue())) {
+                    continue;
+                }
+                if (result.size() == limit) {
+                    nextCursor = PagingHelper.writeCursor(entry.getKey(), element.getKey());
+                    break;
+                }
+                result.add(element.getValue());
+            }
         }
-        List<T> temp = result.collect(Collectors.toList());
-        return Page.<T> builder()
-                .result(temp.stream()
-                        .limit(paging.hasLimit() ? paging.getLimit() : temp.size())
-                        .collect(Collectors.toList()))
+        return Page.<SubmodelElement> builder()
+                .result(result)
                 .metadata(PagingMetadata.builder()
-                        .cursor(nextCursor(paging, temp.size()))
+                        .cursor(nextCursor)
                         .build())
                 .build();
     }
 
 
-    private static <T extends Referable> Page<T> preparePagedResult(Stream<T> input, QueryModifier modifier, PagingInfo paging) {
-        Page<T> result = preparePagedResult(input, paging);
-        result.setContent(QueryModifierHelper.applyQueryModifier(
-                result.getContent().stream()
-                        .map(DeepCopyHelper::deepCopy)
-                        .collect(Collectors.toList()),
-                modifier));
-        return result;
-    }
-
-
-    private static <T extends Identifiable> void saveOrUpdateById(Collection<T> container, T element) {
-        CollectionHelper.put(container,
-                container.stream()
-                        .filter(x -> Objects.nonNull(x.getId()) && x.getId().equalsIgnoreCase(element.getId()))
-                        .findFirst()
-                        .orElse(null),
-                element);
-    }
 }
@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.memory;
+
+import de.fraunhofer.iosb.ilt.faaast.service.model.IdShortPath;
+import de.fraunhofer.iosb.ilt.faaast.service.model.SubmodelElementIdentifier;
+import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ResourceNotFoundException;
+import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceHelper;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.digitaltwin.aas4j.v3.model.AnnotatedRelationshipElement;
+import org.eclipse.digitaltwin.aas4j.v3.model.Entity;
+import org.eclipse.digitaltwin.aas4j.v3.model.Operation;
+import org.eclipse.digitaltwin.aas4j.v3.model.OperationVariable;
+import org.eclipse.digitaltwin.aas4j.v3.model.Referable;
+import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElement;
+import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElementCollection;
+import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElementList;
+
+
+/**
+ * Index to resolve {@link SubmodelElementIdentifier} in O(path depth). The index consists of one trie per submodel
+ * where each node represents an element and its children are keyed by idShort or, for elements of a
+ * {@link SubmodelElementList}, by index in the form {@code [i]}, i.e. the same format as used by
+ * {@link de.fraunhofer.iosb.ilt.faaast.service.model.IdShortPath#getElements()}.
+ *
+ * <p>Besides resolving, the index allows to iterate all elements of a submodel in depth-first pre-order with children
+ * sorted by idShort, respectively by index for elements of a {@link SubmodelElementList}. Iteration can be resumed at
+ * any idShort path in O(path depth * log(children)), see {@link #iterate(String, IdShortPath)}. For this purpose, the
+ * trie also contains the statements of {@link Entity}, the annotations of {@link AnnotatedRelationshipElement} and
+ * the values of the variables of {@link Operation}. These elements are only visited when iterating but not resolved.
+ *
+ * <p>Tries are built lazily on first access. The index assumes copy-on-write semantics, i.e. elements are never
+ * modified in place but replaced by modified copies. Whenever a submodel is replaced, the trie is rebuilt on next
+ * access unless {@link #update(Submodel, IdShortPath)} is called to incrementally update the trie along the modified
+ * path, keeping the already indexed subtrees of all unmodified elements.
+ */
+public class SubmodelElementIndex {
+
+    private static final Comparator<String> SEGMENT_ORDER = SubmodelElementIndex::compareSegments;
+    private final Function<String, Submodel> submodelProvider;
+    private final Map<String, Node> submodels;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param submodelProvider function to lookup a submodel by its id, returns null if no such submodel exists
+     */
+    public SubmodelElementIndex(Function<String, Submodel> submodelProvider) {
+        Ensure.requireNonNull(submodelProvider, "submodelProvider must be non-null");
+        this.submodelProvider = submodelProvider;
+        this.submodels = new ConcurrentHashMap<>();
+    }
+
+
+    /**
+     * Resolves a submodel element identifier. If the idShortPath of the identifier is empty, the submodel itself is
+     * returned.
+     *
+     * @param <T> expected return type
+     * @param identifier the identifier to resolve
+     * @param type expected return type
+     * @return the resolved element
+     * @throws ResourceNotFoundException if identifier cannot be resolved
+     * @throws IllegalArgumentException if resolved element does not match the expected type
+     */
+    public <T extends Referable> T resolve(SubmodelElementIdentifier identifier, Class<T> type) throws ResourceNotFoundException {
+        Ensure.requireNonNull(identifier, "identifier must be non-null");
+        Ensure.requireNonNull(type, "type must be non-null");
+        Node node = find(identifier);
+        if (Objects.isNull(node)) {
+            throw new ResourceNotFoundException(identifier.toReference());
+        }
+        if (!type.isAssignableFrom(node.referable.getClass())) {
+            throw new IllegalArgumentException(String.format(
+                    "unable to resolve reference as actual type does not match expected type (reference: %s, actual type: %s, expected type: %s)",
+                    ReferenceHelper.toString(identifier.toReference()),
+                    node.referable.getClass(),
+                    type));
+        }
+        return type.cast(node.referable);
+    }
+
+
+    /**
+     * Resolves all elements along the path of a submodel element identifier, starting with the submodel.
+     *
+     * @param identifier the identifier to resolve
+     * @return the elements along the path, i.e. the submodel followed by one element per segment of the idShortPath
+     * @throws ResourceNotFoundException if identifier cannot be resolved
+     */
+    public List<Referable> resolvePath(SubmodelElementIdentifier identifier) throws ResourceNotFoundException {
+        Ensure.requireNonNull(identifier, "identifier must be non-null");
+        Node current = getRoot(identifier.getSubmodelId());
+        List<Referable> result = new ArrayList<>();
+        if (Objects.nonNull(current)) {
+            result.add(current.referable);
+            for (String segment: identifier.getIdShortPath().getElements()) {
+                current = current.getChild(segment);
+                if (Objects.isNull(current)) {
+                    break;
+                }
+                result.add(current.referable);
+            }
+        }
+        if (Objects.isNull(current)) {
+            throw new ResourceNotFoundException(identifier.toReference());
+        }
+        return result;
+    }
+
+
+    /**
+     * Iterates all elements of a submodel together with their idShort path in depth-first pre-order, i.e. each element is
+     * followed by its descendants before its next sibling. Children are ordered by idShort, elements of a
+     * {@link SubmodelElementList} by index. The iteration starts at the given path or, if no element with this path
+     * exists (anymore), at the element that would follow it. Only the elements actually visited are touched, i.e.
+     * resuming an iteration does not require to re-visit the preceding elements.
+     *
+     * <p>The iteration is based on the version of the submodel present when calling this method, i.e. it is not affected
+     * by concurrent modifications.
+     *
+     * @param submodelId the id of the submodel
+     * @param from the idShort path to start from (inclusive), empty to start at the first element
+     * @return an iterator over all elements starting at the given path, empty if the submodel does not exist
+     */
+    public Iterator<Map.Entry<String, SubmodelElement>> iterate(String submodelId, IdShortPath from) {
+        Ensure.requireNonNull(from, "from must be non-null");
+        Node root = getRoot(submodelId);
+        return Objects.nonNull(root)
+                ? new ElementIterator(root, from.getElements())
+                : Collections.emptyIterator();
+    }
+
+
+    /**
+     * Updates the index after a submodel has been replaced by a copy in which only the elements along a given path
+     * have been replaced, e.g. because an element has been added to, updated in or removed from the container element
+     * identified by the path. All nodes along the path are rebuilt while nodes of unmodified elements are reused.
+     *
+     * @param submodel the new submodel
+     * @param path the path to the container element whose children have changed
+     */
+    public void update(Submodel submodel, IdShortPath path) {
+        Ensure.requireNonNull(submodel, "submodel must be non-null");
+        Ensure.requireNonNull(path, "path must be non-null");
+        Node root = submodels.get(submodel.getId());
+        if (Objects.isNull(root)) {
+            return;
+        }
+        submodels.put(submodel.getId(), root.rebuild(submodel, path.getElements()));
+    }
+
+
+    /**
+     * Removes all index information about a submodel, e.g. because it has been replaced or deleted.
+     *
+     * @param submodelId the id of the submodel
+     */
+    public void invalidate(String submodelId) {
+        if (Objects.nonNull(submodelId)) {
+            submodels.remove(submodelId);
+        }
+    }
+
+
+    /**
+     * Removes all index information.
+     */
+    public void clear() {
+        submodels.clear();
+    }
+
+
+    private Node find(SubmodelElementIdentifier identifier) {
+        Node root = getRoot(identifier.getSubmodelId());
+        return Objects.nonNull(root)
+                ? root.find(identifier.getIdShortPath().getElements())
+                : null;
+    }
+
+
+    private Node getRoot(String submodelId) {
+        if (Objects.isNull(submodelId)) {
+            return null;
+        }
+        Submodel submodel = submodelProvider.apply(submodelId);
+        if (Objects.isNull(submodel)) {
+            submodels.remove(submodelId);
+            return null;
+        }
+        Node result = submodels.get(submodelId);
+        if (Objects.nonNull(result) && result.referable == submodel) {
+            return result;
+        }
+        // submodel has been replaced since the trie has been built
+        result = new Node(submodel);
+        submodels.put(submodelId, result);
+        return result;
+    }
+
+    /**
+     * Compares path segments. Indices of elements of a {@link SubmodelElementList} are compared numerically, all other
+     * segments lexicographically.
+     *
+     * @param segment1 the first segment
+     * @param segment2 the second segment
+     * @return the comparison result
+     */
+    private static int compareSegments(String segment1, String segment2) {
+        if (isIndex(segment1) && isIndex(segment2)) {
+            return Long.compare(
+                    Long.parseLong(segment1.substring(1, segment1.length() - 1)),
+                    Long.parseLong(segment2.substring(1, segment2.length() - 1)));
+        }
+        return segment1.compareTo(segment2);
+    }
+
+
+    private static boolean isIndex(String segment) {
+        return segment.length() > 2
+                && segment.charAt(0) == '['
+                && segment.charAt(segment.length() - 1) == ']'
+                && segment.substring(1, segment.length() - 1).chars().allMatch(Character::isDigit);
+    }
+
+
+    private static String appendSegment(String path, String segment) {
+        if (path.isEmpty() || isIndex(segment)) {
+            return path + segment;
+        }
+        return path + "." + segment;
+    }
+
+    private static class Node {
+
+        private final Referable referable;
+        private volatile NavigableMap<String, Node> children;
+
+        private Node(Referable referable) {
+            this.referable = referable;
+        }
+
+
+        private Node find(List<String> path) {
+            Node current = this;
+            for (String segment: path) {
+                current = current.getChild(segment);
+                if (Objects.isNull(current)) {
+                    return null;
+                }
+            }
+            return current;
+        }
+
+
+        /**
+         * Gets a child that can be resolved by idShort path, i.e. a child of a {@link Submodel},
+         * {@link SubmodelElementCollection} or {@link SubmodelElementList}.
+         *
+         * @param segment the path segment identifying the child
+         * @return the child or null if there is no such child
+         */
+        private Node getChild(String segment) {
+            return isContainer()
+                    ? getChildren().get(segment)
+                    : null;
+        }
+
+
+        private boolean isContainer() {
+            return Submodel.class.isAssignableFrom(referable.getClass())
+                    || SubmodelElementCollection.class.isAssignableFrom(referable.getClass())
+                    || SubmodelElementList.class.isAssignableFrom(referable.getClass());
+        }
+
+
+        private NavigableMap<String, Node> getChildren() {
+            NavigableMap<String, Node> result = children;
+            if (Objects.isNull(result)) {
+                result = Collections.unmodifiableNavigableMap(buildChildren(new IdentityHashMap<>()));
+                children = result;
+            }
+            return result;
+        }
+
+
+        /**
+         * Creates a new node for the replacement of this node's element reusing the nodes of all unmodified children.
+         * The child identified by the first path segment is rebuilt recursively.
+         *
+         * @param replacement the element replacing the element of this node
+         * @param path the path to the container element whose children have changed
+         * @return the new node
+         */
+        private Node rebuild(Referable replacement, List<String> path) {
+            Node result = new Node(replacement);
+            NavigableMap<String, Node> current = children;
+            if (Objects.isNull(current)) {
+                return result;
+            }
+            Map<Referable, Node> existing = new IdentityHashMap<>();
+            current.values().forEach(x -> existing.put(x.referable, x));
+            NavigableMap<String, Node> newChildren = result.buildChildren(existing);
+            if (!path.isEmpty()) {
+                Node oldChild = current.get(path.get(0));
+                Node newChild = newChildren.get(path.get(0));
+                if (Objects.nonNull(oldChild) && Objects.nonNull(newChild) && oldChild != newChild) {
+                    newChildren.put(path.get(0), oldChild.rebuild(newChild.referable, path.subList(1, path.size())));
+                }
+            }
+            result.children = Collections.unmodifiableNavigableMap(newChildren);
+            return result;
+        }
+
+
+        private NavigableMap<String, Node> buildChildren(Map<Referable, Node> existing) {
+            if (SubmodelElementList.class.isAssignableFrom(referable.getClass())) {
+                List<SubmodelElement> elements = ((SubmodelElementList) referable).getValue();
+                NavigableMap<String, Node> result = new TreeMap<>(SEGMENT_ORDER);
+                if (Objects.isNull(elements)) {
+                    return result;
+                }
+                for (int i = 0; i < elements.size(); i++) {
+                    if (Objects.nonNull(elements.get(i))) {
+                        result.put("[" + i + "]", getOrCreate(existing, elements.get(i)));
+                    }
+                }
+                return result;
+            }
+            List<? extends SubmodelElement> elements = null;
+            if (Submodel.class.isAssignableFrom(referable.getClass())) {
+                elements = ((Submodel) referable).getSubmodelElements();
+            }
+            else if (SubmodelElementCollection.class.isAssignableFrom(referable.getClass())) {
+                elements = ((SubmodelElementCollection) referable).getValue();
+            }
+            else if (Entity.class.isAssignableFrom(referable.getClass())) {
+                elements = ((Entity) referable).getStatements();
+            }
+            else if (AnnotatedRelationshipElement.class.isAssignableFrom(referable.getClass())) {
+                elements = ((AnnotatedRelationshipElement) referable).getAnnotations();
+            }
+            else if (Operation.class.isAssignableFrom(referable.getClass())) {
+                Operation operation = (Operation) referable;
+                elements = Stream.of(operation.getInputVariables(), operation.getInoutputVariables(), operation.getOutputVariables())
+                        .filter(Objects::nonNull)
+                        .flatMap(List::stream)
+                        .filter(Objects::nonNull)
+                        .map(OperationVariable::getValue)
+                        .collect(Collectors.toList());
+            }
+            NavigableMap<String, Node> result = new TreeMap<>(SEGMENT_ORDER);
+            if (Objects.isNull(elements)) {
+                return result;
+            }
+            for (SubmodelElement element: elements) {
+                if (Objects.nonNull(element) && Objects.nonNull(element.getIdShort())) {
+                    result.putIfAbsent(element.getIdShort(), getOrCreate(existing, element));
+                }
+            }
+            return result;
+        }
+
+
+        private static Node getOrCreate(Map<Referable, Node> existing, SubmodelElement element) {
+            Node result = existing.get(element);
+            return Objects.nonNull(result) ? result : new Node(element);
+        }
+    }
+
+    private static class ElementIterator implements Iterator<Map.Entry<String, SubmodelElement>> {
+
+        private final Deque<Frame> stack;
+        private Map.Entry<String, SubmodelElement> next;
+
+        private ElementIterator(Node root, List<String> from) {
+            stack = new ArrayDeque<>();
+            seek(root, from);
+        }
+
+
+        /**
+         * Prepares the stack so that iteration starts at the given path. For each segment, the following siblings are
+         * pushed to the stack. If an element along the path exists, only its descendants follow the path as the element
+         * itself precedes the path in pre-order.
+         *
+         * @param root the root node
+         * @param from the path to start from
+         */
+        private void seek(Node root, List<String> from) {
+            Node current = root;
+            String path = "";
+            for (int i = 0; i < from.size(); i++) {
+                String segment = from.get(i);
+                NavigableMap<String, Node> children = current.getChildren();
+                Node child = children.get(segment);
+                if (Objects.isNull(child) || i == from.size() - 1) {
+                    stack.push(new Frame(path, children.tailMap(segment, true).entrySet().iterator()));
+                    return;
+                }
+                stack.push(new Frame(path, children.tailMap(segment, false).entrySet().iterator()));
+                path = appendSegment(path, segment);
+                current = child;
+            }
+            stack.push(new Frame(path, current.getChildren().entrySet().iterator()));
+        }
+
+
+        @Override
+        public boolean hasNext() {
+            while (Objects.isNull(next) && !stack.isEmpty()) {
+                Frame frame = stack.peek();
+                if (!frame.children.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                Map.Entry<String, Node> child = frame.children.next();
+                String path = appendSegment(frame.path, child.getKey());
+                next = Map.entry(path, (SubmodelElement) child.getValue().referable);
+                stack.push(new Frame(path, child.getValue().getChildren().entrySet().iterator()));
+            }
+            return Objects.nonNull(next);
+        }
+
+
+        @Override
+        public Map.Entry<String, SubmodelElement> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, SubmodelElement> result = next;
+            next = null;
+            return result;
+        }
+    }
+
+    private static class Frame {
+
+        private final String path;
+        private final Iterator<Map.Entry<String, Node>> children;
+
+        private Frame(String path, Iterator<Map.Entry<String, Node>> children) {
+            this.path = path;
+            this.children = children;
+        }
+    }
+}
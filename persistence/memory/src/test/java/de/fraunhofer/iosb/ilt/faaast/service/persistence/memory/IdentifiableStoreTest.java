@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.memory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodel;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class IdentifiableStoreTest {
+
+    @Test
+    public void testGet() {
+        IdentifiableStore<Submodel> store = new IdentifiableStore<>();
+        Submodel submodel = submodel("1", "foo");
+        Assert.assertNull(store.put(submodel));
+        Assert.assertSame(submodel, store.get("1"));
+        Assert.assertNull(store.get("2"));
+        Assert.assertNull(store.get(null));
+    }
+
+
+    @Test
+    public void testPutReplacesAndKeepsPosition() {
+        IdentifiableStore<Submodel> store = new IdentifiableStore<>();
+        Submodel submodel1 = submodel("1", "foo");
+        Submodel submodel2 = submodel("2", "foo");
+        Submodel submodel3 = submodel("3", "foo");
+        store.put(submodel1);
+        store.put(submodel2);
+        store.put(submodel3);
+        Submodel replacement = submodel("2", "bar");
+        Assert.assertSame(submodel2, store.put(replacement));
+        Assert.assertSame(replacement, store.get("2"));
+        assertSameElements(List.of(submodel1, replacement, submodel3), store.values());
+    }
+
+
+    @Test
+    public void testPutReplacesIdDifferingInCase() {
+        IdentifiableStore<Submodel> store = new IdentifiableStore<>();
+        Submodel submodel1 = submodel("http://example.org/1", "foo");
+        Submodel submodel2 = submodel("http://example.org/2", "foo");
+        store.put(submodel1);
+        store.put(submodel2);
+        Submodel replacement = submodel("HTTP://EXAMPLE.ORG/1", "bar");
+        Assert.assertSame(submodel1, store.put(replacement));
+        Assert.assertSame(replacement, store.get("HTTP://EXAMPLE.ORG/1"));
+        Assert.assertFalse(store.putIfAbsent(submodel("http://example.org/2".toUpperCase(), "bar")));
+        assertSameElements(List.of(replacement, submodel2), store.values());
+    }
+
+
+    @Test
+    public void testGetAndRemoveMatchIdExactly() {
+        IdentifiableStore<Submodel> store = new IdentifiableStore<>();
+        Submodel submodel = submodel("http://example.org/1", "foo");
+        store.put(submodel);
+        Assert.assertNull(store.get("HTTP://EXAMPLE.ORG/1"));
+        Assert.assertNull(store.remove("HTTP://EXAMPLE.ORG/1"));
+        Assert.assertSame(submodel, store.get("http://example.org/1"));
+        Assert.assertSame(submodel, store.remove("http://example.org/1"));
+        Assert.assertTrue(store.values().isEmpty());
+    }
+
+
+    @Test
+    public void testPutIfAbsent() {
+        IdentifiableStore<Submodel> store = new IdentifiableStore<>();
+        Submodel submodel = submodel("1", "foo");
+        Assert.assertTrue(store.putIfAbsent(submodel));
+        Assert.assertFalse(store.putIfAbsent(submodel("1", "bar")));
+        Assert.assertFalse(store.putIfAbsent(null));
+        Assert.assertFalse(store.putIfAbsent(submodel(null, "bar")));
+        Assert.assertSame(submodel, store.get("1"));
+        Assert.assertEquals(1, store.values().size());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPutWithoutId() {
+        new IdentifiableStore<Submodel>().put(submodel(null, "foo"));
+    }
+
+
+    @Test
+    public void testRemove() {
+        IdentifiableStore<Submodel> store = new IdentifiableStore<>();
+        Submodel submodel1 = submodel("1", "foo");
+        Submodel submodel2 = submodel("2", "foo");
+        store.put(submodel1);
+        store.put(submodel2);
+        Assert.assertSame(submodel1, store.remove("1"));
+        Assert.assertNull(store.remove("1"));
+        Assert.assertNull(store.remove(null));
+        Assert.assertNull(store.get("1"));
+        assertSameElements(List.of(submodel2), store.values());
+        // re-adding a removed element appends it
+        store.put(submodel1);
+        assertSameElements(List.of(submodel2, submodel1), store.values());
+    }
+
+
+    @Test
+    public void testEntries() {
+        IdentifiableStore<Submodel> store = new IdentifiableStore<>();
+        List<Submodel> submodels = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Submodel submodel = submodel(Integer.toString(i), "foo");
+            submodels.add(submodel);
+            store.put(submodel);
+        }
+        List<Map.Entry<Long, Submodel>> all = store.entries(0).collect(Collectors.toList());
+        assertSameElements(submodels, all.stream().map(Map.Entry::getValue).collect(Collectors.toList()));
+        long sequence = all.get(2).getKey();
+        assertSameElements(
+                submodels.subList(2, 5),
+                store.entries(sequence).map(Map.Entry::getValue).collect(Collectors.toList()));
+        assertSameElements(
+                submodels.subList(3, 5),
+                store.entries(sequence + 1).map(Map.Entry::getValue).collect(Collectors.toList()));
+    }
+
+
+    @Test
+    public void testIterationIsWeaklyConsistent() {
+        IdentifiableStore<Submodel> store = new IdentifiableStore<>();
+        store.put(submodel("1", "foo"));
+        store.put(submodel("2", "foo"));
+        Iterator<Submodel> iterator = store.values().iterator();
+        Assert.assertEquals("1", iterator.next().getId());
+        store.remove("1");
+        store.put(submodel("3", "foo"));
+        Assert.assertEquals("2", iterator.next().getId());
+        Assert.assertEquals("3", iterator.next().getId());
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+
+    @Test
+    public void testClear() {
+        IdentifiableStore<Submodel> store = new IdentifiableStore<>();
+        store.put(submodel("1", "foo"));
+        store.clear();
+        Assert.assertNull(store.get("1"));
+        Assert.assertTrue(store.values().isEmpty());
+    }
+
+
+    private static Submodel submodel(String id, String idShort) {
+        return new DefaultSubmodel.Builder()
+                .id(id)
+                .idShort(idShort)
+                .build();
+    }
+
+
+    private static void assertSameElements(List<Submodel> expected, Iterable<Submodel> actual) {
+        List<Submodel> actualList = new ArrayList<>();
+        actual.forEach(actualList::add);
+        Assert.assertEquals(expected.size(), actualList.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertSame(expected.get(i), actualList.get(i));
+        }
+    }
+}
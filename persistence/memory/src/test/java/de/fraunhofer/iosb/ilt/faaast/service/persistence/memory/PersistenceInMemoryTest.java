@@ -14,13 +14,49 @@
  */
 package de.fraunhofer.iosb.ilt.faaast.service.persistence.memory;
 
+import de.fraunhofer.iosb.ilt.faaast.service.ServiceContext;
+import de.fraunhofer.iosb.ilt.faaast.service.config.CoreConfig;
+import de.fraunhofer.iosb.ilt.faaast.service.model.IdShortPath;
+import de.fraunhofer.iosb.ilt.faaast.service.model.SubmodelElementIdentifier;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.modifier.QueryModifier;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.Page;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.paging.PagingInfo;
+import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ResourceNotFoundException;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.AbstractPersistenceTest;
+import de.fraunhofer.iosb.ilt.faaast.service.persistence.SubmodelElementSearchCriteria;
+import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceBuilder;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShell;
+import org.eclipse.digitaltwin.aas4j.v3.model.DataTypeDefXsd;
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
+import org.eclipse.digitaltwin.aas4j.v3.model.Property;
+import org.eclipse.digitaltwin.aas4j.v3.model.Referable;
+import org.eclipse.digitaltwin.aas4j.v3.model.Reference;
+import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElement;
+import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElementCollection;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultAssetAdministrationShell;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultEnvironment;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultProperty;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodelElementCollection;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
 
 
 public class PersistenceInMemoryTest extends AbstractPersistenceTest<PersistenceInMemory, PersistenceInMemoryConfig> {
 
+    private static final String SUBMODEL_ID = "http://example.org/submodel";
+    private static final String SUBMODEL_ID_2 = "http://example.org/submodel2";
+    private static final String AAS_ID_1 = "http://example.org/aas1";
+    private static final String AAS_ID_2 = "http://example.org/aas2";
+    private static final String AAS_ID_3 = "http://example.org/aas3";
+
     @Override
     public PersistenceInMemoryConfig getPersistenceConfig(File initialModelFile, Environment initialModel) {
         return PersistenceInMemoryConfig.builder()
@@ -29,4 +65,296 @@ public class PersistenceInMemoryTest extends AbstractPersistenceTest<Persistence
                 .build();
     }
 
+
+    @Test
+    public void testUpdateKeepsPreviousVersion() throws Exception {
+        PersistenceInMemory persistence = startPersistence(createCopyOnWriteEnvironment());
+        try {
+            Submodel before = getStoredSubmodel(persistence);
+            persistence.update(identifier("container.nested.b"), property("b", "new"));
+            Submodel after = getStoredSubmodel(persistence);
+            Assert.assertEquals("old", ((Property) getChild(before, "container", "nested", "b")).getValue());
+            Assert.assertEquals("new", ((Property) getChild(after, "container", "nested", "b")).getValue());
+            // elements along the path are copied
+            Assert.assertNotSame(before, after);
+            Assert.assertNotSame(getChild(before, "container"), getChild(after, "container"));
+            Assert.assertNotSame(getChild(before, "container", "nested"), getChild(after, "container", "nested"));
+            // elements off the path are shared
+            Assert.assertSame(getChild(before, "sibling"), getChild(after, "sibling"));
+            Assert.assertSame(getChild(before, "container", "a"), getChild(after, "container", "a"));
+        }
+        finally {
+            persistence.stop();
+        }
+    }
+
+
+    @Test
+    public void testInsertKeepsPreviousVersion() throws Exception {
+        PersistenceInMemory persistence = startPersistence(createCopyOnWriteEnvironment());
+        try {
+            Submodel before = getStoredSubmodel(persistence);
+            persistence.insert(identifier("container"), property("c", "foo"));
+            Submodel after = getStoredSubmodel(persistence);
+            Assert.assertEquals(2, ((SubmodelElementCollection) getChild(before, "container")).getValue().size());
+            Assert.assertEquals(3, ((SubmodelElementCollection) getChild(after, "container")).getValue().size());
+            Assert.assertNotNull(getChild(after, "container", "c"));
+            Assert.assertNotSame(getChild(before, "container"), getChild(after, "container"));
+            Assert.assertSame(getChild(before, "sibling"), getChild(after, "sibling"));
+            Assert.assertSame(getChild(before, "container", "a"), getChild(after, "container", "a"));
+            Assert.assertSame(getChild(before, "container", "nested"), getChild(after, "container", "nested"));
+        }
+        finally {
+            persistence.stop();
+        }
+    }
+
+
+    @Test
+    public void testDeleteKeepsPreviousVersion() throws Exception {
+        PersistenceInMemory persistence = startPersistence(createCopyOnWriteEnvironment());
+        try {
+            Submodel before = getStoredSubmodel(persistence);
+            persistence.deleteSubmodelElement(identifier("container.a"));
+            Submodel after = getStoredSubmodel(persistence);
+            Assert.assertNotNull(getChild(before, "container", "a"));
+            Assert.assertNull(getChild(after, "container", "a"));
+            Assert.assertSame(getChild(before, "sibling"), getChild(after, "sibling"));
+            Assert.assertSame(getChild(before, "container", "nested"), getChild(after, "container", "nested"));
+        }
+        finally {
+            persistence.stop();
+        }
+    }
+
+
+    @Test
+    public void testPagingAllSubmodelElementsWithConcurrentModification() throws Exception {
+        PersistenceInMemory persistence = startPersistence(createCopyOnWriteEnvironment());
+        try {
+            Page<SubmodelElement> page = persistence.findSubmodelElements(SubmodelElementSearchCriteria.NONE, QueryModifier.DEFAULT, PagingInfo.of(null, 2));
+            List<String> actual = new ArrayList<>();
+            page.getContent().forEach(x -> actual.add(x.getIdShort()));
+            // modify elements before the cursor
+            persistence.deleteSubmodelElement(identifier("container.a"));
+            persistence.insert(identifier("container"), property("0", "foo"));
+            while (Objects.nonNull(page.getMetadata().getCursor())) {
+                page = persistence.findSubmodelElements(
+                        SubmodelElementSearchCriteria.NONE,
+                        QueryModifier.DEFAULT,
+                        PagingInfo.of(page.getMetadata().getCursor(), 2));
+                page.getContent().forEach(x -> actual.add(x.getIdShort()));
+            }
+            Assert.assertEquals(List.of("container", "a", "nested", "b", "sibling"), actual);
+        }
+        finally {
+            persistence.stop();
+        }
+    }
+
+
+    @Test
+    public void testSaveReplacesById() throws Exception {
+        PersistenceInMemory persistence = startPersistence(createSubmodelReferencesEnvironment());
+        try {
+            AssetAdministrationShell replacement = new DefaultAssetAdministrationShell.Builder()
+                    .id(AAS_ID_2)
+                    .idShort("replacement")
+                    .build();
+            persistence.save(replacement);
+            List<AssetAdministrationShell> actual = persistence.getEnvironment().getAssetAdministrationShells();
+            Assert.assertEquals(
+                    List.of(AAS_ID_1, AAS_ID_2, AAS_ID_3),
+                    actual.stream().map(AssetAdministrationShell::getId).collect(Collectors.toList()));
+            Assert.assertEquals("replacement", actual.get(1).getIdShort());
+            Assert.assertEquals("replacement", persistence.getAssetAdministrationShell(AAS_ID_2, QueryModifier.DEFAULT).getIdShort());
+        }
+        finally {
+            persistence.stop();
+        }
+    }
+
+
+    @Test
+    public void testSaveReplacesIdDifferingInCase() throws Exception {
+        PersistenceInMemory persistence = startPersistence(createSubmodelReferencesEnvironment());
+        try {
+            String id = AAS_ID_2.toUpperCase();
+            persistence.save(new DefaultAssetAdministrationShell.Builder()
+                    .id(id)
+                    .idShort("replacement")
+                    .build());
+            Assert.assertEquals(
+                    List.of(AAS_ID_1, id, AAS_ID_3),
+                    persistence.getEnvironment().getAssetAdministrationShells().stream()
+                            .map(AssetAdministrationShell::getId)
+                            .collect(Collectors.toList()));
+            Assert.assertEquals("replacement", persistence.getAssetAdministrationShell(id, QueryModifier.DEFAULT).getIdShort());
+            Assert.assertThrows(ResourceNotFoundException.class, () -> persistence.getAssetAdministrationShell(AAS_ID_2, QueryModifier.DEFAULT));
+            persistence.deleteSubmodel(SUBMODEL_ID_2);
+            Assert.assertEquals(List.of(), getSubmodelReferences(persistence, AAS_ID_3));
+        }
+        finally {
+            persistence.stop();
+        }
+    }
+
+
+    @Test
+    public void testDeleteSubmodelRemovesReferenceFromReferencingShellsOnly() throws Exception {
+        PersistenceInMemory persistence = startPersistence(createSubmodelReferencesEnvironment());
+        try {
+            persistence.deleteSubmodel(SUBMODEL_ID);
+            Assert.assertEquals(List.of(), getSubmodelReferences(persistence, AAS_ID_1));
+            Assert.assertEquals(List.of(ReferenceBuilder.forSubmodel(SUBMODEL_ID_2)), getSubmodelReferences(persistence, AAS_ID_2));
+            Assert.assertEquals(List.of(ReferenceBuilder.forSubmodel(SUBMODEL_ID_2)), getSubmodelReferences(persistence, AAS_ID_3));
+            Assert.assertThrows(ResourceNotFoundException.class, () -> persistence.getSubmodel(SUBMODEL_ID, QueryModifier.DEFAULT));
+        }
+        finally {
+            persistence.stop();
+        }
+    }
+
+
+    @Test
+    public void testSaveShellUpdatesSubmodelReferences() throws Exception {
+        PersistenceInMemory persistence = startPersistence(createSubmodelReferencesEnvironment());
+        try {
+            persistence.save(new DefaultAssetAdministrationShell.Builder()
+                    .id(AAS_ID_1)
+                    .submodels(ReferenceBuilder.forSubmodel(SUBMODEL_ID_2))
+                    .build());
+            persistence.deleteSubmodel(SUBMODEL_ID);
+            Assert.assertEquals(List.of(ReferenceBuilder.forSubmodel(SUBMODEL_ID_2)), getSubmodelReferences(persistence, AAS_ID_1));
+            persistence.deleteSubmodel(SUBMODEL_ID_2);
+            Assert.assertEquals(List.of(), getSubmodelReferences(persistence, AAS_ID_1));
+            Assert.assertEquals(List.of(), getSubmodelReferences(persistence, AAS_ID_2));
+        }
+        finally {
+            persistence.stop();
+        }
+    }
+
+
+    @Test
+    public void testDeleteShellRemovesItsSubmodelReferences() throws Exception {
+        PersistenceInMemory persistence = startPersistence(createSubmodelReferencesEnvironment());
+        try {
+            persistence.deleteAssetAdministrationShell(AAS_ID_2);
+            Assert.assertThrows(ResourceNotFoundException.class, () -> persistence.getAssetAdministrationShell(AAS_ID_2, QueryModifier.DEFAULT));
+            persistence.deleteSubmodel(SUBMODEL_ID);
+            Assert.assertEquals(List.of(), getSubmodelReferences(persistence, AAS_ID_1));
+            Assert.assertEquals(
+                    List.of(AAS_ID_1, AAS_ID_3),
+                    persistence.getEnvironment().getAssetAdministrationShells().stream()
+                            .map(AssetAdministrationShell::getId)
+                            .collect(Collectors.toList()));
+        }
+        finally {
+            persistence.stop();
+        }
+    }
+
+
+    private PersistenceInMemory startPersistence(Environment environment) throws Exception {
+        PersistenceInMemory result = getPersistenceConfig(null, environment).newInstance(CoreConfig.DEFAULT, Mockito.mock(ServiceContext.class));
+        result.start();
+        return result;
+    }
+
+
+    private static Submodel getStoredSubmodel(PersistenceInMemory persistence) {
+        return persistence.getEnvironment().getSubmodels().stream()
+                .filter(x -> SUBMODEL_ID.equals(x.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+
+    private static List<Reference> getSubmodelReferences(PersistenceInMemory persistence, String aasId) {
+        return persistence.getEnvironment().getAssetAdministrationShells().stream()
+                .filter(x -> aasId.equals(x.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getSubmodels();
+    }
+
+
+    private static SubmodelElement getChild(Referable parent, String... idShorts) {
+        Referable current = parent;
+        for (String idShort: idShorts) {
+            List<SubmodelElement> children = Submodel.class.isAssignableFrom(current.getClass())
+                    ? ((Submodel) current).getSubmodelElements()
+                    : ((SubmodelElementCollection) current).getValue();
+            current = children.stream()
+                    .filter(x -> idShort.equals(x.getIdShort()))
+                    .findFirst()
+                    .orElse(null);
+            if (current == null) {
+                return null;
+            }
+        }
+        return (SubmodelElement) current;
+    }
+
+
+    private static SubmodelElementIdentifier identifier(String idShortPath) {
+        return SubmodelElementIdentifier.builder()
+                .submodelId(SUBMODEL_ID)
+                .idShortPath(IdShortPath.parse(idShortPath))
+                .build();
+    }
+
+
+    private static Property property(String idShort, String value) {
+        return new DefaultProperty.Builder()
+                .idShort(idShort)
+                .valueType(DataTypeDefXsd.STRING)
+                .value(value)
+                .build();
+    }
+
+
+    private static Environment createCopyOnWriteEnvironment() {
+        return new DefaultEnvironment.Builder()
+                .submodels(new DefaultSubmodel.Builder()
+                        .id(SUBMODEL_ID)
+                        .idShort("submodel")
+                        .submodelElements(property("sibling", "foo"))
+                        .submodelElements(new DefaultSubmodelElementCollection.Builder()
+                                .idShort("container")
+                                .value(property("a", "foo"))
+                                .value(new DefaultSubmodelElementCollection.Builder()
+                                        .idShort("nested")
+                                        .value(property("b", "old"))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+    }
+
+
+    private static Environment createSubmodelReferencesEnvironment() {
+        return new DefaultEnvironment.Builder()
+                .assetAdministrationShells(new DefaultAssetAdministrationShell.Builder()
+                        .id(AAS_ID_1)
+                        .submodels(ReferenceBuilder.forSubmodel(SUBMODEL_ID))
+                        .build())
+                .assetAdministrationShells(new DefaultAssetAdministrationShell.Builder()
+                        .id(AAS_ID_2)
+                        .submodels(ReferenceBuilder.forSubmodel(SUBMODEL_ID))
+                        .submodels(ReferenceBuilder.forSubmodel(SUBMODEL_ID_2))
+                        .build())
+                .assetAdministrationShells(new DefaultAssetAdministrationShell.Builder()
+                        .id(AAS_ID_3)
+                        .submodels(ReferenceBuilder.forSubmodel(SUBMODEL_ID_2))
+                        .build())
+                .submodels(new DefaultSubmodel.Builder()
+                        .id(SUBMODEL_ID)
+                        .build())
+                .submodels(new DefaultSubmodel.Builder()
+                        .id(SUBMODEL_ID_2)
+                        .build())
+                .build();
+    }
 }
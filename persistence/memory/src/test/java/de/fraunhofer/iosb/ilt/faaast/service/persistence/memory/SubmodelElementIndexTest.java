@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.memory;
+
+import de.fraunhofer.iosb.ilt.faaast.service.model.IdShortPath;
+import de.fraunhofer.iosb.ilt.faaast.service.model.SubmodelElementIdentifier;
+import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ResourceNotFoundException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.eclipse.digitaltwin.aas4j.v3.model.DataTypeDefXsd;
+import org.eclipse.digitaltwin.aas4j.v3.model.Property;
+import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.SubmodelElement;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultEntity;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultProperty;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodel;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodelElementCollection;
+import org.eclipse.digitaltwin.aas4j.v3.model.impl.DefaultSubmodelElementList;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class SubmodelElementIndexTest {
+
+    private static final String SUBMODEL_ID = "http://example.org/submodel";
+    private static final int LIST_SIZE = 11;
+    private static final List<String> LIST_PATHS = IntStream.range(0, LIST_SIZE)
+            .mapToObj(x -> String.format("list[%d]", x))
+            .collect(Collectors.toList());
+    private static final List<String> ALL_PATHS = concat(
+            List.of("a", "a.x", "a.y", "entity", "entity.statement", "list"),
+            LIST_PATHS,
+            List.of("z"));
+
+    @Test
+    public void testIterateInPreOrder() {
+        SubmodelElementIndex index = new SubmodelElementIndex(x -> createSubmodel());
+        Assert.assertEquals(ALL_PATHS, getPaths(index.iterate(SUBMODEL_ID, IdShortPath.EMPTY)));
+    }
+
+
+    @Test
+    public void testIterateFromPath() {
+        SubmodelElementIndex index = new SubmodelElementIndex(x -> createSubmodel());
+        for (int i = 0; i < ALL_PATHS.size(); i++) {
+            Assert.assertEquals(
+                    ALL_PATHS.subList(i, ALL_PATHS.size()),
+                    getPaths(index.iterate(SUBMODEL_ID, IdShortPath.parse(ALL_PATHS.get(i)))));
+        }
+    }
+
+
+    @Test
+    public void testIterateFromRemovedPath() {
+        SubmodelElementIndex index = new SubmodelElementIndex(x -> createSubmodel());
+        Assert.assertEquals(
+                ALL_PATHS.subList(3, ALL_PATHS.size()),
+                getPaths(index.iterate(SUBMODEL_ID, IdShortPath.parse("b"))));
+        Assert.assertEquals(
+                ALL_PATHS.subList(2, ALL_PATHS.size()),
+                getPaths(index.iterate(SUBMODEL_ID, IdShortPath.parse("a.xx"))));
+        Assert.assertEquals(
+                List.of("z"),
+                getPaths(index.iterate(SUBMODEL_ID, IdShortPath.parse("list[11]"))));
+        Assert.assertEquals(List.of(), getPaths(index.iterate(SUBMODEL_ID, IdShortPath.parse("zz"))));
+    }
+
+
+    @Test
+    public void testIterateUnknownSubmodel() {
+        SubmodelElementIndex index = new SubmodelElementIndex(x -> null);
+        Assert.assertFalse(index.iterate(SUBMODEL_ID, IdShortPath.EMPTY).hasNext());
+    }
+
+
+    @Test
+    public void testIterationNotAffectedByModification() {
+        List<Submodel> current = new ArrayList<>(List.of(createSubmodel()));
+        SubmodelElementIndex index = new SubmodelElementIndex(x -> current.get(0));
+        Iterator<Map.Entry<String, SubmodelElement>> iterator = index.iterate(SUBMODEL_ID, IdShortPath.EMPTY);
+        Assert.assertEquals("a", iterator.next().getKey());
+        current.set(0, new DefaultSubmodel.Builder()
+                .id(SUBMODEL_ID)
+                .submodelElements(property("b"))
+                .build());
+        Assert.assertEquals(ALL_PATHS.subList(1, ALL_PATHS.size()), getPaths(iterator));
+        Assert.assertEquals(List.of("b"), getPaths(index.iterate(SUBMODEL_ID, IdShortPath.EMPTY)));
+    }
+
+
+    @Test
+    public void testEntityStatementsAreNotResolved() throws ResourceNotFoundException {
+        SubmodelElementIndex index = new SubmodelElementIndex(x -> createSubmodel());
+        Assert.assertEquals("entity", index.resolve(identifier("entity"), SubmodelElement.class).getIdShort());
+        Assert.assertEquals("10", index.resolve(identifier("list[10]"), Property.class).getValue());
+        Assert.assertThrows(ResourceNotFoundException.class, () -> index.resolve(identifier("entity.statement"), SubmodelElement.class));
+    }
+
+
+    @SafeVarargs
+    private static List<String> concat(List<String>... lists) {
+        List<String> result = new ArrayList<>();
+        for (List<String> list: lists) {
+            result.addAll(list);
+        }
+        return result;
+    }
+
+
+    private static List<String> getPaths(Iterator<Map.Entry<String, SubmodelElement>> iterator) {
+        List<String> result = new ArrayList<>();
+        iterator.forEachRemaining(x -> result.add(x.getKey()));
+        return result;
+    }
+
+
+    private static SubmodelElementIdentifier identifier(String idShortPath) {
+        return SubmodelElementIdentifier.builder()
+                .submodelId(SUBMODEL_ID)
+                .idShortPath(IdShortPath.parse(idShortPath))
+                .build();
+    }
+
+
+    private static Property property(String idShort) {
+        return new DefaultProperty.Builder()
+                .idShort(idShort)
+                .valueType(DataTypeDefXsd.STRING)
+                .build();
+    }
+
+
+    private static Submodel createSubmodel() {
+        // more than 10 list elements to verify that indices are compared numerically, i.e. [2] comes before [10]
+        return new DefaultSubmodel.Builder()
+                .id(SUBMODEL_ID)
+                .submodelElements(property("z"))
+                .submodelElements(new DefaultSubmodelElementList.Builder()
+                        .idShort("list")
+                        .value(IntStream.range(0, LIST_SIZE)
+                                .mapToObj(x -> (SubmodelElement) new DefaultProperty.Builder()
+                                        .valueType(DataTypeDefXsd.INT)
+                                        .value(Integer.toString(x))
+                                        .build())
+                                .collect(Collectors.toList()))
+                        .build())
+                .submodelElements(new DefaultEntity.Builder()
+                        .idShort("entity")
+                        .statements(property("statement"))
+                        .build())
+                .submodelElements(new DefaultSubmodelElementCollection.Builder()
+                        .idShort("a")
+                        .value(property("y"))
+                        .value(property("x"))
+                        .build())
+                .build();
+    }
+}
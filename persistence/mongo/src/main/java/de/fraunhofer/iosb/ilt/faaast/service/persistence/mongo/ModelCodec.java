@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.mongo;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.DeserializationException;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.SerializationException;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiDeserializer;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiSerializer;
+import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Base64;
+import org.bson.BSONException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.Decimal128;
+
+
+/**
+ * Codec converting AAS model types directly from and to BSON. The actual mapping is done by the Jackson-based
+ * {@link JsonApiSerializer} and {@link JsonApiDeserializer} so that the resulting documents are identical to the JSON
+ * serialization of the model. Instead of JSON text, Jackson tokens are buffered in a {@link TokenBuffer} and directly
+ * translated from and to BSON, i.e. no intermediate string representation is created.
+ *
+ * <p>Binary values are stored as base64-encoded strings the same way as in JSON. The MongoDB-generated {@code _id} of
+ * top-level documents is ignored when decoding.
+ *
+ * @param <T> the type to encode/decode
+ */
+public class ModelCodec<T> implements Codec<T> {
+
+    private static final String OBJECT_ID_KEY = "_id";
+
+    private final Class<T> type;
+    private final JsonApiSerializer serializer;
+    private final JsonApiDeserializer deserializer;
+
+    public ModelCodec(Class<T> type, JsonApiSerializer serializer, JsonApiDeserializer deserializer) {
+        Ensure.requireNonNull(type, "type must be non-null");
+        Ensure.requireNonNull(serializer, "serializer must be non-null");
+        Ensure.requireNonNull(deserializer, "deserializer must be non-null");
+        this.type = type;
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        TokenBuffer buffer = new TokenBuffer((ObjectCodec) null, false);
+        try {
+            serializer.write(buffer, value);
+            try (JsonParser parser = buffer.asParser()) {
+                copy(parser, writer);
+            }
+        }
+        catch (SerializationException | IOException e) {
+            throw new BSONException(String.format("error encoding BSON (type: %s)", type.getName()), e);
+        }
+    }
+
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        TokenBuffer buffer = new TokenBuffer((ObjectCodec) null, false);
+        try {
+            copyDocument(reader, buffer, true);
+            try (JsonParser parser = buffer.asParser()) {
+                return deserializer.read(parser, type);
+            }
+        }
+        catch (DeserializationException | IOException e) {
+            throw new BSONException(String.format("error decoding BSON (type: %s)", type.getName()), e);
+        }
+    }
+
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return type;
+    }
+
+
+    private static void copy(JsonParser parser, BsonWriter writer) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            switch (token) {
+                case START_OBJECT:
+                    writer.writeStartDocument();
+                    break;
+                case END_OBJECT:
+                    writer.writeEndDocument();
+                    break;
+                case START_ARRAY:
+                    writer.writeStartArray();
+                    break;
+                case END_ARRAY:
+                    writer.writeEndArray();
+                    break;
+                case FIELD_NAME:
+                    writer.writeName(parser.currentName());
+                    break;
+                case VALUE_STRING:
+                    writer.writeString(parser.getText());
+                    break;
+                case VALUE_NUMBER_INT:
+                    copyInteger(parser, writer);
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    copyDecimal(parser, writer);
+                    break;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    writer.writeBoolean(token == JsonToken.VALUE_TRUE);
+                    break;
+                case VALUE_NULL:
+                    writer.writeNull();
+                    break;
+                case VALUE_EMBEDDED_OBJECT:
+                    copyEmbedded(parser, writer);
+                    break;
+                default:
+                    throw new BSONException(String.format("unsupported JSON token (token: %s)", token));
+            }
+        }
+    }
+
+
+    private static void copyInteger(JsonParser parser, BsonWriter writer) throws IOException {
+        switch (parser.getNumberType()) {
+            case INT:
+                writer.writeInt32(parser.getIntValue());
+                break;
+            case LONG:
+                writer.writeInt64(parser.getLongValue());
+                break;
+            default:
+                writer.writeDecimal128(new Decimal128(new BigDecimal(parser.getBigIntegerValue())));
+        }
+    }
+
+
+    private static void copyDecimal(JsonParser parser, BsonWriter writer) throws IOException {
+        if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+            writer.writeDecimal128(new Decimal128(parser.getDecimalValue()));
+        }
+        else {
+            writer.writeDouble(parser.getDoubleValue());
+        }
+    }
+
+
+    private static void copyEmbedded(JsonParser parser, BsonWriter writer) throws IOException {
+        Object value = parser.getEmbeddedObject();
+        if (value == null) {
+            writer.writeNull();
+        }
+        else if (value instanceof byte[]) {
+            writer.writeString(Base64.getEncoder().encodeToString((byte[]) value));
+        }
+        else {
+            writer.writeString(value.toString());
+        }
+    }
+
+
+    private static void copyDocument(BsonReader reader, JsonGenerator generator, boolean root) throws IOException {
+        reader.readStartDocument();
+        generator.writeStartObject();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (root && OBJECT_ID_KEY.equals(name)) {
+                reader.skipValue();
+                continue;
+            }
+            generator.writeFieldName(name);
+            copyValue(reader, generator);
+        }
+        reader.readEndDocument();
+        generator.writeEndObject();
+    }
+
+
+    private static void copyArray(BsonReader reader, JsonGenerator generator) throws IOException {
+        reader.readStartArray();
+        generator.writeStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            copyValue(reader, generator);
+        }
+        reader.readEndArray();
+        generator.writeEndArray();
+    }
+
+
+    private static void copyValue(BsonReader reader, JsonGenerator generator) throws IOException {
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT:
+                copyDocument(reader, generator, false);
+                break;
+            case ARRAY:
+                copyArray(reader, generator);
+                break;
+            case STRING:
+                generator.writeString(reader.readString());
+                break;
+            case INT32:
+                generator.writeNumber(reader.readInt32());
+                break;
+            case INT64:
+                generator.writeNumber(reader.readInt64());
+                break;
+            case DOUBLE:
+                generator.writeNumber(reader.readDouble());
+                break;
+            case DECIMAL128:
+                generator.writeNumber(reader.readDecimal128().bigDecimalValue());
+                break;
+            case BOOLEAN:
+                generator.writeBoolean(reader.readBoolean());
+                break;
+            case DATE_TIME:
+                generator.writeNumber(reader.readDateTime());
+                break;
+            case OBJECT_ID:
+                generator.writeString(reader.readObjectId().toHexString());
+                break;
+            case BINARY:
+                generator.writeBinary(reader.readBinaryData().getData());
+                break;
+            case NULL:
+                reader.readNull();
+                generator.writeNull();
+                break;
+            default:
+                reader.skipValue();
+                generator.writeNull();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.mongo;
+
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiDeserializer;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiSerializer;
+import de.fraunhofer.iosb.ilt.faaast.service.model.api.operation.OperationHandle;
+import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+
+
+/**
+ * Provides {@link ModelCodec} instances for all AAS model types and {@link OperationHandle} so that these types can be
+ * used directly as documents, filter values and update values with the MongoDB driver.
+ */
+public class ModelCodecProvider implements CodecProvider {
+
+    private static final String MODEL_PACKAGE = "org.eclipse.digitaltwin.aas4j.v3.model";
+
+    private final JsonApiSerializer serializer;
+    private final JsonApiDeserializer deserializer;
+
+    public ModelCodecProvider(JsonApiSerializer serializer, JsonApiDeserializer deserializer) {
+        Ensure.requireNonNull(serializer, "serializer must be non-null");
+        Ensure.requireNonNull(deserializer, "deserializer must be non-null");
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+
+    @Override
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        if (isSupported(clazz)) {
+            return new ModelCodec<>(clazz, serializer, deserializer);
+        }
+        return null;
+    }
+
+
+    private static boolean isSupported(Class<?> clazz) {
+        return OperationHandle.class.isAssignableFrom(clazz)
+                || (!clazz.isEnum() && clazz.getPackageName().startsWith(MODEL_PACKAGE));
+    }
+}
@@ -24,11 +24,16 @@ import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
-import com.mongodb.client.MongoIterable;
 import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
 import com.mongodb.client.result.DeleteResult;
@@ -36,7 +41,6 @@ import com.mongodb.client.result.UpdateResult;
 import de.fraunhofer.iosb.ilt.faaast.service.ServiceContext;
 import de.fraunhofer.iosb.ilt.faaast.service.config.CoreConfig;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.DeserializationException;
-import de.fraunhofer.iosb.ilt.faaast.service.dataformat.SerializationException;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiDeserializer;
 import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiSerializer;
 import de.fraunhofer.iosb.ilt.faaast.service.exception.ConfigurationInitializationException;
@@ -53,33 +57,49 @@ import de.fraunhofer.iosb.ilt.faaast.service.model.exception.PersistenceExceptio
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ResourceAlreadyExistsException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ResourceNotAContainerElementException;
 import de.fraunhofer.iosb.ilt.faaast.service.model.exception.ResourceNotFoundException;
-import de.fraunhofer.iosb.ilt.faaast.service.model.exception.UnsupportedModifierException;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.AssetAdministrationShellSearchCriteria;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.ConceptDescriptionSearchCriteria;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.Persistence;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.SubmodelElementSearchCriteria;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.SubmodelSearchCriteria;
+import de.fraunhofer.iosb.ilt.faaast.service.persistence.util.PagingHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.util.PersistenceHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.persistence.util.QueryModifierHelper;
-import de.fraunhofer.iosb.ilt.faaast.service.util.DeepCopyHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.Ensure;
-import de.fraunhofer.iosb.ilt.faaast.service.util.LambdaExceptionHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceBuilder;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.StringHelper;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
+import org.bson.BSONException;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonReader;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
 import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShell;
 import org.eclipse.digitaltwin.aas4j.v3.model.ConceptDescription;
 import org.eclipse.digitaltwin.aas4j.v3.model.Entity;
@@ -108,11 +128,13 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
     private static final int RANDOM_VALUE_LENGTH = 100;
     private static final String SERIALIZATION_ERROR = "Serialization of document with id %s failed!";
     private static final String HANDLE = "handle";
+    private static final String RESULT = "result";
 
     private static final String MSG_RESOURCE_NOT_FOUND_BY_ID = "resource not found (id %s)";
     private static final String MSG_MODIFIER_NOT_NULL = "modifier must be non-null";
     private static final String MSG_CRITERIA_NOT_NULL = "criteria must be non-null";
     private static final String MSG_PAGING_NOT_NULL = "paging must be non-null";
+    private static final String MSG_INVALID_CURSOR = "invalid cursor (cursor: %s)";
     private static final Bson NO_FILTER = Filters.exists("_id");
 
     private static final String AAS_COLLECTION_NAME = "assetAdministrationShells";
@@ -121,9 +143,21 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
     private static final String OPERATION_COLLECTION_NAME = "operationResults";
 
     private static final String ID_KEY = "id";
+    private static final String OBJECT_ID_KEY = "_id";
     private static final String ID_SHORT_KEY = "idShort";
+    private static final String SEMANTIC_ID_KEY = "semanticId";
+    private static final String GLOBAL_ASSET_ID_KEY = "assetInformation.globalAssetId";
+    private static final String SPECIFIC_ASSET_ID_NAME_KEY = "assetInformation.specificAssetIds.name";
+    private static final String SPECIFIC_ASSET_ID_VALUE_KEY = "assetInformation.specificAssetIds.value";
     private static final String SUBMODEL_ELEMENTS_KEY = "submodelElements";
     private static final String VALUE_KEY = "value";
+    private static final String MODEL_TYPE_KEY = "modelType";
+    private static final String ELEMENTS_KEY = "elements";
+    private static final String ELEMENT_KEY = "element";
+    private static final String INDEX_KEY = "index";
+    private static final String KEYS_KEY = "keys";
+    private static final String REFERRED_SEMANTIC_ID_KEY = "referredSemanticId";
+    private static final List<String> CONTAINER_MODEL_TYPES = List.of("SubmodelElementCollection", "SubmodelElementList");
 
     private static final Pattern INDEX_REGEX = Pattern.compile("\\[\\d+\\]");
 
@@ -132,6 +166,7 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
 
     private PersistenceMongoConfig config;
     private MongoClient client;
+    private CodecRegistry codecRegistry;
     private final Random random = new Random();
 
     private MongoCollection<Document> aasCollection;
@@ -215,6 +250,7 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
         submodelCollection = resetCollection(SUBMODEL_COLLECTION_NAME);
         cdCollection = resetCollection(CD_COLLECTION_NAME);
         operationCollection = resetCollection(OPERATION_COLLECTION_NAME);
+        ensureIndexes();
     }
 
 
@@ -241,6 +277,62 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
     }
 
 
+    /**
+     * Creates the indexes required by the queries of this persistence unless disabled via
+     * {@link PersistenceMongoConfig#isCreateIndexes()}. Creating an index that already exists is a no-op in MongoDB so
+     * this is safe to call on every start.
+     *
+     * @throws PersistenceException if creating an index fails, e.g. because the existing data violates a unique
+     *             constraint, or if an index is not present after creation
+     */
+    private void ensureIndexes() throws PersistenceException {
+        if (!config.isCreateIndexes()) {
+            return;
+        }
+        ensureIndexes(aasCollection, List.of(
+                uniqueIndex(ID_KEY),
+                new IndexModel(Indexes.ascending(ID_SHORT_KEY)),
+                new IndexModel(Indexes.ascending(GLOBAL_ASSET_ID_KEY)),
+                new IndexModel(Indexes.ascending(SPECIFIC_ASSET_ID_NAME_KEY, SPECIFIC_ASSET_ID_VALUE_KEY))));
+        ensureIndexes(submodelCollection, List.of(
+                uniqueIndex(ID_KEY),
+                new IndexModel(Indexes.ascending(ID_SHORT_KEY)),
+                new IndexModel(Indexes.ascending(SEMANTIC_ID_KEY))));
+        ensureIndexes(cdCollection, List.of(
+                uniqueIndex(ID_KEY),
+                new IndexModel(Indexes.ascending(ID_SHORT_KEY))));
+        ensureIndexes(operationCollection, List.of(
+                uniqueIndex(HANDLE)));
+    }
+
+
+    private static void ensureIndexes(MongoCollection<Document> collection, List<IndexModel> indexes) throws PersistenceException {
+        String name = collection.getNamespace().getCollectionName();
+        List<String> expected;
+        try {
+            expected = collection.createIndexes(indexes);
+        }
+        catch (MongoException e) {
+            throw new PersistenceException(String.format("error creating indexes for MongoDB collection '%s' (reason: %s)", name, e.getMessage()), e);
+        }
+        Set<String> actual = collection.listIndexes()
+                .map(x -> x.getString("name"))
+                .into(new HashSet<>());
+        List<String> missing = expected.stream()
+                .filter(x -> !actual.contains(x))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new PersistenceException(String.format("missing indexes for MongoDB collection '%s' (indexes: %s)", name, String.join(", ", missing)));
+        }
+        LOGGER.debug("verified indexes for MongoDB collection '{}' (indexes: {})", name, actual);
+    }
+
+
+    private static IndexModel uniqueIndex(String key) {
+        return new IndexModel(Indexes.ascending(key), new IndexOptions().unique(true));
+    }
+
+
     @Override
     public Page<AssetAdministrationShell> findAssetAdministrationShells(AssetAdministrationShellSearchCriteria criteria, QueryModifier modifier, PagingInfo paging)
             throws PersistenceException {
@@ -292,16 +384,12 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
         Ensure.requireNonNull(criteria, MSG_CRITERIA_NOT_NULL);
         Ensure.requireNonNull(modifier, MSG_MODIFIER_NOT_NULL);
         Ensure.requireNonNull(paging, MSG_PAGING_NOT_NULL);
-        final Collection<SubmodelElement> elements = new ArrayList<>();
-        if (criteria.isParentSet()) {
-            Referable parent = fetch(criteria.getParent(), Referable.class);
-            PersistenceHelper.addSubmodelElementsFromParentToCollection(parent, elements);
-        }
-        Stream<SubmodelElement> result = elements.stream();
-        if (criteria.isSemanticIdSet()) {
-            result = PersistenceHelper.filterBySemanticId(result, criteria.getSemanticId());
-        }
-        return preparePagedResult(result, modifier, paging);
+        Reference semanticId = criteria.isSemanticIdSet() ? criteria.getSemanticId() : null;
+        Page<SubmodelElement> result = criteria.isParentSet()
+                ? findChildren(criteria.getParent(), semanticId, paging)
+                : findAllSubmodelElements(semanticId, paging);
+        result.setContent(QueryModifierHelper.applyQueryModifier(result.getContent(), modifier));
+        return result;
     }
 
 
@@ -339,27 +427,28 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
 
     @Override
     public Page<Reference> getSubmodelRefs(String aasId, PagingInfo paging) throws ResourceNotFoundException, PersistenceException {
-        return preparePagedResult(
-                getAssetAdministrationShell(aasId, QueryModifier.MINIMAL)
-                        .getSubmodels()
-                        .stream(),
+        return PagingHelper.preparePagedResult(
+                Optional.ofNullable(getAssetAdministrationShell(aasId, QueryModifier.MINIMAL).getSubmodels()).orElse(List.of()),
+                ReferenceHelper::toString,
                 paging);
     }
 
 
     @Override
     public OperationResult getOperationResult(OperationHandle handle) throws ResourceNotFoundException, PersistenceException {
+        RawBsonDocument operationDocument;
         try {
-            Document handleDocument = Document.parse(serializer.write(handle));
-            Bson filter = Filters.eq(HANDLE, handleDocument);
-            Document operationDocument = operationCollection.find(filter).first();
-            if (Objects.isNull(operationDocument))
-                throw new ResourceNotFoundException(handle.getHandleId());
-            return deserializer.read(((Document) operationDocument.get("result")).toJson(), OperationResult.class);
-        }
-        catch (SerializationException | DeserializationException | UnsupportedModifierException e) {
+            operationDocument = operationCollection
+                    .withDocumentClass(RawBsonDocument.class)
+                    .find(Filters.eq(HANDLE, handle))
+                    .first();
+        }
+        catch (BSONException e) {
             throw new PersistenceException(e);
         }
+        if (Objects.isNull(operationDocument))
+            throw new ResourceNotFoundException(handle.getHandleId());
+        return decode(operationDocument.getDocument(RESULT), OperationResult.class);
     }
 
 
@@ -408,16 +497,20 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
         }
         submodelCollection.updateOne(
                 getFilterForSubmodel(parentIdentifier.getSubmodelId()),
-                Updates.push(filter.fieldname, asDocument(submodelElement)),
+                Updates.push(filter.fieldname, submodelElement),
                 new UpdateOptions().arrayFilters(filter.arrayFilters));
     }
 
 
     @Override
     public void start() throws PersistenceException {
+        codecRegistry = CodecRegistries.fromRegistries(
+                CodecRegistries.fromProviders(new ModelCodecProvider(serializer, deserializer)),
+                MongoClientSettings.getDefaultCodecRegistry());
         client = MongoClients.create(
                 MongoClientSettings.builder()
                         .applyToClusterSettings(x -> x.serverSelectionTimeout(3000, TimeUnit.MILLISECONDS))
+                        .codecRegistry(codecRegistry)
                         .applyConnectionString(new ConnectionString(config.getConnectionString()))
                         .build());
         MongoDatabase database = client.getDatabase(config.getDatabase());
@@ -445,6 +538,7 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
                 throw new PersistenceException(e);
             }
         }
+        ensureIndexes();
     }
 
 
@@ -475,14 +569,14 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
             filter.arrayFilters.add(Filters.eq("i." + ID_SHORT_KEY, identifier.getIdShortPath().getElements().get(0)));
             result = submodelCollection.updateOne(
                     getFilterForSubmodel(identifier.getSubmodelId()),
-                    Updates.set(SUBMODEL_ELEMENTS_KEY + ".$[i]", asDocument(submodelElement)),
+                    Updates.set(SUBMODEL_ELEMENTS_KEY + ".$[i]", submodelElement),
                     new UpdateOptions().arrayFilters(filter.arrayFilters));
         }
         else {
             MongoSubmodelElementPath filter = getFilter(identifier.getIdShortPath());
             result = submodelCollection.updateOne(
                     getFilterForSubmodel(identifier.getSubmodelId()),
-                    Updates.set(filter.fieldname, asDocument(submodelElement)),
+                    Updates.set(filter.fieldname, submodelElement),
                     new UpdateOptions().arrayFilters(filter.arrayFilters));
         }
         if (result.getModifiedCount() == 0) {
@@ -493,18 +587,14 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
 
     @Override
     public void save(OperationHandle handle, OperationResult result) {
-        Document document = new Document();
         try {
-            Document handleDocument = Document.parse(serializer.write(handle));
-            Document resultDocument = Document.parse(serializer.write(result));
-            document.append(HANDLE, handleDocument).append("result", resultDocument);
+            operationCollection.replaceOne(Filters.eq(HANDLE, handle),
+                    new Document(HANDLE, handle).append(RESULT, result),
+                    new ReplaceOptions().upsert(true));
         }
-        catch (SerializationException | UnsupportedModifierException e) {
-            LOGGER.error(String.format(SERIALIZATION_ERROR, handle.getHandleId()));
+        catch (BSONException e) {
+            LOGGER.error(String.format(SERIALIZATION_ERROR, handle.getHandleId()), e);
         }
-        operationCollection.replaceOne(Filters.eq(HANDLE, document.get(HANDLE)),
-                document,
-                new ReplaceOptions().upsert(true));
     }
 
 
@@ -514,32 +604,26 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
     }
 
 
-    private Document getReferenceAsDocument(Reference reference) throws PersistenceException {
-        try {
-            //Reference type has to match the one in the database exactly, ReferenceBuilder sets the wrong one
-            reference.setType(ReferenceTypes.EXTERNAL_REFERENCE);
-            String refJson = serializer.write(reference);
-            return Document.parse(refJson);
-        }
-        catch (SerializationException | UnsupportedModifierException e) {
-            throw new PersistenceException(e);
-        }
+    private static Reference asExternalReference(Reference reference) {
+        //Reference type has to match the one in the database exactly, ReferenceBuilder sets the wrong one
+        reference.setType(ReferenceTypes.EXTERNAL_REFERENCE);
+        return reference;
     }
 
 
-    private Document asDocument(Referable referable) throws PersistenceException {
+    private <T> T decode(BsonDocument document, Class<T> type) throws PersistenceException {
+        BsonReader reader = document instanceof RawBsonDocument
+                ? ((RawBsonDocument) document).asBsonReader()
+                : new BsonDocumentReader(document);
         try {
-            return Document.parse(serializer.write(referable));
+            return codecRegistry.get(type).decode(reader, DecoderContext.builder().build());
         }
-        catch (SerializationException | UnsupportedModifierException e) {
-            throw new PersistenceException(String.format("Error serializing referable to JSON (idShort: %s)", referable.getIdShort()), e);
+        catch (BSONException e) {
+            throw new PersistenceException(String.format("Error decoding BSON from MongoDB (type: %s)", type.getSimpleName()), e);
+        }
+        finally {
+            reader.close();
         }
-    }
-
-
-    private <T extends Referable> Stream<T> asPojo(MongoIterable<Document> documents, Class<T> type) throws PersistenceException {
-        return StreamSupport.stream(documents.spliterator(), false)
-                .map(LambdaExceptionHelper.rethrowFunction(x -> fromDocument(x, type)));
     }
 
 
@@ -571,35 +655,20 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
 
 
     private <T extends Referable> T fetch(SubmodelElementIdentifier identifier, Class<T> returnType) throws ResourceNotFoundException, PersistenceException {
-        Document result = loadDocument(identifier);
+        BsonDocument result = loadDocument(identifier);
         if (Objects.isNull(result))
             throw new ResourceNotFoundException(identifier.toReference());
-        try {
-            return deserializer.read(result.toJson(), returnType);
-        }
-        catch (DeserializationException e) {
-            throw new PersistenceException(e);
-        }
+        return decode(result, returnType);
     }
 
 
     private <T extends Identifiable> T fetch(MongoCollection<Document> collection, String id, Class<T> type) throws ResourceNotFoundException, PersistenceException {
         Bson filter = Filters.eq(ID_KEY, id);
-        Document document = collection.find(filter).first();
+        RawBsonDocument document = collection.withDocumentClass(RawBsonDocument.class).find(filter).first();
         if (Objects.isNull(document)) {
             throw new ResourceNotFoundException(String.format(MSG_RESOURCE_NOT_FOUND_BY_ID, id));
         }
-        return fromDocument(document, type);
-    }
-
-
-    private <T> T fromDocument(Document document, Class<T> type) throws PersistenceException {
-        try {
-            return deserializer.read(document.toJson(), type);
-        }
-        catch (DeserializationException e) {
-            throw new PersistenceException(String.format("Error deserializing JSON from MongoDB (json: %s)", document.toJson()), e);
-        }
+        return decode(document, type);
     }
 
 
@@ -620,7 +689,7 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
 
         Bson filter = NO_FILTER;
         if (!globalAssetIdentificators.isEmpty()) {
-            filter = Filters.and(filter, Filters.in("assetInformation.globalAssetId", globalAssetIdentificators.toArray()));
+            filter = Filters.and(filter, Filters.in(GLOBAL_ASSET_ID_KEY, globalAssetIdentificators.toArray()));
         }
         if (!specificAssetIdentificators.isEmpty()) {
             Bson specificAssetIdFilter = NO_FILTER;
@@ -628,8 +697,8 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
                 specificAssetIdFilter = Filters.or(
                         specificAssetIdFilter,
                         Filters.and(
-                                Filters.eq("assetInformation.specificAssetIds.name", specificAssetIdentificators.get(i).getName()),
-                                Filters.eq("assetInformation.specificAssetIds.value", specificAssetIdentificators.get(i).getValue())));
+                                Filters.eq(SPECIFIC_ASSET_ID_NAME_KEY, specificAssetIdentificators.get(i).getName()),
+                                Filters.eq(SPECIFIC_ASSET_ID_VALUE_KEY, specificAssetIdentificators.get(i).getValue())));
             }
             filter = Filters.and(filter, specificAssetIdFilter);
         }
@@ -640,7 +709,7 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
     private Bson getDataSpecificationFilter(Reference dataSpecification) throws PersistenceException {
         if (Objects.isNull(dataSpecification))
             return NO_FILTER;
-        return Filters.eq("embeddedDataSpecifications", getReferenceAsDocument(dataSpecification));
+        return Filters.eq("embeddedDataSpecifications", asExternalReference(dataSpecification));
     }
 
 
@@ -687,59 +756,431 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
     private Bson getIsCaseOfFilter(Reference isCaseOf) throws PersistenceException {
         if (Objects.isNull(isCaseOf))
             return NO_FILTER;
-        return Filters.eq("isCaseOf", getReferenceAsDocument(isCaseOf)); // TODO better equals implementation
+        return Filters.eq("isCaseOf", asExternalReference(isCaseOf)); // TODO better equals implementation
+    }
+
+
+    private BsonDocument loadDocument(SubmodelElementIdentifier identifier) throws ResourceNotFoundException {
+        try {
+            return submodelCollection.aggregate(getNavigationStages(identifier), RawBsonDocument.class).first();
+        }
+        catch (MongoException e) {
+            throw new ResourceNotFoundException(identifier.toReference());
+        }
     }
 
 
-    private Document loadDocument(SubmodelElementIdentifier identifier) throws ResourceNotFoundException {
-        List<Bson> pipelineStages = new ArrayList<>();
+    /**
+     * Creates the aggregation stages to navigate to the submodel or submodel element identified by the given
+     * identifier. For submodel elements, the resulting document is the submodel element itself, i.e. neither the
+     * submodel nor any siblings of the elements along the path are returned.
+     *
+     * @param identifier the identifier of the submodel or submodel element
+     * @return the aggregation stages
+     */
+    private static List<Bson> getNavigationStages(SubmodelElementIdentifier identifier) {
+        List<Bson> result = new ArrayList<>();
         // Filter for the right submodel
-        pipelineStages.add(Aggregates.match(Filters.eq(ID_KEY, identifier.getSubmodelId())));
-        if (identifier.getIdShortPath().isEmpty())
-            return submodelCollection.aggregate(pipelineStages).first();
-        else {
-            // Filter for the right submodel element in the "submodelElements" array of the right submodel
-            pipelineStages.add(Aggregates.unwind("$" + SUBMODEL_ELEMENTS_KEY));
-            pipelineStages.add(Aggregates.match(Filters.eq(SUBMODEL_ELEMENTS_KEY + "." + ID_SHORT_KEY, identifier.getIdShortPath().getElements().get(0))));
-
-            String currentFieldName = SUBMODEL_ELEMENTS_KEY;
-            for (int i = 1; i < identifier.getIdShortPath().getElements().size(); i++) {
-                // Filter for the right submodel element in the "value" array of the parent submodel element
-                currentFieldName += "." + VALUE_KEY;
-                pipelineStages.add(Aggregates.unwind("$" + currentFieldName));
-                if (isIndex(identifier.getIdShortPath().getElements().get(i))) {
-                    String index = identifier.getIdShortPath().getElements().get(i);
-                    index = index.substring(1, index.length() - 1);
-                    pipelineStages.add(Aggregates.skip(Integer.parseInt(index)));
-                    pipelineStages.add(Aggregates.limit(1));
-                }
-                else {
-                    pipelineStages.add(Aggregates.match(Filters.eq(currentFieldName + "." + ID_SHORT_KEY, identifier.getIdShortPath().getElements().get(i))));
-                }
+        result.add(Aggregates.match(Filters.eq(ID_KEY, identifier.getSubmodelId())));
+        if (identifier.getIdShortPath().isEmpty()) {
+            return result;
+        }
+        // Filter for the right submodel element in the "submodelElements" array of the right submodel
+        result.add(Aggregates.project(Projections.fields(Projections.include(SUBMODEL_ELEMENTS_KEY), Projections.excludeId())));
+        result.add(Aggregates.unwind("$" + SUBMODEL_ELEMENTS_KEY));
+        result.add(Aggregates.match(Filters.eq(SUBMODEL_ELEMENTS_KEY + "." + ID_SHORT_KEY, identifier.getIdShortPath().getElements().get(0))));
+        String currentFieldName = SUBMODEL_ELEMENTS_KEY;
+        for (int i = 1; i < identifier.getIdShortPath().getElements().size(); i++) {
+            // Filter for the right submodel element in the "value" array of the parent submodel element
+            currentFieldName += "." + VALUE_KEY;
+            result.add(Aggregates.unwind("$" + currentFieldName));
+            if (isIndex(identifier.getIdShortPath().getElements().get(i))) {
+                String index = identifier.getIdShortPath().getElements().get(i);
+                index = index.substring(1, index.length() - 1);
+                result.add(Aggregates.skip(Integer.parseInt(index)));
+                result.add(Aggregates.limit(1));
             }
+            else {
+                result.add(Aggregates.match(Filters.eq(currentFieldName + "." + ID_SHORT_KEY, identifier.getIdShortPath().getElements().get(i))));
+            }
+        }
+        result.add(Aggregates.replaceRoot("$" + currentFieldName));
+        return result;
+    }
+
 
+    /**
+     * Finds the direct children of a submodel or submodel element. Filtering by semanticId and paging are done within
+     * the aggregation so that only the elements of the requested page are transferred. As with
+     * {@link PagingHelper#preparePagedResult(List, java.util.function.Function, PagingInfo)}, the cursor contains the
+     * position and the idShort of the first element of the next page within the children of the parent. When resuming,
+     * the position is used if the child at that position still has the same idShort, otherwise the position of the
+     * idShort is searched.
+     *
+     * @param parent the identifier of the parent
+     * @param semanticId the semanticId to filter for, may be null
+     * @param paging the paging information
+     * @return the page
+     * @throws ResourceNotFoundException if the parent does not exist
+     * @throws PersistenceException if decoding fails
+     */
+    private Page<SubmodelElement> findChildren(SubmodelElementIdentifier parent, Reference semanticId, PagingInfo paging)
+            throws ResourceNotFoundException, PersistenceException {
+        int fromPosition = 0;
+        String fromIdShort = "";
+        if (Objects.nonNull(paging.getCursor())) {
+            List<String> cursor = PagingHelper.readCursor(paging.getCursor(), 2);
             try {
-                Document nestedResult = submodelCollection.aggregate(pipelineStages).first().get(SUBMODEL_ELEMENTS_KEY, Document.class);
-                for (int i = 1; i < identifier.getIdShortPath().getElements().size(); i++) {
-                    nestedResult = nestedResult.get(VALUE_KEY, Document.class);
+                fromPosition = Integer.parseInt(cursor.get(0));
+            }
+            catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format(MSG_INVALID_CURSOR, paging.getCursor()), e);
+            }
+            if (fromPosition < 0) {
+                throw new IllegalArgumentException(String.format(MSG_INVALID_CURSOR, paging.getCursor()));
+            }
+            fromIdShort = cursor.get(1);
+        }
+        String childrenField = "$" + (parent.getIdShortPath().isEmpty() ? SUBMODEL_ELEMENTS_KEY : VALUE_KEY);
+        Object isContainer = new Document("$isArray", childrenField);
+        if (!parent.getIdShortPath().isEmpty()) {
+            // e.g. value of a MultiLanguageProperty is an array as well
+            isContainer = new Document("$and", List.of(
+                    isContainer,
+                    new Document("$in", List.of("$" + MODEL_TYPE_KEY, CONTAINER_MODEL_TYPES))));
+        }
+        // children with their index, starting at the position resolved from the cursor
+        Object elements = new Document("$let", new Document()
+                .append("vars", new Document("children", new Document("$cond", List.of(
+                        isContainer,
+                        childrenField,
+                        List.of()))))
+                .append("in", new Document("$let", new Document()
+                        .append("vars", new Document("start", getStartPosition("$$children", fromPosition, fromIdShort)))
+                        .append("in", new Document("$map", new Document()
+                                .append("input", new Document("$range", List.of("$$start", new Document("$size", "$$children"))))
+                                .append("as", "i")
+                                .append("in", new Document()
+                                        .append(INDEX_KEY, "$$i")
+                                        .append(ELEMENT_KEY, new Document("$arrayElemAt", List.of("$$children", "$$i")))))))));
+        if (Objects.nonNull(semanticId)) {
+            elements = new Document("$filter", new Document()
+                    .append("input", elements)
+                    .append("cond", getSemanticIdCondition("$$this." + ELEMENT_KEY, semanticId)));
+        }
+        if (paging.hasLimit()) {
+            elements = new Document("$slice", List.of(elements, (int) paging.getLimit() + 1));
+        }
+        List<Bson> pipelineStages = getNavigationStages(parent);
+        pipelineStages.add(Aggregates.project(new Document(ELEMENTS_KEY, elements).append(OBJECT_ID_KEY, 0)));
+        RawBsonDocument document;
+        try {
+            document = submodelCollection.aggregate(pipelineStages, RawBsonDocument.class).first();
+        }
+        catch (MongoException e) {
+            throw new ResourceNotFoundException(parent.toReference());
+        }
+        if (Objects.isNull(document)) {
+            throw new ResourceNotFoundException(parent.toReference());
+        }
+        List<BsonValue> entries = document.getArray(ELEMENTS_KEY).getValues();
+        List<SubmodelElement> result = new ArrayList<>();
+        String nextCursor = null;
+        for (int i = 0; i < entries.size(); i++) {
+            BsonDocument entry = entries.get(i).asDocument();
+            if (paging.hasLimit() && i == paging.getLimit()) {
+                nextCursor = PagingHelper.writeCursor(
+                        entry.getNumber(INDEX_KEY).intValue(),
+                        getIdShort(entry.getDocument(ELEMENT_KEY)));
+                break;
+            }
+            result.add(decode(entry.getDocument(ELEMENT_KEY), SubmodelElement.class));
+        }
+        return Page.<SubmodelElement> builder()
+                .result(result)
+                .metadata(PagingMetadata.builder()
+                        .cursor(nextCursor)
+                        .build())
+                .build();
+    }
+
+
+    /**
+     * Creates the aggregation expression resolving the position to resume paging children at. This is the given
+     * position if the child at that position has the given idShort, otherwise the position of the child with the given
+     * idShort or, if there is no such child, the given position limited to the number of children.
+     *
+     * @param children expression resolving to the children
+     * @param position the position from the cursor
+     * @param idShort the idShort from the cursor, empty if the element had no idShort
+     * @return the aggregation expression
+     */
+    private static Document getStartPosition(String children, int position, String idShort) {
+        Object found = idShort.isEmpty()
+                ? -1
+                : new Document("$indexOfArray", List.of("$$idShorts", new Document("$literal", idShort)));
+        return new Document("$let", new Document()
+                .append("vars", new Document("idShorts", new Document("$map", new Document()
+                        .append("input", children)
+                        .append("in", new Document("$ifNull", List.of("$$this." + ID_SHORT_KEY, ""))))))
+                .append("in", new Document("$cond", List.of(
+                        new Document("$eq", List.of(
+                                new Document("$arrayElemAt", List.of("$$idShorts", position)),
+                                new Document("$literal", idShort))),
+                        position,
+                        new Document("$let", new Document()
+                                .append("vars", new Document("found", found))
+                                .append("in", new Document("$cond", List.of(
+                                        new Document("$gte", List.of("$$found", 0)),
+                                        "$$found",
+                                        new Document("$min", List.of(position, new Document("$size", "$$idShorts")))))))))));
+    }
+
+
+    /**
+     * Finds submodel elements at any depth across all submodels. Submodels are read one at a time in the order of their
+     * {@code _id} starting at the submodel referenced by the cursor, so that a page only reads the submodels it spans
+     * instead of all remaining data. The elements of each submodel are flattened without any limit on the nesting
+     * depth, filtered by semanticId and ordered by their idShort path. The cursor contains the {@code _id} of the
+     * submodel and the idShort path of the first element of the next page so that adding or removing elements between
+     * requests neither skips nor duplicates elements.
+     *
+     * @param semanticId the semanticId to filter for, may be null
+     * @param paging the paging information
+     * @return the page
+     * @throws PersistenceException if decoding fails
+     */
+    private Page<SubmodelElement> findAllSubmodelElements(Reference semanticId, PagingInfo paging) throws PersistenceException {
+        ObjectId fromSubmodel = null;
+        String fromPath = null;
+        if (Objects.nonNull(paging.getCursor())) {
+            List<String> cursor = PagingHelper.readCursor(paging.getCursor(), 2);
+            fromSubmodel = readCursor(cursor.get(0));
+            fromPath = cursor.get(1);
+        }
+        Predicate<BsonDocument> filter = getSemanticIdPredicate(semanticId);
+        List<SubmodelElement> result = new ArrayList<>();
+        String nextCursor = null;
+        try (MongoCursor<RawBsonDocument> submodels = submodelCollection
+                .withDocumentClass(RawBsonDocument.class)
+                .find(Objects.nonNull(fromSubmodel) ? Filters.gte(OBJECT_ID_KEY, fromSubmodel) : NO_FILTER)
+                .projection(Projections.include(SUBMODEL_ELEMENTS_KEY))
+                .sort(Sorts.ascending(OBJECT_ID_KEY))
+                // fetch submodels one by one so that only the submodels spanned by the page are transferred
+                .batchSize(1)
+                .iterator()) {
+            while (Objects.isNull(nextCursor) && submodels.hasNext()) {
+                RawBsonDocument submodel = submodels.next();
+                ObjectId submodelId = submodel.getObjectId(OBJECT_ID_KEY).getValue();
+                String from = Objects.equals(submodelId, fromSubmodel) ? fromPath : null;
+                List<Map.Entry<String, BsonDocument>> elements = flattenSubmodelElements(submodel).stream()
+                        .filter(x -> Objects.isNull(from) || x.getKey().compareTo(from) >= 0)
+                        .filter(x -> filter.test(x.getValue()))
+                        .sorted(Map.Entry.comparingByKey())
+                        .collect(Collectors.toList());
+                for (Map.Entry<String, BsonDocument> element: elements) {
+                    if (paging.hasLimit() && result.size() == paging.getLimit()) {
+                        nextCursor = PagingHelper.writeCursor(submodelId.toHexString(), element.getKey());
+                        break;
+                    }
+                    result.add(decode(element.getValue(), SubmodelElement.class));
+                }
+            }
+        }
+        catch (MongoException e) {
+            throw new PersistenceException("Error reading submodel elements from MongoDB", e);
+        }
+        return Page.<SubmodelElement> builder()
+                .result(result)
+                .metadata(PagingMetadata.builder()
+                        .cursor(nextCursor)
+                        .build())
+                .build();
+    }
+
+
+    /**
+     * Collects all submodel elements of a submodel document together with their idShort path. Children are contained
+     * in the value of collections and lists, the statements of entities, the annotations of annotated relationship
+     * elements and the variables of operations.
+     *
+     * @param submodel the submodel document
+     * @return the submodel elements mapped to their idShort path
+     */
+    private static List<Map.Entry<String, BsonDocument>> flattenSubmodelElements(BsonDocument submodel) {
+        List<Map.Entry<String, BsonDocument>> result = new ArrayList<>();
+        Deque<Map.Entry<String, BsonDocument>> pending = new ArrayDeque<>();
+        addChildren(pending, null, getDocuments(submodel, SUBMODEL_ELEMENTS_KEY));
+        while (!pending.isEmpty()) {
+            Map.Entry<String, BsonDocument> current = pending.pop();
+            result.add(current);
+            String path = current.getKey();
+            BsonDocument element = current.getValue();
+            if (Objects.equals(getString(element, MODEL_TYPE_KEY), "SubmodelElementList")) {
+                List<BsonValue> children = element.isArray(VALUE_KEY) ? element.getArray(VALUE_KEY).getValues() : List.of();
+                for (int i = 0; i < children.size(); i++) {
+                    if (children.get(i).isDocument()) {
+                        pending.push(new AbstractMap.SimpleImmutableEntry<>(String.format("%s[%d]", path, i), children.get(i).asDocument()));
+                    }
                 }
-                return nestedResult;
             }
-            catch (Exception e) {
-                throw new ResourceNotFoundException(identifier.toReference());
+            else if (Objects.equals(getString(element, MODEL_TYPE_KEY), "SubmodelElementCollection")) {
+                addChildren(pending, path, getDocuments(element, VALUE_KEY));
+            }
+            addChildren(pending, path, getDocuments(element, "statements"));
+            addChildren(pending, path, getDocuments(element, "annotations"));
+            for (String variables: List.of("inputVariables", "inoutputVariables", "outputVariables")) {
+                addChildren(pending, path, getDocuments(element, variables).stream()
+                        .map(x -> x.isDocument(VALUE_KEY) ? x.getDocument(VALUE_KEY) : null)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
             }
         }
+        return result;
+    }
+
+
+    private static void addChildren(Deque<Map.Entry<String, BsonDocument>> pending, String parentPath, List<BsonDocument> children) {
+        for (BsonDocument child: children) {
+            String idShort = Objects.toString(getIdShort(child), "");
+            pending.push(new AbstractMap.SimpleImmutableEntry<>(
+                    Objects.isNull(parentPath) ? idShort : parentPath + "." + idShort,
+                    child));
+        }
+    }
+
+
+    private static List<BsonDocument> getDocuments(BsonDocument document, String key) {
+        if (!document.isArray(key)) {
+            return List.of();
+        }
+        return document.getArray(key).stream()
+                .filter(BsonValue::isDocument)
+                .map(BsonValue::asDocument)
+                .collect(Collectors.toList());
+    }
+
+
+    private static String getIdShort(BsonDocument element) {
+        return getString(element, ID_SHORT_KEY);
+    }
+
+
+    private static String getString(BsonDocument document, String key) {
+        return document.isString(key)
+                ? document.getString(key).getValue()
+                : null;
+    }
+
+
+    /**
+     * Creates an aggregation expression checking if the semanticId of an element equals a given reference. Similar to
+     * {@link ReferenceHelper#equals(Reference, Reference)}, all keys must match in order by type and value, the keys of
+     * the referredSemanticId must match as well and the type of the reference is ignored.
+     *
+     * @param element expression resolving to the element
+     * @param semanticId the semanticId
+     * @return the aggregation expression
+     */
+    private Document getSemanticIdCondition(String element, Reference semanticId) {
+        BsonDocument encoded = encode(semanticId);
+        return new Document("$and", List.of(
+                getKeysEqualCondition(String.format("%s.%s.%s", element, SEMANTIC_ID_KEY, KEYS_KEY), getKeys(encoded)),
+                getKeysEqualCondition(String.format("%s.%s.%s.%s", element, SEMANTIC_ID_KEY, REFERRED_SEMANTIC_ID_KEY, KEYS_KEY), getReferredKeys(encoded))));
+    }
+
+
+    /**
+     * Creates a predicate checking if the semanticId of an element document equals a given reference using the same
+     * rules as {@link #getSemanticIdCondition(String, Reference)}.
+     *
+     * @param semanticId the semanticId, may be null
+     * @return the predicate
+     */
+    private Predicate<BsonDocument> getSemanticIdPredicate(Reference semanticId) {
+        if (Objects.isNull(semanticId)) {
+            return x -> true;
+        }
+        BsonDocument encoded = encode(semanticId);
+        BsonArray keys = getKeys(encoded);
+        BsonArray referredKeys = getReferredKeys(encoded);
+        return x -> {
+            BsonDocument actual = x.isDocument(SEMANTIC_ID_KEY) ? x.getDocument(SEMANTIC_ID_KEY) : new BsonDocument();
+            return Objects.equals(getKeys(actual), keys) && Objects.equals(getReferredKeys(actual), referredKeys);
+        };
+    }
+
+
+    private BsonDocument encode(Reference reference) {
+        BsonDocument result = new BsonDocument();
+        codecRegistry.get(Reference.class).encode(new BsonDocumentWriter(result), reference, EncoderContext.builder().build());
+        return result;
+    }
+
+
+    private static BsonArray getKeys(BsonDocument reference) {
+        return reference.getArray(KEYS_KEY, new BsonArray());
+    }
+
+
+    private static BsonArray getReferredKeys(BsonDocument reference) {
+        return reference.isDocument(REFERRED_SEMANTIC_ID_KEY)
+                ? getKeys(reference.getDocument(REFERRED_SEMANTIC_ID_KEY))
+                : new BsonArray();
     }
 
 
+    private static Document getKeysEqualCondition(String keys, BsonArray expected) {
+        return new Document("$eq", List.of(
+                new Document("$ifNull", List.of(keys, List.of())),
+                new Document("$literal", expected)));
+    }
+
+
+    /**
+     * Creates a page of identifiables using keyset-based paging. Documents are sorted by their {@code _id} which is
+     * assigned on insertion and preserved on updates. The cursor contains the {@code _id} of the first document of the
+     * next page so that MongoDB can seek directly to it using the default index on {@code _id} instead of skipping all
+     * previous documents.
+     *
+     * @param <T> type of the identifiables
+     * @param collection the collection to query
+     * @param filter the filter to apply
+     * @param paging the paging information
+     * @param modifier the query modifier to apply
+     * @param type type of the identifiables
+     * @return the page
+     * @throws PersistenceException if deserialization fails
+     */
     private <T extends Referable> Page<T> preparePagedResult(MongoCollection<Document> collection, Bson filter, PagingInfo paging, QueryModifier modifier, Class<T> type)
             throws PersistenceException {
-        return preparePagedResult(
-                asPojo(
-                        applyPaging(collection.find(filter), paging),
-                        type),
-                modifier,
-                paging);
+        Bson actualFilter = filter;
+        if (Objects.nonNull(paging.getCursor())) {
+            actualFilter = Filters.and(filter, Filters.gte(OBJECT_ID_KEY, readCursor(paging.getCursor())));
+        }
+        FindIterable<RawBsonDocument> documents = collection
+                .withDocumentClass(RawBsonDocument.class)
+                .find(actualFilter)
+                .sort(Sorts.ascending(OBJECT_ID_KEY));
+        if (paging.hasLimit()) {
+            documents = documents.limit((int) paging.getLimit() + 1);
+        }
+        List<RawBsonDocument> temp = documents.into(new ArrayList<>());
+        String nextCursor = null;
+        if (paging.hasLimit() && temp.size() > paging.getLimit()) {
+            nextCursor = writeCursor(temp.get((int) paging.getLimit()).getObjectId(OBJECT_ID_KEY).getValue());
+            temp = temp.subList(0, (int) paging.getLimit());
+        }
+        List<T> result = new ArrayList<>(temp.size());
+        for (RawBsonDocument document: temp) {
+            result.add(decode(document, type));
+        }
+        return Page.<T> builder()
+                .result(QueryModifierHelper.applyQueryModifier(result, modifier))
+                .metadata(PagingMetadata.builder()
+                        .cursor(nextCursor)
+                        .build())
+                .build();
     }
 
 
@@ -748,13 +1189,13 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
             return;
         try {
             collection
+                    .withDocumentClass(Identifiable.class)
                     .withWriteConcern(WriteConcern.ACKNOWLEDGED)
                     .insertMany(list.stream()
                             .filter(Objects::nonNull)
-                            .map(LambdaExceptionHelper.rethrowFunction(this::asDocument))
                             .toList());
         }
-        catch (MongoException | IllegalArgumentException e) {
+        catch (MongoException | BSONException | IllegalArgumentException e) {
             throw new PersistenceException("Error saving data in MongoDB", e);
         }
     }
@@ -763,7 +1204,7 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
     private Bson getSemanticIdFilter(Reference semanticId) throws PersistenceException {
         if (Objects.isNull(semanticId))
             return NO_FILTER;
-        return Filters.eq("semanticId", getReferenceAsDocument(semanticId));
+        return Filters.eq(SEMANTIC_ID_KEY, asExternalReference(semanticId));
     }
 
 
@@ -775,21 +1216,16 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
 
 
     private void upsert(MongoCollection<Document> collection, Identifiable element) throws PersistenceException {
-        collection.replaceOne(Filters.eq(ID_KEY, element.getId()),
-                asDocument(element),
-                new ReplaceOptions().upsert(true));
-    }
-
-
-    private static <T> FindIterable<T> applyPaging(FindIterable<T> iterable, PagingInfo paging) {
-        FindIterable<T> result = iterable;
-        if (Objects.nonNull(paging.getCursor())) {
-            result = result.skip(readCursor(paging.getCursor()));
+        try {
+            collection
+                    .withDocumentClass(Identifiable.class)
+                    .replaceOne(Filters.eq(ID_KEY, element.getId()),
+                            element,
+                            new ReplaceOptions().upsert(true));
         }
-        if (paging.hasLimit()) {
-            result = result.limit((int) paging.getLimit() + 1);
+        catch (BSONException e) {
+            throw new PersistenceException(String.format("Error saving element in MongoDB (id: %s)", element.getId()), e);
         }
-        return result;
     }
 
 
@@ -805,61 +1241,6 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
     }
 
 
-    private static String nextCursor(PagingInfo paging, int resultCount) throws PersistenceException {
-        return nextCursor(paging, paging.hasLimit() && resultCount > paging.getLimit());
-    }
-
-
-    private static String nextCursor(PagingInfo paging, boolean hasMoreData) throws PersistenceException {
-        if (!hasMoreData) {
-            return null;
-        }
-        if (!paging.hasLimit()) {
-            throw new PersistenceException("unable to generate next cursor for paging - there should not be more data available if previous request did not have a limit set");
-        }
-        if (Objects.isNull(paging.getCursor())) {
-            return writeCursor((int) paging.getLimit());
-        }
-        return writeCursor(readCursor(paging.getCursor()) + (int) paging.getLimit());
-    }
-
-
-    private static <T> Page<T> preparePagedResult(Stream<T> input, PagingInfo paging) throws PersistenceException {
-        Stream<T> result = input;
-        if (Objects.nonNull(paging.getCursor())) {
-            result = result.skip(readCursor(paging.getCursor()));
-        }
-        if (paging.hasLimit()) {
-            result = result.limit(paging.getLimit() + 1);
-        }
-        List<T> temp = result.collect(Collectors.toList());
-        return Page.<T> builder()
-                .result(temp.stream()
-                        .limit(paging.hasLimit() ? paging.getLimit() : temp.size())
-                        .collect(Collectors.toList()))
-                .metadata(PagingMetadata.builder()
-                        .cursor(nextCursor(paging, temp.size()))
-                        .build())
-                .build();
-    }
-
-
-    private static <T extends Referable> Page<T> preparePagedResult(Stream<T> input, QueryModifier modifier, PagingInfo paging) throws PersistenceException {
-        List<T> temp = input.toList();
-        return Page.<T> builder()
-                .result(QueryModifierHelper.applyQueryModifier(
-                        temp.stream()
-                                .limit(paging.hasLimit() ? paging.getLimit() : temp.size())
-                                .map(DeepCopyHelper::deepCopy)
-                                .collect(Collectors.toList()),
-                        modifier))
-                .metadata(PagingMetadata.builder()
-                        .cursor(nextCursor(paging, temp.size()))
-                        .build())
-                .build();
-    }
-
-
     private static <T extends Referable> T prepareResult(T result, QueryModifier modifier) {
         if (result == null || modifier == null) {
             throw new IllegalArgumentException("Result or modifier cannot be null.");
@@ -868,13 +1249,16 @@ public class PersistenceMongo implements Persistence<PersistenceMongoConfig> {
     }
 
 
-    private static int readCursor(String cursor) {
-        return Integer.parseInt(cursor);
+    private static ObjectId readCursor(String cursor) {
+        if (!ObjectId.isValid(cursor)) {
+            throw new IllegalArgumentException(String.format(MSG_INVALID_CURSOR, cursor));
+        }
+        return new ObjectId(cursor);
     }
 
 
-    private static String writeCursor(int index) {
-        return Long.toString(index);
+    private static String writeCursor(ObjectId id) {
+        return PagingHelper.writeCursor(id.toHexString());
     }
 
     private static class MongoSubmodelElementPath {
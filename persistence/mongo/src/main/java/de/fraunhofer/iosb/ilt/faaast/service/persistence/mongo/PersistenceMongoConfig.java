@@ -25,6 +25,7 @@ public class PersistenceMongoConfig extends PersistenceConfig<PersistenceMongo>
     private String connectionString;
     private String database = "faaast";
     private boolean override = false;
+    private boolean createIndexes = true;
 
     public String getConnectionString() {
         return connectionString;
@@ -56,11 +57,22 @@ public class PersistenceMongoConfig extends PersistenceConfig<PersistenceMongo>
     }
 
 
+    public boolean isCreateIndexes() {
+        return createIndexes;
+    }
+
+
+    public void setCreateIndexes(boolean createIndexes) {
+        this.createIndexes = createIndexes;
+    }
+
+
     @Override
     public int hashCode() {
         return Objects.hash(connectionString,
                 database,
-                override);
+                override,
+                createIndexes);
     }
 
 
@@ -78,7 +90,8 @@ public class PersistenceMongoConfig extends PersistenceConfig<PersistenceMongo>
         final PersistenceMongoConfig other = (PersistenceMongoConfig) obj;
         return Objects.equals(this.connectionString, other.connectionString)
                 && Objects.equals(this.database, other.database)
-                && Objects.equals(this.override, other.override);
+                && Objects.equals(this.override, other.override)
+                && Objects.equals(this.createIndexes, other.createIndexes);
     }
 
 
@@ -105,6 +118,12 @@ public class PersistenceMongoConfig extends PersistenceConfig<PersistenceMongo>
             return getSelf();
         }
 
+
+        public B createIndexes(boolean value) {
+            getBuildingInstance().setCreateIndexes(value);
+            return getSelf();
+        }
+
     }
 
     public static class Builder extends AbstractBuilder<PersistenceMongoConfig, Builder> {
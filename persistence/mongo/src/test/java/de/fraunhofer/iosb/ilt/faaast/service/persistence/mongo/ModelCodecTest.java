@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021 Fraunhofer IOSB, eine rechtlich nicht selbstaendige
+ * Einrichtung der Fraunhofer-Gesellschaft zur Foerderung der angewandten
+ * Forschung e.V.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.fraunhofer.iosb.ilt.faaast.service.persistence.mongo;
+
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiDeserializer;
+import de.fraunhofer.iosb.ilt.faaast.service.dataformat.json.JsonApiSerializer;
+import de.fraunhofer.iosb.ilt.faaast.service.model.AASFull;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonObjectId;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.eclipse.digitaltwin.aas4j.v3.model.KeyTypes;
+import org.eclipse.digitaltwin.aas4j.v3.model.Submodel;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class ModelCodecTest {
+
+    private static final CodecRegistry REGISTRY = CodecRegistries.fromProviders(new ModelCodecProvider(new JsonApiSerializer(), new JsonApiDeserializer()));
+
+    @Test
+    public void testSubmodelRoundTrip() {
+        for (Submodel expected: AASFull.createEnvironment().getSubmodels()) {
+            Codec<Submodel> codec = REGISTRY.get(Submodel.class);
+            BsonDocument document = new BsonDocument();
+            codec.encode(new BsonDocumentWriter(document), expected, EncoderContext.builder().build());
+            document.put("_id", new BsonObjectId());
+            Submodel actual = codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+
+    @Test
+    public void testEnumsNotSupported() {
+        Assert.assertNull(new ModelCodecProvider(new JsonApiSerializer(), new JsonApiDeserializer())
+                .get(KeyTypes.class, REGISTRY));
+    }
+}
@@ -14,6 +14,8 @@
  */
 package de.fraunhofer.iosb.ilt.faaast.service.persistence.mongo;
 
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
 import de.flapdoodle.embed.mongo.distribution.Version;
 import de.flapdoodle.embed.mongo.transitions.Mongod;
 import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
@@ -38,6 +40,10 @@ import de.fraunhofer.iosb.ilt.faaast.service.util.DeepCopyHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.EnvironmentHelper;
 import de.fraunhofer.iosb.ilt.faaast.service.util.ReferenceBuilder;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.bson.Document;
 import org.eclipse.digitaltwin.aas4j.v3.model.AssetAdministrationShell;
 import org.eclipse.digitaltwin.aas4j.v3.model.Environment;
 import org.eclipse.digitaltwin.aas4j.v3.model.Reference;
@@ -115,6 +121,24 @@ public class PersistenceMongoTest extends AbstractPersistenceTest<PersistenceMon
     }
 
 
+    @Test
+    public void testIndexesCreated() throws ConfigurationException, PersistenceException {
+        Persistence indexedPersistence = getPersistenceConfig(null, AASSimple.createEnvironment(), true).newInstance(CoreConfig.DEFAULT, SERVICE_CONTEXT);
+        indexedPersistence.start();
+        try (MongoClient client = MongoClients.create("mongodb://" + serverAddress.getHost() + ":" + serverAddress.getPort())) {
+            List<Document> indexes = client.getDatabase("faaast")
+                    .getCollection("submodels")
+                    .listIndexes()
+                    .into(new ArrayList<>());
+            Assert.assertTrue(indexes.stream().anyMatch(x -> Objects.equals(x.get("key"), new Document("id", 1))
+                    && Objects.equals(x.getBoolean("unique"), true)));
+            Assert.assertTrue(indexes.stream().anyMatch(x -> Objects.equals(x.get("key"), new Document("idShort", 1))));
+            Assert.assertTrue(indexes.stream().anyMatch(x -> Objects.equals(x.get("key"), new Document("semanticId", 1))));
+        }
+        indexedPersistence.stop();
+    }
+
+
     @Test
     public void putSubmodelElementNewInDeepSubmodelElementList()
             throws ResourceNotFoundException, ResourceNotAContainerElementException, ConfigurationException, PersistenceException, ResourceAlreadyExistsException {